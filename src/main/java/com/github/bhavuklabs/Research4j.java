@@ -1,16 +1,23 @@
 package com.github.bhavuklabs;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.agent.ResearchResult;
 import com.github.bhavuklabs.agent.ResearchSession;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.cache.SearchResultCache;
 import com.github.bhavuklabs.citation.config.CitationConfig;
 import com.github.bhavuklabs.citation.enums.CitationSource;
 import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.client.cache.CachingLLMClient;
+import com.github.bhavuklabs.client.limit.ConcurrencyLimitedLLMClient;
+import com.github.bhavuklabs.client.limit.LLMConcurrencyLimiters;
 import com.github.bhavuklabs.config.Research4jConfig;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.enums.GraphEngineType;
@@ -18,10 +25,15 @@ import com.github.bhavuklabs.core.enums.ModelType;
 import com.github.bhavuklabs.core.enums.OutputFormat;
 import com.github.bhavuklabs.core.enums.ReasoningMethod;
 import com.github.bhavuklabs.core.payloads.ResearchPromptConfig;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+import com.github.bhavuklabs.core.replay.ProviderStandIn;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.deepresearch.engine.DeepResearchEngine;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchProgress;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchResult;
+import com.github.bhavuklabs.deepresearch.models.ResearchUpdate;
 import com.github.bhavuklabs.exceptions.citation.CitationException;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.exceptions.config.ConfigurationException;
@@ -30,7 +42,9 @@ import com.github.bhavuklabs.model.client.OpenAiClient;
 import com.github.bhavuklabs.pipeline.executor.GraphExecutor;
 import com.github.bhavuklabs.pipeline.executor.GraphExecutorFactory;
 import com.github.bhavuklabs.pipeline.profile.UserProfile;
+import com.github.bhavuklabs.reasoning.context.ResearchContext;
 import com.github.bhavuklabs.reasoning.engine.ReasoningEngine;
+import com.github.bhavuklabs.services.EmbeddingService;
 
 public class Research4j implements AutoCloseable {
 
@@ -49,7 +63,7 @@ public class Research4j implements AutoCloseable {
     private Research4j(Builder builder) throws ConfigurationException {
         try {
             this.config = builder.configBuilder.build();
-            this.llmClient = createLLMClient();
+            this.llmClient = createLLMClient(builder);
             this.citationService = createCitationService();
             this.reasoningEngine = new ReasoningEngine(llmClient);
 
@@ -88,13 +102,15 @@ public class Research4j implements AutoCloseable {
         validateUserProfile(userProfile);
         validateOutputFormat(outputFormat);
 
-        try {
+        String sessionId = generateSessionId();
+        CallContext.Scope scope = CallContext.enter(AdaptiveConcurrencyLimiter.Lane.INTERACTIVE, sessionId);
+        try (scope) {
             logger.info("Starting research using " + graphExecutor.getExecutorType() + " engine for query: " + truncateQuery(query));
 
             var promptConfig = new ResearchPromptConfig(query, buildSystemInstruction(userProfile, outputFormat), determineOutputType(outputFormat),
                 outputFormat);
 
-            var result = graphExecutor.processQuery(generateSessionId(), query, userProfile, promptConfig)
+            var result = graphExecutor.processQuery(sessionId, query, userProfile, promptConfig)
                 .get();
 
             logger.info("Research completed successfully in " + result.getProcessingTime());
@@ -110,6 +126,52 @@ public class Research4j implements AutoCloseable {
         }
     }
 
+    public Flow.Publisher<String> streamResearch(String query) {
+        validateQuery(query);
+        return streamResearch(query, createDefaultUserProfile());
+    }
+
+    // The answer of research(query) as it is written: citations are searched first, then the default reasoning
+    // method streams its response. Runs on subscription.
+    public Flow.Publisher<String> streamResearch(String query, UserProfile userProfile) {
+        validateQuery(query);
+        validateUserProfile(userProfile);
+
+        OutputFormat outputFormat = config.getDefaultOutputFormat();
+        var promptConfig = new ResearchPromptConfig(query, buildSystemInstruction(userProfile, outputFormat), String.class, outputFormat);
+
+        return StreamPublisher.create(emitter -> {
+            logger.info("Starting streamed research for query: " + truncateQuery(query));
+
+            ResearchContext context = new ResearchContext(promptConfig);
+            context.setCitations(searchCitationsForStream(query));
+
+            Flow.Publisher<String> answer;
+            CallContext.Scope scope = CallContext.enter(AdaptiveConcurrencyLimiter.Lane.INTERACTIVE, generateSessionId());
+            try (scope) {
+                answer = reasoningEngine.reasonStream(config.getDefaultReasoningMethod(), context);
+            }
+            StreamPublisher.forEach(answer, emitter::emit)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.severe("Streamed research failed for query: " + truncateQuery(query) + " - " + error.getMessage());
+                        emitter.fail(error);
+                    } else {
+                        emitter.complete();
+                    }
+                });
+        });
+    }
+
+    private List<CitationResult> searchCitationsForStream(String query) {
+        try {
+            return citationService.search(query);
+        } catch (CitationException e) {
+            logger.warning("Citation search failed for streamed research, continuing without sources: " + e.getMessage());
+            return List.of();
+        }
+    }
+
     public CompletableFuture<DeepResearchResult> deepResearch(String query) {
         return deepResearch(query, createDefaultUserProfile(), DeepResearchConfig.comprehensiveConfig());
     }
@@ -142,6 +204,23 @@ public class Research4j implements AutoCloseable {
         return deepResearchEngine.executeDeepResearch(query, deepConfig);
     }
 
+    public Flow.Publisher<ResearchUpdate> streamDeepResearch(String query) {
+        return streamDeepResearch(query, DeepResearchConfig.comprehensiveConfig());
+    }
+
+    // Phase changes and narrative tokens as the session produces them, ending with the result in a COMPLETED update.
+    public Flow.Publisher<ResearchUpdate> streamDeepResearch(String query, DeepResearchConfig deepConfig) {
+        validateQuery(query);
+
+        if (!deepResearchEnabled) {
+            logger.warning("Deep Research not available");
+            return StreamPublisher.create(emitter -> emitter.fail(new RuntimeException("Deep Research not available")));
+        }
+
+        logger.info("Starting streamed Deep Research for query: " + truncateQuery(query));
+        return deepResearchEngine.streamDeepResearch(query, deepConfig != null ? deepConfig : DeepResearchConfig.comprehensiveConfig());
+    }
+
     public CompletableFuture<DeepResearchResult> comprehensiveResearch(String query) {
         UserProfile comprehensiveProfile = new UserProfile("comprehensive-researcher", "multi-disciplinary", "expert",
             List.of("comprehensive", "detailed", "multi-perspective"), Map.of("research methodology", 9, "synthesis", 9, "analysis", 8), List.of(),
@@ -275,8 +354,9 @@ public class Research4j implements AutoCloseable {
 
     public boolean isHealthy() {
         try {
-            boolean llmHealthy = llmClient instanceof GeminiAiClient ? ((GeminiAiClient) llmClient).isHealthy() :
-                llmClient instanceof OpenAiClient ? ((OpenAiClient) llmClient).isHealthy() : true;
+            LLMClient providerClient = unwrapLLMClient();
+            boolean llmHealthy = providerClient instanceof GeminiAiClient ? ((GeminiAiClient) providerClient).isHealthy() :
+                providerClient instanceof OpenAiClient ? ((OpenAiClient) providerClient).isHealthy() : true;
 
             boolean graphExecutorHealthy = graphExecutor.isHealthy();
             boolean deepResearchHealthy = deepResearchEngine != null && deepResearchEngine.isHealthy();
@@ -304,6 +384,8 @@ public class Research4j implements AutoCloseable {
 
         private final Research4jConfig.Builder configBuilder = Research4jConfig.builder();
         private boolean deepResearchEnabled = false;
+        private EmbeddingService semanticCacheEmbeddings;
+        private double semanticCacheThreshold;
 
         private Builder() {
         }
@@ -352,6 +434,17 @@ public class Research4j implements AutoCloseable {
             return this;
         }
 
+        // Sends OpenAI, Tavily and Google Custom Search traffic to a local stand-in instead of the real APIs.
+        public Builder withProviderStandIn(ProviderStandIn standIn) {
+            if (standIn == null) {
+                throw new IllegalArgumentException("Provider stand-in must not be null");
+            }
+            configBuilder.openAiBaseUrl(standIn.getOpenAiBaseUrl())
+                .tavilyBaseUrl(standIn.getTavilyBaseUrl())
+                .googleSearchBaseUrl(standIn.getCustomSearchBaseUrl());
+            return this;
+        }
+
         public Builder defaultReasoning(ReasoningMethod method) {
             configBuilder.defaultReasoningMethod(method);
             return this;
@@ -387,6 +480,25 @@ public class Research4j implements AutoCloseable {
             return this;
         }
 
+        // Keeps cached search results and LLM responses on disk under this directory, so they survive restarts.
+        public Builder persistentCache(Path directory) {
+            configBuilder.cacheDirectory(directory);
+            return this;
+        }
+
+        // Lets the LLM response cache reuse answers to near-identical short prompts, not only identical ones.
+        public Builder semanticLLMCache(EmbeddingService embeddingService, double similarityThreshold) {
+            if (embeddingService == null) {
+                throw new IllegalArgumentException("Embedding service must not be null");
+            }
+            if (similarityThreshold <= 0.0 || similarityThreshold > 1.0) {
+                throw new IllegalArgumentException("Similarity threshold must be in (0, 1]");
+            }
+            this.semanticCacheEmbeddings = embeddingService;
+            this.semanticCacheThreshold = similarityThreshold;
+            return this;
+        }
+
         public Builder enableDeepResearch() {
             this.deepResearchEnabled = true;
             return this;
@@ -507,41 +619,136 @@ public class Research4j implements AutoCloseable {
         return "research-session-" + System.currentTimeMillis() + "-" + Integer.toHexString((int) (Math.random() * 0x10000));
     }
 
-    private LLMClient createLLMClient() throws ConfigurationException, LLMClientException {
+    private LLMClient createLLMClient(Builder builder) throws ConfigurationException, LLMClientException {
+        LLMClient client;
+        ModelType provider;
         if (config.hasApiKey(ModelType.GEMINI)) {
             logger.info("Initializing Gemini AI client with model: " + config.getDefaultModel());
-            return new GeminiAiClient(config);
+            client = new GeminiAiClient(config);
+            provider = ModelType.GEMINI;
         } else if (config.hasApiKey(ModelType.OPENAI)) {
             logger.info("Initializing OpenAI client with model: " + config.getDefaultModel());
-            return new OpenAiClient(config);
+            client = new OpenAiClient(config);
+            provider = ModelType.OPENAI;
         } else {
             throw new ConfigurationException("No LLM provider configured. Please set either GEMINI_API_KEY or OPENAI_API_KEY environment variable, " +
                 "or configure them programmatically using the builder pattern.");
         }
+
+        // Shared by every instance in the JVM; cache hits in front of it take no capacity.
+        client = new ConcurrencyLimitedLLMClient(client, LLMConcurrencyLimiters.forProvider(provider), provider.name());
+
+        if (!config.isCacheEnabled()) {
+            return client;
+        }
+        Path cacheDirectory = config.getCacheDirectory();
+        CachingLLMClient.Builder cache = CachingLLMClient.builder(client, provider.name() + ":" + config.getDefaultModel())
+            .directory(cacheDirectory != null ? cacheDirectory.resolve("llm-cache") : CachingLLMClient.defaultDirectory());
+        if (builder.semanticCacheEmbeddings != null) {
+            cache.semanticTier(builder.semanticCacheEmbeddings, builder.semanticCacheThreshold);
+        }
+        return cache.build();
+    }
+
+    // Null when the LLM client is not wrapped in a ConcurrencyLimitedLLMClient.
+    public AdaptiveConcurrencyLimiter getLLMConcurrencyLimiter() {
+        LLMClient client = llmClient instanceof CachingLLMClient ? ((CachingLLMClient) llmClient).getDelegate() : llmClient;
+        return client instanceof ConcurrencyLimitedLLMClient ? ((ConcurrencyLimitedLLMClient) client).getLimiter() : null;
+    }
+
+    // The provider client under the cache and limiter.
+    private LLMClient unwrapLLMClient() {
+        LLMClient client = llmClient instanceof CachingLLMClient ? ((CachingLLMClient) llmClient).getDelegate() : llmClient;
+        return client instanceof ConcurrencyLimitedLLMClient ? ((ConcurrencyLimitedLLMClient) client).getDelegate() : client;
+    }
+
+    public Map<String, CachingLLMClient.StageStats> getLLMCacheStats() {
+        if (llmClient instanceof CachingLLMClient) {
+            return ((CachingLLMClient) llmClient).getStageStats();
+        }
+        return Map.of();
+    }
+
+    // Memory only unless a cache directory is configured.
+    private SearchResultCache createSearchCache() {
+        if (!config.isCacheEnabled()) {
+            return null;
+        }
+        Path directory = config.getCacheDirectory();
+        return directory != null ? SearchResultCache.builder()
+            .directory(directory.resolve("search-cache"))
+            .build() : SearchResultCache.createDefault();
     }
 
     private CitationService createCitationService() throws ConfigurationException, CitationException {
         CitationSource source = config.getDefaultCitationSource();
         CitationConfig citationConfig;
+        SearchResultCache searchCache = createSearchCache();
+
+        List<CitationSource> providers = config.getCitationProviders();
+        if (providers.size() > 1) {
+            return createMultiProviderCitationService(providers, searchCache);
+        }
+        source = providers.get(0);
+        CitationConfig fallbackConfig = createFallbackCitationConfig(source);
 
         switch (source) {
             case GOOGLE_GEMINI -> {
                 validateGoogleSearchConfig();
-                citationConfig = new CitationConfig(source, config.getGoogleSearchApiKey());
-                return new CitationService(citationConfig, config.getGoogleCseId());
+                citationConfig = new CitationConfig(source, config.getGoogleSearchApiKey(), config.getGoogleSearchBaseUrl());
+                return new CitationService(citationConfig, config.getGoogleCseId(), searchCache, fallbackConfig);
             }
             case TAVILY -> {
                 if (!config.hasApiKey(CitationSource.TAVILY)) {
                     throw new ConfigurationException(
                         "Tavily API key required for Tavily citation source. " + "Set TAVILY_API_KEY environment variable or configure via builder.");
                 }
-                citationConfig = new CitationConfig(source, config.getTavilyApiKey());
-                return new CitationService(citationConfig);
+                citationConfig = new CitationConfig(source, config.getTavilyApiKey(), config.getTavilyBaseUrl());
+                return new CitationService(citationConfig, config.getGoogleCseId(), searchCache, fallbackConfig);
+            }
+            case PERPLEXITY -> {
+                if (!config.hasApiKey(CitationSource.PERPLEXITY)) {
+                    throw new ConfigurationException(
+                        "Perplexity API key required for Perplexity citation source. " + "Set PERPLEXITY_API_KEY environment variable or configure via builder.");
+                }
+                citationConfig = new CitationConfig(source, config.getPerplexityApiKey());
+                return new CitationService(citationConfig, config.getGoogleCseId(), searchCache, fallbackConfig);
             }
             default -> throw new ConfigurationException("Unsupported citation source: " + source);
         }
     }
 
+    // The single-provider service falls back to the first other search provider with credentials, when there is one.
+    private CitationConfig createFallbackCitationConfig(CitationSource primary) {
+        for (CitationSource candidate : List.of(CitationSource.TAVILY, CitationSource.PERPLEXITY, CitationSource.GOOGLE_GEMINI)) {
+            if (candidate == primary || !config.hasApiKey(candidate) || (candidate == CitationSource.GOOGLE_GEMINI && !config.hasApiKey("GOOGLE_CSE_ID"))) {
+                continue;
+            }
+            return new CitationConfig(candidate, config.getApiKey(candidate), config.getCitationBaseUrl(candidate));
+        }
+        return null;
+    }
+
+    private CitationService createMultiProviderCitationService(List<CitationSource> providers, SearchResultCache searchCache)
+        throws ConfigurationException, CitationException {
+        CitationService.MultiProviderBuilder builder = CitationService.multiProvider()
+            .searchCache(searchCache);
+        int configured = 0;
+        for (CitationSource provider : providers) {
+            if (!config.hasApiKey(provider) || (provider == CitationSource.GOOGLE_GEMINI && !config.hasApiKey("GOOGLE_CSE_ID"))) {
+                logger.warning("Skipping citation provider " + provider + ": no credentials configured");
+                continue;
+            }
+            builder.provider(provider, CitationService.createFetcher(provider, config.getApiKey(provider), config.getGoogleCseId(),
+                config.getCitationBaseUrl(provider)));
+            configured++;
+        }
+        if (configured == 0) {
+            throw new ConfigurationException("None of the configured citation providers " + providers + " has credentials");
+        }
+        return builder.build();
+    }
+
     private void validateGoogleSearchConfig() throws ConfigurationException {
         if (!config.hasApiKey(CitationSource.GOOGLE_GEMINI)) {
             throw new ConfigurationException(
@@ -1,9 +1,29 @@
 package com.github.bhavuklabs.citation;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.github.bhavuklabs.exceptions.citation.CitationException;
 
 public interface CitationFetcher {
     List<CitationResult> fetch(String query) throws CitationException;
+
+    // Fetchers without a native asynchronous path run the blocking fetch on its own virtual thread.
+    default CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+        CompletableFuture<List<CitationResult>> result = new CompletableFuture<>();
+        Thread.ofVirtual()
+            .name("research4j-citation-fetch")
+            .start(() -> {
+                try {
+                    result.complete(fetch(query));
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        return result;
+    }
+
+    default CompletableFuture<List<CitationResult>> fetchAsync(String query) {
+        return fetchAsync(query, FetchOptions.defaults());
+    }
 }
@@ -57,6 +57,21 @@ public class CitationResult {
         return metadata != null ? metadata.get(key) : null;
     }
 
+    public CitationResult copy() {
+        CitationResult copy = new CitationResult();
+        copy.title = title;
+        copy.snippet = snippet;
+        copy.content = content;
+        copy.url = url;
+        copy.relevanceScore = relevanceScore;
+        copy.retrievedAt = retrievedAt;
+        copy.language = language;
+        copy.domain = domain;
+        copy.wordCount = wordCount;
+        copy.metadata = getMetadata();
+        return copy;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
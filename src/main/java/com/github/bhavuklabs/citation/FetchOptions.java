@@ -0,0 +1,103 @@
+package com.github.bhavuklabs.citation;
+
+import java.time.Duration;
+
+import com.github.bhavuklabs.core.resilience.Deadline;
+
+public class FetchOptions {
+
+    private static final FetchOptions DEFAULTS = builder().build();
+    private static final Duration MIN_CONTENT_TIMEOUT = Duration.ofMillis(100);
+
+    private final int maxResults;
+    private final Duration contentTimeout;
+    private final boolean fetchPageContent;
+    private final Deadline deadline;
+
+    private FetchOptions(Builder builder) {
+        this.maxResults = builder.maxResults;
+        this.contentTimeout = builder.contentTimeout;
+        this.fetchPageContent = builder.fetchPageContent;
+        this.deadline = builder.deadline;
+    }
+
+    public static FetchOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // 0 leaves the limit to the fetcher.
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    // null leaves the per-page timeout to the fetcher.
+    public Duration getContentTimeout() {
+        return contentTimeout;
+    }
+
+    public boolean isFetchPageContent() {
+        return fetchPageContent;
+    }
+
+    public Deadline getDeadline() {
+        return deadline;
+    }
+
+    public int resolveMaxResults(int fetcherDefault) {
+        return maxResults > 0 ? Math.min(maxResults, fetcherDefault) : fetcherDefault;
+    }
+
+    // Page downloads never outlive the caller's deadline; the floor keeps HTTP clients from rejecting a zero timeout.
+    public Duration resolveContentTimeout(Duration fetcherDefault) {
+        Duration timeout = deadline.cap(contentTimeout != null ? contentTimeout : fetcherDefault);
+        return timeout.compareTo(MIN_CONTENT_TIMEOUT) < 0 ? MIN_CONTENT_TIMEOUT : timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "FetchOptions{maxResults=" + maxResults + ", contentTimeout=" + contentTimeout + ", fetchPageContent=" + fetchPageContent + ", deadline="
+            + deadline + "}";
+    }
+
+    public static class Builder {
+
+        private int maxResults = 0;
+        private Duration contentTimeout;
+        private boolean fetchPageContent = true;
+        private Deadline deadline = Deadline.none();
+
+        public Builder maxResults(int maxResults) {
+            if (maxResults < 0) {
+                throw new IllegalArgumentException("Max results cannot be negative");
+            }
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        public Builder contentTimeout(Duration contentTimeout) {
+            if (contentTimeout != null && (contentTimeout.isNegative() || contentTimeout.isZero())) {
+                throw new IllegalArgumentException("Content timeout must be positive");
+            }
+            this.contentTimeout = contentTimeout;
+            return this;
+        }
+
+        public Builder fetchPageContent(boolean fetchPageContent) {
+            this.fetchPageContent = fetchPageContent;
+            return this;
+        }
+
+        public Builder deadline(Deadline deadline) {
+            this.deadline = deadline != null ? deadline : Deadline.none();
+            return this;
+        }
+
+        public FetchOptions build() {
+            return new FetchOptions(this);
+        }
+    }
+}
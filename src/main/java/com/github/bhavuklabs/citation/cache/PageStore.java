@@ -0,0 +1,506 @@
+package com.github.bhavuklabs.citation.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.core.cache.BoundedCache;
+import com.github.bhavuklabs.core.cache.CacheStats;
+import com.github.bhavuklabs.core.cache.TextFingerprint;
+
+// Extracted page text keyed by canonical URL: a memory tier bounded by stored characters in front of one file per
+// URL on disk. A page is served without any request while fresh (Cache-Control max-age, else the default freshness),
+// after that it is revalidated with If-None-Match / If-Modified-Since, and it is dropped once it has not been
+// validated for the retention period.
+public final class PageStore {
+
+    private static final Logger logger = Logger.getLogger(PageStore.class.getName());
+
+    private static final int FILE_MAGIC = 0x52344A50;
+    private static final int FILE_FORMAT = 1;
+    private static final String FILE_SUFFIX = ".page";
+
+    private static final Set<String> TRACKING_PARAMETERS = Set.of("gclid", "fbclid", "dclid", "msclkid", "mc_cid", "mc_eid", "ref_src", "_ga");
+
+    public enum Freshness {
+        FRESH,
+        STALE,
+        MISS
+    }
+
+    private final BoundedCache<String, StoredPage> memory;
+    private final Path directory;
+    private final Duration defaultFreshness;
+    private final Duration maximumFreshness;
+    private final Duration retention;
+    private final LongSupplier clock;
+
+    private final AtomicLong freshHits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong unchangedCount = new AtomicLong();
+    private final AtomicLong changedCount = new AtomicLong();
+    private final AtomicLong diskWriteFailures = new AtomicLong();
+
+    private PageStore(Builder builder) {
+        this.memory = BoundedCache.<String, StoredPage>builder()
+            .maximumWeight(builder.maximumMemoryChars, (url, page) -> url.length() + page.getText()
+                .length())
+            .expectedEntries(builder.expectedEntries)
+            .build();
+        this.defaultFreshness = builder.defaultFreshness;
+        this.maximumFreshness = builder.maximumFreshness;
+        this.retention = builder.retention;
+        this.clock = builder.clock;
+        this.directory = prepareDirectory(builder.directory);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Memory only, plus disk under research4j.pageStore.dir when that property is set.
+    public static PageStore createDefault() {
+        String configured = System.getProperty("research4j.pageStore.dir");
+        return builder().directory(configured != null ? Paths.get(configured) : null)
+            .build();
+    }
+
+    // One store per JVM, shared by every fetcher so a page downloaded for one session or provider serves the rest.
+    public static PageStore shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    // Lower-cases scheme and host, drops default ports, fragments and tracking parameters, and sorts the query, so the
+    // links search providers hand out for one page share an entry.
+    public static String canonicalize(String url) {
+        if (url == null) {
+            return null;
+        }
+        String trimmed = url.trim();
+        try {
+            URI uri = new URI(trimmed);
+            if (uri.getScheme() == null || uri.getHost() == null) {
+                return trimmed;
+            }
+            String scheme = uri.getScheme()
+                .toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+                port = -1;
+            }
+            String path = uri.getRawPath();
+
+            StringBuilder canonical = new StringBuilder(trimmed.length());
+            canonical.append(scheme)
+                .append("://")
+                .append(uri.getHost()
+                    .toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                canonical.append(':')
+                    .append(port);
+            }
+            canonical.append(path == null || path.isEmpty() ? "/" : path);
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                canonical.append('?')
+                    .append(query);
+            }
+            return canonical.toString();
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+    }
+
+    public Lookup lookup(String url) {
+        String key = canonicalize(url);
+        if (key == null || key.isEmpty()) {
+            misses.incrementAndGet();
+            return new Lookup(Freshness.MISS, null);
+        }
+        StoredPage page = memory.get(key);
+        if (page == null && directory != null) {
+            page = readFromDisk(key);
+            if (page != null) {
+                diskHits.incrementAndGet();
+                memory.put(key, page);
+            }
+        }
+        if (page == null) {
+            misses.incrementAndGet();
+            return new Lookup(Freshness.MISS, null);
+        }
+
+        long now = clock.getAsLong();
+        if (now <= page.getFreshUntilMillis()) {
+            freshHits.incrementAndGet();
+            return new Lookup(Freshness.FRESH, page);
+        }
+        if (now - page.getValidatedAtMillis() > retention.toMillis()) {
+            invalidate(key);
+            misses.incrementAndGet();
+            return new Lookup(Freshness.MISS, null);
+        }
+        staleHits.incrementAndGet();
+        return new Lookup(Freshness.STALE, page);
+    }
+
+    // Records a downloaded page. maxAge is the server's freshness lifetime, or null to use the default.
+    public StoredPage store(String url, String text, String language, int wordCount, String etag, String lastModified, Duration maxAge) {
+        String key = canonicalize(url);
+        long now = clock.getAsLong();
+        String contentHash = TextFingerprint.of(text)
+            .toString();
+
+        StoredPage previous = memory.get(key);
+        long fetchedAt = now;
+        if (previous != null) {
+            if (previous.getContentHash()
+                .equals(contentHash)) {
+                unchangedCount.incrementAndGet();
+                fetchedAt = previous.getFetchedAtMillis();
+            } else {
+                changedCount.incrementAndGet();
+            }
+        }
+
+        StoredPage page = new StoredPage(key, text, language, wordCount, contentHash, etag, lastModified, fetchedAt, now, freshUntil(now, maxAge));
+        save(key, page);
+        return page;
+    }
+
+    // Records a 304: the stored text is still current, and the server may have sent new validators or a new max-age.
+    public StoredPage revalidated(StoredPage page, String etag, String lastModified, Duration maxAge) {
+        long now = clock.getAsLong();
+        StoredPage refreshed = page.revalidated(etag, lastModified, now, freshUntil(now, maxAge));
+        notModifiedCount.incrementAndGet();
+        save(page.getUrl(), refreshed);
+        return refreshed;
+    }
+
+    public void invalidate(String url) {
+        String key = canonicalize(url);
+        memory.invalidate(key);
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(fileFor(key));
+            } catch (IOException e) {
+                logger.fine("Failed to delete page store entry: " + e.getMessage());
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to clear page store directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isPersistent() {
+        return directory != null;
+    }
+
+    public CacheStats getMemoryStats() {
+        return memory.stats();
+    }
+
+    public long getFreshHitCount() {
+        return freshHits.get();
+    }
+
+    public long getStaleHitCount() {
+        return staleHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getUnchangedCount() {
+        return unchangedCount.get();
+    }
+
+    public long getChangedCount() {
+        return changedCount.get();
+    }
+
+    public long getDiskWriteFailureCount() {
+        return diskWriteFailures.get();
+    }
+
+    @Override
+    public String toString() {
+        return "PageStore{fresh=" + getFreshHitCount() + ", stale=" + getStaleHitCount() + ", miss=" + getMissCount() + ", disk=" + getDiskHitCount()
+            + ", notModified=" + getNotModifiedCount() + ", unchanged=" + getUnchangedCount() + ", changed=" + getChangedCount() + ", persistent="
+            + isPersistent() + "}";
+    }
+
+    private long freshUntil(long now, Duration maxAge) {
+        Duration lifetime = maxAge != null ? maxAge : defaultFreshness;
+        if (lifetime.compareTo(maximumFreshness) > 0) {
+            lifetime = maximumFreshness;
+        }
+        return now + Math.max(0L, lifetime.toMillis());
+    }
+
+    private void save(String key, StoredPage page) {
+        memory.put(key, page);
+        if (directory != null) {
+            writeToDisk(key, page);
+        }
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> parameters = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            int equals = parameter.indexOf('=');
+            String name = (equals < 0 ? parameter : parameter.substring(0, equals)).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMETERS.contains(name)) {
+                continue;
+            }
+            parameters.add(parameter);
+        }
+        Collections.sort(parameters);
+        return String.join("&", parameters);
+    }
+
+    private Path prepareDirectory(Path requested) {
+        if (requested == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(requested);
+            return requested;
+        } catch (IOException e) {
+            logger.warning("Page store directory " + requested + " is unavailable, storing pages in memory only: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(TextFingerprint.of(key) + FILE_SUFFIX);
+    }
+
+    private StoredPage readFromDisk(String key) {
+        Path file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_FORMAT) {
+                return null;
+            }
+            // The stored URL guards against fingerprint collisions between different pages.
+            if (!key.equals(readString(in))) {
+                return null;
+            }
+            String text = readString(in);
+            String language = readString(in);
+            int wordCount = in.readInt();
+            String contentHash = readString(in);
+            String etag = readString(in);
+            String lastModified = readString(in);
+            long fetchedAt = in.readLong();
+            long validatedAt = in.readLong();
+            long freshUntil = in.readLong();
+            return new StoredPage(key, text, language, wordCount, contentHash, etag, lastModified, fetchedAt, validatedAt, freshUntil);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warning("Discarding unreadable page store entry " + file.getFileName() + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Left for the next write to replace.
+            }
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, StoredPage page) {
+        Path file = fileFor(key);
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread()
+            .threadId() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_FORMAT);
+                writeString(out, key);
+                writeString(out, page.getText());
+                writeString(out, page.getLanguage());
+                out.writeInt(page.getWordCount());
+                writeString(out, page.getContentHash());
+                writeString(out, page.getEtag());
+                writeString(out, page.getLastModified());
+                out.writeLong(page.getFetchedAtMillis());
+                out.writeLong(page.getValidatedAtMillis());
+                out.writeLong(page.getFreshUntilMillis());
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            diskWriteFailures.incrementAndGet();
+            logger.warning("Failed to persist page store entry: " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // Stray temporary files are harmless.
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class SharedHolder {
+
+        static final PageStore INSTANCE = createDefault();
+    }
+
+    public static final class Lookup {
+
+        private final Freshness freshness;
+        private final StoredPage page;
+
+        private Lookup(Freshness freshness, StoredPage page) {
+            this.freshness = freshness;
+            this.page = page;
+        }
+
+        public Freshness getFreshness() {
+            return freshness;
+        }
+
+        public StoredPage getPage() {
+            return page;
+        }
+    }
+
+    public static class Builder {
+
+        private long maximumMemoryChars = 16_000_000;
+        private long expectedEntries = 4096;
+        private Path directory;
+        private Duration defaultFreshness = Duration.ofHours(1);
+        private Duration maximumFreshness = Duration.ofDays(7);
+        private Duration retention = Duration.ofDays(30);
+        private LongSupplier clock = System::currentTimeMillis;
+
+        // Bounds the memory tier by the characters of text it holds rather than by page count.
+        public Builder maximumMemoryChars(long maximumMemoryChars) {
+            if (maximumMemoryChars <= 0) {
+                throw new IllegalArgumentException("Maximum memory chars must be positive");
+            }
+            this.maximumMemoryChars = maximumMemoryChars;
+            return this;
+        }
+
+        public Builder expectedEntries(long expectedEntries) {
+            if (expectedEntries <= 0) {
+                throw new IllegalArgumentException("Expected entries must be positive");
+            }
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        // Null keeps the store in memory only.
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        // Freshness lifetime for responses without Cache-Control max-age.
+        public Builder defaultFreshness(Duration defaultFreshness) {
+            if (defaultFreshness == null || defaultFreshness.isNegative()) {
+                throw new IllegalArgumentException("Default freshness must not be negative");
+            }
+            this.defaultFreshness = defaultFreshness;
+            return this;
+        }
+
+        public Builder maximumFreshness(Duration maximumFreshness) {
+            if (maximumFreshness == null || maximumFreshness.isNegative()) {
+                throw new IllegalArgumentException("Maximum freshness must not be negative");
+            }
+            this.maximumFreshness = maximumFreshness;
+            return this;
+        }
+
+        public Builder retention(Duration retention) {
+            if (retention == null || retention.isNegative() || retention.isZero()) {
+                throw new IllegalArgumentException("Retention must be positive");
+            }
+            this.retention = retention;
+            return this;
+        }
+
+        public Builder clock(LongSupplier clock) {
+            if (clock == null) {
+                throw new IllegalArgumentException("Clock must not be null");
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        public PageStore build() {
+            return new PageStore(this);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.github.bhavuklabs.citation.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.core.cache.BoundedCache;
+import com.github.bhavuklabs.core.cache.CacheStats;
+import com.github.bhavuklabs.core.cache.TextFingerprint;
+
+// Two-tier search result cache: a bounded in-memory tier in front of one file per normalised query on disk, so results
+// survive restarts. Entries are fresh until their source's TTL, then served stale for a grace window while the caller
+// revalidates, then dropped.
+public final class SearchResultCache {
+
+    private static final Logger logger = Logger.getLogger(SearchResultCache.class.getName());
+
+    private static final int FILE_MAGIC = 0x52344A53;
+    private static final int FILE_FORMAT = 1;
+    private static final String FILE_SUFFIX = ".sr";
+
+    public enum Freshness {
+        FRESH,
+        STALE,
+        MISS
+    }
+
+    private final BoundedCache<String, Entry> memory;
+    private final Path directory;
+    private final Map<CitationSource, Duration> timeToLive;
+    private final Duration defaultTimeToLive;
+    private final Duration staleWhileRevalidate;
+    private final LongSupplier clock;
+    private final AtomicLong diskHits;
+    private final AtomicLong diskWriteFailures;
+
+    private SearchResultCache(Builder builder) {
+        this.memory = BoundedCache.<String, Entry>builder()
+            .maximumSize(builder.maximumEntries)
+            .build();
+        this.timeToLive = new EnumMap<>(builder.timeToLive);
+        this.defaultTimeToLive = builder.defaultTimeToLive;
+        this.staleWhileRevalidate = builder.staleWhileRevalidate;
+        this.clock = builder.clock;
+        this.diskHits = new AtomicLong();
+        this.diskWriteFailures = new AtomicLong();
+        this.directory = prepareDirectory(builder.directory);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Memory only, plus disk under research4j.searchCache.dir when that property is set.
+    public static SearchResultCache createDefault() {
+        String configured = System.getProperty("research4j.searchCache.dir");
+        return builder().directory(configured != null ? Paths.get(configured) : null)
+            .build();
+    }
+
+    // Order-insensitive key over the distinct lower-cased words, so punctuation, spacing and word order variations of a
+    // query share one entry.
+    public static String normalizeQuery(String query) {
+        TreeSet<String> terms = new TreeSet<>();
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= query.length(); i++) {
+            char c = i < query.length() ? Character.toLowerCase(query.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(c);
+            } else if (term.length() > 0) {
+                terms.add(term.toString());
+                term.setLength(0);
+            }
+        }
+        return String.join(" ", terms);
+    }
+
+    public Lookup lookup(String query) {
+        String key = normalizeQuery(query);
+        if (key.isEmpty()) {
+            return new Lookup(Freshness.MISS, Collections.emptyList());
+        }
+        Entry entry = memory.get(key);
+        if (entry == null && directory != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                diskHits.incrementAndGet();
+                memory.put(key, entry);
+            }
+        }
+        if (entry == null) {
+            return new Lookup(Freshness.MISS, Collections.emptyList());
+        }
+
+        long age = clock.getAsLong() - entry.storedAtMillis;
+        long ttl = timeToLiveFor(entry.source).toMillis();
+        if (age <= ttl) {
+            return new Lookup(Freshness.FRESH, copyAll(entry.results));
+        }
+        if (age <= ttl + staleWhileRevalidate.toMillis()) {
+            return new Lookup(Freshness.STALE, copyAll(entry.results));
+        }
+
+        invalidate(key);
+        return new Lookup(Freshness.MISS, Collections.emptyList());
+    }
+
+    public void put(String query, CitationSource source, List<CitationResult> results) {
+        String key = normalizeQuery(query);
+        if (key.isEmpty()) {
+            return;
+        }
+        Entry entry = new Entry(source, clock.getAsLong(), copyAll(results));
+        memory.put(key, entry);
+        if (directory != null) {
+            writeToDisk(key, entry);
+        }
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to clear search cache directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    public Duration timeToLiveFor(CitationSource source) {
+        Duration ttl = source != null ? timeToLive.get(source) : null;
+        return ttl != null ? ttl : defaultTimeToLive;
+    }
+
+    public boolean isPersistent() {
+        return directory != null;
+    }
+
+    public CacheStats getMemoryStats() {
+        return memory.stats();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getDiskWriteFailureCount() {
+        return diskWriteFailures.get();
+    }
+
+    private void invalidate(String key) {
+        memory.invalidate(key);
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(fileFor(key));
+            } catch (IOException e) {
+                logger.fine("Failed to delete expired search cache entry: " + e.getMessage());
+            }
+        }
+    }
+
+    private Path prepareDirectory(Path requested) {
+        if (requested == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(requested);
+            return requested;
+        } catch (IOException e) {
+            logger.warning("Search cache directory " + requested + " is unavailable, caching in memory only: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(TextFingerprint.of(key) + FILE_SUFFIX);
+    }
+
+    private Entry readFromDisk(String key) {
+        Path file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_FORMAT) {
+                return null;
+            }
+            // The stored key guards against fingerprint collisions between different queries.
+            if (!key.equals(readString(in))) {
+                return null;
+            }
+            String sourceName = readString(in);
+            long storedAtMillis = in.readLong();
+            int count = in.readInt();
+            List<CitationResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(readResult(in));
+            }
+            CitationSource source = sourceName != null ? CitationSource.valueOf(sourceName) : null;
+            return new Entry(source, storedAtMillis, results);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warning("Discarding unreadable search cache entry " + file.getFileName() + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Left for the next write to replace.
+            }
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        Path file = fileFor(key);
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread()
+            .threadId() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_FORMAT);
+                writeString(out, key);
+                writeString(out, entry.source != null ? entry.source.name() : null);
+                out.writeLong(entry.storedAtMillis);
+                out.writeInt(entry.results.size());
+                for (CitationResult result : entry.results) {
+                    writeResult(out, result);
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            diskWriteFailures.incrementAndGet();
+            logger.warning("Failed to persist search cache entry: " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // Stray temporary files are harmless.
+            }
+        }
+    }
+
+    private static void writeResult(DataOutputStream out, CitationResult result) throws IOException {
+        writeString(out, result.getTitle());
+        writeString(out, result.getSnippet());
+        writeString(out, result.getContent());
+        writeString(out, result.getUrl());
+        out.writeDouble(result.getRelevanceScore());
+        writeString(out, result.getRetrievedAt() != null ? result.getRetrievedAt()
+            .toString() : null);
+        writeString(out, result.getLanguage());
+        writeString(out, result.getDomain());
+
+        Map<String, Object> metadata = result.getMetadata();
+        List<Map.Entry<String, Object>> persisted = new ArrayList<>();
+        for (Map.Entry<String, Object> item : metadata.entrySet()) {
+            if (item.getKey() != null && item.getValue() != null) {
+                persisted.add(item);
+            }
+        }
+        out.writeInt(persisted.size());
+        for (Map.Entry<String, Object> item : persisted) {
+            writeString(out, item.getKey());
+            writeString(out, item.getValue()
+                .toString());
+        }
+    }
+
+    private static CitationResult readResult(DataInputStream in) throws IOException {
+        CitationResult result = new CitationResult(readString(in), readString(in), readString(in), readString(in));
+        result.setRelevanceScore(in.readDouble());
+        String retrievedAt = readString(in);
+        result.setRetrievedAt(retrievedAt != null ? LocalDateTime.parse(retrievedAt) : null);
+        result.setLanguage(readString(in));
+        result.setDomain(readString(in));
+        int metadataCount = in.readInt();
+        for (int i = 0; i < metadataCount; i++) {
+            result.addMetadata(readString(in), readString(in));
+        }
+        return result;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Results are mutable and callers re-score them, so the cache never shares instances with callers.
+    private static List<CitationResult> copyAll(List<CitationResult> results) {
+        List<CitationResult> copies = new ArrayList<>(results.size());
+        for (CitationResult result : results) {
+            copies.add(result.copy());
+        }
+        return copies;
+    }
+
+    private static final class Entry {
+
+        final CitationSource source;
+        final long storedAtMillis;
+        final List<CitationResult> results;
+
+        Entry(CitationSource source, long storedAtMillis, List<CitationResult> results) {
+            this.source = source;
+            this.storedAtMillis = storedAtMillis;
+            this.results = results;
+        }
+    }
+
+    public static final class Lookup {
+
+        private final Freshness freshness;
+        private final List<CitationResult> results;
+
+        private Lookup(Freshness freshness, List<CitationResult> results) {
+            this.freshness = freshness;
+            this.results = results;
+        }
+
+        public Freshness getFreshness() {
+            return freshness;
+        }
+
+        public List<CitationResult> getResults() {
+            return results;
+        }
+    }
+
+    public static class Builder {
+
+        private long maximumEntries = 1000;
+        private Path directory;
+        private final Map<CitationSource, Duration> timeToLive = new EnumMap<>(CitationSource.class);
+        private Duration defaultTimeToLive = Duration.ofHours(12);
+        private Duration staleWhileRevalidate = Duration.ofHours(24);
+        private LongSupplier clock = System::currentTimeMillis;
+
+        private Builder() {
+            timeToLive.put(CitationSource.TAVILY, Duration.ofHours(6));
+            timeToLive.put(CitationSource.GOOGLE_GEMINI, Duration.ofHours(24));
+        }
+
+        public Builder maximumEntries(long maximumEntries) {
+            if (maximumEntries <= 0) {
+                throw new IllegalArgumentException("Maximum entries must be positive");
+            }
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        // Null keeps the cache in memory only.
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder timeToLive(CitationSource source, Duration ttl) {
+            if (source == null) {
+                throw new IllegalArgumentException("Citation source must not be null");
+            }
+            this.timeToLive.put(source, requirePositive(ttl, "TTL"));
+            return this;
+        }
+
+        public Builder defaultTimeToLive(Duration ttl) {
+            this.defaultTimeToLive = requirePositive(ttl, "TTL");
+            return this;
+        }
+
+        public Builder staleWhileRevalidate(Duration window) {
+            if (window == null || window.isNegative()) {
+                throw new IllegalArgumentException("Stale window must not be negative");
+            }
+            this.staleWhileRevalidate = window;
+            return this;
+        }
+
+        public Builder clock(LongSupplier clock) {
+            if (clock == null) {
+                throw new IllegalArgumentException("Clock must not be null");
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        public SearchResultCache build() {
+            return new SearchResultCache(this);
+        }
+
+        private static Duration requirePositive(Duration duration, String name) {
+            if (duration == null || duration.isNegative() || duration.isZero()) {
+                throw new IllegalArgumentException(name + " must be positive");
+            }
+            return duration;
+        }
+    }
+}
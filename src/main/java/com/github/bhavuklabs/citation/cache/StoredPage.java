@@ -0,0 +1,86 @@
+package com.github.bhavuklabs.citation.cache;
+
+// Extracted text of one page plus the validators needed to revalidate it with a conditional GET.
+public final class StoredPage {
+
+    private final String url;
+    private final String text;
+    private final String language;
+    private final int wordCount;
+    private final String contentHash;
+    private final String etag;
+    private final String lastModified;
+    private final long fetchedAtMillis;
+    private final long validatedAtMillis;
+    private final long freshUntilMillis;
+
+    StoredPage(String url, String text, String language, int wordCount, String contentHash, String etag, String lastModified, long fetchedAtMillis,
+        long validatedAtMillis, long freshUntilMillis) {
+        this.url = url;
+        this.text = text;
+        this.language = language;
+        this.wordCount = wordCount;
+        this.contentHash = contentHash;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.validatedAtMillis = validatedAtMillis;
+        this.freshUntilMillis = freshUntilMillis;
+    }
+
+    StoredPage revalidated(String etag, String lastModified, long validatedAtMillis, long freshUntilMillis) {
+        return new StoredPage(url, text, language, wordCount, contentHash, etag != null ? etag : this.etag,
+            lastModified != null ? lastModified : this.lastModified, fetchedAtMillis, validatedAtMillis, freshUntilMillis);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getLanguage() {
+        return language;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public boolean hasValidators() {
+        return etag != null || lastModified != null;
+    }
+
+    // When this text was first downloaded; unchanged re-downloads and 304s keep the original time.
+    public long getFetchedAtMillis() {
+        return fetchedAtMillis;
+    }
+
+    public long getValidatedAtMillis() {
+        return validatedAtMillis;
+    }
+
+    public long getFreshUntilMillis() {
+        return freshUntilMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredPage{url='" + url + "', language=" + language + ", wordCount=" + wordCount + ", etag=" + etag + ", lastModified=" + lastModified
+            + ", contentHash=" + contentHash + "}";
+    }
+}
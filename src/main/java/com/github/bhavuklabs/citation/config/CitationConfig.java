@@ -5,10 +5,17 @@ import com.github.bhavuklabs.citation.enums.CitationSource;
 public class CitationConfig {
     private final CitationSource citationSource;
     private final String apiKey;
+    private final String baseUrl;
 
     public CitationConfig(CitationSource source, String apiKey) {
+        this(source, apiKey, null);
+    }
+
+    // baseUrl overrides the provider's API endpoint; null for the provider's own.
+    public CitationConfig(CitationSource source, String apiKey, String baseUrl) {
         this.citationSource = source;
         this.apiKey = apiKey;
+        this.baseUrl = baseUrl;
     }
 
     public CitationSource getCitationSource() {
@@ -18,4 +25,8 @@ public class CitationConfig {
     public String getApiKey() {
         return apiKey;
     }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
 }
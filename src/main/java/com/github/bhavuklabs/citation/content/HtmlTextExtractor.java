@@ -0,0 +1,645 @@
+package com.github.bhavuklabs.citation.content;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Single-pass HTML to text: a small tag scanner drops boilerplate elements, collapses whitespace and collects body
+// text alongside the text of likely main-content containers, without building a DOM. Reading stops once the
+// preferred container has filled the character budget.
+public final class HtmlTextExtractor {
+
+    private static final String NO_CONTENT = "No content available";
+
+    private static final Set<String> RAW_TEXT_ELEMENTS = Set.of("script", "style");
+    private static final Set<String> SKIPPED_ELEMENTS = Set.of("head", "title", "noscript", "template", "svg", "math", "nav", "footer", "header",
+        "aside", "iframe", "object", "embed", "canvas", "select", "button", "form");
+    private static final Set<String> VOID_ELEMENTS = Set.of("area", "base", "br", "col", "embed", "hr", "img", "input", "link", "meta", "param",
+        "source", "track", "wbr");
+    private static final Set<String> BLOCK_ELEMENTS = Set.of("address", "article", "blockquote", "br", "caption", "dd", "div", "dl", "dt",
+        "figcaption", "figure", "h1", "h2", "h3", "h4", "h5", "h6", "hr", "li", "main", "ol", "p", "pre", "section", "table", "tbody", "td",
+        "tfoot", "th", "thead", "tr", "ul");
+    // Matched against whole class / id tokens; substring matching (the old [class*=ad]) also hit "header", "shadow", "read".
+    private static final Set<String> BOILERPLATE_TOKENS = Set.of("ad", "ads", "advert", "advertisement", "banner", "cookie", "cookies", "comments",
+        "newsletter", "promo", "related", "share", "sharing", "sidebar", "social", "social-media", "sponsored");
+
+    // Main-content candidates in order of preference.
+    private static final String[] CANDIDATE_TAGS = { "main", "article" };
+    private static final String[] CANDIDATE_CLASSES = { "main-content", "content", "post-content", "entry-content", "article-content",
+        "page-content", "post-body" };
+    private static final String[] CANDIDATE_IDS = { "main", "content" };
+    private static final int CANDIDATES = CANDIDATE_TAGS.length + CANDIDATE_CLASSES.length + CANDIDATE_IDS.length;
+
+    private static final int MAX_TAG_LENGTH = 4096;
+    private static final int MAX_ENTITY_LENGTH = 10;
+
+    private final int maxChars;
+    private final int minMainContentLength;
+
+    private HtmlTextExtractor(Builder builder) {
+        this.maxChars = builder.maxChars;
+        this.minMainContentLength = builder.minMainContentLength;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Extraction extract(String html) {
+        if (html == null || html.trim()
+            .isEmpty()) {
+            return new Extraction(NO_CONTENT, null, false, false, 0);
+        }
+        try {
+            return extract(new StringReader(html));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Extraction extract(Reader reader) throws IOException {
+        Run run = new Run(reader);
+        run.scan();
+        return run.finish();
+    }
+
+    public int getMaxChars() {
+        return maxChars;
+    }
+
+    public static String truncateAtSentenceBoundary(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return text;
+        }
+
+        String truncated = text.substring(0, maxLength);
+
+        int lastSentence = Math.max(truncated.lastIndexOf(". "), Math.max(truncated.lastIndexOf("! "), truncated.lastIndexOf("? ")));
+
+        if (lastSentence > maxLength * 0.8) {
+            return truncated.substring(0, lastSentence + 1);
+        }
+
+        return truncated + "...";
+    }
+
+    public static final class Extraction {
+
+        private final String text;
+        private final String language;
+        private final boolean mainContent;
+        private final boolean stoppedEarly;
+        private final long charactersRead;
+
+        Extraction(String text, String language, boolean mainContent, boolean stoppedEarly, long charactersRead) {
+            this.text = text;
+            this.language = language;
+            this.mainContent = mainContent;
+            this.stoppedEarly = stoppedEarly;
+            this.charactersRead = charactersRead;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        // Primary subtag of the document's lang attribute, or null when the page does not declare one.
+        public String getLanguage() {
+            return language;
+        }
+
+        public boolean isMainContent() {
+            return mainContent;
+        }
+
+        public boolean isStoppedEarly() {
+            return stoppedEarly;
+        }
+
+        public long getCharactersRead() {
+            return charactersRead;
+        }
+
+        public int getWordCount() {
+            return countWords(text);
+        }
+    }
+
+    private static final class Capture {
+
+        final int candidate;
+        final String tag;
+        int depth = 1;
+
+        Capture(int candidate, String tag) {
+            this.candidate = candidate;
+            this.tag = tag;
+        }
+    }
+
+    private final class Run {
+
+        private final Reader reader;
+        private final char[] buffer = new char[8192];
+        private int position;
+        private int limit;
+        private long charactersRead;
+
+        private final int capacity = maxChars + 1;
+        private final StringBuilder body = new StringBuilder();
+        private final StringBuilder[] candidates = new StringBuilder[CANDIDATES];
+        private final List<Capture> captures = new ArrayList<>();
+        private int bestCandidateSeen = CANDIDATES;
+
+        private String language;
+        private String skipTag;
+        private int skipDepth;
+        private boolean pendingSpace;
+        private boolean done;
+
+        Run(Reader reader) {
+            this.reader = reader;
+        }
+
+        void scan() throws IOException {
+            int c;
+            while (!done && (c = read()) != -1) {
+                if (c == '<') {
+                    scanMarkup();
+                } else if (skipTag == null) {
+                    if (c == '&') {
+                        appendText(readEntity());
+                    } else {
+                        appendChar((char) c);
+                    }
+                }
+            }
+        }
+
+        Extraction finish() {
+            boolean stoppedEarly = done;
+            for (int i = 0; i < CANDIDATES; i++) {
+                StringBuilder candidate = candidates[i];
+                if (candidate != null && candidate.length() > minMainContentLength) {
+                    return new Extraction(finalText(candidate), language, true, stoppedEarly, charactersRead);
+                }
+            }
+            return new Extraction(finalText(body), language, false, stoppedEarly, charactersRead);
+        }
+
+        private String finalText(StringBuilder text) {
+            String trimmed = text.toString()
+                .trim();
+            if (trimmed.isEmpty()) {
+                return NO_CONTENT;
+            }
+            return truncateAtSentenceBoundary(trimmed, maxChars);
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+                charactersRead += limit;
+            }
+            return buffer[position++];
+        }
+
+        private int peek() throws IOException {
+            int c = read();
+            if (c != -1) {
+                position--;
+            }
+            return c;
+        }
+
+        private void scanMarkup() throws IOException {
+            int next = peek();
+            if (next == '!') {
+                read();
+                if (peek() == '-') {
+                    read();
+                    if (peek() == '-') {
+                        read();
+                        skipComment();
+                        return;
+                    }
+                }
+                skipPast('>');
+                return;
+            }
+            if (next == '?') {
+                skipPast('>');
+                return;
+            }
+            boolean endTag = next == '/';
+            if (endTag) {
+                read();
+                next = peek();
+            }
+            if (next == -1 || !Character.isLetter(next)) {
+                if (skipTag == null) {
+                    appendChar('<');
+                    if (endTag) {
+                        appendChar('/');
+                    }
+                }
+                return;
+            }
+
+            String name = readTagName();
+            String attributes = readAttributes();
+            boolean selfClosing = attributes.endsWith("/");
+
+            if (endTag) {
+                handleEndTag(name);
+            } else {
+                handleStartTag(name, attributes, selfClosing);
+            }
+        }
+
+        private void handleStartTag(String name, String attributes, boolean selfClosing) throws IOException {
+            if (skipTag != null) {
+                if (name.equals(skipTag) && !selfClosing) {
+                    skipDepth++;
+                }
+                return;
+            }
+            if (name.equals("html") && language == null) {
+                language = primaryLanguage(attributeValue(attributes, "lang"));
+            }
+            if (RAW_TEXT_ELEMENTS.contains(name)) {
+                if (!selfClosing) {
+                    skipRawText(name);
+                }
+                return;
+            }
+            if (VOID_ELEMENTS.contains(name) || selfClosing) {
+                if (BLOCK_ELEMENTS.contains(name)) {
+                    pendingSpace = true;
+                }
+                return;
+            }
+            if (SKIPPED_ELEMENTS.contains(name) || isBoilerplate(attributes)) {
+                skipTag = name;
+                skipDepth = 1;
+                return;
+            }
+
+            if (BLOCK_ELEMENTS.contains(name)) {
+                pendingSpace = true;
+            }
+            for (Capture capture : captures) {
+                if (capture.tag.equals(name)) {
+                    capture.depth++;
+                }
+            }
+            int candidate = candidateIndex(name, attributes);
+            if (candidate >= 0 && candidates[candidate] == null) {
+                candidates[candidate] = new StringBuilder();
+                captures.add(new Capture(candidate, name));
+                bestCandidateSeen = Math.min(bestCandidateSeen, candidate);
+            }
+        }
+
+        private void handleEndTag(String name) {
+            if (skipTag != null) {
+                if (name.equals(skipTag) && --skipDepth == 0) {
+                    skipTag = null;
+                    pendingSpace = true;
+                }
+                return;
+            }
+            if (BLOCK_ELEMENTS.contains(name)) {
+                pendingSpace = true;
+            }
+            for (int i = captures.size() - 1; i >= 0; i--) {
+                Capture capture = captures.get(i);
+                if (capture.tag.equals(name) && --capture.depth == 0) {
+                    captures.remove(i);
+                }
+            }
+        }
+
+        private void appendText(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                appendChar(text.charAt(i));
+            }
+        }
+
+        private void appendChar(char c) {
+            if (Character.isWhitespace(c) || c == ' ') {
+                pendingSpace = true;
+                return;
+            }
+            boolean space = pendingSpace;
+            pendingSpace = false;
+            appendTo(body, c, space);
+            for (Capture capture : captures) {
+                StringBuilder target = candidates[capture.candidate];
+                appendTo(target, c, space);
+                // Nothing preferable can still be found once the best candidate seen so far is full.
+                if (target.length() >= capacity && capture.candidate <= bestCandidateSeen) {
+                    done = true;
+                }
+            }
+        }
+
+        private void appendTo(StringBuilder target, char c, boolean space) {
+            if (target.length() >= capacity) {
+                return;
+            }
+            if (space && target.length() > 0) {
+                target.append(' ');
+            }
+            target.append(c);
+        }
+
+        private String readTagName() throws IOException {
+            StringBuilder name = new StringBuilder();
+            int c;
+            while ((c = peek()) != -1 && (Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_')) {
+                read();
+                if (name.length() < 64) {
+                    name.append(Character.toLowerCase((char) c));
+                }
+            }
+            return name.toString();
+        }
+
+        // Returns the attribute text up to the closing '>', honouring quotes; only the first few kilobytes are kept.
+        private String readAttributes() throws IOException {
+            StringBuilder attributes = new StringBuilder();
+            char quote = 0;
+            int c;
+            while ((c = read()) != -1) {
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = (char) c;
+                } else if (c == '>') {
+                    break;
+                }
+                if (attributes.length() < MAX_TAG_LENGTH) {
+                    attributes.append((char) c);
+                }
+            }
+            return attributes.toString()
+                .trim();
+        }
+
+        private void skipComment() throws IOException {
+            int dashes = 0;
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '>' && dashes >= 2) {
+                    return;
+                }
+                dashes = c == '-' ? dashes + 1 : 0;
+            }
+        }
+
+        private void skipPast(char terminator) throws IOException {
+            int c;
+            while ((c = read()) != -1 && c != terminator) {
+            }
+        }
+
+        private void skipRawText(String name) throws IOException {
+            int matched = 0;
+            String closing = "</" + name;
+            int c;
+            while ((c = read()) != -1) {
+                char lower = Character.toLowerCase((char) c);
+                if (lower == closing.charAt(matched)) {
+                    matched++;
+                    if (matched == closing.length()) {
+                        skipPast('>');
+                        pendingSpace = true;
+                        return;
+                    }
+                } else {
+                    matched = lower == '<' ? 1 : 0;
+                }
+            }
+        }
+
+        private String readEntity() throws IOException {
+            StringBuilder entity = new StringBuilder();
+            int c;
+            while (entity.length() < MAX_ENTITY_LENGTH && (c = peek()) != -1 && (Character.isLetterOrDigit(c) || c == '#')) {
+                read();
+                entity.append((char) c);
+            }
+            if (peek() != ';' || entity.length() == 0) {
+                return "&" + entity;
+            }
+            read();
+            String decoded = decodeEntity(entity.toString());
+            return decoded != null ? decoded : "&" + entity + ";";
+        }
+
+        private boolean isBoilerplate(String attributes) {
+            if (attributes.isEmpty()) {
+                return false;
+            }
+            for (String token : tokens(attributeValue(attributes, "class"))) {
+                if (BOILERPLATE_TOKENS.contains(token)) {
+                    return true;
+                }
+            }
+            for (String token : tokens(attributeValue(attributes, "id"))) {
+                if (BOILERPLATE_TOKENS.contains(token)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int candidateIndex(String name, String attributes) {
+            int best = -1;
+            for (int i = 0; i < CANDIDATE_TAGS.length; i++) {
+                if (CANDIDATE_TAGS[i].equals(name)) {
+                    best = i;
+                    break;
+                }
+            }
+            if (attributes.isEmpty()) {
+                return best;
+            }
+            List<String> classes = tokens(attributeValue(attributes, "class"));
+            for (int i = 0; i < CANDIDATE_CLASSES.length && (best < 0 || CANDIDATE_TAGS.length + i < best); i++) {
+                if (classes.contains(CANDIDATE_CLASSES[i])) {
+                    best = CANDIDATE_TAGS.length + i;
+                    break;
+                }
+            }
+            String id = attributeValue(attributes, "id");
+            for (int i = 0; i < CANDIDATE_IDS.length && best < 0; i++) {
+                if (CANDIDATE_IDS[i].equalsIgnoreCase(id)) {
+                    best = CANDIDATE_TAGS.length + CANDIDATE_CLASSES.length + i;
+                }
+            }
+            return best;
+        }
+    }
+
+    static String attributeValue(String attributes, String name) {
+        String lower = attributes.toLowerCase(Locale.ROOT);
+        int from = 0;
+        while (true) {
+            int index = lower.indexOf(name, from);
+            if (index < 0) {
+                return "";
+            }
+            from = index + name.length();
+            boolean startsName = index == 0 || Character.isWhitespace(lower.charAt(index - 1));
+            int i = from;
+            while (i < lower.length() && Character.isWhitespace(lower.charAt(i))) {
+                i++;
+            }
+            if (!startsName || i >= lower.length() || lower.charAt(i) != '=') {
+                continue;
+            }
+            i++;
+            while (i < lower.length() && Character.isWhitespace(lower.charAt(i))) {
+                i++;
+            }
+            if (i >= lower.length()) {
+                return "";
+            }
+            char quote = lower.charAt(i);
+            if (quote == '"' || quote == '\'') {
+                int end = lower.indexOf(quote, i + 1);
+                return lower.substring(i + 1, end < 0 ? lower.length() : end);
+            }
+            int end = i;
+            while (end < lower.length() && !Character.isWhitespace(lower.charAt(end)) && lower.charAt(end) != '/') {
+                end++;
+            }
+            return lower.substring(i, end);
+        }
+    }
+
+    public static int countWords(String text) {
+        if (text == null || NO_CONTENT.equals(text)) {
+            return 0;
+        }
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean whitespace = Character.isWhitespace(text.charAt(i));
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+        }
+        return words;
+    }
+
+    private static String primaryLanguage(String lang) {
+        int end = 0;
+        while (end < lang.length() && Character.isLetter(lang.charAt(end))) {
+            end++;
+        }
+        return end >= 2 && end <= 3 ? lang.substring(0, end) : null;
+    }
+
+    private static List<String> tokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean separator = i == value.length() || Character.isWhitespace(value.charAt(i));
+            if (separator) {
+                if (start >= 0) {
+                    tokens.add(value.substring(start, i));
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        return tokens;
+    }
+
+    private static String decodeEntity(String entity) {
+        if (entity.charAt(0) == '#') {
+            try {
+                int codePoint = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X') ? Integer.parseInt(entity.substring(2), 16)
+                    : Integer.parseInt(entity.substring(1));
+                return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        switch (entity) {
+            case "amp":
+                return "&";
+            case "lt":
+                return "<";
+            case "gt":
+                return ">";
+            case "quot":
+                return "\"";
+            case "apos":
+                return "'";
+            case "nbsp":
+                return " ";
+            case "ndash":
+                return "–";
+            case "mdash":
+                return "—";
+            case "hellip":
+                return "…";
+            case "rsquo":
+                return "’";
+            case "lsquo":
+                return "‘";
+            case "rdquo":
+                return "”";
+            case "ldquo":
+                return "“";
+            case "copy":
+                return "©";
+            default:
+                return null;
+        }
+    }
+
+    public static class Builder {
+
+        private int maxChars = 10000;
+        private int minMainContentLength = 100;
+
+        public Builder maxChars(int maxChars) {
+            if (maxChars < 1) {
+                throw new IllegalArgumentException("Max chars must be positive");
+            }
+            this.maxChars = maxChars;
+            return this;
+        }
+
+        public Builder minMainContentLength(int minMainContentLength) {
+            if (minMainContentLength < 0) {
+                throw new IllegalArgumentException("Minimum main content length cannot be negative");
+            }
+            this.minMainContentLength = minMainContentLength;
+            return this;
+        }
+
+        public HtmlTextExtractor build() {
+            return new HtmlTextExtractor(this);
+        }
+    }
+}
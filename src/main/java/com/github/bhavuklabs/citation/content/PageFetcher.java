@@ -0,0 +1,476 @@
+package com.github.bhavuklabs.citation.content;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.citation.cache.StoredPage;
+
+// Fetch-and-extract stage shared by the citation fetchers. The body is consumed as a stream: it is decompressed
+// according to Content-Encoding, fed straight into the HtmlTextExtractor and abandoned (closing the stream cancels
+// the exchange) once the extractor has enough text or the decompressed byte budget is spent. With a PageStore, fresh
+// pages are served without a request and stale ones are revalidated with a conditional GET.
+public final class PageFetcher {
+
+    public enum Origin {
+        NETWORK,
+        REVALIDATED,
+        STORE,
+        STALE_ON_ERROR
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final HtmlTextExtractor extractor;
+    private final String userAgent;
+    private final String acceptLanguage;
+    private final long maxBytes;
+    private final PageStore pageStore;
+
+    private PageFetcher(Builder builder) {
+        this.httpClient = builder.httpClient;
+        this.executor = builder.executor;
+        this.extractor = builder.extractor;
+        this.userAgent = builder.userAgent;
+        this.acceptLanguage = builder.acceptLanguage;
+        this.maxBytes = builder.maxBytes;
+        this.pageStore = builder.pageStore;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public HtmlTextExtractor getExtractor() {
+        return extractor;
+    }
+
+    public PageStore getPageStore() {
+        return pageStore;
+    }
+
+    public CompletableFuture<FetchedPage> fetch(String url, Duration timeout) {
+        if (pageStore == null) {
+            return download(url, timeout, null);
+        }
+        PageStore.Lookup cached = pageStore.lookup(url);
+        switch (cached.getFreshness()) {
+            case FRESH:
+                return CompletableFuture.completedFuture(FetchedPage.stored(url, cached.getPage(), Origin.STORE));
+            case STALE:
+                StoredPage stale = cached.getPage();
+                // A stored copy beats an error page when the site is down or slow.
+                return download(url, timeout, stale)
+                    .thenApply(page -> page.getStatusCode() >= 500 ? FetchedPage.stored(url, stale, Origin.STALE_ON_ERROR) : page)
+                    .exceptionally(failure -> FetchedPage.stored(url, stale, Origin.STALE_ON_ERROR));
+            default:
+                return download(url, timeout, null);
+        }
+    }
+
+    private CompletableFuture<FetchedPage> download(String url, Duration timeout, StoredPage previous) {
+        HttpRequest request;
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(timeout)
+                .header("User-Agent", userAgent)
+                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+                .header("Accept-Language", acceptLanguage)
+                .header("Accept-Encoding", "gzip, deflate");
+            if (previous != null && previous.getEtag() != null) {
+                builder.header("If-None-Match", previous.getEtag());
+            }
+            if (previous != null && previous.getLastModified() != null) {
+                builder.header("If-Modified-Since", previous.getLastModified());
+            }
+            request = builder.GET()
+                .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+            .thenCompose(response -> readBody(url, response, deadline, previous));
+    }
+
+    private CompletableFuture<FetchedPage> readBody(String url, HttpResponse<InputStream> response, long deadline, StoredPage previous) {
+        InputStream body = response.body();
+        if (response.statusCode() == 304 && previous != null) {
+            closeQuietly(body);
+            HttpHeaders headers = response.headers();
+            StoredPage refreshed = pageStore.revalidated(previous, headers.firstValue("ETag")
+                .orElse(null), headers.firstValue("Last-Modified")
+                    .orElse(null), freshnessLifetime(headers));
+            return CompletableFuture.completedFuture(FetchedPage.stored(url, refreshed, Origin.REVALIDATED));
+        }
+        if (response.statusCode() != 200) {
+            closeQuietly(body);
+            return CompletableFuture.completedFuture(FetchedPage.failed(url, response.statusCode()));
+        }
+        if (!isTextual(response.headers())) {
+            closeQuietly(body);
+            return CompletableFuture.completedFuture(FetchedPage.unsupported(url));
+        }
+
+        // The request timeout only covers the response headers; a slow body is cut off at the same deadline.
+        long remaining = Math.max(1L, deadline - System.nanoTime());
+        return CompletableFuture.supplyAsync(() -> store(extract(url, response, body), response.headers()), executor)
+            .orTimeout(remaining, TimeUnit.NANOSECONDS)
+            .whenComplete((page, failure) -> {
+                if (failure != null) {
+                    closeQuietly(body);
+                }
+            })
+            .exceptionallyCompose(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof TimeoutException) {
+                    return CompletableFuture.failedFuture(new HttpTimeoutException("Timed out reading body of " + url));
+                }
+                return CompletableFuture.failedFuture(cause);
+            });
+    }
+
+    private FetchedPage extract(String url, HttpResponse<InputStream> response, InputStream body) {
+        String encoding = response.headers()
+            .firstValue("Content-Encoding")
+            .orElse("identity")
+            .trim()
+            .toLowerCase(Locale.ROOT);
+        try (InputStream raw = body; BudgetedInputStream budgeted = new BudgetedInputStream(decode(raw, encoding), maxBytes);
+            Reader reader = new InputStreamReader(budgeted, charset(response.headers()))) {
+            HtmlTextExtractor.Extraction extraction = extractor.extract(reader);
+            return new FetchedPage(url, response.statusCode(), extraction.getText(), extraction.getLanguage(), extraction.getWordCount(),
+                budgeted.getBytesRead(), budgeted.isExhausted() || extraction.isStoppedEarly(), extraction.isMainContent(), Origin.NETWORK);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private FetchedPage store(FetchedPage page, HttpHeaders headers) {
+        if (pageStore == null || !page.isSuccessful() || cacheControl(headers).contains("no-store")) {
+            return page;
+        }
+        pageStore.store(page.getUrl(), page.getText(), page.getLanguage(), page.getWordCount(), headers.firstValue("ETag")
+            .orElse(null), headers.firstValue("Last-Modified")
+                .orElse(null), freshnessLifetime(headers));
+        return page;
+    }
+
+    // Cache-Control max-age, zero for no-cache, null when the server says nothing so the store's default applies.
+    static Duration freshnessLifetime(HttpHeaders headers) {
+        String cacheControl = cacheControl(headers);
+        if (cacheControl.contains("no-cache")) {
+            return Duration.ZERO;
+        }
+        for (String directive : cacheControl.split(",")) {
+            String trimmed = directive.trim();
+            if (trimmed.startsWith("max-age=")) {
+                try {
+                    return Duration.ofSeconds(Long.parseLong(trimmed.substring("max-age=".length())
+                        .replace("\"", "")
+                        .trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String cacheControl(HttpHeaders headers) {
+        return String.join(",", headers.allValues("Cache-Control"))
+            .toLowerCase(Locale.ROOT);
+    }
+
+    static InputStream decode(InputStream raw, String encoding) throws IOException {
+        switch (encoding) {
+            case "":
+            case "identity":
+                return raw;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(raw, BUFFER_SIZE);
+            case "deflate":
+                return inflate(raw);
+            default:
+                throw new IOException("Unsupported content encoding: " + encoding);
+        }
+    }
+
+    // "deflate" is meant to be zlib-wrapped, but enough servers send a raw deflate stream that both are accepted.
+    private static InputStream inflate(InputStream raw) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(raw, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        boolean zlibHeader = first >= 0 && second >= 0 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+        return new InflaterInputStream(buffered, new Inflater(!zlibHeader), BUFFER_SIZE);
+    }
+
+    private static boolean isTextual(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type")
+            .orElse("")
+            .toLowerCase(Locale.ROOT);
+        return contentType.isEmpty() || contentType.startsWith("text/") || contentType.contains("html") || contentType.contains("xml");
+    }
+
+    private static Charset charset(HttpHeaders headers) {
+        String contentType = headers.firstValue("Content-Type")
+            .orElse("");
+        for (String parameter : contentType.split(";")) {
+            String trimmed = parameter.trim();
+            if (trimmed.toLowerCase(Locale.ROOT)
+                .startsWith("charset=")) {
+                try {
+                    return Charset.forName(trimmed.substring("charset=".length())
+                        .replace("\"", "")
+                        .trim());
+                } catch (IllegalArgumentException e) {
+                    return StandardCharsets.UTF_8;
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+        }
+    }
+
+    // Reports end-of-stream once the decompressed byte budget is spent, so a huge or endless page costs at most maxBytes.
+    private static final class BudgetedInputStream extends FilterInputStream {
+
+        private final long budget;
+        private long bytesRead;
+        private boolean exhausted;
+
+        BudgetedInputStream(InputStream in, long budget) {
+            super(in);
+            this.budget = budget;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (bytesRead >= budget) {
+                exhausted = true;
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                bytesRead++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (bytesRead >= budget) {
+                exhausted = true;
+                return -1;
+            }
+            int n = super.read(buffer, offset, (int) Math.min(length, budget - bytesRead));
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+
+        long getBytesRead() {
+            return bytesRead;
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+    }
+
+    public static final class FetchedPage {
+
+        private final String url;
+        private final int statusCode;
+        private final String text;
+        private final String language;
+        private final int wordCount;
+        private final long bytesRead;
+        private final boolean truncated;
+        private final boolean mainContent;
+        private final Origin origin;
+
+        FetchedPage(String url, int statusCode, String text, String language, int wordCount, long bytesRead, boolean truncated, boolean mainContent,
+            Origin origin) {
+            this.url = url;
+            this.statusCode = statusCode;
+            this.text = text;
+            this.language = language;
+            this.wordCount = wordCount;
+            this.bytesRead = bytesRead;
+            this.truncated = truncated;
+            this.mainContent = mainContent;
+            this.origin = origin;
+        }
+
+        static FetchedPage failed(String url, int statusCode) {
+            return new FetchedPage(url, statusCode, "Content not available (HTTP " + statusCode + ")", null, 0, 0, false, false, Origin.NETWORK);
+        }
+
+        static FetchedPage unsupported(String url) {
+            return new FetchedPage(url, 200, "Content not available (unsupported content type)", null, 0, 0, false, false, Origin.NETWORK);
+        }
+
+        static FetchedPage stored(String url, StoredPage page, Origin origin) {
+            return new FetchedPage(url, origin == Origin.REVALIDATED ? 304 : 200, page.getText(), page.getLanguage(), page.getWordCount(), 0, false,
+                false, origin);
+        }
+
+        public boolean isSuccessful() {
+            return origin != Origin.NETWORK || (statusCode == 200 && bytesRead > 0);
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        // Primary language subtag declared by the page, or null.
+        public String getLanguage() {
+            return language;
+        }
+
+        public int getWordCount() {
+            return wordCount;
+        }
+
+        // Decompressed bytes read from the network; zero when the page came from the store.
+        public long getBytesRead() {
+            return bytesRead;
+        }
+
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public boolean isMainContent() {
+            return mainContent;
+        }
+
+        public Origin getOrigin() {
+            return origin;
+        }
+    }
+
+    public static class Builder {
+
+        private HttpClient httpClient;
+        private Executor executor;
+        private HtmlTextExtractor extractor = HtmlTextExtractor.builder()
+            .build();
+        private String userAgent = "Research4j/2.0 Academic Research Bot (+https://github.com/bhavuklabs/research4j)";
+        private String acceptLanguage = "en-US,en;q=0.9";
+        private long maxBytes = 1024 * 1024;
+        private PageStore pageStore;
+
+        public Builder httpClient(HttpClient httpClient) {
+            if (httpClient == null) {
+                throw new IllegalArgumentException("HTTP client cannot be null");
+            }
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder executor(Executor executor) {
+            if (executor == null) {
+                throw new IllegalArgumentException("Executor cannot be null");
+            }
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder extractor(HtmlTextExtractor extractor) {
+            if (extractor == null) {
+                throw new IllegalArgumentException("Extractor cannot be null");
+            }
+            this.extractor = extractor;
+            return this;
+        }
+
+        public Builder userAgent(String userAgent) {
+            if (userAgent == null || userAgent.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("User agent cannot be null or empty");
+            }
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        public Builder acceptLanguage(String acceptLanguage) {
+            if (acceptLanguage == null || acceptLanguage.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Accept-Language cannot be null or empty");
+            }
+            this.acceptLanguage = acceptLanguage;
+            return this;
+        }
+
+        // Budget for decompressed bytes read per page.
+        public Builder maxBytes(long maxBytes) {
+            if (maxBytes < 1) {
+                throw new IllegalArgumentException("Max bytes must be positive");
+            }
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        // Null disables storing and revalidation.
+        public Builder pageStore(PageStore pageStore) {
+            this.pageStore = pageStore;
+            return this;
+        }
+
+        public PageFetcher build() {
+            if (httpClient == null) {
+                throw new IllegalArgumentException("HTTP client is required");
+            }
+            if (executor == null) {
+                throw new IllegalArgumentException("Executor is required");
+            }
+            return new PageFetcher(this);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.bhavuklabs.citation.dedup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.core.dedup.MinHash;
+import com.github.bhavuklabs.core.dedup.MinHashIndex;
+
+// Near-duplicate detection shared by the search merge, the research pipelines and the session context. A citation
+// duplicates one already kept when its URL matches after normalization, when its title is a near match (MinHash over
+// title words, at the 0.8 word-set Jaccard of the old pairwise scans), or when its content is (MinHash over
+// three-word shingles), which catches mirrored and syndicated pages published under another title. LSH banding keeps
+// each insert close to constant time, so n citations dedup in about O(n). Not thread-safe.
+public final class CitationDeduplicator {
+
+    private static final MinHash TITLE_HASH = new MinHash(64, 0x7469746c65L);
+    private static final int TITLE_BANDS = 16;
+    private static final int TITLE_ROWS = 4;
+
+    private static final MinHash CONTENT_HASH = new MinHash(128, 0x626f6479L);
+    private static final int CONTENT_BANDS = 32;
+    private static final int CONTENT_ROWS = 4;
+    private static final int CONTENT_SHINGLE_WORDS = 3;
+    // Shorter bodies are mostly boilerplate ("No content available", a one-line snippet) and would match each other.
+    private static final int MIN_CONTENT_SHINGLES = 20;
+    private static final int MAX_CONTENT_CHARS = 20000;
+
+    private final double titleSimilarity;
+    private final double contentSimilarity;
+    private final Map<String, Integer> byUrl = new HashMap<>();
+    private final MinHashIndex<Integer> titles = new MinHashIndex<>(TITLE_BANDS, TITLE_ROWS);
+    private final MinHashIndex<Integer> contents = new MinHashIndex<>(CONTENT_BANDS, CONTENT_ROWS);
+    private final List<CitationResult> kept = new ArrayList<>();
+    private int duplicateCount;
+
+    private CitationDeduplicator(Builder builder) {
+        this.titleSimilarity = builder.titleSimilarity;
+        this.contentSimilarity = builder.contentSimilarity;
+    }
+
+    public static CitationDeduplicator create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Keeps the first of each group of duplicates, in input order; null and invalid citations are dropped.
+    public static List<CitationResult> deduplicate(List<CitationResult> citations) {
+        CitationDeduplicator deduplicator = create();
+        if (citations != null) {
+            for (CitationResult citation : citations) {
+                if (citation != null && citation.isValid()) {
+                    deduplicator.add(citation);
+                }
+            }
+        }
+        return deduplicator.getUnique();
+    }
+
+    // Adds the citation unless it duplicates one already kept. Returns -1 when it was added, otherwise the position of
+    // the kept citation it duplicates, so the caller can decide which of the two to keep (see replace).
+    public int offer(CitationResult citation) {
+        if (citation == null) {
+            throw new IllegalArgumentException("Citation cannot be null");
+        }
+        String urlKey = urlKey(citation.getUrl());
+        Integer existing = urlKey != null ? byUrl.get(urlKey) : null;
+
+        int[] titleSignature = null;
+        int[] contentSignature = null;
+        if (existing == null) {
+            titleSignature = TITLE_HASH.signature(citation.getTitle(), 1);
+            if (titleSignature != null) {
+                existing = titles.findSimilar(titleSignature, titleSimilarity);
+            }
+        }
+        if (existing == null) {
+            contentSignature = contentSignature(citation.getContent());
+            if (contentSignature != null) {
+                existing = contents.findSimilar(contentSignature, contentSimilarity);
+            }
+        }
+
+        if (existing != null) {
+            duplicateCount++;
+            // Later spellings of the same URL then match without hashing.
+            if (urlKey != null) {
+                byUrl.putIfAbsent(urlKey, existing);
+            }
+            return existing;
+        }
+
+        int position = kept.size();
+        kept.add(citation);
+        if (urlKey != null) {
+            byUrl.put(urlKey, position);
+        }
+        if (titleSignature != null) {
+            titles.add(position, titleSignature);
+        }
+        if (contentSignature != null) {
+            contents.add(position, contentSignature);
+        }
+        return -1;
+    }
+
+    public boolean add(CitationResult citation) {
+        return offer(citation) < 0;
+    }
+
+    // Swaps a kept citation for one of its duplicates. The fingerprints of the first stay indexed, so further copies
+    // of either still match.
+    public void replace(int position, CitationResult citation) {
+        if (citation == null) {
+            throw new IllegalArgumentException("Citation cannot be null");
+        }
+        kept.set(position, citation);
+        String urlKey = urlKey(citation.getUrl());
+        if (urlKey != null) {
+            byUrl.putIfAbsent(urlKey, position);
+        }
+    }
+
+    public CitationResult get(int position) {
+        return kept.get(position);
+    }
+
+    public List<CitationResult> getUnique() {
+        return new ArrayList<>(kept);
+    }
+
+    public int size() {
+        return kept.size();
+    }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    // PageStore canonicalization (host case, default port, tracking parameters), further ignoring the scheme, "www."
+    // and a trailing slash, which search providers report inconsistently for the same page.
+    public static String urlKey(String url) {
+        String canonical = PageStore.canonicalize(url);
+        if (canonical == null || canonical.isEmpty()) {
+            return null;
+        }
+        int schemeEnd = canonical.indexOf("://");
+        String key = schemeEnd >= 0 ? canonical.substring(schemeEnd + 3) : canonical;
+        if (key.startsWith("www.")) {
+            key = key.substring(4);
+        }
+        if (key.endsWith("/")) {
+            key = key.substring(0, key.length() - 1);
+        }
+        return key;
+    }
+
+    private static int[] contentSignature(String content) {
+        if (content == null) {
+            return null;
+        }
+        CharSequence text = content.length() > MAX_CONTENT_CHARS ? content.subSequence(0, MAX_CONTENT_CHARS) : content;
+        long[] shingles = MinHash.shingles(text, CONTENT_SHINGLE_WORDS);
+        return shingles.length < MIN_CONTENT_SHINGLES ? null : CONTENT_HASH.signature(shingles);
+    }
+
+    public static class Builder {
+
+        private double titleSimilarity = 0.8;
+        private double contentSimilarity = 0.7;
+
+        public Builder titleSimilarity(double titleSimilarity) {
+            if (titleSimilarity <= 0.0 || titleSimilarity > 1.0) {
+                throw new IllegalArgumentException("Title similarity must be in (0, 1]");
+            }
+            this.titleSimilarity = titleSimilarity;
+            return this;
+        }
+
+        public Builder contentSimilarity(double contentSimilarity) {
+            if (contentSimilarity <= 0.0 || contentSimilarity > 1.0) {
+                throw new IllegalArgumentException("Content similarity must be in (0, 1]");
+            }
+            this.contentSimilarity = contentSimilarity;
+            return this;
+        }
+
+        public CitationDeduplicator build() {
+            return new CitationDeduplicator(this);
+        }
+    }
+}
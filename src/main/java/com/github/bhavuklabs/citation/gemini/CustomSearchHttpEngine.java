@@ -0,0 +1,107 @@
+package com.github.bhavuklabs.citation.gemini;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.TimeoutException;
+import dev.langchain4j.web.search.WebSearchEngine;
+import dev.langchain4j.web.search.WebSearchInformationResult;
+import dev.langchain4j.web.search.WebSearchOrganicResult;
+import dev.langchain4j.web.search.WebSearchRequest;
+import dev.langchain4j.web.search.WebSearchResults;
+
+// A Google Custom Search JSON API client with a configurable endpoint. The langchain4j engine always calls
+// googleapis.com; this one is used when a different base URL is configured, such as a local stand-in.
+final class CustomSearchHttpEngine implements WebSearchEngine {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final int MAX_RESULTS_PER_PAGE = 10;
+
+    private final HttpClient httpClient;
+    private final String endpoint;
+    private final String apiKey;
+    private final String cseId;
+    private final Duration timeout;
+
+    CustomSearchHttpEngine(String baseUrl, String apiKey, String cseId, Duration timeout) {
+        String base = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.endpoint = base + "/customsearch/v1";
+        this.apiKey = apiKey;
+        this.cseId = cseId;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .build();
+    }
+
+    @Override
+    public WebSearchResults search(WebSearchRequest request) {
+        int num = Math.min(request.maxResults() != null ? request.maxResults() : MAX_RESULTS_PER_PAGE, MAX_RESULTS_PER_PAGE);
+        URI uri = URI.create(endpoint + "?key=" + encode(apiKey) + "&cx=" + encode(cseId) + "&q=" + encode(request.searchTerms()) + "&num=" + num);
+        HttpRequest httpRequest = HttpRequest.newBuilder(uri)
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+        } catch (HttpTimeoutException e) {
+            throw new TimeoutException("Google Custom Search timed out after " + timeout.toMillis() + "ms");
+        } catch (IOException e) {
+            throw new IllegalStateException("Google Custom Search request failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException("Interrupted during Google Custom Search", e);
+        }
+
+        if (response.statusCode() == 429) {
+            throw new RateLimitException("Google Custom Search failed: 429 Too Many Requests");
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Google Custom Search failed: HTTP " + response.statusCode());
+        }
+        return parse(response.body());
+    }
+
+    private static WebSearchResults parse(String body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            List<WebSearchOrganicResult> results = new ArrayList<>();
+            for (JsonNode item : root.path("items")) {
+                String link = item.path("link")
+                    .asText(null);
+                if (link == null) {
+                    continue;
+                }
+                results.add(WebSearchOrganicResult.from(item.path("title")
+                    .asText(""), URI.create(link), item.path("snippet")
+                    .asText(null), null));
+            }
+            long total = root.path("searchInformation")
+                .path("totalResults")
+                .asLong(results.size());
+            return new WebSearchResults(WebSearchInformationResult.from(total), results);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Unreadable Google Custom Search response: " + e.getMessage(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value != null ? value : "", StandardCharsets.UTF_8);
+    }
+}
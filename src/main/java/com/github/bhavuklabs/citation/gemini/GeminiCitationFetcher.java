@@ -1,30 +1,39 @@
 package com.github.bhavuklabs.citation.gemini;
 
-import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-
 import dev.langchain4j.web.search.WebSearchEngine;
 import dev.langchain4j.web.search.WebSearchResults;
 import dev.langchain4j.web.search.google.customsearch.GoogleCustomWebSearchEngine;
 import com.github.bhavuklabs.citation.CitationFetcher;
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.citation.content.HtmlTextExtractor;
+import com.github.bhavuklabs.citation.content.PageFetcher;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
 import com.github.bhavuklabs.config.Research4jConfig;
+import com.github.bhavuklabs.core.cache.SingleFlight;
+import com.github.bhavuklabs.core.cache.SingleFlightStats;
 import com.github.bhavuklabs.exceptions.citation.CitationException;
 
 public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
@@ -36,14 +45,19 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
     private static final int MIN_CONTENT_LENGTH = 200;
     private static final int MAX_RESULTS_PER_SEARCH = 50;
     private static final int MAX_TOTAL_SEARCHES = 10;
+    private static final int PARALLEL_VARIATIONS = 4;
     private static final double QUALITY_THRESHOLD = 0.6;
     private static final double DIVERSITY_THRESHOLD = 0.7;
 
     private final WebSearchEngine webSearchEngine;
     private final HttpClient httpClient;
+    private final PageFetcher pageFetcher;
     private final ExecutorService executor;
     private final Duration httpTimeout;
     private final int maxResultsPerSearch;
+    private final SingleFlight<String, String> contentFlights = new SingleFlight<>();
+    private final LongAdder launchedSearches = new LongAdder();
+    private final LongAdder cancelledSearches = new LongAdder();
     private volatile boolean closed = false;
 
     public GeminiCitationFetcher(String apiKey, String cseId) throws CitationException {
@@ -51,26 +65,45 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
     }
 
     public GeminiCitationFetcher(String apiKey, String cseId, Duration httpTimeout, int maxResultsPerSearch) throws CitationException {
-        validateInputs(apiKey, cseId);
+        this(createSearchEngine(apiKey, cseId), httpTimeout, maxResultsPerSearch);
+    }
 
+    // searchBaseUrl points searches at another Custom Search compatible endpoint, such as a local stand-in; null for Google.
+    public GeminiCitationFetcher(String apiKey, String cseId, String searchBaseUrl) throws CitationException {
+        this(searchBaseUrl != null && !searchBaseUrl.isBlank() ? createSearchEngine(apiKey, cseId, searchBaseUrl) : createSearchEngine(apiKey, cseId),
+            DEFAULT_HTTP_TIMEOUT, MAX_RESULTS_PER_SEARCH);
+    }
+
+    // Lets callers supply their own engine, e.g. a different Google endpoint or a stand-in for tests.
+    public GeminiCitationFetcher(WebSearchEngine webSearchEngine, Duration httpTimeout, int maxResultsPerSearch) throws CitationException {
+        if (webSearchEngine == null) {
+            throw new IllegalArgumentException("Web search engine cannot be null");
+        }
+
+        this.webSearchEngine = webSearchEngine;
         this.httpTimeout = httpTimeout != null ? httpTimeout : DEFAULT_HTTP_TIMEOUT;
         this.maxResultsPerSearch = Math.min(Math.max(maxResultsPerSearch, 10), MAX_RESULTS_PER_SEARCH);
 
         try {
-            this.webSearchEngine = GoogleCustomWebSearchEngine.builder()
-                .apiKey(apiKey)
-                .csi(cseId)
-                .includeImages(false)
-                .logRequests(false)
-                .logResponses(false)
-                .build();
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
 
             this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(DEFAULT_CONNECT_TIMEOUT)
                 .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
                 .build();
 
-            this.executor = Executors.newVirtualThreadPerTaskExecutor();
+            this.pageFetcher = PageFetcher.builder()
+                .httpClient(httpClient)
+                .executor(executor)
+                .extractor(HtmlTextExtractor.builder()
+                    .maxChars(MAX_CONTENT_LENGTH)
+                    .minMainContentLength(MIN_CONTENT_LENGTH)
+                    .build())
+                .userAgent("Research4j/2.0 Academic Research Bot (+https://github.com/bhavuklabs/research4j)")
+                .acceptLanguage("en-US,en;q=0.5")
+                .pageStore(PageStore.shared())
+                .build();
 
             logger.info("Enhanced GeminiCitationFetcher initialized with unlimited capabilities");
 
@@ -85,73 +118,58 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
 
     @Override
     public List<CitationResult> fetch(String query) throws CitationException {
-        if (closed) {
-            throw new IllegalStateException("Citation fetcher has been closed");
-        }
-
-        validateQuery(query);
-
         try {
-            logger.info("Starting unlimited citation fetch for query: " + truncateString(query, 100));
-            List<CitationResult> allResults = executeComprehensiveFetch(query);
-            List<CitationResult> optimizedResults = optimizeResultSet(allResults, query);
-
-            logger.info("Unlimited citation fetch completed - gathered " + allResults.size() + " total results, optimized to " + optimizedResults.size() +
-                " high-quality citations");
-
-            return optimizedResults;
-
-        } catch (Exception e) {
-            logger.severe("Enhanced citation fetch failed: " + e.getMessage());
-            throw new CitationException("Citation fetch failed: " + e.getMessage(), e, query, "GEMINI");
+            return fetchAsync(query, FetchOptions.defaults()).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CitationException) {
+                throw (CitationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CitationException("Citation fetch failed: " + cause.getMessage(), cause, query, "GEMINI");
         }
     }
 
-    private List<CitationResult> executeComprehensiveFetch(String originalQuery) throws Exception {
-        List<CitationResult> allResults = new ArrayList<>();
-        Set<String> seenUrls = new HashSet<>();
-
-        List<String> searchQueries = generateSearchVariations(originalQuery);
-        logger.info("Generated " + searchQueries.size() + " search variations for comprehensive coverage");
-
-        int searchRound = 0;
-        boolean shouldContinue = true;
-        QualityMetrics lastMetrics = new QualityMetrics();
-
-        while (shouldContinue && searchRound < MAX_TOTAL_SEARCHES && searchRound < searchQueries.size()) {
-            searchRound++;
-            String currentQuery = searchQueries.get(searchRound - 1);
-
-            logger.info("Executing search round " + searchRound + "/" + MAX_TOTAL_SEARCHES + " with query: " + truncateString(currentQuery, 80));
-            List<CitationResult> roundResults = executeSingleSearchRound(currentQuery, originalQuery, seenUrls);
-
-            int addedCount = 0;
-            for (CitationResult result : roundResults) {
-                if (result != null && result.isValid() && !seenUrls.contains(result.getUrl())) {
-                    seenUrls.add(result.getUrl());
-                    allResults.add(result);
-                    addedCount++;
-                }
-            }
-
-            logger.info("Search round " + searchRound + " completed - added " + addedCount + " new citations (total: " + allResults.size() + ")");
-            QualityMetrics currentMetrics = assessQualityMetrics(allResults, originalQuery);
-            shouldContinue = shouldContinueSearching(currentMetrics, lastMetrics, searchRound, allResults.size());
-            lastMetrics = currentMetrics;
-
-            if (shouldContinue && searchRound < MAX_TOTAL_SEARCHES) {
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread()
-                        .interrupt();
-                    break;
-                }
-            }
+    @Override
+    public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Citation fetcher has been closed"));
         }
+        try {
+            validateQuery(query);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        FetchOptions effective = options != null ? options : FetchOptions.defaults();
+
+        logger.info("Starting unlimited citation fetch for query: " + truncateString(query, 100));
+        return executeComprehensiveFetch(query, effective).thenApply(allResults -> {
+                List<CitationResult> optimizedResults = optimizeResultSet(allResults, query);
+
+                logger.info("Unlimited citation fetch completed - gathered " + allResults.size() + " total results, optimized to " + optimizedResults.size() +
+                    " high-quality citations");
+
+                return optimizedResults;
+            })
+            .exceptionallyCompose(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                logger.severe("Enhanced citation fetch failed: " + cause.getMessage());
+                return CompletableFuture.failedFuture(new CitationException("Citation fetch failed: " + cause.getMessage(), cause, query, "GEMINI"));
+            });
+    }
 
-        logger.info("Comprehensive fetch completed after " + searchRound + " rounds with " + allResults.size() + " total citations");
-        return allResults;
+    private CompletableFuture<List<CitationResult>> executeComprehensiveFetch(String originalQuery, FetchOptions options) {
+        List<String> searchQueries = generateSearchVariations(originalQuery);
+        // Variations are ordered by expected value, and the per-fetch search quota caps how many may ever be issued.
+        List<String> budgeted = searchQueries.subList(0, Math.min(MAX_TOTAL_SEARCHES, searchQueries.size()));
+        logger.info("Generated " + searchQueries.size() + " search variations, searching up to " + budgeted.size() + " with " + PARALLEL_VARIATIONS +
+            " in flight");
+
+        VariationSearch search = new VariationSearch(budgeted, originalQuery, options);
+        search.start();
+        return search.result;
     }
 
     private List<String> generateSearchVariations(String originalQuery) {
@@ -186,171 +204,147 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
         return variations;
     }
 
-    private List<CitationResult> executeSingleSearchRound(String query, String originalQuery, Set<String> seenUrls) {
-        try {
-            WebSearchResults searchResults = webSearchEngine.search(query);
+    private CompletableFuture<List<CitationResult>> executeSingleSearchRound(CompletableFuture<WebSearchResults> search, String query, String originalQuery,
+        Set<String> seenUrls, FetchOptions options) {
+        long pageTimeoutMillis = options.resolveContentTimeout(httpTimeout)
+            .plusSeconds(10)
+            .toMillis();
+
+        return search.thenCompose(searchResults -> {
+                if (searchResults == null || searchResults.results()
+                    .isEmpty()) {
+                    logger.warning("No search results found for query: " + query);
+                    return CompletableFuture.completedFuture(List.<CitationResult> of());
+                }
 
-            if (searchResults == null || searchResults.results()
-                .isEmpty()) {
-                logger.warning("No search results found for query: " + query);
+                List<CompletableFuture<CitationResult>> futures = searchResults.results()
+                    .stream()
+                    .limit(options.resolveMaxResults(maxResultsPerSearch))
+                    .filter(result -> !seenUrls.contains(result.url()
+                        .toString()))
+                    .map(result -> fetchCitationAsync(result, originalQuery, options).completeOnTimeout(createFallbackCitation(result), pageTimeoutMillis,
+                        TimeUnit.MILLISECONDS))
+                    .toList();
+
+                return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> {
+                        List<CitationResult> roundResults = new ArrayList<>();
+                        for (CompletableFuture<CitationResult> future : futures) {
+                            CitationResult result = future.join();
+                            if (result != null && result.isValid()) {
+                                roundResults.add(result);
+                            }
+                        }
+                        return roundResults;
+                    });
+            })
+            .exceptionally(e -> {
+                if (!search.isCancelled()) {
+                    logger.warning("Search round failed for query: " + query + " - " + e.getMessage());
+                }
                 return List.of();
-            }
-
-            List<CompletableFuture<CitationResult>> futures = searchResults.results()
-                .stream()
-                .limit(maxResultsPerSearch)
-                .filter(result -> !seenUrls.contains(result.url()
-                    .toString()))
-                .map(result -> fetchCitationAsync(result, originalQuery))
-                .toList();
+            });
+    }
 
-            List<CitationResult> roundResults = new ArrayList<>();
-            for (CompletableFuture<CitationResult> future : futures) {
+    // Every search API call, retries and query variations included, takes a permit from the provider-wide limiter. The
+    // permit is awaited without parking a thread. Cancelling the returned future before it comes due skips the search;
+    // cancelling it afterwards interrupts the search thread.
+    private CompletableFuture<WebSearchResults> searchAsync(String query) {
+        CompletableFuture<WebSearchResults> result = new CompletableFuture<>();
+        ProviderRateLimiters.forSource(CitationSource.GOOGLE_GEMINI)
+            .acquire()
+            .thenRun(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                Future<?> task;
                 try {
-                    CitationResult result = future.get(httpTimeout.toSeconds() + 10, TimeUnit.SECONDS);
-                    if (result != null && result.isValid()) {
-                        roundResults.add(result);
-                    }
-                } catch (Exception e) {
-                    logger.warning("Failed to fetch citation result: " + e.getMessage());
+                    task = executor.submit(() -> {
+                        try {
+                            result.complete(webSearchEngine.search(query));
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(e);
+                    return;
                 }
-            }
-
-            return roundResults;
-
-        } catch (Exception e) {
-            logger.warning("Search round failed for query: " + query + " - " + e.getMessage());
-            return List.of();
-        }
+                result.whenComplete((searchResults, failure) -> {
+                    if (result.isCancelled()) {
+                        task.cancel(true);
+                    }
+                });
+            });
+        return result;
     }
 
-    private CompletableFuture<CitationResult> fetchCitationAsync(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery) {
+    private CompletableFuture<CitationResult> fetchCitationAsync(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery,
+        FetchOptions options) {
+        String url = result.url()
+            .toString();
+        CompletableFuture<String> content = options.isFetchPageContent() ? fetchEnhancedContent(url, options.resolveContentTimeout(httpTimeout))
+            : CompletableFuture.completedFuture(result.snippet() != null ? result.snippet() : "Content not available");
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = result.url()
-                    .toString();
-                String content = fetchEnhancedContent(url);
-                double relevanceScore = calculateEnhancedRelevanceScore(result, originalQuery, content);
+        return content.thenApply(text -> {
+                double relevanceScore = calculateEnhancedRelevanceScore(result, originalQuery, text);
 
                 return CitationResult.builder()
                     .title(result.title())
                     .snippet(result.snippet())
-                    .content(content)
+                    .content(text)
                     .url(url)
                     .relevanceScore(relevanceScore)
                     .retrievedAt(LocalDateTime.now())
-                    .language(detectLanguage(content))
+                    .language(detectLanguage(text))
                     .build();
-
-            } catch (Exception e) {
+            })
+            .exceptionally(e -> {
                 logger.warning("Failed to fetch content from URL: " + result.url() + " - " + e.getMessage());
-
-                return CitationResult.builder()
-                    .title(result.title())
-                    .snippet(result.snippet())
-                    .content(result.snippet() != null ? result.snippet() : "Content not available")
-                    .url(result.url()
-                        .toString())
-                    .relevanceScore(0.4)
-                    .retrievedAt(LocalDateTime.now())
-                    .language("unknown")
-                    .build();
-            }
-        }, executor);
+                return createFallbackCitation(result);
+            });
     }
 
-    private String fetchEnhancedContent(String url) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(httpTimeout)
-                .header("User-Agent", "Research4j/2.0 Academic Research Bot (+https://github.com/bhavuklabs/research4j)")
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                .header("Accept-Language", "en-US,en;q=0.5")
-                .GET()
-                .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                logger.warning("HTTP " + response.statusCode() + " for URL: " + url);
-                return "Content not available (HTTP " + response.statusCode() + ")";
-            }
-
-            String htmlContent = response.body();
-            if (htmlContent == null || htmlContent.trim()
-                .isEmpty()) {
-                return "No content available";
-            }
-
-            Document doc = Jsoup.parse(htmlContent);
-
-            doc.select("script, style, nav, footer, header, aside, .advertisement, .ads, .social-media, .comments")
-                .remove();
-
-            String mainContent = extractMainContent(doc);
-            if (mainContent != null && mainContent.length() > MIN_CONTENT_LENGTH) {
-                return processContent(mainContent);
-            }
-
-            String bodyText = doc.body()
-                .text();
-            return processContent(bodyText);
-
-        } catch (java.net.SocketTimeoutException e) {
-            logger.warning("Timeout fetching content from: " + url);
-            return "Content not available (timeout)";
-        } catch (java.net.ConnectException e) {
-            logger.warning("Connection failed for: " + url);
-            return "Content not available (connection failed)";
-        } catch (Exception e) {
-            logger.warning("Error fetching content from " + url + ": " + e.getMessage());
-            return "Content not available (error: " + e.getClass()
-                .getSimpleName() + ")";
-        }
-    }
-
-    private String extractMainContent(Document doc) {
-        String[] mainSelectors = { "main", "article", ".main-content", ".content", ".post-content", ".entry-content", ".article-content", "#main", "#content" };
-        for (String selector : mainSelectors) {
-            try {
-                var elements = doc.select(selector);
-                if (!elements.isEmpty()) {
-                    String text = elements.first()
-                        .text();
-                    if (text.length() > MIN_CONTENT_LENGTH) {
-                        return text;
-                    }
-                }
-            } catch (Exception e) {
-            }
-        }
-
-        return "No content available";
+    private CitationResult createFallbackCitation(dev.langchain4j.web.search.WebSearchOrganicResult result) {
+        return CitationResult.builder()
+            .title(result.title())
+            .snippet(result.snippet())
+            .content(result.snippet() != null ? result.snippet() : "Content not available")
+            .url(result.url()
+                .toString())
+            .relevanceScore(0.4)
+            .retrievedAt(LocalDateTime.now())
+            .language("unknown")
+            .build();
     }
 
-    private String processContent(String rawContent) {
-        if (rawContent == null || rawContent.trim()
-            .isEmpty()) {
-            return "No content available";
-        }
-
-        String processed = rawContent.replaceAll("\\s+", " ")
-            .replaceAll("\\n{3,}", "\n\n")
-            .trim();
-        if (processed.length() > MAX_CONTENT_LENGTH) {
-            String truncated = processed.substring(0, MAX_CONTENT_LENGTH);
-            int lastSentence = Math.max(truncated.lastIndexOf(". "), Math.max(truncated.lastIndexOf("! "), truncated.lastIndexOf("? ")));
-
-            if (lastSentence > MAX_CONTENT_LENGTH * 0.8) {
-                processed = truncated.substring(0, lastSentence + 1);
-            } else {
-                processed = truncated + "...";
-            }
-        }
+    // Several results, or several concurrent searches, often resolve to the same page; only one download per URL runs at a time.
+    private CompletableFuture<String> fetchEnhancedContent(String url, Duration timeout) {
+        return contentFlights.execute(PageStore.canonicalize(url), () -> downloadEnhancedContent(url, timeout));
+    }
 
-        return processed;
+    private CompletableFuture<String> downloadEnhancedContent(String url, Duration timeout) {
+        return pageFetcher.fetch(url, timeout)
+            .thenApply(page -> {
+                if (!page.isSuccessful()) {
+                    logger.warning("HTTP " + page.getStatusCode() + " for URL: " + url);
+                }
+                return page.getText();
+            })
+            .exceptionally(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof java.net.http.HttpTimeoutException) {
+                    logger.warning("Timeout fetching content from: " + url);
+                    return "Content not available (timeout)";
+                }
+                if (cause instanceof java.net.ConnectException) {
+                    logger.warning("Connection failed for: " + url);
+                    return "Content not available (connection failed)";
+                }
+                logger.warning("Error fetching content from " + url + ": " + cause.getMessage());
+                return "Content not available (error: " + cause.getClass()
+                    .getSimpleName() + ")";
+            });
     }
 
     private double calculateEnhancedRelevanceScore(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery, String content) {
@@ -558,40 +552,6 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
         return "unknown";
     }
 
-    private QualityMetrics assessQualityMetrics(List<CitationResult> citations, String originalQuery) {
-        QualityMetrics metrics = new QualityMetrics();
-
-        if (citations.isEmpty()) {
-            return metrics;
-        }
-
-        double totalRelevance = citations.stream()
-            .mapToDouble(CitationResult::getRelevanceScore)
-            .sum();
-        metrics.averageRelevance = totalRelevance / citations.size();
-
-        Set<String> uniqueDomains = citations.stream()
-            .map(CitationResult::getDomain)
-            .collect(java.util.stream.Collectors.toSet());
-        metrics.domainDiversity = (double) uniqueDomains.size() / citations.size();
-
-        long substantiveContent = citations.stream()
-            .mapToLong(citation -> citation.getContent() != null && citation.getContent()
-                .length() > MIN_CONTENT_LENGTH ? 1 : 0)
-            .sum();
-        metrics.contentQuality = (double) substantiveContent / citations.size();
-
-        long highQualityCitations = citations.stream()
-            .mapToLong(citation -> citation.getRelevanceScore() >= 0.7 ? 1 : 0)
-            .sum();
-        metrics.highQualityRatio = (double) highQualityCitations / citations.size();
-
-        metrics.overallQuality =
-            (metrics.averageRelevance * 0.4) + (metrics.domainDiversity * 0.2) + (metrics.contentQuality * 0.2) + (metrics.highQualityRatio * 0.2);
-
-        return metrics;
-    }
-
     private boolean shouldContinueSearching(QualityMetrics currentMetrics, QualityMetrics lastMetrics, int searchRound, int totalResults) {
         if (searchRound <= 2) {
             return true;
@@ -636,7 +596,27 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
         return filtered;
     }
 
-    private void validateInputs(String apiKey, String cseId) {
+    private static WebSearchEngine createSearchEngine(String apiKey, String cseId) throws CitationException {
+        validateInputs(apiKey, cseId);
+        try {
+            return GoogleCustomWebSearchEngine.builder()
+                .apiKey(apiKey)
+                .csi(cseId)
+                .includeImages(false)
+                .logRequests(false)
+                .logResponses(false)
+                .build();
+        } catch (Exception e) {
+            throw new CitationException("Failed to initialize enhanced Gemini citation fetcher: " + e.getMessage(), e, "initialization", "GEMINI");
+        }
+    }
+
+    private static WebSearchEngine createSearchEngine(String apiKey, String cseId, String searchBaseUrl) {
+        validateInputs(apiKey, cseId);
+        return new CustomSearchHttpEngine(searchBaseUrl, apiKey, cseId, DEFAULT_HTTP_TIMEOUT);
+    }
+
+    private static void validateInputs(String apiKey, String cseId) {
         if (apiKey == null || apiKey.trim()
             .isEmpty()) {
             throw new IllegalArgumentException("Google Search API key cannot be null or empty");
@@ -675,6 +655,19 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
         }
     }
 
+    public SingleFlightStats getContentFetchStats() {
+        return contentFlights.stats();
+    }
+
+    // Variation searches started, including ones cancelled before they reached the provider.
+    public long getLaunchedSearchCount() {
+        return launchedSearches.sum();
+    }
+
+    public long getCancelledSearchCount() {
+        return cancelledSearches.sum();
+    }
+
     public Duration getHttpTimeout() {
         return httpTimeout;
     }
@@ -749,6 +742,155 @@ public class GeminiCitationFetcher implements CitationFetcher, AutoCloseable {
         }
     }
 
+    // Keeps up to PARALLEL_VARIATIONS variation searches in flight. Each finished round is folded into the running
+    // quality metrics, shouldContinueSearching decides whether to start the next variation, and once it says stop the
+    // searches still outstanding are cancelled and the citations gathered so far are returned.
+    private final class VariationSearch {
+
+        final List<String> queries;
+        final String originalQuery;
+        final FetchOptions options;
+        final CompletableFuture<List<CitationResult>> result = new CompletableFuture<>();
+
+        private final List<CitationResult> allResults = new ArrayList<>();
+        private final Set<String> seenUrls = ConcurrentHashMap.newKeySet();
+        private final QualityAccumulator quality = new QualityAccumulator();
+        private final Map<Integer, CompletableFuture<WebSearchResults>> pending = new HashMap<>();
+        private QualityMetrics lastMetrics = new QualityMetrics();
+        private int launched;
+        private int completed;
+        private boolean finished;
+
+        VariationSearch(List<String> queries, String originalQuery, FetchOptions options) {
+            this.queries = queries;
+            this.originalQuery = originalQuery;
+            this.options = options;
+        }
+
+        void start() {
+            if (queries.isEmpty()) {
+                result.complete(new ArrayList<>());
+                return;
+            }
+            List<Integer> initial = new ArrayList<>();
+            synchronized (this) {
+                while (launched < queries.size() && launched < PARALLEL_VARIATIONS) {
+                    initial.add(launched++);
+                }
+            }
+            for (int index : initial) {
+                launch(index);
+            }
+        }
+
+        private void launch(int index) {
+            String query = queries.get(index);
+            CompletableFuture<WebSearchResults> search = searchAsync(query);
+            synchronized (this) {
+                if (finished) {
+                    search.cancel(true);
+                    return;
+                }
+                pending.put(index, search);
+            }
+            launchedSearches.increment();
+            logger.info("Executing search variation " + (index + 1) + "/" + queries.size() + ": " + truncateString(query, 80));
+            executeSingleSearchRound(search, query, originalQuery, seenUrls, options).thenAccept(roundResults -> onRoundComplete(index, roundResults))
+                .exceptionally(failure -> {
+                    result.completeExceptionally(failure);
+                    return null;
+                });
+        }
+
+        private void onRoundComplete(int index, List<CitationResult> roundResults) {
+            List<CompletableFuture<WebSearchResults>> outstanding = List.of();
+            List<CitationResult> finalResults = null;
+            int next = -1;
+
+            synchronized (this) {
+                pending.remove(index);
+                if (finished) {
+                    return;
+                }
+                completed++;
+                int addedCount = 0;
+                for (CitationResult citation : roundResults) {
+                    if (citation != null && citation.isValid() && seenUrls.add(citation.getUrl())) {
+                        allResults.add(citation);
+                        quality.add(citation);
+                        addedCount++;
+                    }
+                }
+
+                QualityMetrics currentMetrics = quality.snapshot();
+                boolean shouldContinue = !closed && shouldContinueSearching(currentMetrics, lastMetrics, completed, allResults.size());
+                lastMetrics = currentMetrics;
+                logger.info("Search variation " + (index + 1) + " completed - added " + addedCount + " new citations (total: " + allResults.size() + ", " +
+                    currentMetrics + ")");
+
+                if (shouldContinue && launched < queries.size()) {
+                    next = launched++;
+                } else if (!shouldContinue || pending.isEmpty()) {
+                    finished = true;
+                    outstanding = new ArrayList<>(pending.values());
+                    pending.clear();
+                    finalResults = new ArrayList<>(allResults);
+                    logger.info("Comprehensive fetch completed after " + completed + " of " + launched + " launched searches with " + allResults.size() +
+                        " total citations" + (outstanding.isEmpty() ? "" : ", cancelling " + outstanding.size() + " outstanding"));
+                }
+            }
+
+            for (CompletableFuture<WebSearchResults> search : outstanding) {
+                if (search.cancel(true)) {
+                    cancelledSearches.increment();
+                }
+            }
+            if (next >= 0) {
+                launch(next);
+            }
+            if (finalResults != null) {
+                result.complete(finalResults);
+            }
+        }
+    }
+
+    // Running sums behind QualityMetrics, so each finished round costs O(round size) instead of a pass over every citation.
+    private static class QualityAccumulator {
+
+        private final Set<String> domains = new HashSet<>();
+        private int count;
+        private double totalRelevance;
+        private int substantiveContent;
+        private int highQualityCitations;
+
+        void add(CitationResult citation) {
+            count++;
+            totalRelevance += citation.getRelevanceScore();
+            domains.add(citation.getDomain());
+            if (citation.getContent() != null && citation.getContent()
+                .length() > MIN_CONTENT_LENGTH) {
+                substantiveContent++;
+            }
+            if (citation.getRelevanceScore() >= 0.7) {
+                highQualityCitations++;
+            }
+        }
+
+        QualityMetrics snapshot() {
+            QualityMetrics metrics = new QualityMetrics();
+            if (count == 0) {
+                return metrics;
+            }
+            metrics.averageRelevance = totalRelevance / count;
+            metrics.domainDiversity = (double) domains.size() / count;
+            metrics.contentQuality = (double) substantiveContent / count;
+            metrics.highQualityRatio = (double) highQualityCitations / count;
+            metrics.overallQuality =
+                (metrics.averageRelevance * 0.4) + (metrics.domainDiversity * 0.2) + (metrics.contentQuality * 0.2) + (metrics.highQualityRatio * 0.2);
+            return metrics;
+        }
+    }
+
     private static class QualityMetrics {
 
         double averageRelevance = 0.0;
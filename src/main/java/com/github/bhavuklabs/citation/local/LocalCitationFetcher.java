@@ -0,0 +1,276 @@
+package com.github.bhavuklabs.citation.local;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.content.HtmlTextExtractor;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+
+// A search provider over a local corpus, for running the citation pipeline without network access: tests, offline
+// demos, or an internal document set searched alongside the web providers. Documents are matched on query terms
+// through an inverted index, and an optional fixed latency makes it behave like a remote provider.
+public class LocalCitationFetcher implements CitationFetcher {
+
+    private static final Logger logger = Logger.getLogger(LocalCitationFetcher.class.getName());
+
+    private static final int DEFAULT_MAX_RESULTS = 10;
+    private static final int SNIPPET_LENGTH = 240;
+    private static final int MIN_TERM_LENGTH = 3;
+
+    private final String name;
+    private final List<Document> documents;
+    private final Map<String, List<Integer>> postings;
+    private final Duration latency;
+
+    private LocalCitationFetcher(Builder builder) {
+        this.name = builder.name;
+        this.documents = List.copyOf(builder.documents);
+        this.latency = builder.latency;
+        this.postings = new HashMap<>();
+        for (int id = 0; id < documents.size(); id++) {
+            Document document = documents.get(id);
+            Set<String> terms = terms(document.title + " " + document.content);
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new ArrayList<>())
+                    .add(id);
+            }
+        }
+        logger.info("LocalCitationFetcher '" + name + "' indexed " + documents.size() + " documents, " + postings.size() + " terms");
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public List<CitationResult> fetch(String query) throws CitationException {
+        if (query == null || query.trim()
+            .isEmpty()) {
+            throw new CitationException("Query cannot be null or empty", null, query, name);
+        }
+        return search(query, DEFAULT_MAX_RESULTS);
+    }
+
+    @Override
+    public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+        if (query == null || query.trim()
+            .isEmpty()) {
+            return CompletableFuture.failedFuture(new CitationException("Query cannot be null or empty", null, query, name));
+        }
+        FetchOptions effective = options != null ? options : FetchOptions.defaults();
+        int maxResults = effective.resolveMaxResults(DEFAULT_MAX_RESULTS);
+        if (latency.isZero()) {
+            return CompletableFuture.completedFuture(search(query, maxResults));
+        }
+        return CompletableFuture.supplyAsync(() -> search(query, maxResults), CompletableFuture.delayedExecutor(latency.toNanos(), TimeUnit.NANOSECONDS));
+    }
+
+    public int getDocumentCount() {
+        return documents.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Relevance blends the share of query terms found in the document with the share found in its title.
+    private List<CitationResult> search(String query, int maxResults) {
+        Set<String> queryTerms = terms(query);
+        if (queryTerms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Integer, int[]> matches = new HashMap<>();
+        for (String term : queryTerms) {
+            List<Integer> ids = postings.get(term);
+            if (ids == null) {
+                continue;
+            }
+            for (int id : ids) {
+                int[] counts = matches.computeIfAbsent(id, key -> new int[2]);
+                counts[0]++;
+                if (documents.get(id).titleTerms.contains(term)) {
+                    counts[1]++;
+                }
+            }
+        }
+
+        List<CitationResult> results = new ArrayList<>(matches.size());
+        for (Map.Entry<Integer, int[]> match : matches.entrySet()) {
+            Document document = documents.get(match.getKey());
+            double contentCoverage = match.getValue()[0] / (double) queryTerms.size();
+            double titleCoverage = match.getValue()[1] / (double) queryTerms.size();
+            double relevance = Math.min(1.0, 0.2 + 0.5 * contentCoverage + 0.3 * titleCoverage);
+            results.add(toCitation(document, queryTerms, relevance, query));
+        }
+        results.sort((c1, c2) -> Double.compare(c2.getRelevanceScore(), c1.getRelevanceScore()));
+        return results.size() > maxResults ? new ArrayList<>(results.subList(0, maxResults)) : results;
+    }
+
+    private CitationResult toCitation(Document document, Set<String> queryTerms, double relevance, String query) {
+        CitationResult citation = CitationResult.builder()
+            .title(document.title)
+            .snippet(snippet(document.content, queryTerms))
+            .content(document.content)
+            .url(document.url)
+            .relevanceScore(relevance)
+            .retrievedAt(LocalDateTime.now())
+            .language("en")
+            .build();
+        citation.addMetadata("source", name);
+        citation.addMetadata("search_query", query);
+        return citation;
+    }
+
+    private static String snippet(String content, Set<String> queryTerms) {
+        String lower = content.toLowerCase(Locale.ROOT);
+        int start = 0;
+        for (String term : queryTerms) {
+            int index = lower.indexOf(term);
+            if (index >= 0) {
+                start = Math.max(0, index - SNIPPET_LENGTH / 4);
+                break;
+            }
+        }
+        int end = Math.min(content.length(), start + SNIPPET_LENGTH);
+        return content.substring(start, end)
+            .trim();
+    }
+
+    static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                if (word.length() >= MIN_TERM_LENGTH) {
+                    terms.add(word.toString());
+                }
+                word.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static final class Document {
+
+        final String title;
+        final String url;
+        final String content;
+        final Set<String> titleTerms;
+
+        Document(String title, String url, String content) {
+            this.title = title;
+            this.url = url;
+            this.content = content;
+            this.titleTerms = Collections.unmodifiableSet(terms(title));
+        }
+    }
+
+    public static class Builder {
+
+        private String name = "local";
+        private final List<Document> documents = new ArrayList<>();
+        private Duration latency = Duration.ZERO;
+
+        public Builder name(String name) {
+            if (name == null || name.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Provider name cannot be null or empty");
+            }
+            this.name = name;
+            return this;
+        }
+
+        public Builder document(String title, String url, String content) {
+            if (title == null || url == null || content == null) {
+                throw new IllegalArgumentException("Document title, URL and content are required");
+            }
+            documents.add(new Document(title, url, content));
+            return this;
+        }
+
+        // Loads .txt, .md and .html files. The first line (or the HTML <title>) becomes the title and the file URI
+        // the citation URL.
+        public Builder directory(Path directory) throws IOException {
+            if (directory == null || !Files.isDirectory(directory)) {
+                throw new IllegalArgumentException("Not a directory: " + directory);
+            }
+            HtmlTextExtractor extractor = HtmlTextExtractor.builder()
+                .build();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)
+                    .sorted()::iterator) {
+                    String fileName = file.getFileName()
+                        .toString()
+                        .toLowerCase(Locale.ROOT);
+                    if (!(fileName.endsWith(".txt") || fileName.endsWith(".md") || fileName.endsWith(".html") || fileName.endsWith(".htm"))) {
+                        continue;
+                    }
+                    String raw = Files.readString(file, StandardCharsets.UTF_8);
+                    String title;
+                    String content;
+                    if (fileName.endsWith(".html") || fileName.endsWith(".htm")) {
+                        title = htmlTitle(raw, file);
+                        content = extractor.extract(raw)
+                            .getText();
+                    } else {
+                        String trimmed = raw.strip();
+                        int lineEnd = trimmed.indexOf('\n');
+                        title = (lineEnd < 0 ? trimmed : trimmed.substring(0, lineEnd)).replaceFirst("^#+\\s*", "")
+                            .trim();
+                        content = trimmed;
+                    }
+                    documents.add(new Document(title.isEmpty() ? file.getFileName()
+                        .toString() : title, file.toUri()
+                            .toString(), content));
+                }
+            }
+            return this;
+        }
+
+        public Builder latency(Duration latency) {
+            if (latency == null || latency.isNegative()) {
+                throw new IllegalArgumentException("Latency cannot be negative");
+            }
+            this.latency = latency;
+            return this;
+        }
+
+        public LocalCitationFetcher build() {
+            return new LocalCitationFetcher(this);
+        }
+
+        private static String htmlTitle(String html, Path file) {
+            String lower = html.toLowerCase(Locale.ROOT);
+            int start = lower.indexOf("<title>");
+            int end = lower.indexOf("</title>");
+            if (start >= 0 && end > start) {
+                return html.substring(start + 7, end)
+                    .trim();
+            }
+            return file.getFileName()
+                .toString();
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.github.bhavuklabs.citation.perplexity;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.citation.content.HtmlTextExtractor;
+import com.github.bhavuklabs.citation.content.PageFetcher;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+import com.github.bhavuklabs.core.cache.SingleFlight;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+
+// Citations from Perplexity's Sonar chat completions: the sources it searched come back as search_results (title,
+// URL, snippet) or, on older responses, as a bare citations URL list. The generated answer itself is not used; the
+// pages are fetched and extracted like any other provider's so relevance scoring sees the same kind of content.
+public class PerplexityCitationFetcher implements CitationFetcher, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(PerplexityCitationFetcher.class.getName());
+
+    private static final URI DEFAULT_ENDPOINT = URI.create("https://api.perplexity.ai/chat/completions");
+    private static final String DEFAULT_MODEL = "sonar";
+    private static final Duration DEFAULT_HTTP_TIMEOUT = Duration.ofSeconds(20);
+    private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(8);
+    private static final int MAX_CONTENT_LENGTH = 10000;
+    private static final int MIN_CONTENT_LENGTH = 100;
+    private static final int MAX_RESULTS_PER_SEARCH = 10;
+    private static final int MAX_ANSWER_TOKENS = 256;
+
+    private final String apiKey;
+    private final URI endpoint;
+    private final String model;
+    private final Duration httpTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final PageFetcher pageFetcher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SingleFlight<String, String> contentFlights = new SingleFlight<>();
+    private volatile boolean closed = false;
+
+    public PerplexityCitationFetcher(String apiKey) throws CitationException {
+        this(apiKey, DEFAULT_ENDPOINT, DEFAULT_MODEL, DEFAULT_HTTP_TIMEOUT);
+    }
+
+    // The endpoint can point at a proxy or a local stand-in.
+    public PerplexityCitationFetcher(String apiKey, URI endpoint, String model, Duration httpTimeout) throws CitationException {
+        if (apiKey == null || apiKey.trim()
+            .isEmpty()) {
+            throw new CitationException("Perplexity API key cannot be null or empty", null, "initialization", "PERPLEXITY");
+        }
+        if (endpoint == null || model == null || model.trim()
+            .isEmpty() || httpTimeout == null || httpTimeout.isNegative() || httpTimeout.isZero()) {
+            throw new CitationException("Perplexity endpoint, model and a positive timeout are required", null, "initialization", "PERPLEXITY");
+        }
+        this.apiKey = apiKey;
+        this.endpoint = endpoint;
+        this.model = model;
+        this.httpTimeout = httpTimeout;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+            .connectTimeout(CONNECTION_TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(executor)
+            .build();
+        this.pageFetcher = PageFetcher.builder()
+            .httpClient(httpClient)
+            .executor(executor)
+            .extractor(HtmlTextExtractor.builder()
+                .maxChars(MAX_CONTENT_LENGTH)
+                .minMainContentLength(MIN_CONTENT_LENGTH)
+                .build())
+            .userAgent("Research4j/2.0 Academic Research Bot (+https://github.com/bhavuklabs/research4j)")
+            .acceptLanguage("en-US,en;q=0.9")
+            .pageStore(PageStore.shared())
+            .build();
+
+        logger.info("PerplexityCitationFetcher initialized with model " + model);
+    }
+
+    @Override
+    public List<CitationResult> fetch(String query) throws CitationException {
+        try {
+            return fetchAsync(query, FetchOptions.defaults()).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CitationException) {
+                throw (CitationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CitationException("Perplexity search failed: " + cause.getMessage(), cause, query, "PERPLEXITY");
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Citation fetcher has been closed"));
+        }
+        if (query == null || query.trim()
+            .isEmpty()) {
+            return CompletableFuture.failedFuture(new CitationException("Query cannot be null or empty", null, query, "PERPLEXITY"));
+        }
+        FetchOptions effective = options != null ? options : FetchOptions.defaults();
+
+        logger.info("Fetching citations from Perplexity for query: " + truncateString(query, 100));
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(endpoint)
+                .timeout(effective.resolveContentTimeout(httpTimeout))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody(query)))
+                .build();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new CitationException("Failed to build Perplexity request: " + e.getMessage(), e, query, "PERPLEXITY"));
+        }
+
+        return ProviderRateLimiters.forSource(CitationSource.PERPLEXITY)
+            .acquire()
+            .thenCompose(ignored -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+            .thenCompose(response -> {
+                if (response.statusCode() != 200) {
+                    return CompletableFuture.failedFuture(statusException(response.statusCode(), query));
+                }
+                List<SearchResult> results = parseResults(response.body(), effective.resolveMaxResults(MAX_RESULTS_PER_SEARCH));
+                if (results.isEmpty()) {
+                    logger.warning("No search results found for query: " + query);
+                    return CompletableFuture.completedFuture(new ArrayList<CitationResult>());
+                }
+                return toCitations(results, query, effective);
+            })
+            .exceptionallyCompose(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof CitationException) {
+                    return CompletableFuture.failedFuture(cause);
+                }
+                logger.warning("Error fetching citations from Perplexity: " + cause.getMessage());
+                return CompletableFuture.failedFuture(new CitationException("Perplexity search failed: " + cause.getMessage(), cause, query, "PERPLEXITY"));
+            });
+    }
+
+    private String requestBody(String query) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("model", model);
+        body.put("max_tokens", MAX_ANSWER_TOKENS);
+        ArrayNode messages = body.putArray("messages");
+        messages.addObject()
+            .put("role", "user")
+            .put("content", query);
+        return body.toString();
+    }
+
+    private CitationException statusException(int status, String query) {
+        switch (status) {
+            case 401:
+            case 403:
+                return new CitationException("Perplexity rejected the API key (HTTP " + status + "): authentication failed", null, query, "PERPLEXITY");
+            case 429:
+                return new CitationException("Perplexity rate limit exceeded (HTTP 429)", null, query, "PERPLEXITY");
+            default:
+                return new CitationException("Perplexity search failed with HTTP " + status, null, query, "PERPLEXITY");
+        }
+    }
+
+    List<SearchResult> parseResults(String body, int maxResults) {
+        List<SearchResult> results = new ArrayList<>();
+        Set<String> seenUrls = new LinkedHashSet<>();
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            for (JsonNode node : root.path("search_results")) {
+                String url = node.path("url")
+                    .asText("");
+                if (!url.isEmpty() && seenUrls.add(url)) {
+                    results.add(new SearchResult(node.path("title")
+                        .asText(url), url, node.path("snippet")
+                            .asText("")));
+                }
+            }
+            for (JsonNode node : root.path("citations")) {
+                String url = node.asText("");
+                if (!url.isEmpty() && seenUrls.add(url)) {
+                    results.add(new SearchResult(null, url, ""));
+                }
+            }
+        } catch (Exception e) {
+            logger.warning("Could not parse Perplexity response: " + e.getMessage());
+        }
+        return results.size() > maxResults ? new ArrayList<>(results.subList(0, maxResults)) : results;
+    }
+
+    private CompletableFuture<List<CitationResult>> toCitations(List<SearchResult> results, String query, FetchOptions options) {
+        Duration pageTimeout = options.resolveContentTimeout(httpTimeout);
+        List<CompletableFuture<CitationResult>> futures = new ArrayList<>(results.size());
+        for (int rank = 0; rank < results.size(); rank++) {
+            SearchResult result = results.get(rank);
+            double rankBonus = 0.1 * (1.0 - rank / (double) results.size());
+            CompletableFuture<String> content = result.snippet.length() >= MIN_CONTENT_LENGTH || !options.isFetchPageContent()
+                ? CompletableFuture.completedFuture(result.snippet) : fetchContentAsync(result.url, pageTimeout);
+            futures.add(content.completeOnTimeout(result.snippet, pageTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(text -> toCitation(result, text, query, rankBonus)));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<CitationResult> citations = new ArrayList<>(futures.size());
+                for (CompletableFuture<CitationResult> future : futures) {
+                    CitationResult citation = future.join();
+                    if (citation.isValid()) {
+                        citations.add(citation);
+                    }
+                }
+                citations.sort((c1, c2) -> Double.compare(c2.getRelevanceScore(), c1.getRelevanceScore()));
+                logger.info("Successfully fetched " + citations.size() + " citations from Perplexity");
+                return citations;
+            });
+    }
+
+    private CitationResult toCitation(SearchResult result, String content, String query, double rankBonus) {
+        String text = content == null || content.trim()
+            .isEmpty() ? result.snippet : content;
+        CitationResult citation = CitationResult.builder()
+            .title(result.title)
+            .snippet(result.snippet.isEmpty() ? truncateString(text, 240) : result.snippet)
+            .content(text.isEmpty() ? "No content available" : text)
+            .url(result.url)
+            .relevanceScore(relevance(query, result.title, text) + rankBonus)
+            .retrievedAt(LocalDateTime.now())
+            .build();
+        citation.addMetadata("source", "perplexity");
+        citation.addMetadata("search_query", query);
+        return citation;
+    }
+
+    private CompletableFuture<String> fetchContentAsync(String url, Duration timeout) {
+        return contentFlights.execute(PageStore.canonicalize(url), () -> pageFetcher.fetch(url, timeout)
+            .thenApply(page -> {
+                if (!page.isSuccessful()) {
+                    logger.warning("HTTP " + page.getStatusCode() + " for URL: " + url);
+                }
+                return page.getText();
+            })
+            .exceptionally(failure -> {
+                logger.warning("Failed to fetch content from URL " + url + ": " + failure.getMessage());
+                return "";
+            }));
+    }
+
+    private static double relevance(String query, String title, String content) {
+        String[] queryWords = query.toLowerCase(Locale.ROOT)
+            .split("\\s+");
+        String titleLower = title.toLowerCase(Locale.ROOT);
+        String contentLower = content.toLowerCase(Locale.ROOT);
+        int titleMatches = 0;
+        int contentMatches = 0;
+        for (String word : queryWords) {
+            if (titleLower.contains(word)) {
+                titleMatches++;
+            }
+            if (contentLower.contains(word)) {
+                contentMatches++;
+            }
+        }
+        double score = 0.4 + 0.25 * titleMatches / queryWords.length + 0.2 * contentMatches / queryWords.length;
+        return Math.min(0.9, score);
+    }
+
+    private static String truncateString(String str, int maxLength) {
+        if (str == null) {
+            return "null";
+        }
+        return str.length() <= maxLength ? str : str.substring(0, maxLength) + "...";
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(15, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+            logger.info("PerplexityCitationFetcher closed successfully");
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+    static final class SearchResult {
+
+        final String title;
+        final String url;
+        final String snippet;
+
+        SearchResult(String title, String url, String snippet) {
+            this.title = title == null || title.isEmpty() ? url : title;
+            this.url = url;
+            this.snippet = snippet == null ? "" : snippet;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.github.bhavuklabs.citation.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.core.ratelimit.RateLimiter;
+
+// One limiter per search provider for the whole JVM: the quota belongs to the provider account, not to whichever
+// service, fetcher or session happens to be issuing the call. Each upstream search API call takes one permit.
+public final class ProviderRateLimiters {
+
+    private static final Logger logger = Logger.getLogger(ProviderRateLimiters.class.getName());
+
+    private static final String PROPERTY_PREFIX = "research4j.rateLimit.";
+    private static final double DEFAULT_PERMITS_PER_SECOND = 2.0;
+    private static final int DEFAULT_BURST = 4;
+
+    private static final Map<CitationSource, RateLimiter> limiters = new ConcurrentHashMap<>();
+
+    private ProviderRateLimiters() {
+    }
+
+    public static RateLimiter forSource(CitationSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Citation source cannot be null");
+        }
+        return limiters.computeIfAbsent(source, ProviderRateLimiters::createDefault);
+    }
+
+    // Replaces the limiter for a provider, e.g. to match the QPS quota of a paid plan.
+    public static RateLimiter configure(CitationSource source, double permitsPerSecond, int burst) {
+        if (source == null) {
+            throw new IllegalArgumentException("Citation source cannot be null");
+        }
+        RateLimiter limiter = RateLimiter.builder()
+            .name(source.name())
+            .permitsPerSecond(permitsPerSecond)
+            .burst(burst)
+            .build();
+        limiters.put(source, limiter);
+        logger.info("Configured provider rate limit: " + limiter);
+        return limiter;
+    }
+
+    public static Map<CitationSource, RateLimiter> snapshot() {
+        return Map.copyOf(limiters);
+    }
+
+    // -Dresearch4j.rateLimit.TAVILY=5 or -Dresearch4j.rateLimit.TAVILY=5:10 (permits per second, optional burst).
+    private static RateLimiter createDefault(CitationSource source) {
+        String override = System.getProperty(PROPERTY_PREFIX + source.name());
+        if (override != null && !override.trim()
+            .isEmpty()) {
+            try {
+                String[] parts = override.trim()
+                    .split(":");
+                return RateLimiter.builder()
+                    .name(source.name())
+                    .permitsPerSecond(Double.parseDouble(parts[0]))
+                    .burst(parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_BURST)
+                    .build();
+            } catch (IllegalArgumentException e) {
+                logger.warning("Ignoring invalid rate limit override for " + source + ": " + override);
+            }
+        }
+        return RateLimiter.builder()
+            .name(source.name())
+            .permitsPerSecond(DEFAULT_PERMITS_PER_SECOND)
+            .burst(DEFAULT_BURST)
+            .build();
+    }
+}
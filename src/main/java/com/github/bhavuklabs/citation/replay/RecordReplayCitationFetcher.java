@@ -0,0 +1,181 @@
+package com.github.bhavuklabs.citation.replay;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.client.limit.ConcurrencyLimitedLLMClient;
+import com.github.bhavuklabs.core.replay.Cassette;
+import com.github.bhavuklabs.core.replay.FaultProfile;
+import com.github.bhavuklabs.core.replay.ReplayMode;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+
+// Records a search provider's results to a cassette, or stands in for it by replaying them, with the latency and
+// failures of the fault profile. Requests are keyed on the query; each provider records to its own channel, so one
+// cassette can hold the traffic of a multi-provider run.
+public final class RecordReplayCitationFetcher implements CitationFetcher {
+
+    private static final Logger logger = Logger.getLogger(RecordReplayCitationFetcher.class.getName());
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<List<Map<String, Object>>> CITATION_LIST = new TypeReference<>() {
+    };
+
+    private final CitationFetcher delegate;
+    private final Cassette cassette;
+    private final ReplayMode mode;
+    private final FaultProfile faults;
+    private final String provider;
+    private final String channel;
+
+    private RecordReplayCitationFetcher(Builder builder) {
+        this.delegate = builder.delegate;
+        this.cassette = builder.cassette;
+        this.mode = builder.mode;
+        this.faults = builder.faults;
+        this.provider = builder.provider;
+        this.channel = "search:" + builder.provider;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public List<CitationResult> fetch(String query) throws CitationException {
+        if (mode != ReplayMode.RECORD) {
+            Cassette.Interaction interaction = cassette.next(channel, query);
+            if (interaction != null) {
+                return replay(interaction, query);
+            }
+            if (mode == ReplayMode.REPLAY) {
+                throw new CitationException("No recorded results for query", null, query, provider);
+            }
+        }
+        return record(query);
+    }
+
+    public Cassette getCassette() {
+        return cassette;
+    }
+
+    private List<CitationResult> record(String query) throws CitationException {
+        long start = System.nanoTime();
+        try {
+            List<CitationResult> results = delegate.fetch(query);
+            cassette.record(channel, query, Cassette.Interaction.success((System.nanoTime() - start) / 1_000_000L, toJson(results), null));
+            return results;
+        } catch (CitationException | RuntimeException e) {
+            Cassette.Result result = ConcurrencyLimitedLLMClient.isOverload(e) ? Cassette.Result.RATE_LIMITED : Cassette.Result.ERROR;
+            cassette.record(channel, query, Cassette.Interaction.failure(result, (System.nanoTime() - start) / 1_000_000L, e.getMessage()));
+            throw e;
+        }
+    }
+
+    private List<CitationResult> replay(Cassette.Interaction interaction, String query) throws CitationException {
+        FaultProfile.Outcome injected = faults.nextOutcome();
+        if (injected == FaultProfile.Outcome.TIMEOUT) {
+            FaultProfile.pause(faults.getTimeout()
+                .toMillis());
+            throw new CitationException(provider + " search timed out", new TimeoutException("Search timed out"), query, provider);
+        }
+        if (!FaultProfile.pause(faults.nextLatencyMillis(interaction.getLatencyMillis()))) {
+            throw new CitationException("Interrupted while replaying search", null, query, provider);
+        }
+        if (injected == FaultProfile.Outcome.RATE_LIMITED || interaction.getResult() == Cassette.Result.RATE_LIMITED) {
+            throw new CitationException(provider + " search failed: 429 Too Many Requests", null, query, provider);
+        }
+        if (interaction.getResult() != Cassette.Result.OK) {
+            throw new CitationException(interaction.getBody(), null, query, provider);
+        }
+        return fromJson(interaction.getBody(), query);
+    }
+
+    private String toJson(List<CitationResult> results) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (CitationResult result : results) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("title", result.getTitle());
+            row.put("snippet", result.getSnippet());
+            row.put("content", result.getContent());
+            row.put("url", result.getUrl());
+            row.put("relevanceScore", result.getRelevanceScore());
+            rows.add(row);
+        }
+        try {
+            return objectMapper.writeValueAsString(rows);
+        } catch (Exception e) {
+            logger.warning("Failed to record " + provider + " results: " + e.getMessage());
+            return "[]";
+        }
+    }
+
+    private List<CitationResult> fromJson(String json, String query) throws CitationException {
+        try {
+            List<CitationResult> results = new ArrayList<>();
+            for (Map<String, Object> row : objectMapper.readValue(json, CITATION_LIST)) {
+                Object score = row.get("relevanceScore");
+                results.add(new CitationResult((String) row.get("title"), (String) row.get("snippet"), (String) row.get("content"), (String) row.get("url"),
+                    score instanceof Number ? ((Number) score).doubleValue() : 0.0));
+            }
+            return results;
+        } catch (Exception e) {
+            throw new CitationException("Recorded results do not parse: " + e.getMessage(), e, query, provider);
+        }
+    }
+
+    public static final class Builder {
+
+        private CitationFetcher delegate;
+        private Cassette cassette;
+        private ReplayMode mode = ReplayMode.REPLAY;
+        private FaultProfile faults = FaultProfile.recorded();
+        private String provider = "REPLAY";
+
+        private Builder() {
+        }
+
+        // The provider to record from; not needed to replay.
+        public Builder delegate(CitationFetcher delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        public Builder cassette(Cassette cassette) {
+            this.cassette = cassette;
+            return this;
+        }
+
+        public Builder mode(ReplayMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder faults(FaultProfile faults) {
+            this.faults = faults;
+            return this;
+        }
+
+        public Builder provider(String provider) {
+            this.provider = provider;
+            return this;
+        }
+
+        public RecordReplayCitationFetcher build() {
+            if (cassette == null || mode == null || faults == null || provider == null) {
+                throw new IllegalArgumentException("Cassette, mode, fault profile and provider cannot be null");
+            }
+            if (mode != ReplayMode.REPLAY && delegate == null) {
+                throw new IllegalArgumentException("A delegate is required to record");
+            }
+            return new RecordReplayCitationFetcher(this);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.bhavuklabs.citation.resilience;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.core.resilience.CircuitBreaker;
+
+// One breaker per search provider for the whole JVM, like ProviderRateLimiters: an outage at Tavily or Google CSE is a
+// property of the provider, so every service and session should stop calling it at the same time.
+public final class ProviderCircuitBreakers {
+
+    private static final Logger logger = Logger.getLogger(ProviderCircuitBreakers.class.getName());
+
+    private static final Map<CitationSource, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private ProviderCircuitBreakers() {
+    }
+
+    public static CircuitBreaker forSource(CitationSource source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Citation source cannot be null");
+        }
+        return breakers.computeIfAbsent(source, ProviderCircuitBreakers::createDefault);
+    }
+
+    public static CircuitBreaker configure(CitationSource source, CircuitBreaker breaker) {
+        if (source == null || breaker == null) {
+            throw new IllegalArgumentException("Citation source and circuit breaker cannot be null");
+        }
+        breakers.put(source, breaker);
+        logger.info("Configured provider circuit breaker: " + breaker);
+        return breaker;
+    }
+
+    public static void reset(CitationSource source) {
+        breakers.remove(source);
+    }
+
+    public static Map<CitationSource, CircuitBreaker> snapshot() {
+        return Map.copyOf(breakers);
+    }
+
+    private static CircuitBreaker createDefault(CitationSource source) {
+        return CircuitBreaker.builder()
+            .name(source.name())
+            .failureRateThreshold(0.5)
+            .minimumCalls(5)
+            .windowSize(20)
+            .openDuration(Duration.ofSeconds(30))
+            .halfOpenProbes(2)
+            .build();
+    }
+}
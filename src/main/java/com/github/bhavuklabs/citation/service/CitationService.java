@@ -3,32 +3,61 @@ package com.github.bhavuklabs.citation.service;
 import static com.github.bhavuklabs.citation.enums.CitationSource.TAVILY;
 import static com.github.bhavuklabs.citation.enums.CitationSource.GOOGLE_GEMINI;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.citation.CitationFetcher;
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.cache.SearchResultCache;
 import com.github.bhavuklabs.citation.config.CitationConfig;
+import com.github.bhavuklabs.citation.enums.CitationSource;
 import com.github.bhavuklabs.citation.gemini.GeminiCitationFetcher;
+import com.github.bhavuklabs.citation.perplexity.PerplexityCitationFetcher;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+import com.github.bhavuklabs.citation.resilience.ProviderCircuitBreakers;
 import com.github.bhavuklabs.citation.tavily.TavilyCitationFetcher;
+import com.github.bhavuklabs.core.cache.SingleFlight;
+import com.github.bhavuklabs.core.cache.SingleFlightStats;
+import com.github.bhavuklabs.core.ratelimit.RateLimiter;
+import com.github.bhavuklabs.core.resilience.CircuitBreaker;
+import com.github.bhavuklabs.core.resilience.Deadline;
+import com.github.bhavuklabs.core.resilience.Hedger;
 import com.github.bhavuklabs.exceptions.citation.CitationException;
+import com.github.bhavuklabs.exceptions.utility.CircuitOpenException;
 
 
 public class CitationService implements AutoCloseable {
 
     private static final Logger logger = Logger.getLogger(CitationService.class.getName());
 
-    private final CitationFetcher primaryFetcher;
-    private final CitationFetcher fallbackFetcher;
+    private final Provider primary;
+    private final Provider fallback;
+    private final List<Provider> fanOutProviders;
+    private final int targetCitations;
+    private final double highRelevanceThreshold;
     private final CitationConfig config;
     private final String cseId;
+    private final SearchResultCache searchCache;
+    private final Set<String> revalidating;
+    private final SingleFlight<String, List<CitationResult>> fetchFlights = new SingleFlight<>();
 
     private static final int MAX_RETRIES = 3;
     private static final long RETRY_DELAY_MS = 1000;
-    private static final long RATE_LIMIT_MS = 500;
+    private static final Duration DEFAULT_SEARCH_TIMEOUT = Duration.ofSeconds(60);
+    private static final int MAX_RESULTS = 25;
 
-    private long lastRequestTime = 0;
+    private volatile long lastRequestTime = 0;
 
 
     public CitationService(CitationConfig citationConfig) throws CitationException {
@@ -37,17 +66,36 @@ public class CitationService implements AutoCloseable {
 
 
     public CitationService(CitationConfig citationConfig, String cseId) throws CitationException {
+        this(citationConfig, cseId, SearchResultCache.createDefault());
+    }
+
+
+    public CitationService(CitationConfig citationConfig, String cseId, SearchResultCache searchCache) throws CitationException {
+        this(citationConfig, cseId, searchCache, null);
+    }
+
+
+    // fallbackConfig names a second provider, queried when the primary returns fewer than three results; null for none.
+    // The CSE id is used by whichever of the two is Google.
+    public CitationService(CitationConfig citationConfig, String cseId, SearchResultCache searchCache, CitationConfig fallbackConfig)
+        throws CitationException {
         this.config = citationConfig;
         this.cseId = cseId;
+        this.searchCache = searchCache;
+        this.revalidating = ConcurrentHashMap.newKeySet();
+        this.fanOutProviders = List.of();
+        this.targetCitations = 0;
+        this.highRelevanceThreshold = 0.0;
 
         try {
-            this.primaryFetcher = createPrimaryFetcher(citationConfig, cseId);
-
-            this.fallbackFetcher = createFallbackFetcher(citationConfig, cseId);
+            this.primary = new Provider("primary", citationConfig.getCitationSource(), createConfiguredFetcher(citationConfig, cseId), ProviderBudget.defaults());
+            this.fallback = fallbackConfig != null ? new Provider("fallback", fallbackConfig.getCitationSource(), createConfiguredFetcher(fallbackConfig, cseId),
+                ProviderBudget.defaults()) : null;
 
             logger.info("CitationService initialized with primary source: " +
                 citationConfig.getCitationSource() +
-                (fallbackFetcher != null ? " and fallback support" : ""));
+                (fallback != null ? ", fallback source: " + fallback.source : "") +
+                (searchCache != null ? (searchCache.isPersistent() ? ", persistent search cache" : ", in-memory search cache") : ""));
 
         } catch (Exception e) {
             throw new CitationException("Failed to initialize CitationService: " + e.getMessage(),
@@ -56,153 +104,322 @@ public class CitationService implements AutoCloseable {
     }
 
 
-    public List<CitationResult> search(String query) throws CitationException {
-        validateQuery(query);
+    // For callers that bring their own fetchers, e.g. a custom provider or a stand-in for tests.
+    public CitationService(CitationConfig citationConfig, CitationFetcher primaryFetcher, CitationFetcher fallbackFetcher, SearchResultCache searchCache) {
+        if (citationConfig == null || primaryFetcher == null) {
+            throw new IllegalArgumentException("Citation config and primary fetcher are required");
+        }
+        this.config = citationConfig;
+        this.cseId = null;
+        this.searchCache = searchCache;
+        this.revalidating = ConcurrentHashMap.newKeySet();
+        this.primary = new Provider("primary", citationConfig.getCitationSource(), primaryFetcher, ProviderBudget.defaults());
+        CitationSource fallbackSource = citationConfig.getCitationSource() == TAVILY ? GOOGLE_GEMINI : TAVILY;
+        this.fallback = fallbackFetcher != null ? new Provider("fallback", fallbackSource, fallbackFetcher, ProviderBudget.defaults()) : null;
+        this.fanOutProviders = List.of();
+        this.targetCitations = 0;
+        this.highRelevanceThreshold = 0.0;
+
+        logger.info("CitationService initialized with custom " + citationConfig.getCitationSource() + " fetcher" +
+            (fallbackFetcher != null ? " and fallback support" : ""));
+    }
 
-        applyRateLimit();
 
-        logger.info("Searching for: " + truncateQuery(query));
+    private CitationService(MultiProviderBuilder builder) {
+        List<Provider> providers = new ArrayList<>();
+        for (Map.Entry<CitationSource, CitationFetcher> entry : builder.fetchers.entrySet()) {
+            providers.add(new Provider(entry.getKey()
+                .name(), entry.getKey(), entry.getValue(), builder.budgets.get(entry.getKey())));
+        }
+        this.fanOutProviders = List.copyOf(providers);
+        this.primary = fanOutProviders.get(0);
+        this.fallback = null;
+        this.targetCitations = builder.targetCitations;
+        this.highRelevanceThreshold = builder.highRelevanceThreshold;
+        this.config = new CitationConfig(primary.source, null);
+        this.cseId = null;
+        this.searchCache = builder.searchCache;
+        this.revalidating = ConcurrentHashMap.newKeySet();
+
+        logger.info("CitationService initialized with providers " + builder.fetchers.keySet() + ", returning once " + targetCitations +
+            " citations reach relevance " + highRelevanceThreshold);
+    }
+
 
-        List<CitationResult> results = searchWithFetcher(primaryFetcher, query, "primary");
+    public static MultiProviderBuilder multiProvider() {
+        return new MultiProviderBuilder();
+    }
 
-        if ((results.isEmpty() || results.size() < 3) && fallbackFetcher != null) {
-            logger.info("Primary fetcher returned " + results.size() +
-                " results, trying fallback fetcher");
 
-            List<CitationResult> fallbackResults = searchWithFetcher(fallbackFetcher, query, "fallback");
+    public List<CitationResult> search(String query) throws CitationException {
+        validateQuery(query);
 
-            results = mergeResults(results, fallbackResults);
+        try {
+            return searchAsync(query).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CitationException) {
+                throw (CitationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CitationException("Search failed: " + cause.getMessage(), cause, query, config.getCitationSource().toString());
         }
+    }
 
-        List<CitationResult> validatedResults = validateAndEnhanceResults(results, query);
 
-        logger.info("Search completed: " + validatedResults.size() + " valid citations returned");
-        return validatedResults;
+    // Non-blocking search: retries back off on a delayed executor and fetchers complete on their own virtual threads,
+    // so callers can fan out many searches without parking pool threads on them.
+    public CompletableFuture<List<CitationResult>> searchAsync(String query) {
+        return searchAsync(query, Deadline.after(DEFAULT_SEARCH_TIMEOUT));
     }
 
 
-    private List<CitationResult> searchWithFetcher(CitationFetcher fetcher, String query, String fetcherType) {
-        if (fetcher == null) {
-            return new ArrayList<>();
+    // Retries, hedges and page downloads all draw on the caller's deadline. When it passes, the search completes with
+    // whatever the providers returned in time, which may be nothing, rather than failing the research round.
+    public CompletableFuture<List<CitationResult>> searchAsync(String query, Deadline deadline) {
+        Deadline effective = deadline != null ? deadline : Deadline.after(DEFAULT_SEARCH_TIMEOUT);
+        try {
+            validateQuery(query);
+        } catch (CitationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        if (searchCache != null) {
+            SearchResultCache.Lookup cached = searchCache.lookup(query);
+            switch (cached.getFreshness()) {
+                case FRESH:
+                    logger.info("Search cache hit for: " + truncateQuery(query));
+                    return CompletableFuture.completedFuture(cached.getResults());
+                case STALE:
+                    logger.info("Serving stale search results while revalidating: " + truncateQuery(query));
+                    scheduleRevalidation(query);
+                    return CompletableFuture.completedFuture(cached.getResults());
+                default:
+                    break;
+            }
         }
 
-        int retryCount = 0;
-        Exception lastException = null;
-
-        while (retryCount < MAX_RETRIES) {
-            try {
-                logger.fine("Attempting search with " + fetcherType + " fetcher (attempt " + (retryCount + 1) + ")");
+        return searchUncached(query, effective).thenApply(results -> {
+            if (searchCache != null && !results.isEmpty()) {
+                searchCache.put(query, config.getCitationSource(), results);
+            }
+            return results;
+        });
+    }
 
-                List<CitationResult> results = fetcher.fetch(query);
 
-                if (results != null && !results.isEmpty()) {
-                    logger.info(fetcherType + " fetcher returned " + results.size() + " results");
-                    return results;
+    private void scheduleRevalidation(String query) {
+        String key = SearchResultCache.normalizeQuery(query);
+        if (!revalidating.add(key)) {
+            return;
+        }
+        searchUncached(query, Deadline.after(DEFAULT_SEARCH_TIMEOUT)).whenComplete((refreshed, failure) -> {
+            try {
+                if (failure != null) {
+                    logger.warning("Search cache revalidation failed for " + truncateQuery(query) + ": " + failure.getMessage());
+                } else if (!refreshed.isEmpty()) {
+                    searchCache.put(query, config.getCitationSource(), refreshed);
                 }
+            } finally {
+                revalidating.remove(key);
+            }
+        });
+    }
 
-                logger.warning(fetcherType + " fetcher returned empty results on attempt " + (retryCount + 1));
 
-            } catch (CitationException e) {
-                lastException = e;
-                logger.warning(fetcherType + " fetcher failed on attempt " + (retryCount + 1) + ": " + e.getMessage());
+    private CompletableFuture<List<CitationResult>> searchUncached(String query, Deadline deadline) {
+        lastRequestTime = System.currentTimeMillis();
 
-                if (e.getMessage().contains("API key") || e.getMessage().contains("authentication")) {
-                    logger.severe("Authentication error with " + fetcherType + " fetcher, not retrying");
-                    break;
-                }
+        logger.info("Searching for: " + truncateQuery(query));
 
-            } catch (Exception e) {
-                lastException = new CitationException("Unexpected error in " + fetcherType + " fetcher",
-                    e, query, fetcherType);
-                logger.warning("Unexpected error with " + fetcherType + " fetcher: " + e.getMessage());
-            }
+        if (!fanOutProviders.isEmpty()) {
+            return searchAllProviders(query, deadline);
+        }
 
-            retryCount++;
+        return searchWithFetcher(primary, query, 0, null, deadline, Cancellation.NONE).thenCompose(results -> {
+                if ((results.isEmpty() || results.size() < 3) && fallback != null) {
+                    logger.info("Primary fetcher returned " + results.size() +
+                        " results, trying fallback fetcher");
 
-            if (retryCount < MAX_RETRIES) {
-                try {
-                    long delay = RETRY_DELAY_MS * (long) Math.pow(2, retryCount - 1);
-                    logger.fine("Waiting " + delay + "ms before retry");
-                    Thread.sleep(delay);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
+                    return searchWithFetcher(fallback, query, 0, null, deadline, Cancellation.NONE)
+                        .thenApply(fallbackResults -> mergeResults(results, fallbackResults));
                 }
-            }
-        }
+                return CompletableFuture.completedFuture(results);
+            })
+            .thenApply(results -> {
+                List<CitationResult> validatedResults = validateAndEnhanceResults(results, query);
+
+                logger.info("Search completed: " + validatedResults.size() + " valid citations returned");
+                return validatedResults;
+            });
+    }
 
-        if (lastException != null) {
-            logger.warning("All " + MAX_RETRIES + " attempts failed for " + fetcherType + " fetcher: " +
-                lastException.getMessage());
-        }
 
-        return new ArrayList<>();
+    // Every provider is queried at once, each within its own budget. Results are merged as they arrive, and the search
+    // completes as soon as enough highly relevant citations are in instead of waiting for the slowest provider.
+    private CompletableFuture<List<CitationResult>> searchAllProviders(String query, Deadline deadline) {
+        FanOutSearch search = new FanOutSearch(query, fanOutProviders.size());
+        for (Provider provider : fanOutProviders) {
+            Deadline providerDeadline = deadline.earliest(Deadline.after(provider.budget.getTimeout()));
+            searchWithFetcher(provider, query, 0, null, providerDeadline, search.cancellation).whenComplete(
+                (results, failure) -> search.onProviderComplete(provider, results, failure));
+        }
+        return search.result;
     }
 
 
-    private List<CitationResult> mergeResults(List<CitationResult> primaryResults,
-        List<CitationResult> fallbackResults) {
-        List<CitationResult> merged = new ArrayList<>(primaryResults);
+    private CompletableFuture<List<CitationResult>> searchWithFetcher(Provider provider, String query, int retryCount, Exception lastException,
+        Deadline deadline, Cancellation cancellation) {
+        String fetcherType = provider.name;
+        if (cancellation.isCancelled()) {
+            logger.fine("Search no longer needs the " + fetcherType + " fetcher, not attempting: " + truncateQuery(query));
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (deadline.isExpired()) {
+            logger.warning("Search deadline passed before the " + fetcherType + " fetcher answered: " + truncateQuery(query));
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        if (retryCount >= MAX_RETRIES) {
+            if (lastException != null) {
+                logger.warning("All " + MAX_RETRIES + " attempts failed for " + fetcherType + " fetcher: " +
+                    lastException.getMessage());
+            }
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
 
-        for (CitationResult fallbackResult : fallbackResults) {
-            boolean isDuplicate = primaryResults.stream()
-                .anyMatch(primary -> areDuplicates(primary, fallbackResult));
+        logger.fine("Attempting search with " + fetcherType + " fetcher (attempt " + (retryCount + 1) + ")");
 
-            if (!isDuplicate) {
+        return cancellation.track(fetchResilient(provider, query, deadline)).handle((results, failure) -> {
+                if (cancellation.isCancelled()) {
+                    return CompletableFuture.<List<CitationResult>> completedFuture(new ArrayList<>());
+                }
+                Exception attemptException = lastException;
+                if (failure == null) {
+                    if (results != null && !results.isEmpty()) {
+                        logger.info(fetcherType + " fetcher returned " + results.size() + " results");
+                        return CompletableFuture.completedFuture(results);
+                    }
+                    logger.warning(fetcherType + " fetcher returned empty results on attempt " + (retryCount + 1));
+                } else {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                    if (cause instanceof CircuitOpenException) {
+                        logger.warning(fetcherType + " fetcher skipped: " + cause.getMessage());
+                        return searchWithFetcher(provider, query, MAX_RETRIES, null, deadline, cancellation);
+                    }
+                    if (cause instanceof TimeoutException) {
+                        attemptException = new CitationException("Search deadline passed", cause, query, fetcherType);
+                        logger.warning(fetcherType + " fetcher timed out on attempt " + (retryCount + 1));
+                    } else if (cause instanceof CitationException) {
+                        attemptException = (CitationException) cause;
+                        logger.warning(fetcherType + " fetcher failed on attempt " + (retryCount + 1) + ": " + cause.getMessage());
+
+                        String message = cause.getMessage() != null ? cause.getMessage() : "";
+                        if (message.contains("API key") || message.contains("authentication")) {
+                            logger.severe("Authentication error with " + fetcherType + " fetcher, not retrying");
+                            return searchWithFetcher(provider, query, MAX_RETRIES, attemptException, deadline, cancellation);
+                        }
+                    } else {
+                        attemptException = new CitationException("Unexpected error in " + fetcherType + " fetcher",
+                            cause, query, fetcherType);
+                        logger.warning("Unexpected error with " + fetcherType + " fetcher: " + cause.getMessage());
+                    }
+                }
 
-                merged.add(fallbackResult);
-            }
-        }
+                int nextRetry = retryCount + 1;
+                if (nextRetry >= MAX_RETRIES) {
+                    return searchWithFetcher(provider, query, nextRetry, attemptException, deadline, cancellation);
+                }
+                long delay = RETRY_DELAY_MS * (long) Math.pow(2, nextRetry - 1);
+                if (TimeUnit.MILLISECONDS.toNanos(delay) >= deadline.remainingNanos()) {
+                    logger.warning("No time left to retry the " + fetcherType + " fetcher before the search deadline");
+                    return CompletableFuture.<List<CitationResult>> completedFuture(new ArrayList<>());
+                }
+                logger.fine("Waiting " + delay + "ms before retry");
+                Exception carried = attemptException;
+                return CompletableFuture.supplyAsync(() -> null, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                    .thenCompose(ignored -> searchWithFetcher(provider, query, nextRetry, carried, deadline, cancellation));
+            })
+            .thenCompose(next -> next);
+    }
 
-        logger.info("Merged results: " + primaryResults.size() + " primary + " +
-            (merged.size() - primaryResults.size()) + " unique fallback = " + merged.size() + " total");
 
-        return merged;
+    // One attempt against a provider: the primary request is coalesced with identical concurrent searches, and if it
+    // runs past the provider's recent p95 a hedge goes out directly, since a coalesced call would only rejoin the slow
+    // request. Both go through the provider's circuit breaker and are cut off at the caller's deadline.
+    private CompletableFuture<List<CitationResult>> fetchResilient(Provider provider, String query, Deadline deadline) {
+        CircuitBreaker breaker = breakerFor(provider);
+        FetchOptions options = FetchOptions.builder()
+            .maxResults(provider.budget.getMaxResults())
+            .deadline(deadline)
+            .build();
+        return withDeadline(provider.hedger.call(attempt -> {
+            if (attempt == 0) {
+                return fetchCoalesced(provider.fetcher, query, provider.name, breaker, options);
+            }
+            logger.info("Hedging slow " + provider.name + " search: " + truncateQuery(query));
+            return breaker.execute(() -> withDeadline(provider.fetcher.fetchAsync(query, options), deadline));
+        }), deadline);
     }
 
 
-    private boolean areDuplicates(CitationResult result1, CitationResult result2) {
-        if (result1 == null || result2 == null) {
-            return false;
-        }
+    // Identical concurrent searches share one fetch, and the first caller's deadline. Every caller gets its own copies
+    // because results are re-scored in place.
+    private CompletableFuture<List<CitationResult>> fetchCoalesced(CitationFetcher fetcher, String query, String fetcherType, CircuitBreaker breaker,
+        FetchOptions options) {
+        String key = fetcherType + ":" + SearchResultCache.normalizeQuery(query);
+        return fetchFlights.execute(key, () -> breaker.execute(() -> withDeadline(fetcher.fetchAsync(query, options), options.getDeadline())))
+            .thenApply(results -> {
+                if (results == null) {
+                    return null;
+                }
+                List<CitationResult> copies = new ArrayList<>(results.size());
+                for (CitationResult result : results) {
+                    copies.add(result.copy());
+                }
+                return copies;
+            });
+    }
 
-        String url1 = result1.getUrl();
-        String url2 = result2.getUrl();
-        if (url1 != null && url2 != null && url1.equals(url2)) {
-            return true;
-        }
 
-        String title1 = result1.getTitle();
-        String title2 = result2.getTitle();
-        if (title1 != null && title2 != null) {
-            double similarity = calculateStringSimilarity(title1, title2);
-            if (similarity > 0.8) {
-                return true;
-            }
+    private static <T> CompletableFuture<T> withDeadline(CompletableFuture<T> future, Deadline deadline) {
+        if (!deadline.isBounded()) {
+            return future;
         }
-
-        return false;
+        return future.orTimeout(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
     }
 
 
-    private double calculateStringSimilarity(String str1, String str2) {
-        if (str1 == null || str2 == null) {
-            return 0.0;
-        }
+    private static CircuitBreaker breakerFor(Provider provider) {
+        return ProviderCircuitBreakers.forSource(provider.source);
+    }
+
 
-        String[] words1 = str1.toLowerCase().split("\\W+");
-        String[] words2 = str2.toLowerCase().split("\\W+");
+    private static Hedger createHedger(String fetcherType) {
+        return Hedger.builder()
+            .name(fetcherType)
+            .percentile(0.95)
+            .minDelay(Duration.ofMillis(200))
+            .maxDelay(Duration.ofSeconds(20))
+            .minSamples(20)
+            .budgetRatio(0.1)
+            .maxInFlight(16)
+            .build();
+    }
 
-        java.util.Set<String> set1 = new java.util.HashSet<>(java.util.Arrays.asList(words1));
-        java.util.Set<String> set2 = new java.util.HashSet<>(java.util.Arrays.asList(words2));
 
-        java.util.Set<String> intersection = new java.util.HashSet<>(set1);
-        intersection.retainAll(set2);
+    private List<CitationResult> mergeResults(List<CitationResult> primaryResults,
+        List<CitationResult> fallbackResults) {
+        ResultMerger merger = new ResultMerger();
+        merger.offerAll(primaryResults);
+        merger.offerAll(fallbackResults);
+        List<CitationResult> merged = merger.getResults();
 
-        java.util.Set<String> union = new java.util.HashSet<>(set1);
-        union.addAll(set2);
+        logger.info("Merged results: " + primaryResults.size() + " primary + " + fallbackResults.size() + " fallback = " + merged.size() +
+            " total (" + merger.getDuplicateCount() + " duplicates)");
 
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+        return merged;
     }
 
 
@@ -216,7 +433,7 @@ public class CitationService implements AutoCloseable {
             .map(result -> enhanceResult(result, query))
             .filter(result -> result.getRelevanceScore() >= 0.2) // Minimum relevance threshold
             .sorted((r1, r2) -> Double.compare(r2.getRelevanceScore(), r1.getRelevanceScore()))
-            .limit(25) // Reasonable limit for deep research
+            .limit(MAX_RESULTS) // Reasonable limit for deep research
             .collect(java.util.stream.Collectors.toList());
     }
 
@@ -358,64 +575,34 @@ public class CitationService implements AutoCloseable {
     }
 
 
-    private CitationFetcher createPrimaryFetcher(CitationConfig config, String cseId) throws CitationException {
-        switch (config.getCitationSource()) {
+    private CitationFetcher createConfiguredFetcher(CitationConfig config, String cseId) throws CitationException {
+        return createFetcher(config.getCitationSource(), config.getApiKey(), cseId, config.getBaseUrl());
+    }
+
+
+    public static CitationFetcher createFetcher(CitationSource source, String apiKey, String cseId) throws CitationException {
+        return createFetcher(source, apiKey, cseId, null);
+    }
+
+    public static CitationFetcher createFetcher(CitationSource source, String apiKey, String cseId, String baseUrl) throws CitationException {
+        switch (source) {
             case TAVILY:
-                return new TavilyCitationFetcher(config.getApiKey());
+                return new TavilyCitationFetcher(apiKey, baseUrl);
 
             case GOOGLE_GEMINI:
                 if (cseId == null || cseId.trim().isEmpty()) {
                     throw new CitationException("Google CSE ID required for Google Gemini citation source",
                         null, "configuration", "GOOGLE_GEMINI");
                 }
-                return new GeminiCitationFetcher(config.getApiKey(), cseId);
+                return new GeminiCitationFetcher(apiKey, cseId, baseUrl);
 
-            default:
-                throw new CitationException("Unsupported primary citation source: " + config.getCitationSource(),
-                    null, "configuration", config.getCitationSource().toString());
-        }
-    }
-
-
-    private CitationFetcher createFallbackFetcher(CitationConfig config, String cseId) {
-        try {
+            case PERPLEXITY:
+                return new PerplexityCitationFetcher(apiKey);
 
-            if (config.getCitationSource() == TAVILY && cseId != null && !cseId.trim().isEmpty()) {
-
-                logger.info("Fallback to Google Search not implemented (missing API key configuration)");
-                return null;
-            }
-
-            if (config.getCitationSource() == GOOGLE_GEMINI) {
-
-                logger.info("Fallback to Tavily not implemented (missing API key configuration)");
-                return null;
-            }
-
-        } catch (Exception e) {
-            logger.warning("Failed to create fallback fetcher: " + e.getMessage());
+            default:
+                throw new CitationException("Unsupported citation source: " + source,
+                    null, "configuration", String.valueOf(source));
         }
-
-        return null;
-    }
-
-
-    private void applyRateLimit() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRequest = currentTime - lastRequestTime;
-
-        if (timeSinceLastRequest < RATE_LIMIT_MS) {
-            try {
-                long sleepTime = RATE_LIMIT_MS - timeSinceLastRequest;
-                logger.fine("Rate limiting: sleeping for " + sleepTime + "ms");
-                Thread.sleep(sleepTime);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.warning("Rate limiting interrupted");
-            }
-        }
-
-        lastRequestTime = System.currentTimeMillis();
     }
 
 
@@ -450,10 +637,48 @@ public class CitationService implements AutoCloseable {
     }
 
     
+    public SearchResultCache getSearchCache() {
+        return searchCache;
+    }
+
+    
+    public RateLimiter getRateLimiter() {
+        return ProviderRateLimiters.forSource(config.getCitationSource());
+    }
+
+    
+    public SingleFlightStats getFetchCoalescingStats() {
+        return fetchFlights.stats();
+    }
+
+
+    public CircuitBreaker getCircuitBreaker() {
+        return breakerFor(primary);
+    }
+
+
+    public Hedger getHedger() {
+        return primary.hedger;
+    }
+
+
+    public List<CitationSource> getProviderSources() {
+        List<CitationSource> sources = new ArrayList<>();
+        if (fanOutProviders.isEmpty()) {
+            sources.add(primary.source);
+        } else {
+            for (Provider provider : fanOutProviders) {
+                sources.add(provider.source);
+            }
+        }
+        return sources;
+    }
+
+    
     public ServiceStats getStats() {
         return new ServiceStats(
             config.getCitationSource().toString(),
-            fallbackFetcher != null,
+            fallback != null || fanOutProviders.size() > 1,
             lastRequestTime > 0
         );
     }
@@ -462,11 +687,17 @@ public class CitationService implements AutoCloseable {
     @Override
     public void close() {
         try {
-            if (primaryFetcher instanceof AutoCloseable) {
-                ((AutoCloseable) primaryFetcher).close();
+            List<Provider> providers = new ArrayList<>(fanOutProviders);
+            if (providers.isEmpty()) {
+                providers.add(primary);
             }
-            if (fallbackFetcher instanceof AutoCloseable) {
-                ((AutoCloseable) fallbackFetcher).close();
+            if (fallback != null) {
+                providers.add(fallback);
+            }
+            for (Provider provider : providers) {
+                if (provider.fetcher instanceof AutoCloseable) {
+                    ((AutoCloseable) provider.fetcher).close();
+                }
             }
             logger.info("CitationService closed successfully");
         } catch (Exception e) {
@@ -475,6 +706,165 @@ public class CitationService implements AutoCloseable {
     }
 
     
+    private static final class Provider {
+
+        final String name;
+        final CitationSource source;
+        final CitationFetcher fetcher;
+        final ProviderBudget budget;
+        final Hedger hedger;
+
+        Provider(String name, CitationSource source, CitationFetcher fetcher, ProviderBudget budget) {
+            this.name = name;
+            this.source = source;
+            this.fetcher = fetcher;
+            this.budget = budget;
+            this.hedger = createHedger(name);
+        }
+    }
+
+
+    // Once a search has its answer the providers still working for it are abandoned: no further attempt or retry starts,
+    // and the attempts in flight are cancelled so they stop hedging and stop holding on to the caller's deadline.
+    private static final class Cancellation {
+
+        static final Cancellation NONE = new Cancellation();
+
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelled;
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        <T> CompletableFuture<T> track(CompletableFuture<T> attempt) {
+            if (this == NONE) {
+                return attempt;
+            }
+            inFlight.add(attempt);
+            attempt.whenComplete((value, failure) -> inFlight.remove(attempt));
+            if (cancelled) {
+                attempt.cancel(true);
+            }
+            return attempt;
+        }
+
+        void cancel() {
+            cancelled = true;
+            for (CompletableFuture<?> attempt : inFlight) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+
+    private final class FanOutSearch {
+
+        final CompletableFuture<List<CitationResult>> result = new CompletableFuture<>();
+        final String query;
+        final int providerCount;
+        final long startNanos = System.nanoTime();
+        final ResultMerger merger = new ResultMerger();
+        final Cancellation cancellation = new Cancellation();
+        int answered;
+
+        FanOutSearch(String query, int providerCount) {
+            this.query = query;
+            this.providerCount = providerCount;
+            result.whenComplete((results, failure) -> cancellation.cancel());
+        }
+
+        void onProviderComplete(Provider provider, List<CitationResult> results, Throwable failure) {
+            List<CitationResult> completed = null;
+            synchronized (this) {
+                answered++;
+                if (result.isDone()) {
+                    return;
+                }
+                if (failure != null) {
+                    logger.warning(provider.name + " failed during fan-out search: " + failure.getMessage());
+                } else {
+                    merger.offerAll(validateAndEnhanceResults(results, query));
+                }
+                int relevant = 0;
+                for (CitationResult citation : merger.getResults()) {
+                    if (citation.getRelevanceScore() >= highRelevanceThreshold) {
+                        relevant++;
+                    }
+                }
+                if (relevant >= targetCitations || answered == providerCount) {
+                    completed = merger.getResults();
+                    completed.sort((r1, r2) -> Double.compare(r2.getRelevanceScore(), r1.getRelevanceScore()));
+                    if (completed.size() > MAX_RESULTS) {
+                        completed = new ArrayList<>(completed.subList(0, MAX_RESULTS));
+                    }
+                    logger.info("Fan-out search completed in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms: " + completed.size() +
+                        " citations (" + relevant + " highly relevant, " + merger.getDuplicateCount() + " duplicates merged) from " + answered + "/" +
+                        providerCount + " providers");
+                }
+            }
+            if (completed != null) {
+                result.complete(completed);
+            }
+        }
+    }
+
+
+    public static class MultiProviderBuilder {
+
+        private final Map<CitationSource, CitationFetcher> fetchers = new LinkedHashMap<>();
+        private final Map<CitationSource, ProviderBudget> budgets = new LinkedHashMap<>();
+        private SearchResultCache searchCache;
+        private int targetCitations = 10;
+        private double highRelevanceThreshold = 0.6;
+
+        public MultiProviderBuilder provider(CitationSource source, CitationFetcher fetcher) {
+            return provider(source, fetcher, ProviderBudget.defaults());
+        }
+
+        // The first provider registered is the primary: it names the service's cache entries and statistics.
+        public MultiProviderBuilder provider(CitationSource source, CitationFetcher fetcher, ProviderBudget budget) {
+            if (source == null || fetcher == null || budget == null) {
+                throw new IllegalArgumentException("Citation source, fetcher and budget are required");
+            }
+            if (fetchers.containsKey(source)) {
+                throw new IllegalArgumentException("Provider already registered: " + source);
+            }
+            fetchers.put(source, fetcher);
+            budgets.put(source, budget);
+            return this;
+        }
+
+        public MultiProviderBuilder searchCache(SearchResultCache searchCache) {
+            this.searchCache = searchCache;
+            return this;
+        }
+
+        public MultiProviderBuilder targetCitations(int targetCitations) {
+            if (targetCitations < 1) {
+                throw new IllegalArgumentException("Target citations must be at least 1");
+            }
+            this.targetCitations = targetCitations;
+            return this;
+        }
+
+        public MultiProviderBuilder highRelevanceThreshold(double highRelevanceThreshold) {
+            if (highRelevanceThreshold < 0.0 || highRelevanceThreshold > 1.0) {
+                throw new IllegalArgumentException("Relevance threshold must be between 0 and 1");
+            }
+            this.highRelevanceThreshold = highRelevanceThreshold;
+            return this;
+        }
+
+        public CitationService build() {
+            if (fetchers.isEmpty()) {
+                throw new IllegalArgumentException("At least one provider is required");
+            }
+            return new CitationService(this);
+        }
+    }
+
+
     public static class ServiceStats {
         private final String primarySource;
         private final boolean hasFallback;
@@ -0,0 +1,66 @@
+package com.github.bhavuklabs.citation.service;
+
+import java.time.Duration;
+
+// What one provider may spend on a fan-out search: how long it may take, retries included, and how many results it
+// should return. A slow provider then costs the search at most its own timeout.
+public class ProviderBudget {
+
+    private static final ProviderBudget DEFAULTS = builder().build();
+
+    private final Duration timeout;
+    private final int maxResults;
+
+    private ProviderBudget(Builder builder) {
+        this.timeout = builder.timeout;
+        this.maxResults = builder.maxResults;
+    }
+
+    public static ProviderBudget defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    // 0 leaves the limit to the fetcher.
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    @Override
+    public String toString() {
+        return "ProviderBudget{timeout=" + timeout + ", maxResults=" + maxResults + "}";
+    }
+
+    public static class Builder {
+
+        private Duration timeout = Duration.ofSeconds(20);
+        private int maxResults = 0;
+
+        public Builder timeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("Provider timeout must be positive");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder maxResults(int maxResults) {
+            if (maxResults < 0) {
+                throw new IllegalArgumentException("Max results cannot be negative");
+            }
+            this.maxResults = maxResults;
+            return this;
+        }
+
+        public ProviderBudget build() {
+            return new ProviderBudget(this);
+        }
+    }
+}
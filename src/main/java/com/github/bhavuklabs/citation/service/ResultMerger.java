@@ -0,0 +1,44 @@
+package com.github.bhavuklabs.citation.service;
+
+import java.util.List;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.dedup.CitationDeduplicator;
+
+// Merges citations from several providers as they arrive. Duplicates are found by CitationDeduplicator; of two
+// duplicates, the more relevant one is kept, in the position of the first.
+final class ResultMerger {
+
+    private final CitationDeduplicator deduplicator = CitationDeduplicator.create();
+
+    boolean offer(CitationResult result) {
+        if (result == null) {
+            return false;
+        }
+        int existing = deduplicator.offer(result);
+        if (existing < 0) {
+            return true;
+        }
+        if (result.getRelevanceScore() > deduplicator.get(existing)
+            .getRelevanceScore()) {
+            deduplicator.replace(existing, result);
+        }
+        return false;
+    }
+
+    void offerAll(List<CitationResult> batch) {
+        if (batch != null) {
+            for (CitationResult result : batch) {
+                offer(result);
+            }
+        }
+    }
+
+    List<CitationResult> getResults() {
+        return deduplicator.getUnique();
+    }
+
+    int getDuplicateCount() {
+        return deduplicator.getDuplicateCount();
+    }
+}
@@ -1,9 +1,6 @@
 package com.github.bhavuklabs.citation.tavily;
 
-import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,21 +8,26 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.parser.Parser;
-
 import dev.langchain4j.web.search.WebSearchEngine;
 import dev.langchain4j.web.search.WebSearchResults;
 import dev.langchain4j.web.search.tavily.TavilyWebSearchEngine;
 import com.github.bhavuklabs.citation.CitationFetcher;
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.citation.content.HtmlTextExtractor;
+import com.github.bhavuklabs.citation.content.PageFetcher;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+import com.github.bhavuklabs.core.cache.SingleFlight;
+import com.github.bhavuklabs.core.cache.SingleFlightStats;
 import com.github.bhavuklabs.exceptions.citation.CitationException;
 
 public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
@@ -36,16 +38,22 @@ public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
     private static final Duration CONNECTION_TIMEOUT = Duration.ofSeconds(8);
     private static final int MAX_CONTENT_LENGTH = 10000;
     private static final int MIN_CONTENT_LENGTH = 100;
-    private static final int MAX_CONCURRENT_REQUESTS = 10;
     private static final int MAX_RESULTS_PER_SEARCH = 20;
 
     private final WebSearchEngine webSearchEngine;
     private final HttpClient httpClient;
+    private final PageFetcher pageFetcher;
     private final ExecutorService executor;
     private final String apiKey;
+    private final SingleFlight<String, String> contentFlights = new SingleFlight<>();
     private volatile boolean closed = false;
 
     public TavilyCitationFetcher(String apiKey) throws CitationException {
+        this(apiKey, null);
+    }
+
+    // baseUrl points the client at another Tavily-compatible endpoint, such as a local stand-in; null for the public API.
+    public TavilyCitationFetcher(String apiKey, String baseUrl) throws CitationException {
         if (apiKey == null || apiKey.trim()
             .isEmpty()) {
             throw new CitationException("Tavily API key cannot be null or empty", null, "initialization", "TAVILY");
@@ -55,17 +63,35 @@ public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
 
         try {
 
-            this.webSearchEngine = TavilyWebSearchEngine.builder()
+            TavilyWebSearchEngine.TavilyWebSearchEngineBuilder engineBuilder = TavilyWebSearchEngine.builder()
                 .apiKey(apiKey)
-                .includeRawContent(true)
-                .build();
+                .includeRawContent(true);
+            if (baseUrl != null && !baseUrl.isBlank()) {
+                engineBuilder.baseUrl(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+            }
+            this.webSearchEngine = engineBuilder.build();
+
+            // Searches, page callbacks and extraction all run on virtual threads, so hundreds of concurrent fetches need
+            // no more than the carrier pool.
+            this.executor = Executors.newVirtualThreadPerTaskExecutor();
 
             this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(CONNECTION_TIMEOUT)
                 .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
                 .build();
 
-            this.executor = Executors.newFixedThreadPool(MAX_CONCURRENT_REQUESTS);
+            this.pageFetcher = PageFetcher.builder()
+                .httpClient(httpClient)
+                .executor(executor)
+                .extractor(HtmlTextExtractor.builder()
+                    .maxChars(MAX_CONTENT_LENGTH)
+                    .minMainContentLength(MIN_CONTENT_LENGTH)
+                    .build())
+                .userAgent("Research4j/2.0 Academic Research Bot (+https://github.com/research4j)")
+                .acceptLanguage("en-US,en;q=0.9")
+                .pageStore(PageStore.shared())
+                .build();
 
             logger.info("TavilyCitationFetcher initialized successfully with enhanced features");
 
@@ -76,143 +102,110 @@ public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
 
     @Override
     public List<CitationResult> fetch(String query) throws CitationException {
-        if (closed) {
-            throw new IllegalStateException("Citation fetcher has been closed");
-        }
-
-        validateQuery(query);
-
         try {
-            logger.info("Fetching citations from Tavily for query: " + truncateString(query, 100));
-
-            WebSearchResults searchResults = executeSearchWithRetry(query);
-
-            if (searchResults == null || searchResults.results()
-                .isEmpty()) {
-                logger.warning("No search results found for query: " + query);
-                return new ArrayList<>();
+            return fetchAsync(query, FetchOptions.defaults()).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CitationException) {
+                throw (CitationException) cause;
             }
-
-            List<CitationResult> citations = processSearchResultsParallel(searchResults, query);
-
-            List<CitationResult> validatedCitations = validateAndFilterResults(citations);
-
-            logger.info("Successfully fetched " + validatedCitations.size() + " validated citations from Tavily (from " + searchResults.results()
-                .size() + " raw results)");
-
-            return validatedCitations;
-
-        } catch (CitationException e) {
-            throw e;
-        } catch (Exception e) {
-            logger.severe("Error fetching citations from Tavily: " + e.getMessage());
-            throw new CitationException("Tavily search failed: " + e.getMessage(), e, query, "TAVILY");
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new CitationException("Tavily search failed: " + cause.getMessage(), cause, query, "TAVILY");
         }
     }
 
-    private WebSearchResults executeSearchWithRetry(String query) throws CitationException {
-        int maxRetries = 3;
-        Exception lastException = null;
-
-        for (int attempt = 1; attempt <= maxRetries; attempt++) {
-            try {
-                logger.fine("Executing Tavily search (attempt " + attempt + "): " + query);
+    @Override
+    public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Citation fetcher has been closed"));
+        }
+        try {
+            validateQuery(query);
+        } catch (CitationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        FetchOptions effective = options != null ? options : FetchOptions.defaults();
 
-                WebSearchResults results = webSearchEngine.search(query);
+        logger.info("Fetching citations from Tavily for query: " + truncateString(query, 100));
 
-                if (results != null && !results.results()
+        return executeSearch(query, effective).thenCompose(searchResults -> {
+                if (searchResults == null || searchResults.results()
                     .isEmpty()) {
-                    logger.info("Tavily search successful: " + results.results()
-                        .size() + " results");
-                    return results;
-                }
-
-                logger.warning("Tavily search returned empty results on attempt " + attempt);
-
-                if (attempt < maxRetries) {
-
-                    String enhancedQuery = enhanceQuery(query, attempt);
-                    logger.info("Retrying with enhanced query: " + enhancedQuery);
-                    results = webSearchEngine.search(enhancedQuery);
-
-                    if (results != null && !results.results()
-                        .isEmpty()) {
-                        return results;
-                    }
+                    logger.warning("No search results found for query: " + query);
+                    return CompletableFuture.completedFuture(new ArrayList<CitationResult>());
                 }
-
-            } catch (Exception e) {
-                lastException = e;
-                logger.warning("Tavily search attempt " + attempt + " failed: " + e.getMessage());
-
-                if (attempt < maxRetries) {
-                    try {
-
-                        long delay = 1000L * (long) Math.pow(2, attempt - 1);
-                        Thread.sleep(delay);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread()
-                            .interrupt();
-                        break;
-                    }
+                return processSearchResultsAsync(searchResults, query, effective).thenApply(citations -> {
+                    List<CitationResult> validatedCitations = validateAndFilterResults(citations);
+                    logger.info("Successfully fetched " + validatedCitations.size() + " validated citations from Tavily (from " + searchResults.results()
+                        .size() + " raw results)");
+                    return validatedCitations;
+                });
+            })
+            .exceptionallyCompose(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof CitationException) {
+                    return CompletableFuture.failedFuture(cause);
                 }
-            }
-        }
-
-        if (lastException != null) {
-            throw new CitationException("All Tavily search attempts failed: " + lastException.getMessage(), lastException, query, "TAVILY");
-        } else {
-            throw new CitationException("Tavily search returned no results after " + maxRetries + " attempts", null, query, "TAVILY");
-        }
+                logger.severe("Error fetching citations from Tavily: " + cause.getMessage());
+                return CompletableFuture.failedFuture(new CitationException("Tavily search failed: " + cause.getMessage(), cause, query, "TAVILY"));
+            });
     }
 
-    private String enhanceQuery(String originalQuery, int attempt) {
-        switch (attempt) {
-            case 1:
-                return "\"" + originalQuery + "\"";
-            case 2:
-                return originalQuery + " guide tutorial";
-            case 3:
-                return originalQuery.replace(" ", " AND ");
-            default:
-                return originalQuery;
-        }
+    // One search per call: CitationService owns retries, backoff and hedging, and a second loop here would multiply its
+    // attempts and sleep past the caller's deadline. The search takes a permit from the provider-wide limiter, awaited
+    // without parking a thread; only the search call itself runs on a virtual thread.
+    private CompletableFuture<WebSearchResults> executeSearch(String query, FetchOptions options) {
+        if (options.getDeadline()
+            .isExpired()) {
+            return CompletableFuture.failedFuture(new CitationException("Deadline expired before the Tavily search started", null, query, "TAVILY"));
+        }
+        return ProviderRateLimiters.forSource(CitationSource.TAVILY)
+            .acquire()
+            .thenApplyAsync(ignored -> webSearchEngine.search(query), executor)
+            .thenApply(results -> {
+                if (results != null) {
+                    logger.info("Tavily search returned " + results.results()
+                        .size() + " results");
+                }
+                return results;
+            });
     }
 
-    private List<CitationResult> processSearchResultsParallel(WebSearchResults searchResults, String originalQuery) {
+    // Every result completes on its own (a slow page falls back to the snippet-based citation), so the combined future
+    // never waits longer than one page timeout and no thread blocks on the individual futures.
+    private CompletableFuture<List<CitationResult>> processSearchResultsAsync(WebSearchResults searchResults, String originalQuery, FetchOptions options) {
+        Duration pageTimeout = options.resolveContentTimeout(DEFAULT_HTTP_TIMEOUT)
+            .plusSeconds(10);
         List<CompletableFuture<CitationResult>> futures = searchResults.results()
             .stream()
-            .limit(MAX_RESULTS_PER_SEARCH)
-            .map(result -> processResultAsync(result, originalQuery))
+            .limit(options.resolveMaxResults(MAX_RESULTS_PER_SEARCH))
+            .map(result -> processResultAsync(result, originalQuery, options).completeOnTimeout(createFallbackCitation(result, originalQuery),
+                pageTimeout.toMillis(), TimeUnit.MILLISECONDS))
             .collect(Collectors.toList());
 
-        List<CitationResult> citations = new ArrayList<>();
-
-        for (CompletableFuture<CitationResult> future : futures) {
-            try {
-                CitationResult citation = future.get(DEFAULT_HTTP_TIMEOUT.toSeconds() + 10, TimeUnit.SECONDS);
-                if (citation != null && citation.isValid()) {
-                    citations.add(citation);
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> {
+                List<CitationResult> citations = new ArrayList<>();
+                for (CompletableFuture<CitationResult> future : futures) {
+                    CitationResult citation = future.join();
+                    if (citation != null && citation.isValid()) {
+                        citations.add(citation);
+                    }
                 }
-            } catch (Exception e) {
-                logger.warning("Failed to process citation result: " + e.getMessage());
-            }
-        }
-
-        return citations;
+                return citations;
+            });
     }
 
-    private CompletableFuture<CitationResult> processResultAsync(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery) {
+    private CompletableFuture<CitationResult> processResultAsync(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery,
+        FetchOptions options) {
+        String url = result.url()
+            .toString();
 
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                String url = result.url()
-                    .toString();
+        return processContentAsync(result.content(), url, options).thenApply(processedContent -> {
                 String title = cleanText(result.title());
                 String snippet = cleanText(result.snippet());
-                String rawContent = result.content();
-
-                String processedContent = processContent(rawContent, url);
 
                 double relevanceScore = calculateEnhancedRelevanceScore(result, originalQuery, processedContent);
 
@@ -229,170 +222,68 @@ public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
                 enhanceCitationMetadata(citation, result, originalQuery);
 
                 return citation;
-
-            } catch (Exception e) {
+            })
+            .exceptionally(e -> {
                 logger.warning("Failed to process citation result from URL: " + result.url() + " - " + e.getMessage());
                 return createFallbackCitation(result, originalQuery);
-            }
-        }, executor);
+            });
     }
 
-    private String processContent(String rawContent, String url) {
+    private CompletableFuture<String> processContentAsync(String rawContent, String url, FetchOptions options) {
         if (rawContent == null || rawContent.trim()
             .isEmpty()) {
-
-            return fetchContentFromUrl(url);
-        }
-
-        try {
-
-            String cleanedContent = cleanHtmlContent(rawContent);
-
-            if (cleanedContent.length() < MIN_CONTENT_LENGTH) {
-                String fetchedContent = fetchContentFromUrl(url);
-                if (fetchedContent.length() > cleanedContent.length()) {
-                    return fetchedContent;
-                }
-            }
-
-            return cleanedContent;
-
-        } catch (Exception e) {
-            logger.warning("Error processing content from " + url + ": " + e.getMessage());
-            return cleanText(rawContent);
-        }
-    }
-
-    private String cleanHtmlContent(String htmlContent) {
-        if (htmlContent == null || htmlContent.trim()
-            .isEmpty()) {
-            return "No content available";
-        }
-
-        try {
-
-            Document doc;
-            try {
-                doc = Jsoup.parse(htmlContent);
-            } catch (Exception e) {
-
-                doc = Jsoup.parse(htmlContent, "", Parser.xmlParser());
-            }
-
-            doc.select("script, style, nav, footer, header, aside")
-                .remove();
-            doc.select(".advertisement, .ads, .social-media, .comments")
-                .remove();
-            doc.select("[class*=ad], [id*=ad], [class*=social], [id*=social]")
-                .remove();
-            doc.select("iframe, embed, object")
-                .remove();
-
-            String mainContent = extractMainContent(doc);
-            if (mainContent != null && mainContent.length() > MIN_CONTENT_LENGTH) {
-                return processTextContent(mainContent);
+            if (!options.isFetchPageContent()) {
+                return CompletableFuture.completedFuture("No content available");
             }
-
-            String bodyText = doc.body() != null ? doc.body()
-                .text() : doc.text();
-            return processTextContent(bodyText);
-
-        } catch (Exception e) {
-            logger.warning("Error parsing HTML content: " + e.getMessage());
-
-            return cleanText(htmlContent.replaceAll("<[^>]+>", " ")
-                .replaceAll("\\s+", " "));
+            return fetchContentAsync(url, options);
         }
-    }
 
-    private String extractMainContent(Document doc) {
-
-        String[] mainSelectors = { "main", "article", ".main-content", ".content", ".post-content", ".entry-content", ".article-content", "#main", "#content",
-            ".container .content", ".page-content", ".post-body" };
-
-        for (String selector : mainSelectors) {
-            try {
-                var elements = doc.select(selector);
-                if (!elements.isEmpty()) {
-                    String text = elements.first()
-                        .text();
-                    if (text.length() > MIN_CONTENT_LENGTH) {
-                        return text;
-                    }
+        return CompletableFuture.supplyAsync(() -> cleanHtmlContent(rawContent), executor)
+            .thenCompose(cleanedContent -> {
+                if (cleanedContent.length() >= MIN_CONTENT_LENGTH || !options.isFetchPageContent()) {
+                    return CompletableFuture.completedFuture(cleanedContent);
                 }
-            } catch (Exception e) {
-
-            }
-        }
-
-        return "No content available";
+                return fetchContentAsync(url, options).thenApply(
+                    fetchedContent -> fetchedContent.length() > cleanedContent.length() ? fetchedContent : cleanedContent);
+            })
+            .exceptionally(e -> {
+                logger.warning("Error processing content from " + url + ": " + e.getMessage());
+                return cleanText(rawContent);
+            });
     }
 
-    private String processTextContent(String textContent) {
-        if (textContent == null || textContent.trim()
-            .isEmpty()) {
-            return "No content available";
-        }
-
-        String processed = textContent.replaceAll("\\s+", " ")
-            .replaceAll("\\n{3,}", "\n\n")
-            .replaceAll("\\t+", " ")
-            .trim();
-
-        if (processed.length() > MAX_CONTENT_LENGTH) {
-            processed = truncateAtSentenceBoundary(processed, MAX_CONTENT_LENGTH);
-        }
-
-        return processed;
+    private String cleanHtmlContent(String htmlContent) {
+        return pageFetcher.getExtractor()
+            .extract(htmlContent)
+            .getText();
     }
 
-    private String truncateAtSentenceBoundary(String text, int maxLength) {
-        if (text.length() <= maxLength) {
-            return text;
-        }
-
-        String truncated = text.substring(0, maxLength);
-
-        int lastSentence = Math.max(truncated.lastIndexOf(". "), Math.max(truncated.lastIndexOf("! "), truncated.lastIndexOf("? ")));
-
-        if (lastSentence > maxLength * 0.8) {
-            return truncated.substring(0, lastSentence + 1);
-        }
-
-        return truncated + "...";
+    // Several results, or several concurrent searches, often resolve to the same page; only one download per URL runs at a time.
+    private CompletableFuture<String> fetchContentAsync(String url, FetchOptions options) {
+        return contentFlights.execute(PageStore.canonicalize(url), () -> downloadContentAsync(url, options.resolveContentTimeout(DEFAULT_HTTP_TIMEOUT)));
     }
 
-    private String fetchContentFromUrl(String url) {
-        try {
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .timeout(DEFAULT_HTTP_TIMEOUT)
-                .header("User-Agent", "Research4j/2.0 Academic Research Bot (+https://github.com/research4j)")
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
-                .header("Accept-Language", "en-US,en;q=0.9")
-                .header("Accept-Encoding", "gzip, deflate")
-                .GET()
-                .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return cleanHtmlContent(response.body());
-            } else {
-                logger.warning("HTTP " + response.statusCode() + " for URL: " + url);
-                return "Content not available (HTTP " + response.statusCode() + ")";
-            }
-
-        } catch (java.net.SocketTimeoutException e) {
-            logger.warning("Timeout fetching content from: " + url);
-            return "Content not available (timeout)";
-        } catch (java.net.ConnectException e) {
-            logger.warning("Connection failed for: " + url);
-            return "Content not available (connection failed)";
-        } catch (Exception e) {
-            logger.warning("Failed to fetch content from URL " + url + ": " + e.getMessage());
-            return "Content not available";
-        }
+    private CompletableFuture<String> downloadContentAsync(String url, Duration timeout) {
+        return pageFetcher.fetch(url, timeout)
+            .thenApply(page -> {
+                if (!page.isSuccessful()) {
+                    logger.warning("HTTP " + page.getStatusCode() + " for URL: " + url);
+                }
+                return page.getText();
+            })
+            .exceptionally(failure -> {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof java.net.http.HttpTimeoutException) {
+                    logger.warning("Timeout fetching content from: " + url);
+                    return "Content not available (timeout)";
+                }
+                if (cause instanceof java.net.ConnectException) {
+                    logger.warning("Connection failed for: " + url);
+                    return "Content not available (connection failed)";
+                }
+                logger.warning("Failed to fetch content from URL " + url + ": " + cause.getMessage());
+                return "Content not available";
+            });
     }
 
     private double calculateEnhancedRelevanceScore(dev.langchain4j.web.search.WebSearchOrganicResult result, String originalQuery, String processedContent) {
@@ -689,6 +580,10 @@ public class TavilyCitationFetcher implements CitationFetcher, AutoCloseable {
         }
     }
 
+    public SingleFlightStats getContentFetchStats() {
+        return contentFlights.stats();
+    }
+
     public FetcherConfig getConfig() {
         return new FetcherConfig("TAVILY", MAX_RESULTS_PER_SEARCH, DEFAULT_HTTP_TIMEOUT, !closed);
     }
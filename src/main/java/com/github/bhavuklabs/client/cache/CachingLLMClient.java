@@ -0,0 +1,645 @@
+package com.github.bhavuklabs.client.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.bhavuklabs.core.cache.BoundedCache;
+import com.github.bhavuklabs.core.cache.CacheStats;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.contracts.LLMStage;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+import com.github.bhavuklabs.services.EmbeddingService;
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+
+// Response cache in front of an LLMClient. The exact tier keys on (model, output type, SHA-256 of the prompt) and keeps
+// a bounded in-memory tier over one file per entry on disk, so responses survive restarts. The optional semantic tier
+// reuses the response of an earlier prompt whose embedding is within the similarity threshold; it only considers short
+// prompts, since long ones carry retrieved context whose small differences matter. Hits and misses are counted per
+// calling stage (the LLMStage declared on the thread, else the first caller frame outside the LLM clients), so each
+// pipeline stage reports its own hit rate.
+public final class CachingLLMClient implements LLMClient, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(CachingLLMClient.class.getName());
+
+    private static final int FILE_MAGIC = 0x52344A4C;
+    private static final int FILE_FORMAT = 1;
+    private static final String FILE_SUFFIX = ".llm";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final LLMClient delegate;
+    private final String modelName;
+    private final BoundedCache<String, Entry> memory;
+    private final Path directory;
+    private final Duration timeToLive;
+    private final LongSupplier clock;
+    private final SemanticIndex semanticIndex;
+    private final EmbeddingService embeddingService;
+    private final int semanticMaxPromptChars;
+    private final Map<String, StageCounters> stages = new ConcurrentHashMap<>();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong diskWriteFailures = new AtomicLong();
+
+    private CachingLLMClient(Builder builder) {
+        this.delegate = builder.delegate;
+        this.modelName = builder.modelName;
+        this.timeToLive = builder.timeToLive;
+        this.clock = builder.clock;
+        this.memory = BoundedCache.<String, Entry>builder()
+            .maximumSize(builder.maximumEntries)
+            .build();
+        this.embeddingService = builder.embeddingService;
+        this.semanticMaxPromptChars = builder.semanticMaxPromptChars;
+        this.semanticIndex = builder.embeddingService != null ? new SemanticIndex(builder.semanticEntries, builder.semanticThreshold) : null;
+        this.directory = prepareDirectory(builder.directory);
+        logger.info("CachingLLMClient initialized for model " + modelName + (directory != null ? " with persistent cache at " + directory : " in memory only") +
+            (semanticIndex != null ? ", semantic tier at similarity " + builder.semanticThreshold : ""));
+    }
+
+    public static Builder builder(LLMClient delegate, String modelName) {
+        return new Builder(delegate, modelName);
+    }
+
+    // Memory only, plus disk under the default directory when one is configured.
+    public static CachingLLMClient createDefault(LLMClient delegate, String modelName) {
+        return builder(delegate, modelName).directory(defaultDirectory())
+            .build();
+    }
+
+    // research4j.llmCache.dir, or null when unset so the cache stays in memory.
+    public static Path defaultDirectory() {
+        String configured = System.getProperty("research4j.llmCache.dir");
+        return configured != null ? Paths.get(configured) : null;
+    }
+
+    @Override
+    public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+        if (prompt == null || type == null) {
+            return delegate.complete(prompt, type);
+        }
+        StageCounters counters = stages.computeIfAbsent(callingStage(), stage -> new StageCounters());
+        String key = exactKey(type, prompt);
+
+        LLMResponse<T> cached = lookup(key, type);
+        if (cached != null) {
+            counters.exactHits.increment();
+            return cached;
+        }
+
+        float[] embedding = null;
+        if (semanticIndex != null && prompt.length() <= semanticMaxPromptChars) {
+            embedding = embed(prompt);
+            String similarKey = embedding != null ? semanticIndex.findSimilar(scope(type), embedding) : null;
+            LLMResponse<T> similar = similarKey != null ? lookup(similarKey, type) : null;
+            if (similar != null) {
+                counters.semanticHits.increment();
+                return similar;
+            }
+        }
+
+        counters.misses.increment();
+        LLMResponse<T> response = delegate.complete(prompt, type);
+        if (response != null) {
+            store(key, type, response);
+            if (embedding != null) {
+                semanticIndex.add(scope(type), embedding, key);
+            }
+        }
+        return response;
+    }
+
+    // Streams through the exact tier: a hit is published as one token, a miss streams from the delegate and stores the
+    // text once the stream completes. The semantic tier is not consulted, since a stream is asked for to see the
+    // tokens of this prompt as they come.
+    @Override
+    public Flow.Publisher<String> stream(String prompt) {
+        if (prompt == null) {
+            return delegate.stream(prompt);
+        }
+        StageCounters counters = stages.computeIfAbsent(callingStage(), stage -> new StageCounters());
+        String key = exactKey(String.class, prompt);
+        return StreamPublisher.create(emitter -> {
+            LLMResponse<String> cached = lookup(key, String.class);
+            if (cached != null) {
+                counters.exactHits.increment();
+                emitter.emit(cached.structuredOutput());
+                emitter.complete();
+                return;
+            }
+            counters.misses.increment();
+            StreamPublisher.collectText(delegate.stream(prompt), emitter::emit)
+                .whenComplete((text, error) -> {
+                    if (error != null) {
+                        emitter.fail(error);
+                        return;
+                    }
+                    store(key, String.class, new LLMResponse<>(text, text));
+                    emitter.complete();
+                });
+        });
+    }
+
+    // Keyed by stage, sorted by name.
+    public Map<String, StageStats> getStageStats() {
+        Map<String, StageStats> snapshot = new TreeMap<>();
+        for (Map.Entry<String, StageCounters> stage : stages.entrySet()) {
+            snapshot.put(stage.getKey(), stage.getValue()
+                .snapshot(stage.getKey()));
+        }
+        return snapshot;
+    }
+
+    public StageStats getTotalStats() {
+        long exact = 0;
+        long semantic = 0;
+        long misses = 0;
+        for (StageCounters counters : stages.values()) {
+            exact += counters.exactHits.sum();
+            semantic += counters.semanticHits.sum();
+            misses += counters.misses.sum();
+        }
+        return new StageStats("total", exact, semantic, misses);
+    }
+
+    public CacheStats getMemoryStats() {
+        return memory.stats();
+    }
+
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getDiskWriteFailureCount() {
+        return diskWriteFailures.get();
+    }
+
+    public boolean isPersistent() {
+        return directory != null;
+    }
+
+    public LLMClient getDelegate() {
+        return delegate;
+    }
+
+    public void invalidateAll() {
+        memory.invalidateAll();
+        if (semanticIndex != null) {
+            semanticIndex.clear();
+        }
+        if (directory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to clear LLM cache directory " + directory + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        logger.info("LLM cache " + getTotalStats() + ", per stage: " + getStageStats().values());
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                logger.warning("Failed to close cached LLM client: " + e.getMessage());
+            }
+        }
+    }
+
+    private <T> LLMResponse<T> lookup(String key, Class<T> type) {
+        Entry entry = memory.get(key);
+        if (entry == null && directory != null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                diskHits.incrementAndGet();
+                memory.put(key, entry);
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.storedAtMillis > timeToLive.toMillis()) {
+            invalidate(key);
+            return null;
+        }
+        return entry.toResponse(type);
+    }
+
+    private <T> void store(String key, Class<T> type, LLMResponse<T> response) {
+        String structuredJson = null;
+        if (response.structuredOutput() != null) {
+            try {
+                structuredJson = objectMapper.writeValueAsString(response.structuredOutput());
+            } catch (Exception e) {
+                logger.fine("Structured output of type " + type.getSimpleName() + " is not serializable, caching in memory only: " + e.getMessage());
+            }
+        }
+        Entry entry = new Entry(key, clock.getAsLong(), response.rawText(), structuredJson, structuredJson == null ? response.structuredOutput() : null);
+        memory.put(key, entry);
+        if (directory != null && (structuredJson != null || response.structuredOutput() == null)) {
+            writeToDisk(key, entry);
+        }
+    }
+
+    private void invalidate(String key) {
+        memory.invalidate(key);
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(fileFor(key));
+            } catch (IOException e) {
+                logger.fine("Failed to delete expired LLM cache entry: " + e.getMessage());
+            }
+        }
+    }
+
+    private float[] embed(String prompt) {
+        try {
+            return embeddingService.generateEmbeddings(prompt);
+        } catch (RuntimeException e) {
+            logger.warning("Prompt embedding failed, skipping the semantic cache: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private String scope(Class<?> type) {
+        return modelName + '\u0000' + type.getName();
+    }
+
+    private String exactKey(Class<?> type, String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope(type).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of()
+                .formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // The stage declared on this thread, if any; otherwise the simple name of the first class on the stack that is
+    // neither this cache nor another LLM client wrapper. Anonymous classes report the class they are declared in.
+    private static String callingStage() {
+        String declared = LLMStage.current();
+        if (declared != null) {
+            return declared;
+        }
+        return STACK_WALKER.walk(frames -> frames.map(StackWalker.StackFrame::getDeclaringClass)
+            .filter(declaring -> !LLMClient.class.isAssignableFrom(declaring))
+            .findFirst()
+            .map(declaring -> {
+                Class<?> named = declaring;
+                while (named.getSimpleName()
+                    .isEmpty() && named.getEnclosingClass() != null) {
+                    named = named.getEnclosingClass();
+                }
+                return named.getSimpleName();
+            })
+            .orElse("unknown"));
+    }
+
+    private Path prepareDirectory(Path requested) {
+        if (requested == null) {
+            return null;
+        }
+        try {
+            Files.createDirectories(requested);
+            return requested;
+        } catch (IOException e) {
+            logger.warning("LLM cache directory " + requested + " is unavailable, caching in memory only: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + FILE_SUFFIX);
+    }
+
+    private Entry readFromDisk(String key) {
+        Path file = fileFor(key);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_FORMAT) {
+                return null;
+            }
+            if (!key.equals(readString(in))) {
+                return null;
+            }
+            long storedAtMillis = in.readLong();
+            return new Entry(key, storedAtMillis, readString(in), readString(in), null);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warning("Discarding unreadable LLM cache entry " + file.getFileName() + ": " + e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Left for the next write to replace.
+            }
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        Path file = fileFor(key);
+        Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread()
+            .threadId() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_FORMAT);
+                writeString(out, key);
+                out.writeLong(entry.storedAtMillis);
+                writeString(out, entry.rawText);
+                writeString(out, entry.structuredJson);
+            }
+            Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            diskWriteFailures.incrementAndGet();
+            logger.warning("Failed to persist LLM cache entry: " + e.getMessage());
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException ignored) {
+                // Stray temporary files are harmless.
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Entry {
+
+        final String key;
+        final long storedAtMillis;
+        final String rawText;
+        // Structured outputs are kept as JSON and parsed on every hit, so callers never share a mutable instance.
+        final String structuredJson;
+        final Object structuredOutput;
+
+        Entry(String key, long storedAtMillis, String rawText, String structuredJson, Object structuredOutput) {
+            this.key = key;
+            this.storedAtMillis = storedAtMillis;
+            this.rawText = rawText;
+            this.structuredJson = structuredJson;
+            this.structuredOutput = structuredOutput;
+        }
+
+        <T> LLMResponse<T> toResponse(Class<T> type) {
+            if (structuredJson == null) {
+                return new LLMResponse<>(rawText, type.cast(structuredOutput));
+            }
+            try {
+                return new LLMResponse<>(rawText, objectMapper.readValue(structuredJson, type));
+            } catch (Exception e) {
+                logger.warning("Cached response for " + key + " no longer parses as " + type.getSimpleName() + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    // A bounded ring of prompt embeddings, scanned in full on lookup; at a few thousand entries the scan costs far less
+    // than the completion it saves.
+    private static final class SemanticIndex {
+
+        private final VectorScorer scorer = VectorScorer.cosine();
+        private final double threshold;
+        private final String[] scopes;
+        private final float[][] embeddings;
+        private final String[] keys;
+        private int next;
+
+        SemanticIndex(int capacity, double threshold) {
+            this.threshold = threshold;
+            this.scopes = new String[capacity];
+            this.embeddings = new float[capacity][];
+            this.keys = new String[capacity];
+        }
+
+        synchronized String findSimilar(String scope, float[] embedding) {
+            float[] query = scorer.prepare(embedding);
+            String best = null;
+            double bestScore = threshold;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == null || !scope.equals(scopes[i]) || embeddings[i].length != query.length) {
+                    continue;
+                }
+                double score = scorer.score(query, embeddings[i]);
+                if (score >= bestScore) {
+                    best = keys[i];
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        synchronized void add(String scope, float[] embedding, String key) {
+            scopes[next] = scope;
+            embeddings[next] = scorer.prepare(embedding);
+            keys[next] = key;
+            next = (next + 1) % keys.length;
+        }
+
+        synchronized void clear() {
+            for (int i = 0; i < keys.length; i++) {
+                scopes[i] = null;
+                embeddings[i] = null;
+                keys[i] = null;
+            }
+            next = 0;
+        }
+    }
+
+    private static final class StageCounters {
+
+        final LongAdder exactHits = new LongAdder();
+        final LongAdder semanticHits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+
+        StageStats snapshot(String stage) {
+            return new StageStats(stage, exactHits.sum(), semanticHits.sum(), misses.sum());
+        }
+    }
+
+    public static final class StageStats {
+
+        private final String stage;
+        private final long exactHitCount;
+        private final long semanticHitCount;
+        private final long missCount;
+
+        StageStats(String stage, long exactHitCount, long semanticHitCount, long missCount) {
+            this.stage = stage;
+            this.exactHitCount = exactHitCount;
+            this.semanticHitCount = semanticHitCount;
+            this.missCount = missCount;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public long getExactHitCount() {
+            return exactHitCount;
+        }
+
+        public long getSemanticHitCount() {
+            return semanticHitCount;
+        }
+
+        public long getMissCount() {
+            return missCount;
+        }
+
+        public long getRequestCount() {
+            return exactHitCount + semanticHitCount + missCount;
+        }
+
+        public double getHitRate() {
+            long requests = getRequestCount();
+            return requests == 0 ? 0.0 : (double) (exactHitCount + semanticHitCount) / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s{requests=%d, exactHits=%d, semanticHits=%d, hitRate=%.2f}", stage, getRequestCount(), exactHitCount, semanticHitCount,
+                getHitRate());
+        }
+    }
+
+    public static class Builder {
+
+        private final LLMClient delegate;
+        private final String modelName;
+        private long maximumEntries = 2000;
+        private Path directory;
+        private Duration timeToLive = Duration.ofDays(7);
+        private LongSupplier clock = System::currentTimeMillis;
+        private EmbeddingService embeddingService;
+        private double semanticThreshold = 0.97;
+        private int semanticEntries = 1000;
+        private int semanticMaxPromptChars = 2000;
+
+        private Builder(LLMClient delegate, String modelName) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Delegate LLM client must not be null");
+            }
+            if (modelName == null || modelName.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Model name must not be null or empty");
+            }
+            this.delegate = delegate;
+            this.modelName = modelName;
+        }
+
+        public Builder maximumEntries(long maximumEntries) {
+            if (maximumEntries <= 0) {
+                throw new IllegalArgumentException("Maximum entries must be positive");
+            }
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        // Null keeps the cache in memory only.
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public Builder timeToLive(Duration timeToLive) {
+            if (timeToLive == null || timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("TTL must be positive");
+            }
+            this.timeToLive = timeToLive;
+            return this;
+        }
+
+        public Builder clock(LongSupplier clock) {
+            if (clock == null) {
+                throw new IllegalArgumentException("Clock must not be null");
+            }
+            this.clock = clock;
+            return this;
+        }
+
+        // Enables the semantic tier. The embedding service must be deterministic, or the same prompt drifts apart
+        // from itself.
+        public Builder semanticTier(EmbeddingService embeddingService, double threshold) {
+            if (embeddingService == null) {
+                throw new IllegalArgumentException("Embedding service must not be null");
+            }
+            if (threshold <= 0.0 || threshold > 1.0) {
+                throw new IllegalArgumentException("Similarity threshold must be in (0, 1]");
+            }
+            this.embeddingService = embeddingService;
+            this.semanticThreshold = threshold;
+            return this;
+        }
+
+        public Builder semanticEntries(int semanticEntries) {
+            if (semanticEntries <= 0) {
+                throw new IllegalArgumentException("Semantic entries must be positive");
+            }
+            this.semanticEntries = semanticEntries;
+            return this;
+        }
+
+        public Builder semanticMaxPromptChars(int semanticMaxPromptChars) {
+            if (semanticMaxPromptChars <= 0) {
+                throw new IllegalArgumentException("Semantic prompt limit must be positive");
+            }
+            this.semanticMaxPromptChars = semanticMaxPromptChars;
+            return this;
+        }
+
+        public CachingLLMClient build() {
+            return new CachingLLMClient(this);
+        }
+    }
+}
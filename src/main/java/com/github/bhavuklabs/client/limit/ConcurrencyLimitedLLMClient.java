@@ -0,0 +1,139 @@
+package com.github.bhavuklabs.client.limit;
+
+import java.util.concurrent.Flow;
+import java.util.logging.Logger;
+
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.TimeoutException;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+
+// Admits each call through an AdaptiveConcurrencyLimiter, in the lane and session of the caller's CallContext. Call
+// latency and overload errors from the provider feed the limit back; other failures only return the slot.
+public final class ConcurrencyLimitedLLMClient implements LLMClient, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ConcurrencyLimitedLLMClient.class.getName());
+
+    private final LLMClient delegate;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String modelType;
+
+    public ConcurrencyLimitedLLMClient(LLMClient delegate, AdaptiveConcurrencyLimiter limiter, String modelType) {
+        if (delegate == null || limiter == null) {
+            throw new IllegalArgumentException("Delegate and limiter cannot be null");
+        }
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.modelType = modelType;
+    }
+
+    @Override
+    public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+        AdaptiveConcurrencyLimiter.Permit permit = admit(CallContext.current());
+        try {
+            LLMResponse<T> response = delegate.complete(prompt, type);
+            permit.onSuccess();
+            return response;
+        } catch (LLMClientException | RuntimeException e) {
+            release(permit, e);
+            throw e;
+        }
+    }
+
+    // Holds a slot until the stream ends. Stream duration grows with the length of the answer, so it is not taken as
+    // a latency sample.
+    @Override
+    public Flow.Publisher<String> stream(String prompt) {
+        CallContext context = CallContext.current();
+        return StreamPublisher.create(emitter -> {
+            AdaptiveConcurrencyLimiter.Permit permit = admit(context);
+            Flow.Publisher<String> tokens;
+            try {
+                tokens = delegate.stream(prompt);
+            } catch (RuntimeException e) {
+                release(permit, e);
+                throw e;
+            }
+            StreamPublisher.forEach(tokens, emitter::emit)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        release(permit, error);
+                        emitter.fail(error);
+                    } else {
+                        permit.onIgnored();
+                        emitter.complete();
+                    }
+                });
+        });
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public LLMClient getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        logger.info("LLM concurrency " + limiter);
+        if (delegate instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) delegate).close();
+            } catch (Exception e) {
+                logger.warning("Failed to close limited LLM client: " + e.getMessage());
+            }
+        }
+    }
+
+    // Rate limiting, provider overload and timeouts anywhere in the cause chain.
+    public static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof RateLimitException || cause instanceof TimeoutException || cause instanceof java.util.concurrent.TimeoutException ||
+                cause instanceof java.net.http.HttpTimeoutException) {
+                return true;
+            }
+            if (cause instanceof HttpException) {
+                int status = ((HttpException) cause).statusCode();
+                if (status == 429 || status == 503) {
+                    return true;
+                }
+            }
+            String message = cause.getMessage();
+            if (message != null && (message.contains("429") || message.contains("RESOURCE_EXHAUSTED") || message.toLowerCase()
+                .contains("rate limit"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AdaptiveConcurrencyLimiter.Permit admit(CallContext context) throws LLMClientException {
+        AdaptiveConcurrencyLimiter.Permit permit;
+        try {
+            permit = limiter.acquire(context.getLane(), context.getSession());
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new LLMClientException("Interrupted while waiting for LLM capacity", e, modelType, "admission");
+        }
+        if (permit == null) {
+            throw new LLMClientException("Timed out waiting for LLM capacity (" + limiter + ")", modelType, "admission");
+        }
+        return permit;
+    }
+
+    private void release(AdaptiveConcurrencyLimiter.Permit permit, Throwable failure) {
+        if (isOverload(failure)) {
+            permit.onDropped();
+        } else {
+            permit.onIgnored();
+        }
+    }
+}
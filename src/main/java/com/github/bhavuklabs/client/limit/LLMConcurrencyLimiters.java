@@ -0,0 +1,73 @@
+package com.github.bhavuklabs.client.limit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.core.enums.ModelType;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter;
+
+// One adaptive limiter per LLM provider for the whole JVM, like ProviderRateLimiters for search: the capacity that
+// runs out is the provider account's, so every Research4j instance, engine and session has to share one view of it.
+public final class LLMConcurrencyLimiters {
+
+    private static final Logger logger = Logger.getLogger(LLMConcurrencyLimiters.class.getName());
+
+    private static final String PROPERTY_PREFIX = "research4j.llmConcurrency.";
+    private static final int DEFAULT_INITIAL_LIMIT = 8;
+    private static final int DEFAULT_MAX_LIMIT = 64;
+
+    private static final Map<ModelType, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    private LLMConcurrencyLimiters() {
+    }
+
+    public static AdaptiveConcurrencyLimiter forProvider(ModelType provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("Model type cannot be null");
+        }
+        return limiters.computeIfAbsent(provider, LLMConcurrencyLimiters::createDefault);
+    }
+
+    public static AdaptiveConcurrencyLimiter configure(ModelType provider, AdaptiveConcurrencyLimiter limiter) {
+        if (provider == null || limiter == null) {
+            throw new IllegalArgumentException("Model type and limiter cannot be null");
+        }
+        limiters.put(provider, limiter);
+        logger.info("Configured LLM concurrency limiter: " + limiter);
+        return limiter;
+    }
+
+    public static void reset(ModelType provider) {
+        limiters.remove(provider);
+    }
+
+    public static Map<ModelType, AdaptiveConcurrencyLimiter> snapshot() {
+        return Map.copyOf(limiters);
+    }
+
+    // -Dresearch4j.llmConcurrency.GEMINI=4 or -Dresearch4j.llmConcurrency.GEMINI=4:16 (initial limit, optional maximum).
+    private static AdaptiveConcurrencyLimiter createDefault(ModelType provider) {
+        String override = System.getProperty(PROPERTY_PREFIX + provider.name());
+        if (override != null && !override.trim()
+            .isEmpty()) {
+            try {
+                String[] parts = override.trim()
+                    .split(":");
+                int initial = Integer.parseInt(parts[0]);
+                return AdaptiveConcurrencyLimiter.builder()
+                    .name(provider.name())
+                    .initialLimit(initial)
+                    .maxLimit(parts.length > 1 ? Integer.parseInt(parts[1]) : Math.max(initial, DEFAULT_MAX_LIMIT))
+                    .build();
+            } catch (IllegalArgumentException e) {
+                logger.warning("Ignoring invalid LLM concurrency override for " + provider + ": " + override);
+            }
+        }
+        return AdaptiveConcurrencyLimiter.builder()
+            .name(provider.name())
+            .initialLimit(DEFAULT_INITIAL_LIMIT)
+            .maxLimit(DEFAULT_MAX_LIMIT)
+            .build();
+    }
+}
@@ -0,0 +1,215 @@
+package com.github.bhavuklabs.client.replay;
+
+import java.util.concurrent.Flow;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.TimeoutException;
+import com.github.bhavuklabs.client.limit.ConcurrencyLimitedLLMClient;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.replay.Cassette;
+import com.github.bhavuklabs.core.replay.FaultProfile;
+import com.github.bhavuklabs.core.replay.ReplayMode;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+
+// Records an LLM provider's answers to a cassette, or stands in for it by replaying them. Requests are keyed on the
+// output type and the prompt. A replayed call takes the latency the fault profile gives it (by default the recorded
+// one) and fails the way the recorded call failed, or the way the profile injects: a 429 surfaces as a
+// RateLimitException and a timeout as a TimeoutException, as they would from the provider.
+public final class RecordReplayLLMClient implements LLMClient {
+
+    private static final Logger logger = Logger.getLogger(RecordReplayLLMClient.class.getName());
+
+    private static final String CHANNEL = "llm";
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final LLMClient delegate;
+    private final Cassette cassette;
+    private final ReplayMode mode;
+    private final FaultProfile faults;
+    private final String modelType;
+
+    private RecordReplayLLMClient(Builder builder) {
+        this.delegate = builder.delegate;
+        this.cassette = builder.cassette;
+        this.mode = builder.mode;
+        this.faults = builder.faults;
+        this.modelType = builder.modelType;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+        String request = requestFor(prompt, type);
+        if (mode != ReplayMode.RECORD) {
+            Cassette.Interaction interaction = cassette.next(CHANNEL, request);
+            if (interaction != null) {
+                return replay(interaction, type);
+            }
+            if (mode == ReplayMode.REPLAY) {
+                throw new LLMClientException("No recorded response for prompt of " + prompt.length() + " characters", modelType, "replay");
+            }
+        }
+        return record(request, prompt, type);
+    }
+
+    // Recording keeps the provider's streaming; the streamed text is recorded as a String completion of the prompt.
+    // Replay streams the recorded text as one token.
+    @Override
+    public Flow.Publisher<String> stream(String prompt) {
+        if (mode != ReplayMode.RECORD) {
+            return LLMClient.super.stream(prompt);
+        }
+        String request = requestFor(prompt, String.class);
+        return StreamPublisher.create(emitter -> {
+            long start = System.nanoTime();
+            StreamPublisher.collectText(delegate.stream(prompt), emitter::emit)
+                .whenComplete((text, error) -> {
+                    long latencyMillis = (System.nanoTime() - start) / 1_000_000L;
+                    if (error != null) {
+                        cassette.record(CHANNEL, request, Cassette.Interaction.failure(classify(error), latencyMillis, error.getMessage()));
+                        emitter.fail(error);
+                    } else {
+                        cassette.record(CHANNEL, request, Cassette.Interaction.success(latencyMillis, text, toJson(text)));
+                        emitter.complete();
+                    }
+                });
+        });
+    }
+
+    public Cassette getCassette() {
+        return cassette;
+    }
+
+    public ReplayMode getMode() {
+        return mode;
+    }
+
+    private <T> LLMResponse<T> record(String request, String prompt, Class<T> type) throws LLMClientException {
+        if (delegate == null) {
+            throw new LLMClientException("No provider to record from", modelType, "replay");
+        }
+        long start = System.nanoTime();
+        try {
+            LLMResponse<T> response = delegate.complete(prompt, type);
+            cassette.record(CHANNEL, request,
+                Cassette.Interaction.success((System.nanoTime() - start) / 1_000_000L, response.rawText(), toJson(response.structuredOutput())));
+            return response;
+        } catch (LLMClientException | RuntimeException e) {
+            cassette.record(CHANNEL, request, Cassette.Interaction.failure(classify(e), (System.nanoTime() - start) / 1_000_000L, e.getMessage()));
+            throw e;
+        }
+    }
+
+    private <T> LLMResponse<T> replay(Cassette.Interaction interaction, Class<T> type) throws LLMClientException {
+        FaultProfile.Outcome injected = faults.nextOutcome();
+        if (injected == FaultProfile.Outcome.TIMEOUT || interaction.getResult() == Cassette.Result.TIMEOUT) {
+            FaultProfile.pause(injected == FaultProfile.Outcome.TIMEOUT ? faults.getTimeout()
+                .toMillis() : faults.nextLatencyMillis(interaction.getLatencyMillis()));
+            throw new LLMClientException("Failed to complete prompt: request timed out", new TimeoutException("Request timed out"), modelType, "completion");
+        }
+        if (!FaultProfile.pause(faults.nextLatencyMillis(interaction.getLatencyMillis()))) {
+            throw new LLMClientException("Interrupted while replaying completion", modelType, "completion");
+        }
+        if (injected == FaultProfile.Outcome.RATE_LIMITED || interaction.getResult() == Cassette.Result.RATE_LIMITED) {
+            throw new LLMClientException("Failed to complete prompt: 429 Too Many Requests", new RateLimitException("429 Too Many Requests"), modelType,
+                "completion");
+        }
+        if (interaction.getResult() == Cassette.Result.ERROR) {
+            throw new LLMClientException(interaction.getBody(), modelType, "completion");
+        }
+        return toResponse(interaction, type);
+    }
+
+    private <T> LLMResponse<T> toResponse(Cassette.Interaction interaction, Class<T> type) throws LLMClientException {
+        if (interaction.getDetail() == null) {
+            return new LLMResponse<>(interaction.getBody(), null);
+        }
+        try {
+            return new LLMResponse<>(interaction.getBody(), objectMapper.readValue(interaction.getDetail(), type));
+        } catch (Exception e) {
+            throw new LLMClientException("Recorded response does not parse as " + type.getSimpleName() + ": " + e.getMessage(), e, modelType, "replay");
+        }
+    }
+
+    private static String requestFor(String prompt, Class<?> type) {
+        return type.getName() + "\n" + prompt;
+    }
+
+    private static String toJson(Object structuredOutput) {
+        if (structuredOutput == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(structuredOutput);
+        } catch (Exception e) {
+            logger.warning("Structured output of type " + structuredOutput.getClass()
+                .getSimpleName() + " is not serializable, recording the raw text only: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Cassette.Result classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof java.util.concurrent.TimeoutException ||
+                cause instanceof java.net.http.HttpTimeoutException) {
+                return Cassette.Result.TIMEOUT;
+            }
+        }
+        return ConcurrencyLimitedLLMClient.isOverload(failure) ? Cassette.Result.RATE_LIMITED : Cassette.Result.ERROR;
+    }
+
+    public static final class Builder {
+
+        private LLMClient delegate;
+        private Cassette cassette;
+        private ReplayMode mode = ReplayMode.REPLAY;
+        private FaultProfile faults = FaultProfile.recorded();
+        private String modelType = "REPLAY";
+
+        private Builder() {
+        }
+
+        // The provider to record from; not needed to replay.
+        public Builder delegate(LLMClient delegate) {
+            this.delegate = delegate;
+            return this;
+        }
+
+        public Builder cassette(Cassette cassette) {
+            this.cassette = cassette;
+            return this;
+        }
+
+        public Builder mode(ReplayMode mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        public Builder faults(FaultProfile faults) {
+            this.faults = faults;
+            return this;
+        }
+
+        public Builder modelType(String modelType) {
+            this.modelType = modelType;
+            return this;
+        }
+
+        public RecordReplayLLMClient build() {
+            if (cassette == null || mode == null || faults == null) {
+                throw new IllegalArgumentException("Cassette, mode and fault profile cannot be null");
+            }
+            if (mode != ReplayMode.REPLAY && delegate == null) {
+                throw new IllegalArgumentException("A delegate is required to record");
+            }
+            return new RecordReplayLLMClient(this);
+        }
+    }
+}
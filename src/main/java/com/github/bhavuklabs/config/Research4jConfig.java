@@ -1,8 +1,12 @@
 package com.github.bhavuklabs.config;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -21,6 +25,7 @@ public class Research4jConfig {
     private static final String TAVILY_API_KEY = "TAVILY_API_KEY";
     private static final String GOOGLE_SEARCH_API_KEY = "GOOGLE_SEARCH_API_KEY";
     private static final String GOOGLE_CSE_ID = "GOOGLE_CSE_ID";
+    private static final String PERPLEXITY_API_KEY = "PERPLEXITY_API_KEY";
 
     private GraphEngineType graphEngine = GraphEngineType.LEGACY_CUSTOM;
     private final Map<String, Object> properties;
@@ -40,12 +45,18 @@ public class Research4jConfig {
         loadApiKeyFromEnv(TAVILY_API_KEY, CitationSource.TAVILY.name());
         loadApiKeyFromEnv(GOOGLE_SEARCH_API_KEY, CitationSource.GOOGLE_GEMINI.name());
         loadApiKeyFromEnv(GOOGLE_CSE_ID, "GOOGLE_CSE_ID");
+        loadApiKeyFromEnv(PERPLEXITY_API_KEY, CitationSource.PERPLEXITY.name());
 
         loadPropertyFromEnv("DEFAULT_MODEL", "defaultModel");
         loadPropertyFromEnv("DEFAULT_CITATION_SOURCE", "defaultCitationSource");
+        loadPropertyFromEnv("CITATION_PROVIDERS", "citationProviders");
         loadPropertyFromEnv("DEFAULT_REASONING", "defaultReasoningMethod");
         loadPropertyFromEnv("REQUEST_TIMEOUT_SECONDS", "requestTimeout");
         loadPropertyFromEnv("MAX_CITATIONS", "maxCitations");
+        loadPropertyFromEnv("OPENAI_BASE_URL", "openAiBaseUrl");
+        loadPropertyFromEnv("TAVILY_BASE_URL", "tavilyBaseUrl");
+        loadPropertyFromEnv("GOOGLE_SEARCH_BASE_URL", "googleSearchBaseUrl");
+        loadPropertyFromEnv("CACHE_DIR", "cacheDirectory");
     }
 
     private void loadApiKeyFromEnv(String envVar, String key) {
@@ -91,6 +102,14 @@ public class Research4jConfig {
             }
         }
 
+        if (properties.containsKey("citationProviders")) {
+            try {
+                getCitationProviders();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid citation providers: " + properties.get("citationProviders"));
+            }
+        }
+
         if (properties.containsKey("maxCitations")) {
             try {
                 int maxCitations = Integer.parseInt(properties.get("maxCitations")
@@ -136,6 +155,10 @@ public class Research4jConfig {
         return getApiKey("GOOGLE_CSE_ID");
     }
 
+    public String getPerplexityApiKey() {
+        return getApiKey(CitationSource.PERPLEXITY);
+    }
+
     public String getDefaultModel() {
         return (String) properties.getOrDefault("defaultModel", "gemini-1.5-flash");
     }
@@ -145,6 +168,29 @@ public class Research4jConfig {
         return CitationSource.valueOf(source);
     }
 
+    // The providers searched in parallel on every query; without the property, only the default citation source.
+    public List<CitationSource> getCitationProviders() {
+        Object value = properties.get("citationProviders");
+        List<CitationSource> providers = new ArrayList<>();
+        if (value != null) {
+            for (String name : value.toString()
+                .split(",")) {
+                if (!name.trim()
+                    .isEmpty()) {
+                    CitationSource source = CitationSource.valueOf(name.trim()
+                        .toUpperCase());
+                    if (!providers.contains(source)) {
+                        providers.add(source);
+                    }
+                }
+            }
+        }
+        if (providers.isEmpty()) {
+            providers.add(getDefaultCitationSource());
+        }
+        return providers;
+    }
+
     public ReasoningMethod getDefaultReasoningMethod() {
         String method = (String) properties.getOrDefault("defaultReasoningMethod", "CHAIN_OF_THOUGHT");
         return ReasoningMethod.valueOf(method);
@@ -176,11 +222,39 @@ public class Research4jConfig {
             .toString());
     }
 
+    // In-memory caching of search results and LLM responses; nothing is written to disk unless a cache directory is set.
     public boolean isCacheEnabled() {
         return Boolean.parseBoolean(properties.getOrDefault("cacheEnabled", "true")
             .toString());
     }
 
+    // Root of the opt-in disk cache tier (RESEARCH4J_CACHE_DIR or research4j.cacheDirectory), null for memory only.
+    public Path getCacheDirectory() {
+        String directory = getProperty("cacheDirectory", null);
+        return directory != null ? Paths.get(directory) : null;
+    }
+
+    // Endpoint overrides, null unless configured: for OpenAI-compatible gateways, or a local stand-in in load tests.
+    public String getOpenAiBaseUrl() {
+        return getProperty("openAiBaseUrl", null);
+    }
+
+    public String getTavilyBaseUrl() {
+        return getProperty("tavilyBaseUrl", null);
+    }
+
+    public String getGoogleSearchBaseUrl() {
+        return getProperty("googleSearchBaseUrl", null);
+    }
+
+    public String getCitationBaseUrl(CitationSource source) {
+        return switch (source) {
+            case TAVILY -> getTavilyBaseUrl();
+            case GOOGLE_GEMINI -> getGoogleSearchBaseUrl();
+            default -> null;
+        };
+    }
+
     public Object getProperty(String key) {
         return properties.get(key);
     }
@@ -245,6 +319,11 @@ public class Research4jConfig {
             return this;
         }
 
+        public Builder perplexityApiKey(String apiKey) {
+            this.apiKeys.put(CitationSource.PERPLEXITY.name(), apiKey);
+            return this;
+        }
+
         public Builder apiKey(String provider, String apiKey) {
             this.apiKeys.put(provider, apiKey);
             return this;
@@ -271,6 +350,21 @@ public class Research4jConfig {
             return this;
         }
 
+        public Builder citationProviders(CitationSource... sources) {
+            if (sources == null || sources.length == 0) {
+                throw new IllegalArgumentException("At least one citation provider is required");
+            }
+            StringBuilder names = new StringBuilder();
+            for (CitationSource source : sources) {
+                if (names.length() > 0) {
+                    names.append(',');
+                }
+                names.append(source.name());
+            }
+            this.properties.put("citationProviders", names.toString());
+            return this;
+        }
+
         public Builder defaultReasoningMethod(ReasoningMethod method) {
             this.properties.put("defaultReasoningMethod", method.name());
             return this;
@@ -312,6 +406,29 @@ public class Research4jConfig {
             return this;
         }
 
+        public Builder cacheDirectory(Path directory) {
+            if (directory == null) {
+                throw new IllegalArgumentException("Cache directory must not be null");
+            }
+            this.properties.put("cacheDirectory", directory.toString());
+            return this;
+        }
+
+        public Builder openAiBaseUrl(String baseUrl) {
+            this.properties.put("openAiBaseUrl", baseUrl);
+            return this;
+        }
+
+        public Builder tavilyBaseUrl(String baseUrl) {
+            this.properties.put("tavilyBaseUrl", baseUrl);
+            return this;
+        }
+
+        public Builder googleSearchBaseUrl(String baseUrl) {
+            this.properties.put("googleSearchBaseUrl", baseUrl);
+            return this;
+        }
+
         public Builder property(String key, Object value) {
             this.properties.put(key, value);
             return this;
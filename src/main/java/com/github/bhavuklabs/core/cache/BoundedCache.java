@@ -0,0 +1,414 @@
+package com.github.bhavuklabs.core.cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+// Weight-bounded W-TinyLFU cache: new entries land in a small LRU window, and only move into the segmented-LRU main
+// space when the frequency sketch says they are more popular than the entry they would displace.
+public final class BoundedCache<K, V> {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.80;
+    private static final int ADMIT_HASHDOS_THRESHOLD = 6;
+
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    private static final class Node<K, V> {
+
+        final K key;
+        V value;
+        long weight;
+        long writeNanos;
+        Region region;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, V value, long weight, long writeNanos) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    private static final class AccessOrder<K, V> {
+
+        Node<K, V> head;
+        Node<K, V> tail;
+        long weight;
+
+        void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            weight += node.weight;
+        }
+
+        void unlink(Node<K, V> node) {
+            if (node.prev == null) {
+                head = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+            weight = 0;
+        }
+    }
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+    private final ReentrantLock lock;
+    private final Map<K, Node<K, V>> data;
+    private final AccessOrder<K, V> window;
+    private final AccessOrder<K, V> probation;
+    private final AccessOrder<K, V> protectedSegment;
+    private final FrequencySketch sketch;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long expirationCount;
+    private long rejectionCount;
+
+    private BoundedCache(Builder<K, V> builder) {
+        this.maximumWeight = builder.maximumWeight;
+        this.windowMaximum = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+        this.protectedMaximum = (long) ((maximumWeight - windowMaximum) * PROTECTED_RATIO);
+        this.weigher = builder.weigher;
+        this.expireAfterWriteNanos = builder.expireAfterWrite != null ? builder.expireAfterWrite.toNanos() : 0L;
+        this.ticker = builder.ticker;
+        this.lock = new ReentrantLock();
+        this.data = new HashMap<>();
+        this.window = new AccessOrder<>();
+        this.probation = new AccessOrder<>();
+        this.protectedSegment = new AccessOrder<>();
+        this.sketch = new FrequencySketch(builder.expectedEntries > 0 ? builder.expectedEntries : maximumWeight);
+    }
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    public V get(K key) {
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                missCount++;
+                return null;
+            }
+            if (isExpired(node, ticker.getAsLong())) {
+                removeNode(node);
+                expirationCount++;
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            onHit(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The loader runs outside the lock, so concurrent misses on the same key may each compute a value.
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            put(key, loaded);
+        }
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Cache keys and values must not be null");
+        }
+        long weight = weigher.applyAsLong(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Cache entry weight must not be negative");
+        }
+
+        lock.lock();
+        try {
+            Node<K, V> existing = data.get(key);
+            if (existing != null) {
+                removeNode(existing);
+            }
+            if (weight > maximumWeight) {
+                rejectionCount++;
+                return;
+            }
+            Node<K, V> node = new Node<>(key, value, weight, ticker.getAsLong());
+            node.region = Region.WINDOW;
+            data.put(key, node);
+            window.addLast(node);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public V invalidate(K key) {
+        lock.lock();
+        try {
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                return null;
+            }
+            removeNode(node);
+            return node.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            sketch.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long size() {
+        lock.lock();
+        try {
+            return data.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weightedSize() {
+        lock.lock();
+        try {
+            return totalWeight();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public CacheStats stats() {
+        lock.lock();
+        try {
+            return new CacheStats(hitCount, missCount, evictionCount, expirationCount, rejectionCount, data.size(), totalWeight(), maximumWeight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onHit(Node<K, V> node) {
+        switch (node.region) {
+            case WINDOW:
+                window.unlink(node);
+                window.addLast(node);
+                break;
+            case PROBATION:
+                probation.unlink(node);
+                node.region = Region.PROTECTED;
+                protectedSegment.addLast(node);
+                demoteProtectedOverflow();
+                break;
+            case PROTECTED:
+            default:
+                protectedSegment.unlink(node);
+                protectedSegment.addLast(node);
+                break;
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedSegment.weight > protectedMaximum && protectedSegment.head != null) {
+            Node<K, V> demoted = protectedSegment.head;
+            protectedSegment.unlink(demoted);
+            demoted.region = Region.PROBATION;
+            probation.addLast(demoted);
+        }
+    }
+
+    private void evict() {
+        // Window overflow becomes admission candidates at the MRU end of probation.
+        Node<K, V> candidate = null;
+        while (window.weight > windowMaximum && window.head != null) {
+            Node<K, V> moved = window.head;
+            window.unlink(moved);
+            moved.region = Region.PROBATION;
+            probation.addLast(moved);
+            if (candidate == null) {
+                candidate = moved;
+            }
+        }
+
+        long now = ticker.getAsLong();
+        while (totalWeight() > maximumWeight) {
+            Node<K, V> victim = probation.head != null ? probation.head : protectedSegment.head;
+            if (victim == null) {
+                victim = window.head;
+            }
+            if (candidate == null || candidate == victim || candidate.region != Region.PROBATION) {
+                evictNode(victim, now);
+                if (victim == candidate) {
+                    candidate = null;
+                }
+            } else if (isExpired(candidate, now) || !admit(candidate, victim)) {
+                Node<K, V> next = candidate.next;
+                evictNode(candidate, now);
+                candidate = next;
+            } else {
+                evictNode(victim, now);
+            }
+        }
+    }
+
+    private boolean admit(Node<K, V> candidate, Node<K, V> victim) {
+        int candidateFrequency = sketch.frequency(candidate.key.hashCode());
+        int victimFrequency = sketch.frequency(victim.key.hashCode());
+        if (candidateFrequency > victimFrequency) {
+            return true;
+        }
+        if (candidateFrequency < ADMIT_HASHDOS_THRESHOLD) {
+            return false;
+        }
+        // A small random admission rate stops an attacker from pinning a hot victim with colliding keys.
+        return (ThreadLocalRandom.current()
+            .nextInt() & 127) == 0;
+    }
+
+    private void evictNode(Node<K, V> node, long now) {
+        if (isExpired(node, now)) {
+            expirationCount++;
+        } else {
+            evictionCount++;
+        }
+        removeNode(node);
+    }
+
+    private void removeNode(Node<K, V> node) {
+        data.remove(node.key);
+        switch (node.region) {
+            case WINDOW:
+                window.unlink(node);
+                break;
+            case PROBATION:
+                probation.unlink(node);
+                break;
+            case PROTECTED:
+            default:
+                protectedSegment.unlink(node);
+                break;
+        }
+    }
+
+    private boolean isExpired(Node<K, V> node, long now) {
+        return expireAfterWriteNanos > 0 && now - node.writeNanos >= expireAfterWriteNanos;
+    }
+
+    private long totalWeight() {
+        return window.weight + probation.weight + protectedSegment.weight;
+    }
+
+    public static class Builder<K, V> {
+
+        private long maximumWeight = 10_000;
+        private long expectedEntries;
+        private ToLongBiFunction<? super K, ? super V> weigher = (key, value) -> 1L;
+        private Duration expireAfterWrite;
+        private LongSupplier ticker = System::nanoTime;
+
+        public Builder<K, V> maximumSize(long maximumSize) {
+            if (maximumSize <= 0) {
+                throw new IllegalArgumentException("Maximum size must be positive");
+            }
+            this.maximumWeight = maximumSize;
+            this.weigher = (key, value) -> 1L;
+            return this;
+        }
+
+        public Builder<K, V> maximumWeight(long maximumWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+            if (maximumWeight <= 0) {
+                throw new IllegalArgumentException("Maximum weight must be positive");
+            }
+            if (weigher == null) {
+                throw new IllegalArgumentException("Weigher must not be null");
+            }
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        // Sizes the frequency sketch when weights are bytes rather than entry counts.
+        public Builder<K, V> expectedEntries(long expectedEntries) {
+            if (expectedEntries <= 0) {
+                throw new IllegalArgumentException("Expected entries must be positive");
+            }
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        public Builder<K, V> expireAfterWrite(Duration expireAfterWrite) {
+            if (expireAfterWrite != null && (expireAfterWrite.isNegative() || expireAfterWrite.isZero())) {
+                throw new IllegalArgumentException("Expiry must be positive");
+            }
+            this.expireAfterWrite = expireAfterWrite;
+            return this;
+        }
+
+        public Builder<K, V> ticker(LongSupplier ticker) {
+            if (ticker == null) {
+                throw new IllegalArgumentException("Ticker must not be null");
+            }
+            this.ticker = ticker;
+            return this;
+        }
+
+        public BoundedCache<K, V> build() {
+            return new BoundedCache<>(this);
+        }
+    }
+}
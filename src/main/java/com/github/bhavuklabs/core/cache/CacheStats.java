@@ -0,0 +1,72 @@
+package com.github.bhavuklabs.core.cache;
+
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long expirationCount;
+    private final long rejectionCount;
+    private final long entryCount;
+    private final long weightedSize;
+    private final long maximumWeight;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long expirationCount, long rejectionCount, long entryCount, long weightedSize,
+        long maximumWeight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.expirationCount = expirationCount;
+        this.rejectionCount = rejectionCount;
+        this.entryCount = entryCount;
+        this.weightedSize = weightedSize;
+        this.maximumWeight = maximumWeight;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        long requests = getRequestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getExpirationCount() {
+        return expirationCount;
+    }
+
+    public long getRejectionCount() {
+        return rejectionCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public long getWeightedSize() {
+        return weightedSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CacheStats{hits=%d, misses=%d, hitRate=%.3f, evictions=%d, expirations=%d, rejections=%d, entries=%d, weight=%d/%d}",
+            hitCount, missCount, getHitRate(), evictionCount, expirationCount, rejectionCount, entryCount, weightedSize, maximumWeight);
+    }
+}
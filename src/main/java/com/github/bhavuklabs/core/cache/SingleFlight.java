@@ -0,0 +1,115 @@
+package com.github.bhavuklabs.core.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Request coalescing: while a load for a key is in flight, further callers for that key join it instead of starting
+// their own. Nothing is remembered once the load completes, so this sits in front of a cache rather than replacing one.
+public final class SingleFlight<K, V> {
+
+    private static final class Flight<V> {
+
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        final AtomicBoolean shared = new AtomicBoolean();
+    }
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder executionCount = new LongAdder();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder sharedFlightCount = new LongAdder();
+
+    // Runs the loader on the calling thread when this caller leads the flight; joiners block until it finishes and
+    // see the same value or exception.
+    public V call(K key, Callable<V> loader) throws Exception {
+        Flight<V> created = new Flight<>();
+        Flight<V> existing = join(key, created);
+        if (existing != null) {
+            return await(existing.result);
+        }
+
+        try {
+            V value = loader.call();
+            inFlight.remove(key, created);
+            created.result.complete(value);
+            return value;
+        } catch (Throwable t) {
+            inFlight.remove(key, created);
+            created.result.completeExceptionally(t);
+            throw t;
+        }
+    }
+
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletableFuture<V>> loader) {
+        Flight<V> created = new Flight<>();
+        Flight<V> existing = join(key, created);
+        if (existing != null) {
+            return existing.result.copy();
+        }
+
+        CompletableFuture<V> source;
+        try {
+            source = loader.get();
+        } catch (Throwable t) {
+            inFlight.remove(key, created);
+            created.result.completeExceptionally(t);
+            return created.result.copy();
+        }
+        source.whenComplete((value, failure) -> {
+            inFlight.remove(key, created);
+            if (failure != null) {
+                created.result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+            } else {
+                created.result.complete(value);
+            }
+        });
+        return created.result.copy();
+    }
+
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public SingleFlightStats stats() {
+        return new SingleFlightStats(requestCount.sum(), executionCount.sum(), hitCount.sum(), sharedFlightCount.sum(), inFlight.size());
+    }
+
+    private Flight<V> join(K key, Flight<V> created) {
+        requestCount.increment();
+        Flight<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            executionCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        if (existing.shared.compareAndSet(false, true)) {
+            sharedFlightCount.increment();
+        }
+        return existing;
+    }
+
+    private static <V> V await(CompletableFuture<V> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.bhavuklabs.core.cache;
+
+public final class SingleFlightStats {
+
+    private final long requestCount;
+    private final long executionCount;
+    private final long hitCount;
+    private final long sharedFlightCount;
+    private final long inFlightCount;
+
+    SingleFlightStats(long requestCount, long executionCount, long hitCount, long sharedFlightCount, long inFlightCount) {
+        this.requestCount = requestCount;
+        this.executionCount = executionCount;
+        this.hitCount = hitCount;
+        this.sharedFlightCount = sharedFlightCount;
+        this.inFlightCount = inFlightCount;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public long getExecutionCount() {
+        return executionCount;
+    }
+
+    // Callers that joined a load already in flight.
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    // Loads that served more than one caller.
+    public long getSharedFlightCount() {
+        return sharedFlightCount;
+    }
+
+    public long getSavedCallCount() {
+        return requestCount - executionCount;
+    }
+
+    public double getHitRate() {
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+
+    public long getInFlightCount() {
+        return inFlightCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SingleFlightStats{requests=%d, executions=%d, hits=%d, hitRate=%.3f, sharedFlights=%d, savedCalls=%d, inFlight=%d}",
+            requestCount, executionCount, hitCount, getHitRate(), sharedFlightCount, getSavedCallCount(), inFlightCount);
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.bhavuklabs.core.cache;
+
+// 128-bit fingerprint of trimmed, lower-cased text so caches can key on a fixed 32 bytes instead of retaining the text.
+public final class TextFingerprint {
+
+    private static final long SEED_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long SEED_LOW = 0xC2B2AE3D27D4EB4FL;
+    private static final long MULTIPLIER_HIGH = 0xFF51AFD7ED558CCDL;
+    private static final long MULTIPLIER_LOW = 0xC4CEB9FE1A85EC53L;
+
+    private final long high;
+    private final long low;
+
+    private TextFingerprint(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static TextFingerprint of(CharSequence text) {
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+
+        long high = SEED_HIGH ^ (end - start);
+        long low = SEED_LOW ^ (end - start);
+        for (int i = start; i < end; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            high = (high ^ c) * MULTIPLIER_HIGH;
+            high ^= high >>> 29;
+            low = (low ^ c) * MULTIPLIER_LOW;
+            low ^= low >>> 31;
+        }
+        return new TextFingerprint(mix(high), mix(low ^ high));
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TextFingerprint)) {
+            return false;
+        }
+        TextFingerprint that = (TextFingerprint) other;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (high ^ (high >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= MULTIPLIER_HIGH;
+        h ^= h >>> 33;
+        h *= MULTIPLIER_LOW;
+        h ^= h >>> 33;
+        return h;
+    }
+}
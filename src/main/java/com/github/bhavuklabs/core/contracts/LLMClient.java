@@ -1,8 +1,20 @@
 package com.github.bhavuklabs.core.contracts;
 
+import java.util.concurrent.Flow;
+
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 
 public interface LLMClient {
     <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException;
+
+    // The text response, token by token as the model produces it. Each subscription runs the prompt once. Clients
+    // without a streaming model publish the whole completion as a single token.
+    default Flow.Publisher<String> stream(String prompt) {
+        return StreamPublisher.create(emitter -> {
+            emitter.emit(complete(prompt, String.class).structuredOutput());
+            emitter.complete();
+        });
+    }
 }
@@ -0,0 +1,46 @@
+package com.github.bhavuklabs.core.contracts;
+
+// The pipeline stage the LLM calls on the current thread are made for. Clients that report per stage read it here
+// before falling back to the calling class, so helpers that make calls on behalf of several stages (the merges of a
+// MapReduceSynthesizer, say) declare the stage they are working for. Like CallContext it is thread-bound: work handed
+// to another thread has to declare it again.
+public final class LLMStage {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private LLMStage() {
+    }
+
+    // Null when no stage is declared.
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // Use with try-with-resources; closing restores the stage that was current before. A null stage keeps the
+    // current one.
+    public static Scope enter(String stage) {
+        String previous = CURRENT.get();
+        if (stage != null) {
+            CURRENT.set(stage);
+        }
+        return new Scope(previous);
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final String previous;
+
+        private Scope(String previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
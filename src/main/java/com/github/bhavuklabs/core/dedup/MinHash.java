@@ -0,0 +1,113 @@
+package com.github.bhavuklabs.core.dedup;
+
+import java.util.Arrays;
+
+// MinHash signatures over word shingles. Two texts agree on a signature slot with probability equal to the Jaccard
+// similarity of their shingle sets, so similarity is estimated from a fixed-size signature instead of the sets
+// themselves. Each slot applies its own seeded 64-bit mix to the shingle hash rather than a true permutation.
+public final class MinHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int numHashes;
+    private final long[] seeds;
+
+    public MinHash(int numHashes, long seed) {
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("Number of hashes must be positive");
+        }
+        this.numHashes = numHashes;
+        this.seeds = new long[numHashes];
+        long state = seed;
+        for (int i = 0; i < numHashes; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            seeds[i] = mix64(state);
+        }
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    // Null when the text has fewer words than one shingle; such texts have nothing to compare.
+    public int[] signature(CharSequence text, int shingleWords) {
+        long[] shingles = shingles(text, shingleWords);
+        return shingles.length == 0 ? null : signature(shingles);
+    }
+
+    public int[] signature(long[] shingleHashes) {
+        int[] signature = new int[numHashes];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingleHashes) {
+            for (int i = 0; i < numHashes; i++) {
+                int value = (int) (mix64(shingle ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static double similarity(int[] first, int[] second) {
+        if (first == null || second == null || first.length != second.length) {
+            return 0.0;
+        }
+        int agreeing = 0;
+        for (int i = 0; i < first.length; i++) {
+            if (first[i] == second[i]) {
+                agreeing++;
+            }
+        }
+        return (double) agreeing / first.length;
+    }
+
+    // Hashes of every run of shingleWords consecutive words. Words are maximal runs of letters or digits, lowercased,
+    // so punctuation, case and spacing differences between mirrors do not change the set.
+    public static long[] shingles(CharSequence text, int shingleWords) {
+        if (shingleWords < 1) {
+            throw new IllegalArgumentException("Shingle size must be positive");
+        }
+        if (text == null) {
+            return new long[0];
+        }
+        long[] words = new long[16];
+        int wordCount = 0;
+        long hash = FNV_OFFSET;
+        boolean inWord = false;
+        for (int i = 0, length = text.length(); i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                inWord = true;
+            } else if (inWord) {
+                if (wordCount == words.length) {
+                    words = Arrays.copyOf(words, wordCount * 2);
+                }
+                words[wordCount++] = hash;
+                hash = FNV_OFFSET;
+                inWord = false;
+            }
+        }
+        if (wordCount < shingleWords) {
+            return new long[0];
+        }
+        long[] shingles = new long[wordCount - shingleWords + 1];
+        for (int start = 0; start < shingles.length; start++) {
+            long shingle = 0L;
+            for (int w = 0; w < shingleWords; w++) {
+                shingle = mix64(shingle * 31 + words[start + w]);
+            }
+            shingles[start] = shingle;
+        }
+        return shingles;
+    }
+
+    // SplitMix64 finalizer.
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.bhavuklabs.core.dedup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// LSH banding over MinHash signatures: the signature is cut into bands of rows slots, and two items become candidates
+// when any band matches exactly. A lookup touches only the items sharing a band, so inserting n items costs about
+// O(n) instead of comparing each against all earlier ones. Candidates are then confirmed on the full signature.
+// Not thread-safe; each merge or dedup pass owns its index.
+public final class MinHashIndex<T> {
+
+    private final int bands;
+    private final int rows;
+    private final List<Map<Long, List<Integer>>> buckets;
+    private final List<T> items = new ArrayList<>();
+    private final List<int[]> signatures = new ArrayList<>();
+
+    public MinHashIndex(int bands, int rows) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("Bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.buckets = new ArrayList<>(bands);
+        for (int band = 0; band < bands; band++) {
+            buckets.add(new HashMap<>());
+        }
+    }
+
+    public int getSignatureLength() {
+        return bands * rows;
+    }
+
+    // The most similar indexed item at or above the threshold, or null.
+    public T findSimilar(int[] signature, double threshold) {
+        int best = bestMatch(signature, threshold);
+        return best < 0 ? null : items.get(best);
+    }
+
+    public double bestSimilarity(int[] signature) {
+        int best = bestMatch(signature, 0.0);
+        return best < 0 ? 0.0 : MinHash.similarity(signature, signatures.get(best));
+    }
+
+    public void add(T item, int[] signature) {
+        checkLength(signature);
+        int id = items.size();
+        items.add(item);
+        signatures.add(signature);
+        for (int band = 0; band < bands; band++) {
+            buckets.get(band)
+                .computeIfAbsent(bandKey(signature, band), key -> new ArrayList<>(1))
+                .add(id);
+        }
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private int bestMatch(int[] signature, double threshold) {
+        checkLength(signature);
+        int best = -1;
+        double bestSimilarity = threshold;
+        for (int band = 0; band < bands; band++) {
+            List<Integer> candidates = buckets.get(band)
+                .get(bandKey(signature, band));
+            if (candidates == null) {
+                continue;
+            }
+            for (int id : candidates) {
+                double similarity = MinHash.similarity(signature, signatures.get(id));
+                if (similarity >= bestSimilarity && (best < 0 || similarity > bestSimilarity)) {
+                    best = id;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    private long bandKey(int[] signature, int band) {
+        long key = band;
+        int offset = band * rows;
+        for (int row = 0; row < rows; row++) {
+            key = MinHash.mix64(key * 31 + signature[offset + row]);
+        }
+        return key;
+    }
+
+    private void checkLength(int[] signature) {
+        if (signature == null || signature.length != bands * rows) {
+            throw new IllegalArgumentException("Signature length must be " + bands * rows);
+        }
+    }
+}
@@ -0,0 +1,467 @@
+package com.github.bhavuklabs.core.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+// Caps the calls in flight to a provider whose capacity is unknown and moves over time. The limit follows latency the
+// way a gradient controller does: a long-run average of call latency is the baseline, and while recent latency stays
+// within the tolerance of it the limit grows by about its square root; once calls queue at the provider and slow
+// down, the gradient (baseline over recent) pulls it back in proportion. An overload signal (429, provider timeout)
+// halves it outright, the multiplicative decrease of AIMD. Calls over the limit wait in two lanes, interactive ahead of
+// background with a small share kept for background so it never starves, and within a lane the sessions take turns,
+// so one session's fan-out does not queue everyone else behind it.
+public final class AdaptiveConcurrencyLimiter {
+
+    public enum Lane {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final double smoothing;
+    private final int baselineWindow;
+    private final int interactiveShare;
+    private final long maxWaitNanos;
+    private final LongSupplier ticker;
+    private final BiConsumer<Lane, String> admissionObserver;
+
+    private double limit;
+    private int inFlight;
+    private double recentRttNanos;
+    private double baselineRttNanos;
+    private int interactiveStreak;
+    private final Map<Lane, LaneQueue> lanes = new EnumMap<>(Lane.class);
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder queuedCount = new LongAdder();
+    private final LongAdder timedOutCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+
+    private AdaptiveConcurrencyLimiter(Builder builder) {
+        this.name = builder.name;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.tolerance = builder.tolerance;
+        this.smoothing = builder.smoothing;
+        this.baselineWindow = builder.baselineWindow;
+        this.interactiveShare = builder.interactiveShare;
+        this.maxWaitNanos = builder.maxWait.toNanos();
+        this.ticker = builder.ticker;
+        this.admissionObserver = builder.admissionObserver;
+        this.limit = builder.initialLimit;
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneQueue());
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Blocks until the call may start. Returns null if it waited longer than maxWait.
+    public Permit acquire(Lane lane, String session) throws InterruptedException {
+        if (lane == null) {
+            throw new IllegalArgumentException("Lane cannot be null");
+        }
+        if (admissionObserver != null) {
+            admissionObserver.accept(lane, session);
+        }
+        Waiter waiter;
+        synchronized (this) {
+            if (inFlight < currentLimit() && !hasWaiters()) {
+                inFlight++;
+                acquiredCount.increment();
+                return new Permit(ticker.getAsLong());
+            }
+            waiter = new Waiter(session != null ? session : "");
+            lanes.get(lane)
+                .add(waiter);
+            queuedCount.increment();
+        }
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        try {
+            synchronized (waiter) {
+                while (!waiter.granted) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(waiter, remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            if (!abandon(lane, waiter)) {
+                // Granted while being interrupted: hand the slot back.
+                new Permit(ticker.getAsLong()).onIgnored();
+            }
+            throw e;
+        }
+        if (!waiter.granted && abandon(lane, waiter)) {
+            timedOutCount.increment();
+            return null;
+        }
+        return new Permit(ticker.getAsLong());
+    }
+
+    public synchronized int getLimit() {
+        return currentLimit();
+    }
+
+    public synchronized double getEstimatedLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueued(Lane lane) {
+        return lanes.get(lane).size;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOutCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AdaptiveConcurrencyLimiter{name=%s, limit=%d, inFlight=%d, acquired=%d, queued=%d, timedOut=%d, dropped=%d}", name, getLimit(),
+            getInFlight(), getAcquiredCount(), getQueuedCount(), getTimedOutCount(), getDroppedCount());
+    }
+
+    private int currentLimit() {
+        return (int) Math.max(minLimit, Math.floor(limit));
+    }
+
+    private boolean hasWaiters() {
+        for (LaneQueue queue : lanes.values()) {
+            if (queue.size > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Removes a waiter that gave up; false if it had already been granted a slot.
+    private boolean abandon(Lane lane, Waiter waiter) {
+        synchronized (this) {
+            synchronized (waiter) {
+                if (waiter.granted) {
+                    return false;
+                }
+                waiter.abandoned = true;
+            }
+            lanes.get(lane)
+                .remove(waiter);
+            return true;
+        }
+    }
+
+    private synchronized void release(long rttNanos, boolean dropped) {
+        inFlight--;
+        if (dropped) {
+            droppedCount.increment();
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (rttNanos >= 0) {
+            adjust(rttNanos);
+        }
+        grantWaiters();
+    }
+
+    private void adjust(long rttNanos) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+            recentRttNanos = rttNanos;
+            return;
+        }
+        recentRttNanos += (rttNanos - recentRttNanos) * 0.2;
+        baselineRttNanos += (rttNanos - baselineRttNanos) / baselineWindow;
+        // After a slow period the baseline would hold the limit down long after latency recovered.
+        if (baselineRttNanos > recentRttNanos * 2) {
+            baselineRttNanos = recentRttNanos * 2;
+        }
+
+        // A limit that is not being used says nothing about whether it is too low.
+        if (inFlight + 1 < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / recentRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+    }
+
+    private void grantWaiters() {
+        while (inFlight < currentLimit()) {
+            Waiter next = nextWaiter();
+            if (next == null) {
+                return;
+            }
+            synchronized (next) {
+                if (next.abandoned) {
+                    continue;
+                }
+                next.granted = true;
+                next.notifyAll();
+            }
+            inFlight++;
+            acquiredCount.increment();
+        }
+    }
+
+    private Waiter nextWaiter() {
+        LaneQueue interactive = lanes.get(Lane.INTERACTIVE);
+        LaneQueue background = lanes.get(Lane.BACKGROUND);
+        boolean backgroundsTurn = interactive.size == 0 || (background.size > 0 && interactiveStreak >= interactiveShare);
+        if (backgroundsTurn && background.size > 0) {
+            interactiveStreak = 0;
+            return background.poll();
+        }
+        if (interactive.size > 0) {
+            interactiveStreak++;
+            return interactive.poll();
+        }
+        return null;
+    }
+
+    // A call in flight. Report exactly one outcome; later reports are ignored.
+    public final class Permit {
+
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        // Completed normally; its latency feeds the limit.
+        public void onSuccess() {
+            if (released.compareAndSet(false, true)) {
+                release(ticker.getAsLong() - startNanos, false);
+            }
+        }
+
+        // The provider pushed back (rate limited, overloaded, timed out).
+        public void onDropped() {
+            if (released.compareAndSet(false, true)) {
+                release(-1, true);
+            }
+        }
+
+        // Finished without saying anything about the provider's capacity, e.g. a bad request or a streamed call whose
+        // duration reflects its length.
+        public void onIgnored() {
+            if (released.compareAndSet(false, true)) {
+                release(-1, false);
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        private final String session;
+        private boolean granted;
+        private boolean abandoned;
+
+        private Waiter(String session) {
+            this.session = session;
+        }
+    }
+
+    // Waiters by session; sessions take turns, each in arrival order.
+    private static final class LaneQueue {
+
+        private final LinkedHashMap<String, ArrayDeque<Waiter>> sessions = new LinkedHashMap<>();
+        private int size;
+
+        void add(Waiter waiter) {
+            sessions.computeIfAbsent(waiter.session, session -> new ArrayDeque<>())
+                .add(waiter);
+            size++;
+        }
+
+        Waiter poll() {
+            Iterator<Map.Entry<String, ArrayDeque<Waiter>>> iterator = sessions.entrySet()
+                .iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            Map.Entry<String, ArrayDeque<Waiter>> first = iterator.next();
+            Waiter waiter = first.getValue()
+                .poll();
+            iterator.remove();
+            if (!first.getValue()
+                .isEmpty()) {
+                // To the back of the line.
+                sessions.put(first.getKey(), first.getValue());
+            }
+            size--;
+            return waiter;
+        }
+
+        void remove(Waiter waiter) {
+            ArrayDeque<Waiter> queue = sessions.get(waiter.session);
+            if (queue != null && queue.remove(waiter)) {
+                size--;
+                if (queue.isEmpty()) {
+                    sessions.remove(waiter.session);
+                }
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private String name = "default";
+        private int initialLimit = 8;
+        private int minLimit = 1;
+        private int maxLimit = 64;
+        private double backoffRatio = 0.5;
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+        private int baselineWindow = 100;
+        private int interactiveShare = 3;
+        private Duration maxWait = Duration.ofMinutes(5);
+        private LongSupplier ticker = System::nanoTime;
+        private BiConsumer<Lane, String> admissionObserver;
+
+        public Builder name(String name) {
+            if (name == null || name.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Limiter name cannot be null or empty");
+            }
+            this.name = name;
+            return this;
+        }
+
+        public Builder initialLimit(int initialLimit) {
+            if (initialLimit < 1) {
+                throw new IllegalArgumentException("Initial limit must be at least 1");
+            }
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder minLimit(int minLimit) {
+            if (minLimit < 1) {
+                throw new IllegalArgumentException("Minimum limit must be at least 1");
+            }
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        public Builder maxLimit(int maxLimit) {
+            if (maxLimit < 1) {
+                throw new IllegalArgumentException("Maximum limit must be at least 1");
+            }
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        // The factor the limit is multiplied by on an overload signal.
+        public Builder backoffRatio(double backoffRatio) {
+            if (!(backoffRatio > 0.0) || backoffRatio >= 1.0) {
+                throw new IllegalArgumentException("Backoff ratio must be in (0, 1)");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        // How far recent latency may rise above the baseline before the limit stops growing.
+        public Builder tolerance(double tolerance) {
+            if (tolerance < 1.0) {
+                throw new IllegalArgumentException("Tolerance must be at least 1");
+            }
+            this.tolerance = tolerance;
+            return this;
+        }
+
+        public Builder smoothing(double smoothing) {
+            if (!(smoothing > 0.0) || smoothing > 1.0) {
+                throw new IllegalArgumentException("Smoothing must be in (0, 1]");
+            }
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        // Roughly how many calls the latency baseline averages over.
+        public Builder baselineWindow(int baselineWindow) {
+            if (baselineWindow < 1) {
+                throw new IllegalArgumentException("Baseline window must be at least 1");
+            }
+            this.baselineWindow = baselineWindow;
+            return this;
+        }
+
+        // While both lanes wait, interactive calls get this many slots for every background one.
+        public Builder interactiveShare(int interactiveShare) {
+            if (interactiveShare < 1) {
+                throw new IllegalArgumentException("Interactive share must be at least 1");
+            }
+            this.interactiveShare = interactiveShare;
+            return this;
+        }
+
+        public Builder maxWait(Duration maxWait) {
+            if (maxWait == null || maxWait.isNegative()) {
+                throw new IllegalArgumentException("Max wait cannot be negative");
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        public Builder ticker(LongSupplier ticker) {
+            if (ticker == null) {
+                throw new IllegalArgumentException("Ticker cannot be null");
+            }
+            this.ticker = ticker;
+            return this;
+        }
+
+        // Called with the lane and session of every acquire, before it is admitted or queued.
+        public Builder admissionObserver(BiConsumer<Lane, String> admissionObserver) {
+            this.admissionObserver = admissionObserver;
+            return this;
+        }
+
+        public AdaptiveConcurrencyLimiter build() {
+            if (minLimit > maxLimit) {
+                throw new IllegalArgumentException("Minimum limit cannot exceed the maximum limit");
+            }
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("Initial limit must be between the minimum and maximum limits");
+            }
+            return new AdaptiveConcurrencyLimiter(this);
+        }
+    }
+}
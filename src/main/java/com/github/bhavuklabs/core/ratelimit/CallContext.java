@@ -0,0 +1,133 @@
+package com.github.bhavuklabs.core.ratelimit;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter.Lane;
+
+// The limiter lane and session of the work on the current thread. LLMClient.complete carries neither, so callers
+// declare them around their work and the limited client reads them here. The context is thread-bound: work handed to
+// a pool keeps it only when the pool is wrapped with propagating(). Without a declared context a call is interactive
+// and shares one session with every other undeclared call.
+public final class CallContext {
+
+    public static final String SHARED_SESSION = "shared";
+
+    private static final CallContext DEFAULT = new CallContext(Lane.INTERACTIVE, SHARED_SESSION);
+    private static final ThreadLocal<CallContext> CURRENT = new ThreadLocal<>();
+
+    private final Lane lane;
+    private final String session;
+
+    private CallContext(Lane lane, String session) {
+        this.lane = lane;
+        this.session = session;
+    }
+
+    public static CallContext current() {
+        CallContext context = CURRENT.get();
+        return context != null ? context : DEFAULT;
+    }
+
+    // Use with try-with-resources; closing restores the context that was current before.
+    public static Scope enter(Lane lane, String session) {
+        if (lane == null) {
+            throw new IllegalArgumentException("Lane cannot be null");
+        }
+        CallContext previous = CURRENT.get();
+        CURRENT.set(new CallContext(lane, session != null ? session : SHARED_SESSION));
+        return new Scope(previous);
+    }
+
+    // Runs the task under the context of the thread that wraps it.
+    public static Runnable wrap(Runnable task) {
+        CallContext captured = CURRENT.get();
+        return () -> {
+            CallContext previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    // Every task submitted to the returned executor runs under its submitter's context.
+    public static ExecutorService propagating(ExecutorService executor) {
+        return new PropagatingExecutorService(executor);
+    }
+
+    public Lane getLane() {
+        return lane;
+    }
+
+    public String getSession() {
+        return session;
+    }
+
+    @Override
+    public String toString() {
+        return "CallContext{lane=" + lane + ", session=" + session + "}";
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final CallContext previous;
+
+        private Scope(CallContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    // submit, invokeAll and invokeAny all go through execute.
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
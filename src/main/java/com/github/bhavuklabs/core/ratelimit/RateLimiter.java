@@ -0,0 +1,169 @@
+package com.github.bhavuklabs.core.ratelimit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Lock-free GCRA (the virtual-scheduling form of a token bucket): the only state is the theoretical arrival time of
+// the next permit, advanced with a CAS. A request may run once it is no more than the burst tolerance ahead of now.
+public final class RateLimiter {
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier ticker;
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder acquiredCount = new LongAdder();
+    private final LongAdder delayedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalDelayNanos = new LongAdder();
+
+    private RateLimiter(Builder builder) {
+        this.name = builder.name;
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.burst = builder.burst;
+        this.emissionIntervalNanos = Math.max(1L, Math.round(TimeUnit.SECONDS.toNanos(1) / builder.permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (builder.burst - 1);
+        this.ticker = builder.ticker;
+        this.theoreticalArrival = new AtomicLong(ticker.getAsLong());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            long now = ticker.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            if (start - burstToleranceNanos > now) {
+                rejectedCount.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                acquiredCount.increment();
+                return true;
+            }
+        }
+    }
+
+    // Claims the next permit unconditionally and returns how long the caller must wait before using it.
+    public long reserve() {
+        while (true) {
+            long now = ticker.getAsLong();
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, now);
+            if (theoreticalArrival.compareAndSet(arrival, start + emissionIntervalNanos)) {
+                long delay = Math.max(0L, start - burstToleranceNanos - now);
+                acquiredCount.increment();
+                if (delay > 0) {
+                    delayedCount.increment();
+                    totalDelayNanos.add(delay);
+                }
+                return delay;
+            }
+        }
+    }
+
+    // Completes when the reserved permit becomes usable; no thread is parked while waiting.
+    public CompletableFuture<Void> acquire() {
+        long delay = reserve();
+        if (delay == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS));
+    }
+
+    public void acquireBlocking() throws InterruptedException {
+        long delay = reserve();
+        if (delay > 0) {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public long getAcquiredCount() {
+        return acquiredCount.sum();
+    }
+
+    public long getDelayedCount() {
+        return delayedCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getTotalDelayNanos() {
+        return totalDelayNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RateLimiter{name=%s, permitsPerSecond=%.2f, burst=%d, acquired=%d, delayed=%d, rejected=%d, totalDelayMs=%d}", name,
+            permitsPerSecond, burst, getAcquiredCount(), getDelayedCount(), getRejectedCount(), TimeUnit.NANOSECONDS.toMillis(getTotalDelayNanos()));
+    }
+
+    public static class Builder {
+
+        private String name = "default";
+        private double permitsPerSecond = 2.0;
+        private int burst = 1;
+        private LongSupplier ticker = System::nanoTime;
+
+        public Builder name(String name) {
+            if (name == null || name.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Rate limiter name cannot be null or empty");
+            }
+            this.name = name;
+            return this;
+        }
+
+        public Builder permitsPerSecond(double permitsPerSecond) {
+            if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+                throw new IllegalArgumentException("Permits per second must be positive and finite");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        public Builder burst(int burst) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("Burst must be at least 1");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        public Builder ticker(LongSupplier ticker) {
+            if (ticker == null) {
+                throw new IllegalArgumentException("Ticker cannot be null");
+            }
+            this.ticker = ticker;
+            return this;
+        }
+
+        public RateLimiter build() {
+            return new RateLimiter(this);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.bhavuklabs.core.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Recorded provider traffic. Interactions are filed under a channel ("llm", "search:TAVILY", ...) and the SHA-256 of
+// the request, so a cassette holds no prompts or queries, only answers. A request made several times replays its
+// recordings in order and then keeps repeating the last one. On disk it is one gzip-compressed binary file.
+public final class Cassette {
+
+    private static final int FILE_MAGIC = 0x52344A52;
+    private static final int FILE_FORMAT = 1;
+
+    public enum Result {
+        OK,
+        RATE_LIMITED,
+        TIMEOUT,
+        ERROR
+    }
+
+    private final Map<String, List<Interaction>> interactions = new LinkedHashMap<>();
+    private final Map<String, Integer> cursors = new HashMap<>();
+
+    public static Cassette empty() {
+        return new Cassette();
+    }
+
+    public static Cassette load(Path file) throws IOException {
+        Cassette cassette = new Cassette();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_FORMAT) {
+                throw new IOException("Not a Research4j cassette: " + file);
+            }
+            int keys = in.readInt();
+            for (int i = 0; i < keys; i++) {
+                String key = in.readUTF();
+                int count = in.readInt();
+                List<Interaction> recorded = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    Result result = Result.values()[in.readByte()];
+                    long latencyMillis = in.readLong();
+                    recorded.add(new Interaction(result, latencyMillis, readString(in), readString(in)));
+                }
+                cassette.interactions.put(key, recorded);
+            }
+        }
+        return cassette;
+    }
+
+    public synchronized void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath()
+            .getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_FORMAT);
+            out.writeInt(interactions.size());
+            for (Map.Entry<String, List<Interaction>> entry : interactions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue()
+                    .size());
+                for (Interaction interaction : entry.getValue()) {
+                    out.writeByte(interaction.result.ordinal());
+                    out.writeLong(interaction.latencyMillis);
+                    writeString(out, interaction.body);
+                    writeString(out, interaction.detail);
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public synchronized void record(String channel, String request, Interaction interaction) {
+        interactions.computeIfAbsent(keyFor(channel, request), k -> new ArrayList<>())
+            .add(interaction);
+    }
+
+    // The next recording for the request, or null if it was never recorded.
+    public synchronized Interaction next(String channel, String request) {
+        String key = keyFor(channel, request);
+        List<Interaction> recorded = interactions.get(key);
+        if (recorded == null || recorded.isEmpty()) {
+            return null;
+        }
+        int cursor = cursors.getOrDefault(key, 0);
+        cursors.put(key, cursor + 1);
+        return recorded.get(Math.min(cursor, recorded.size() - 1));
+    }
+
+    // Starts every request over from its first recording.
+    public synchronized void rewind() {
+        cursors.clear();
+    }
+
+    public synchronized int size() {
+        int size = 0;
+        for (List<Interaction> recorded : interactions.values()) {
+            size += recorded.size();
+        }
+        return size;
+    }
+
+    public synchronized int requestCount() {
+        return interactions.size();
+    }
+
+    private static String keyFor(String channel, String request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return channel + ":" + HexFormat.of()
+                .formatHex(digest.digest((request != null ? request : "").getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static final class Interaction {
+
+        private final Result result;
+        private final long latencyMillis;
+        // The response, or the error message of a failed call.
+        private final String body;
+        // Channel-specific extra data, such as the JSON of a structured LLM output.
+        private final String detail;
+
+        public Interaction(Result result, long latencyMillis, String body, String detail) {
+            if (result == null) {
+                throw new IllegalArgumentException("Result cannot be null");
+            }
+            this.result = result;
+            this.latencyMillis = Math.max(0L, latencyMillis);
+            this.body = body;
+            this.detail = detail;
+        }
+
+        public static Interaction success(long latencyMillis, String body, String detail) {
+            return new Interaction(Result.OK, latencyMillis, body, detail);
+        }
+
+        public static Interaction failure(Result result, long latencyMillis, String message) {
+            return new Interaction(result, latencyMillis, message, null);
+        }
+
+        public Result getResult() {
+            return result;
+        }
+
+        public long getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.github.bhavuklabs.core.replay;
+
+import java.time.Duration;
+import java.util.Random;
+
+// Latency and failures to inject into a replayed or stood-in provider call. Each call draws its latency from the
+// distribution and, independently, whether it is answered with a 429 or held until it times out. A fixed seed makes a
+// run repeatable as long as calls arrive in the same order.
+public final class FaultProfile {
+
+    public enum Outcome {
+        OK,
+        RATE_LIMITED,
+        TIMEOUT
+    }
+
+    @FunctionalInterface
+    public interface Latency {
+
+        // recordedMillis is the latency of the recorded call, or 0 when there is none.
+        long sampleMillis(Random random, long recordedMillis);
+
+        static Latency recorded() {
+            return (random, recordedMillis) -> recordedMillis;
+        }
+
+        static Latency scaled(double factor) {
+            if (factor < 0.0) {
+                throw new IllegalArgumentException("Scale factor cannot be negative");
+            }
+            return (random, recordedMillis) -> Math.round(recordedMillis * factor);
+        }
+
+        static Latency fixed(Duration latency) {
+            long millis = latency.toMillis();
+            return (random, recordedMillis) -> millis;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            long low = min.toMillis();
+            long high = max.toMillis();
+            if (low > high) {
+                throw new IllegalArgumentException("Minimum latency cannot exceed the maximum");
+            }
+            return (random, recordedMillis) -> low + (high > low ? (long) (random.nextDouble() * (high - low + 1)) : 0L);
+        }
+
+        // Long-tailed like real provider latency: half the calls finish within the median, 1 in 100 takes longer than p99.
+        static Latency logNormal(Duration median, Duration p99) {
+            double mu = Math.log(Math.max(1L, median.toMillis()));
+            double sigma = Math.max(0.0, (Math.log(Math.max(1L, p99.toMillis())) - mu) / 2.326);
+            return (random, recordedMillis) -> Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+    private static final FaultProfile NONE = builder().latency(Latency.fixed(Duration.ZERO))
+        .build();
+    private static final FaultProfile RECORDED = builder().build();
+
+    private final Latency latency;
+    private final double rateLimitProbability;
+    private final double timeoutProbability;
+    private final Duration timeout;
+    private final Random random;
+
+    private FaultProfile(Builder builder) {
+        this.latency = builder.latency;
+        this.rateLimitProbability = builder.rateLimitProbability;
+        this.timeoutProbability = builder.timeoutProbability;
+        this.timeout = builder.timeout;
+        this.random = new Random(builder.seed);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Answers immediately and never fails.
+    public static FaultProfile none() {
+        return NONE;
+    }
+
+    // Replays each call with the latency it was recorded with.
+    public static FaultProfile recorded() {
+        return RECORDED;
+    }
+
+    public Outcome nextOutcome() {
+        double roll = random.nextDouble();
+        if (roll < rateLimitProbability) {
+            return Outcome.RATE_LIMITED;
+        }
+        if (roll < rateLimitProbability + timeoutProbability) {
+            return Outcome.TIMEOUT;
+        }
+        return Outcome.OK;
+    }
+
+    public long nextLatencyMillis(long recordedMillis) {
+        return Math.max(0L, latency.sampleMillis(random, recordedMillis));
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public double getRateLimitProbability() {
+        return rateLimitProbability;
+    }
+
+    public double getTimeoutProbability() {
+        return timeoutProbability;
+    }
+
+    // Sleeps for the given time; false if interrupted.
+    public static boolean pause(long millis) {
+        if (millis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FaultProfile{rateLimitProbability=" + rateLimitProbability + ", timeoutProbability=" + timeoutProbability + ", timeout=" + timeout + "}";
+    }
+
+    public static final class Builder {
+
+        private Latency latency = Latency.recorded();
+        private double rateLimitProbability;
+        private double timeoutProbability;
+        private Duration timeout = Duration.ofSeconds(30);
+        private long seed = 42L;
+
+        private Builder() {
+        }
+
+        public Builder latency(Latency latency) {
+            if (latency == null) {
+                throw new IllegalArgumentException("Latency cannot be null");
+            }
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder rateLimitProbability(double rateLimitProbability) {
+            if (rateLimitProbability < 0.0 || rateLimitProbability > 1.0) {
+                throw new IllegalArgumentException("Rate limit probability must be between 0 and 1");
+            }
+            this.rateLimitProbability = rateLimitProbability;
+            return this;
+        }
+
+        public Builder timeoutProbability(double timeoutProbability) {
+            if (timeoutProbability < 0.0 || timeoutProbability > 1.0) {
+                throw new IllegalArgumentException("Timeout probability must be between 0 and 1");
+            }
+            this.timeoutProbability = timeoutProbability;
+            return this;
+        }
+
+        // How long a call chosen to time out is held before it fails.
+        public Builder timeout(Duration timeout) {
+            if (timeout == null || timeout.isNegative()) {
+                throw new IllegalArgumentException("Timeout cannot be negative");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public FaultProfile build() {
+            if (rateLimitProbability + timeoutProbability > 1.0) {
+                throw new IllegalArgumentException("Rate limit and timeout probabilities cannot add up to more than 1");
+            }
+            return new FaultProfile(this);
+        }
+    }
+}
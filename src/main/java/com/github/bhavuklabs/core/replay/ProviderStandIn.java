@@ -0,0 +1,474 @@
+package com.github.bhavuklabs.core.replay;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// A local HTTP server that answers like the OpenAI chat completions, Tavily search and Google Custom Search APIs, so
+// the real clients can run offline: point their base URLs here. Answers come from responder functions, by default
+// deterministic text derived from the prompt or query; search results link to pages served by the stand-in itself.
+// Each endpoint has its own fault profile for latency, 429s and hung requests.
+public final class ProviderStandIn implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(ProviderStandIn.class.getName());
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public enum Endpoint {
+        OPENAI,
+        TAVILY,
+        CUSTOM_SEARCH,
+        PAGE
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String baseUrl;
+    private final Function<String, String> llmResponder;
+    private final Function<String, List<CitationResult>> searchResponder;
+    private final Map<Endpoint, FaultProfile> faults;
+    private final Map<String, String> pages = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Counters> counters = new EnumMap<>(Endpoint.class);
+    private final AtomicLong completionIds = new AtomicLong();
+
+    private ProviderStandIn(Builder builder) throws IOException {
+        this.faults = new EnumMap<>(builder.faults);
+        for (Endpoint endpoint : Endpoint.values()) {
+            faults.putIfAbsent(endpoint, FaultProfile.none());
+            counters.put(endpoint, new Counters());
+        }
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", builder.port), 0);
+        this.baseUrl = "http://127.0.0.1:" + server.getAddress()
+            .getPort();
+        this.llmResponder = builder.llmResponder != null ? builder.llmResponder : prompt -> defaultAnswer(prompt, builder.completionWords);
+        this.searchResponder = builder.searchResponder != null ? builder.searchResponder : query -> defaultResults(query, builder.resultsPerQuery);
+
+        server.createContext("/v1/chat/completions", exchange -> handle(exchange, Endpoint.OPENAI, this::chatCompletion));
+        server.createContext("/search", exchange -> handle(exchange, Endpoint.TAVILY, this::tavilySearch));
+        server.createContext("/customsearch/v1", exchange -> handle(exchange, Endpoint.CUSTOM_SEARCH, this::customSearch));
+        server.createContext("/pages/", exchange -> handle(exchange, Endpoint.PAGE, this::page));
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Provider stand-in listening on " + baseUrl);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // For OpenAI clients, which append /chat/completions.
+    public String getOpenAiBaseUrl() {
+        return baseUrl + "/v1";
+    }
+
+    // For the Tavily client, which resolves "search" against it.
+    public String getTavilyBaseUrl() {
+        return baseUrl + "/";
+    }
+
+    public String getCustomSearchBaseUrl() {
+        return baseUrl;
+    }
+
+    public long getRequestCount(Endpoint endpoint) {
+        return counters.get(endpoint).requests.sum();
+    }
+
+    public long getRateLimitedCount(Endpoint endpoint) {
+        return counters.get(endpoint).rateLimited.sum();
+    }
+
+    public long getTimedOutCount(Endpoint endpoint) {
+        return counters.get(endpoint).timedOut.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("ProviderStandIn{url=").append(baseUrl);
+        for (Endpoint endpoint : Endpoint.values()) {
+            summary.append(", ")
+                .append(endpoint)
+                .append("=")
+                .append(getRequestCount(endpoint))
+                .append("/")
+                .append(getRateLimitedCount(endpoint))
+                .append("/")
+                .append(getTimedOutCount(endpoint));
+        }
+        return summary.append("}")
+            .toString();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        void respond(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint, Handler handler) throws IOException {
+        Counters counter = counters.get(endpoint);
+        counter.requests.increment();
+        FaultProfile profile = faults.get(endpoint);
+        try {
+            FaultProfile.Outcome outcome = profile.nextOutcome();
+            if (outcome == FaultProfile.Outcome.TIMEOUT) {
+                counter.timedOut.increment();
+                // Held past the client's timeout; a client that waits longer gets a gateway timeout.
+                if (FaultProfile.pause(profile.getTimeout()
+                    .toMillis())) {
+                    sendJson(exchange, 504, error("Upstream request timed out", "timeout"));
+                }
+                return;
+            }
+            if (!FaultProfile.pause(profile.nextLatencyMillis(0L))) {
+                return;
+            }
+            if (outcome == FaultProfile.Outcome.RATE_LIMITED) {
+                counter.rateLimited.increment();
+                exchange.getResponseHeaders()
+                    .set("Retry-After", "1");
+                sendJson(exchange, 429, error("Rate limit reached for requests", "rate_limit_exceeded"));
+                return;
+            }
+            handler.respond(exchange);
+        } catch (IOException | RuntimeException e) {
+            logger.fine("Stand-in " + endpoint + " request failed: " + e.getMessage());
+            try {
+                sendJson(exchange, 500, error(e.getMessage(), "server_error"));
+            } catch (IOException ignored) {
+                // The client has gone.
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void chatCompletion(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(readBody(exchange));
+        String model = request.path("model")
+            .asText("gpt-4o-mini");
+        String prompt = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role")
+                .asText())) {
+                prompt = message.path("content")
+                    .asText();
+            }
+        }
+        String answer = llmResponder.apply(prompt);
+        String id = "chatcmpl-" + completionIds.incrementAndGet();
+        long created = System.currentTimeMillis() / 1000L;
+
+        if (!request.path("stream")
+            .asBoolean(false)) {
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("role", "assistant");
+            message.put("content", answer);
+            Map<String, Object> choice = new LinkedHashMap<>();
+            choice.put("index", 0);
+            choice.put("message", message);
+            choice.put("finish_reason", "stop");
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("id", id);
+            response.put("object", "chat.completion");
+            response.put("created", created);
+            response.put("model", model);
+            response.put("choices", List.of(choice));
+            response.put("usage", usage(prompt, answer));
+            sendJson(exchange, 200, response);
+            return;
+        }
+
+        exchange.getResponseHeaders()
+            .set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (String token : answer.split("(?<= )")) {
+                out.write(("data: " + objectMapper.writeValueAsString(chunk(id, created, model, Map.of("content", token), null)) + "\n\n").getBytes(
+                    StandardCharsets.UTF_8));
+                out.flush();
+            }
+            out.write(("data: " + objectMapper.writeValueAsString(chunk(id, created, model, Map.of(), "stop")) + "\n\ndata: [DONE]\n\n").getBytes(
+                StandardCharsets.UTF_8));
+        }
+    }
+
+    private void tavilySearch(HttpExchange exchange) throws IOException {
+        JsonNode request = objectMapper.readTree(readBody(exchange));
+        String query = request.path("query")
+            .asText();
+        int maxResults = request.path("max_results")
+            .asInt(Integer.MAX_VALUE);
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (CitationResult citation : search(query, maxResults)) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("title", citation.getTitle());
+            result.put("url", citation.getUrl());
+            result.put("content", citation.getSnippet());
+            result.put("raw_content", citation.getContent());
+            result.put("score", citation.getRelevanceScore());
+            results.add(result);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("query", query);
+        response.put("results", results);
+        response.put("response_time", 0.1);
+        sendJson(exchange, 200, response);
+    }
+
+    private void customSearch(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = queryParameters(exchange.getRequestURI()
+            .getRawQuery());
+        String query = parameters.getOrDefault("q", "");
+        int maxResults = parameters.containsKey("num") ? Integer.parseInt(parameters.get("num")) : 10;
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (CitationResult citation : search(query, maxResults)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("kind", "customsearch#result");
+            item.put("title", citation.getTitle());
+            item.put("link", citation.getUrl());
+            item.put("displayLink", citation.getDomain());
+            item.put("snippet", citation.getSnippet());
+            items.add(item);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("kind", "customsearch#search");
+        response.put("searchInformation", Map.of("totalResults", String.valueOf(items.size())));
+        response.put("items", items);
+        sendJson(exchange, 200, response);
+    }
+
+    private void page(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI()
+            .getPath();
+        String content = pages.get(path);
+        if (content == null) {
+            sendJson(exchange, 404, error("No such page", "not_found"));
+            return;
+        }
+        String title = content.length() > 60 ? content.substring(0, 60) : content;
+        byte[] html = ("<!DOCTYPE html><html><head><title>" + escapeHtml(title) + "</title></head><body><main><article><p>" + escapeHtml(content)
+            .replace("\n\n", "</p><p>") + "</p></article></main></body></html>").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders()
+            .set("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, html.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(html);
+        }
+    }
+
+    // Results without a URL are given a page on the stand-in, so content fetching stays local too.
+    private List<CitationResult> search(String query, int maxResults) {
+        List<CitationResult> results = new ArrayList<>();
+        for (CitationResult citation : searchResponder.apply(query)) {
+            if (results.size() >= maxResults) {
+                break;
+            }
+            String url = citation.getUrl();
+            if (url == null || url.isEmpty()) {
+                String path = "/pages/" + Integer.toHexString(query.hashCode()) + "-" + results.size();
+                pages.put(path, citation.getContent() != null ? citation.getContent() : "");
+                url = baseUrl + path;
+            }
+            results.add(new CitationResult(citation.getTitle(), citation.getSnippet(), citation.getContent(), url, citation.getRelevanceScore()));
+        }
+        return results;
+    }
+
+    private static Map<String, Object> chunk(String id, long created, String model, Map<String, Object> delta, String finishReason) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+        Map<String, Object> chunk = new LinkedHashMap<>();
+        chunk.put("id", id);
+        chunk.put("object", "chat.completion.chunk");
+        chunk.put("created", created);
+        chunk.put("model", model);
+        chunk.put("choices", List.of(choice));
+        return chunk;
+    }
+
+    private static Map<String, Object> usage(String prompt, String answer) {
+        int promptTokens = (int) Math.ceil(prompt.length() / 4.0);
+        int completionTokens = (int) Math.ceil(answer.length() / 4.0);
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", promptTokens);
+        usage.put("completion_tokens", completionTokens);
+        usage.put("total_tokens", promptTokens + completionTokens);
+        return usage;
+    }
+
+    private static Map<String, Object> error(String message, String type) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("message", message);
+        error.put("type", type);
+        error.put("code", type);
+        return Map.of("error", error);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders()
+            .set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static String escapeHtml(String text) {
+        return text.replace("&", "&amp;")
+            .replace("<", "&lt;")
+            .replace(">", "&gt;");
+    }
+
+    private static String defaultAnswer(String prompt, int words) {
+        String subject = prompt.replaceAll("\\s+", " ")
+            .trim();
+        subject = subject.length() > 80 ? subject.substring(0, 80) : subject;
+        StringBuilder answer = new StringBuilder("Stand-in answer for: ").append(subject)
+            .append(".");
+        String[] filler = {"The", "evidence", "indicates", "that", "the", "approach", "scales", "with", "careful", "tuning", "of", "its", "parameters",
+            "and", "measured", "trade-offs."};
+        for (int i = 0; i < words; i++) {
+            answer.append(' ')
+                .append(filler[i % filler.length]);
+        }
+        return answer.toString();
+    }
+
+    private static List<CitationResult> defaultResults(String query, int count) {
+        List<CitationResult> results = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            String content = "Result " + i + " on " + query + ". " + ("This source discusses " + query + " in depth, with measurements, " +
+                "implementation notes and a comparison of alternatives. ").repeat(6);
+            results.add(new CitationResult("Result " + i + ": " + query, "Summary " + i + " of " + query, content, null, 1.0 - i * 0.05));
+        }
+        return results;
+    }
+
+    private static final class Counters {
+
+        final LongAdder requests = new LongAdder();
+        final LongAdder rateLimited = new LongAdder();
+        final LongAdder timedOut = new LongAdder();
+    }
+
+    public static final class Builder {
+
+        private int port;
+        private Function<String, String> llmResponder;
+        private Function<String, List<CitationResult>> searchResponder;
+        private int completionWords = 120;
+        private int resultsPerQuery = 5;
+        private final Map<Endpoint, FaultProfile> faults = new EnumMap<>(Endpoint.class);
+
+        private Builder() {
+        }
+
+        // 0, the default, picks a free port.
+        public Builder port(int port) {
+            if (port < 0 || port > 65535) {
+                throw new IllegalArgumentException("Port must be between 0 and 65535");
+            }
+            this.port = port;
+            return this;
+        }
+
+        // Maps the last user message of a chat completion request to the answer.
+        public Builder llmResponder(Function<String, String> llmResponder) {
+            this.llmResponder = llmResponder;
+            return this;
+        }
+
+        // Maps a search query to its results, for both search endpoints.
+        public Builder searchResponder(Function<String, List<CitationResult>> searchResponder) {
+            this.searchResponder = searchResponder;
+            return this;
+        }
+
+        public Builder completionWords(int completionWords) {
+            if (completionWords < 1) {
+                throw new IllegalArgumentException("Completion words must be positive");
+            }
+            this.completionWords = completionWords;
+            return this;
+        }
+
+        public Builder resultsPerQuery(int resultsPerQuery) {
+            if (resultsPerQuery < 0) {
+                throw new IllegalArgumentException("Results per query cannot be negative");
+            }
+            this.resultsPerQuery = resultsPerQuery;
+            return this;
+        }
+
+        public Builder faults(Endpoint endpoint, FaultProfile profile) {
+            if (endpoint == null || profile == null) {
+                throw new IllegalArgumentException("Endpoint and fault profile cannot be null");
+            }
+            faults.put(endpoint, profile);
+            return this;
+        }
+
+        public ProviderStandIn start() throws IOException {
+            return new ProviderStandIn(this);
+        }
+    }
+}
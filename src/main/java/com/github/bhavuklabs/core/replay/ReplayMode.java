@@ -0,0 +1,10 @@
+package com.github.bhavuklabs.core.replay;
+
+public enum ReplayMode {
+    // Calls the provider and records every answer and failure.
+    RECORD,
+    // Answers only from the cassette; a request that was never recorded fails.
+    REPLAY,
+    // Answers from the cassette and records what is missing from the provider.
+    REPLAY_OR_RECORD
+}
@@ -0,0 +1,290 @@
+package com.github.bhavuklabs.core.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import com.github.bhavuklabs.exceptions.utility.CircuitOpenException;
+
+// Count-based breaker: the outcomes of the last windowSize calls decide whether the provider is healthy. Once the
+// failure rate crosses the threshold, calls fail immediately for openDuration; after that a few probe calls are let
+// through, and the breaker closes only if all of them succeed. Calls are network-bound, so a monitor is cheap enough.
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier ticker;
+
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int probesIssued;
+    private int probesSucceeded;
+
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder openedCount = new LongAdder();
+
+    private CircuitBreaker(Builder builder) {
+        this.name = builder.name;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.openDurationNanos = builder.openDuration.toNanos();
+        this.halfOpenProbes = builder.halfOpenProbes;
+        this.ticker = builder.ticker;
+        this.window = new boolean[builder.windowSize];
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (ticker.getAsLong() - openedAtNanos < openDurationNanos) {
+                rejectedCount.increment();
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesIssued = 0;
+            probesSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                rejectedCount.increment();
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        successCount.increment();
+        if (state == State.HALF_OPEN) {
+            probesSucceeded++;
+            if (probesSucceeded >= halfOpenProbes) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        failureCount.increment();
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    // Returns a permit whose call was abandoned before it said anything about the provider, e.g. a cancelled hedge.
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesIssued > probesSucceeded) {
+            probesIssued--;
+        }
+    }
+
+    // Runs the call if permitted and records its outcome; cancellation counts as neither success nor failure.
+    public <T> CompletableFuture<T> execute(Supplier<? extends CompletableFuture<T>> call) {
+        if (!tryAcquirePermission()) {
+            return CompletableFuture.failedFuture(new CompletionException(new CircuitOpenException("Circuit open for " + name, name,
+                TimeUnit.NANOSECONDS.toMillis(getRetryAfterNanos()))));
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((value, failure) -> {
+            if (failure == null) {
+                onSuccess();
+            } else if (isCancellation(failure)) {
+                onIgnored();
+            } else {
+                onFailure();
+            }
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && ticker.getAsLong() - openedAtNanos >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized long getRetryAfterNanos() {
+        if (state != State.OPEN) {
+            return 0L;
+        }
+        return Math.max(0L, openDurationNanos - (ticker.getAsLong() - openedAtNanos));
+    }
+
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0.0 : (double) windowFailures / windowCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getSuccessCount() {
+        return successCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public long getOpenedCount() {
+        return openedCount.sum();
+    }
+
+    public static boolean isCancellation(Throwable failure) {
+        Throwable cause = failure;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof CancellationException;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = ticker.getAsLong();
+        openedCount.increment();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowNext = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CircuitBreaker{name=%s, state=%s, failureRate=%.2f, successes=%d, failures=%d, rejected=%d, opened=%d}", name, getState(),
+            getFailureRate(), getSuccessCount(), getFailureCount(), getRejectedCount(), getOpenedCount());
+    }
+
+    public static class Builder {
+
+        private String name = "default";
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 5;
+        private int windowSize = 20;
+        private Duration openDuration = Duration.ofSeconds(30);
+        private int halfOpenProbes = 2;
+        private LongSupplier ticker = System::nanoTime;
+
+        public Builder name(String name) {
+            if (name == null || name.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Circuit breaker name cannot be null or empty");
+            }
+            this.name = name;
+            return this;
+        }
+
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            if (!(failureRateThreshold > 0.0) || failureRateThreshold > 1.0) {
+                throw new IllegalArgumentException("Failure rate threshold must be in (0, 1]");
+            }
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        public Builder minimumCalls(int minimumCalls) {
+            if (minimumCalls < 1) {
+                throw new IllegalArgumentException("Minimum calls must be at least 1");
+            }
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        public Builder windowSize(int windowSize) {
+            if (windowSize < 1) {
+                throw new IllegalArgumentException("Window size must be at least 1");
+            }
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder openDuration(Duration openDuration) {
+            if (openDuration == null || openDuration.isNegative() || openDuration.isZero()) {
+                throw new IllegalArgumentException("Open duration must be positive");
+            }
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            if (halfOpenProbes < 1) {
+                throw new IllegalArgumentException("Half-open probes must be at least 1");
+            }
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        public Builder ticker(LongSupplier ticker) {
+            if (ticker == null) {
+                throw new IllegalArgumentException("Ticker cannot be null");
+            }
+            this.ticker = ticker;
+            return this;
+        }
+
+        public CircuitBreaker build() {
+            if (minimumCalls > windowSize) {
+                throw new IllegalArgumentException("Minimum calls cannot exceed the window size");
+            }
+            return new CircuitBreaker(this);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.bhavuklabs.core.resilience;
+
+import java.time.Duration;
+
+// A point in time by which a caller needs an answer. It is passed down rather than turned into a fixed timeout at
+// each layer, so retries, hedges and page downloads all share what is left of the caller's budget.
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0L, false);
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+
+    private Deadline(long deadlineNanos, boolean bounded) {
+        this.deadlineNanos = deadlineNanos;
+        this.bounded = bounded;
+    }
+
+    public static Deadline none() {
+        return NONE;
+    }
+
+    // A null timeout means no deadline.
+    public static Deadline after(Duration timeout) {
+        if (timeout == null) {
+            return NONE;
+        }
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    public boolean isExpired() {
+        return bounded && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    public long remainingNanos() {
+        if (!bounded) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0L, deadlineNanos - System.nanoTime());
+    }
+
+    // Unbounded deadlines report null, matching the "no timeout" convention of the option builders.
+    public Duration remaining() {
+        return bounded ? Duration.ofNanos(remainingNanos()) : null;
+    }
+
+    // The shorter of a layer's own timeout and the time left; a null timeout means the layer has none of its own.
+    public Duration cap(Duration timeout) {
+        if (!bounded) {
+            return timeout;
+        }
+        Duration remaining = remaining();
+        return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    public Deadline earliest(Deadline other) {
+        if (other == null || !other.bounded) {
+            return this;
+        }
+        if (!bounded) {
+            return other;
+        }
+        return deadlineNanos - other.deadlineNanos <= 0 ? this : other;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline{remainingMs=" + remainingNanos() / 1_000_000 + "}" : "Deadline{none}";
+    }
+}
@@ -0,0 +1,256 @@
+package com.github.bhavuklabs.core.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// Hedged requests: when the first attempt has not answered by the recent p95 latency, an identical backup attempt is
+// issued and whichever succeeds first wins. Only the slowest few percent of calls hedge, and the budget caps backups
+// at a fixed share of calls so a provider that slows down across the board does not also see its load double. With
+// many attempts already in flight, slowness is queueing rather than tail luck, and a duplicate would only lengthen it.
+// The losing attempt is left to finish, so its latency still reaches the tracker and its outcome the breaker.
+public final class Hedger {
+
+    // Every call past warm-up arms a timer. The default async pool falls back to a platform thread per task on
+    // single-core hosts, so the timers fire on virtual threads instead.
+    private static final Executor TIMER_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final String name;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final int minSamples;
+    private final double budgetRatio;
+    private final int maxInFlight;
+    private final LatencyTracker latencies;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder callCount = new LongAdder();
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    private Hedger(Builder builder) {
+        this.name = builder.name;
+        this.percentile = builder.percentile;
+        this.minDelayNanos = builder.minDelay.toNanos();
+        this.maxDelayNanos = builder.maxDelay.toNanos();
+        this.minSamples = builder.minSamples;
+        this.budgetRatio = builder.budgetRatio;
+        this.maxInFlight = builder.maxInFlight;
+        this.latencies = new LatencyTracker(builder.sampleSize);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // attempt.apply(0) is the primary request, attempt.apply(1) the hedge.
+    public <T> CompletableFuture<T> call(IntFunction<? extends CompletableFuture<T>> attempt) {
+        callCount.increment();
+        HedgedCall<T> call = new HedgedCall<>(attempt);
+        call.launch(0);
+        long delay = hedgeDelayNanos();
+        if (delay >= 0) {
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, TIMER_EXECUTOR)
+                .execute(call::hedge);
+        }
+        return call.result;
+    }
+
+    // -1 until enough latencies have been seen to know what "slow" means for this provider.
+    public long hedgeDelayNanos() {
+        if (latencies.count() < minSamples) {
+            return -1L;
+        }
+        long tail = latencies.percentile(percentile);
+        return Math.min(maxDelayNanos, Math.max(minDelayNanos, tail));
+    }
+
+    public void recordLatency(long latencyNanos) {
+        latencies.record(latencyNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCallCount() {
+        return callCount.sum();
+    }
+
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    private boolean tryTakeBudget() {
+        if (inFlight.get() > maxInFlight || hedgeCount.sum() + 1 > budgetRatio * callCount.sum()) {
+            return false;
+        }
+        hedgeCount.increment();
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        long delay = hedgeDelayNanos();
+        return String.format("Hedger{name=%s, calls=%d, hedges=%d, hedgeWins=%d, hedgeDelayMs=%s}", name, getCallCount(), getHedgeCount(), getHedgeWinCount(),
+            delay < 0 ? "warming up" : String.valueOf(TimeUnit.NANOSECONDS.toMillis(delay)));
+    }
+
+    private final class HedgedCall<T> {
+
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final IntFunction<? extends CompletableFuture<T>> attempt;
+        int outstanding = 1;
+        boolean primaryDone;
+        Throwable firstFailure;
+
+        HedgedCall(IntFunction<? extends CompletableFuture<T>> attempt) {
+            this.attempt = attempt;
+        }
+
+        void launch(int index) {
+            long start = System.nanoTime();
+            inFlight.incrementAndGet();
+            CompletableFuture<T> future;
+            try {
+                future = attempt.apply(index);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((value, failure) -> {
+                inFlight.decrementAndGet();
+                onComplete(index, start, value, failure);
+            });
+        }
+
+        void hedge() {
+            synchronized (this) {
+                if (result.isDone() || primaryDone || !tryTakeBudget()) {
+                    return;
+                }
+                outstanding++;
+            }
+            launch(1);
+        }
+
+        void onComplete(int index, long start, T value, Throwable failure) {
+            if (failure == null) {
+                recordLatency(System.nanoTime() - start);
+                if (result.complete(value) && index > 0) {
+                    hedgeWinCount.increment();
+                }
+            }
+            boolean exhausted;
+            synchronized (this) {
+                if (index == 0) {
+                    primaryDone = true;
+                }
+                outstanding--;
+                if (failure != null && firstFailure == null) {
+                    firstFailure = failure;
+                }
+                exhausted = outstanding == 0;
+            }
+            if (exhausted && failure != null) {
+                result.completeExceptionally(firstFailure);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private String name = "default";
+        private double percentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(10);
+        private int minSamples = 20;
+        private int sampleSize = 128;
+        private double budgetRatio = 0.1;
+        private int maxInFlight = 16;
+
+        public Builder name(String name) {
+            if (name == null || name.trim()
+                .isEmpty()) {
+                throw new IllegalArgumentException("Hedger name cannot be null or empty");
+            }
+            this.name = name;
+            return this;
+        }
+
+        public Builder percentile(double percentile) {
+            if (!(percentile > 0.0) || !(percentile < 1.0)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 1");
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        public Builder minDelay(Duration minDelay) {
+            if (minDelay == null || minDelay.isNegative()) {
+                throw new IllegalArgumentException("Minimum hedge delay cannot be negative");
+            }
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public Builder maxDelay(Duration maxDelay) {
+            if (maxDelay == null || maxDelay.isNegative() || maxDelay.isZero()) {
+                throw new IllegalArgumentException("Maximum hedge delay must be positive");
+            }
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder minSamples(int minSamples) {
+            if (minSamples < 1) {
+                throw new IllegalArgumentException("Minimum samples must be at least 1");
+            }
+            this.minSamples = minSamples;
+            return this;
+        }
+
+        public Builder sampleSize(int sampleSize) {
+            if (sampleSize < 1) {
+                throw new IllegalArgumentException("Sample size must be at least 1");
+            }
+            this.sampleSize = sampleSize;
+            return this;
+        }
+
+        public Builder budgetRatio(double budgetRatio) {
+            if (budgetRatio < 0.0 || budgetRatio > 1.0) {
+                throw new IllegalArgumentException("Hedge budget ratio must be between 0 and 1");
+            }
+            this.budgetRatio = budgetRatio;
+            return this;
+        }
+
+        public Builder maxInFlight(int maxInFlight) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("Max in-flight attempts must be at least 1");
+            }
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        public Hedger build() {
+            if (minDelay.compareTo(maxDelay) > 0) {
+                throw new IllegalArgumentException("Minimum hedge delay cannot exceed the maximum");
+            }
+            if (minSamples > sampleSize) {
+                throw new IllegalArgumentException("Minimum samples cannot exceed the sample size");
+            }
+            return new Hedger(this);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.github.bhavuklabs.core.resilience;
+
+import java.util.Arrays;
+
+// Latencies of the most recent calls in a fixed ring, so percentiles follow the provider as it speeds up or degrades.
+public final class LatencyTracker {
+
+    private final long[] samples;
+    private int next;
+    private long count;
+
+    public LatencyTracker(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = Math.max(0L, latencyNanos);
+        next = (next + 1) % samples.length;
+        count++;
+    }
+
+    // Nearest-rank percentile over the retained samples, or -1 before anything has been recorded.
+    public synchronized long percentile(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1");
+        }
+        int size = (int) Math.min(count, samples.length);
+        if (size == 0) {
+            return -1L;
+        }
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public int capacity() {
+        return samples.length;
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.bhavuklabs.core.stream;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+// A cold Flow.Publisher: each subscriber gets its own run of the source, started once it has subscribed, so nothing is
+// produced for nobody. Items pass through a SubmissionPublisher, which honours the subscriber's demand; a source that
+// gets ahead of a slow subscriber blocks in emit once the buffer is full, pushing back on the producer (for a model
+// stream, the connection it reads from) instead of queueing without bound.
+public final class StreamPublisher<T> implements Flow.Publisher<T> {
+
+    // Sources often block (a non-streaming completion, a whole research session), so they run on virtual threads.
+    private static final Executor EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+    private static final int BUFFER_CAPACITY = 1024;
+
+    private final Source<T> source;
+
+    private StreamPublisher(Source<T> source) {
+        this.source = source;
+    }
+
+    public static <T> StreamPublisher<T> create(Source<T> source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source cannot be null");
+        }
+        return new StreamPublisher<>(source);
+    }
+
+    // A one-item stream.
+    public static <T> StreamPublisher<T> just(T item) {
+        return create(emitter -> {
+            emitter.emit(item);
+            emitter.complete();
+        });
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+        SubmissionPublisher<T> channel = new SubmissionPublisher<>(EXECUTOR, BUFFER_CAPACITY);
+        channel.subscribe(subscriber);
+        Emitter<T> emitter = new Emitter<>(channel);
+        EXECUTOR.execute(() -> {
+            try {
+                source.run(emitter);
+            } catch (Throwable e) {
+                emitter.fail(e);
+            }
+        });
+    }
+
+    // Requests everything and hands each item to the consumer; the future completes with the stream. An exception
+    // from the consumer cancels the subscription and fails the future.
+    public static <T> CompletableFuture<Void> forEach(Flow.Publisher<T> publisher, Consumer<? super T> consumer) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(T item) {
+                if (done.isDone()) {
+                    return;
+                }
+                try {
+                    consumer.accept(item);
+                } catch (Throwable e) {
+                    subscription.cancel();
+                    done.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                done.completeExceptionally(error);
+            }
+
+            @Override
+            public void onComplete() {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    // Hands each token to onToken as it arrives and completes with the whole text.
+    public static CompletableFuture<String> collectText(Flow.Publisher<String> tokens, Consumer<String> onToken) {
+        StringBuilder text = new StringBuilder();
+        return forEach(tokens, token -> {
+            if (token == null) {
+                return;
+            }
+            text.append(token);
+            if (onToken != null) {
+                onToken.accept(token);
+            }
+        }).thenApply(ignored -> text.toString());
+    }
+
+    @FunctionalInterface
+    public interface Source<T> {
+
+        // May return before the stream ends, as long as the emitter is completed or failed eventually.
+        void run(Emitter<T> emitter) throws Exception;
+    }
+
+    // Thread-safe. Only the first complete or fail counts; later items are dropped.
+    public static final class Emitter<T> {
+
+        private final SubmissionPublisher<T> channel;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Emitter(SubmissionPublisher<T> channel) {
+            this.channel = channel;
+        }
+
+        public void emit(T item) {
+            if (item == null || closed.get() || isCancelled()) {
+                return;
+            }
+            try {
+                channel.submit(item);
+            } catch (IllegalStateException e) {
+                // Completed concurrently.
+            }
+        }
+
+        public void complete() {
+            if (closed.compareAndSet(false, true)) {
+                channel.close();
+            }
+        }
+
+        public void fail(Throwable error) {
+            if (closed.compareAndSet(false, true)) {
+                channel.closeExceptionally(error);
+            }
+        }
+
+        // The subscriber cancelled; a source that can stop early should.
+        public boolean isCancelled() {
+            return channel.getNumberOfSubscribers() == 0;
+        }
+    }
+}
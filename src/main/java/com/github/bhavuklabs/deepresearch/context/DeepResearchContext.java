@@ -5,6 +5,7 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.dedup.CitationDeduplicator;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
 import com.github.bhavuklabs.deepresearch.models.ResearchQuestion;
 
@@ -18,6 +19,7 @@ public class DeepResearchContext {
 
     
     private final List<CitationResult> allCitations;
+    private final CitationDeduplicator citationDeduplicator;
     private final Map<String, String> allInsights;
     private final List<ResearchQuestion> researchQuestions;
     private final Set<String> exploredTopics;
@@ -41,6 +43,7 @@ public class DeepResearchContext {
 
         
         this.allCitations = Collections.synchronizedList(new ArrayList<>());
+        this.citationDeduplicator = CitationDeduplicator.create();
         this.allInsights = new ConcurrentHashMap<>();
         this.researchQuestions = Collections.synchronizedList(new ArrayList<>());
         this.exploredTopics = Collections.synchronizedSet(new HashSet<>());
@@ -69,8 +72,10 @@ public class DeepResearchContext {
     }
 
     
+    // Near-duplicates of a citation already in the session (same page, mirror, syndicated copy) are dropped, across
+    // rounds as well as within one.
     public synchronized void addCitation(CitationResult citation) {
-        if (citation != null && !allCitations.contains(citation)) {
+        if (citation != null && citationDeduplicator.add(citation)) {
             allCitations.add(citation);
             threadSafeCitations.add(citation);
             updateAverageRelevanceScore();
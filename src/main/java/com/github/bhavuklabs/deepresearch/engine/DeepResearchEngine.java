@@ -6,7 +6,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -17,26 +16,36 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.dedup.CitationDeduplicator;
 import com.github.bhavuklabs.citation.service.CitationService;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+import com.github.bhavuklabs.core.resilience.Deadline;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.deepresearch.context.DeepResearchContext;
 import com.github.bhavuklabs.deepresearch.context.MemoryManager;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchProgress;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchResult;
+import com.github.bhavuklabs.deepresearch.models.ResearchPhase;
 import com.github.bhavuklabs.deepresearch.models.ResearchQuestion;
 import com.github.bhavuklabs.deepresearch.models.ResearchResults;
+import com.github.bhavuklabs.deepresearch.models.ResearchUpdate;
 import com.github.bhavuklabs.deepresearch.pipeline.ContextAwareChunker;
 import com.github.bhavuklabs.deepresearch.pipeline.HierarchicalSynthesizer;
+import com.github.bhavuklabs.deepresearch.pipeline.MapReduceSynthesizer;
 import com.github.bhavuklabs.deepresearch.pipeline.NarrativeBuilder;
 import com.github.bhavuklabs.deepresearch.pipeline.ResearchSupervisor;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
@@ -52,12 +61,16 @@ public class DeepResearchEngine {
     private static final int CONTEXT_WINDOW_LIMIT = 1000000;
     private static final int MIN_QUESTIONS_TO_PROCEED = 2;
     private static final int MIN_SOURCES_FOR_QUALITY = 15;
+    private static final Duration ROUND_SEARCH_TIMEOUT = Duration.ofSeconds(60);
+    private static final long ROUND_COLLECT_GRACE_MILLIS = 1000;
+    private static final String INSIGHT_STAGE = "InsightSynthesis";
 
     private final LLMClient llmClient;
     private final CitationService citationService;
     private final ResearchSupervisor researchSupervisor;
     private final NarrativeBuilder narrativeBuilder;
     private final HierarchicalSynthesizer hierarchicalSynthesizer;
+    private final MapReduceSynthesizer synthesisEngine;
     private final ContextAwareChunker contextChunker;
     private final ExecutorService mainExecutor;
     private final ScheduledExecutorService scheduledExecutor;
@@ -73,10 +86,14 @@ public class DeepResearchEngine {
         this.llmClient = llmClient;
         this.citationService = citationService;
 
-        this.mainExecutor = Executors.newFixedThreadPool(8);
+        // Tasks keep the session's limiter lane on whichever pool thread runs them.
+        this.mainExecutor = CallContext.propagating(Executors.newFixedThreadPool(8));
         this.scheduledExecutor = Executors.newScheduledThreadPool(2);
 
-        this.hierarchicalSynthesizer = new HierarchicalSynthesizer(llmClient);
+        this.synthesisEngine = MapReduceSynthesizer.builder()
+            .llmClient(llmClient)
+            .build();
+        this.hierarchicalSynthesizer = new HierarchicalSynthesizer(synthesisEngine);
         this.contextChunker = new ContextAwareChunker(CONTEXT_WINDOW_LIMIT);
         this.narrativeBuilder = new NarrativeBuilder(llmClient, hierarchicalSynthesizer, mainExecutor);
         this.researchSupervisor = new ResearchSupervisor(llmClient, citationService, mainExecutor);
@@ -89,18 +106,29 @@ public class DeepResearchEngine {
     }
 
     public CompletableFuture<DeepResearchResult> executeDeepResearch(String originalQuery, DeepResearchConfig config) {
+        return executeDeepResearch(originalQuery, config, update -> {
+        });
+    }
+
+    // Phase changes and the narrative, token by token as it is written, end with a COMPLETED update carrying the
+    // result. The listener runs on the research threads, so a slow one slows the session down.
+    public CompletableFuture<DeepResearchResult> executeDeepResearch(String originalQuery, DeepResearchConfig config, Consumer<ResearchUpdate> listener) {
         return CompletableFuture.supplyAsync(() -> {
             String sessionId = generateSessionId();
             Instant startTime = Instant.now();
 
-            try {
+            // Deep research runs for minutes in the background; interactive research goes ahead of it for LLM capacity.
+            CallContext.Scope scope = CallContext.enter(AdaptiveConcurrencyLimiter.Lane.BACKGROUND, sessionId);
+            try (scope) {
                 logger.info("Starting Deep Research (Perplexity-style) session: " + sessionId + " for query: " + originalQuery);
 
                 DeepResearchContext context = initializeResearchContext(sessionId, originalQuery, config);
                 activeSessions.put(sessionId, new DeepResearchSession(context, startTime));
 
+                listener.accept(ResearchUpdate.phase(sessionId, ResearchPhase.INITIAL_ANALYSIS));
                 ResearchPlan researchPlan = generateResearchPlan(originalQuery, context);
 
+                listener.accept(ResearchUpdate.phase(sessionId, ResearchPhase.MULTI_DIMENSIONAL_RESEARCH));
                 ResearchResults comprehensiveResults = executeEnhancedMultiRoundResearch(context);
 
                 if (comprehensiveResults.getAllCitations()
@@ -109,9 +137,11 @@ public class DeepResearchEngine {
                     comprehensiveResults = executeEnhancedFallbackResearch(originalQuery, context, comprehensiveResults);
                 }
 
+                listener.accept(ResearchUpdate.phase(sessionId, ResearchPhase.SYNTHESIS));
                 String synthesizedKnowledge = synthesizeComprehensiveKnowledge(comprehensiveResults, context);
 
-                String comprehensiveNarrative = narrativeBuilder.buildComprehensiveNarrative(context, synthesizedKnowledge);
+                listener.accept(ResearchUpdate.phase(sessionId, ResearchPhase.REPORT_GENERATION));
+                String comprehensiveNarrative = narrativeBuilder.buildComprehensiveNarrative(context, synthesizedKnowledge, listener);
 
                 DeepResearchResult finalResult = enhanceAndValidateResult(comprehensiveNarrative, comprehensiveResults, context);
 
@@ -123,16 +153,30 @@ public class DeepResearchEngine {
                     comprehensiveResults.getAllCitations()
                         .size() + " sources");
 
+                listener.accept(ResearchUpdate.completed(sessionId, finalResult));
                 return finalResult;
 
             } catch (Exception e) {
                 logger.severe("Deep Research failed for session: " + sessionId + " - " + e.getMessage());
                 activeSessions.remove(sessionId);
-                return createRobustFallbackResult(originalQuery, e, config);
+                DeepResearchResult fallbackResult = createRobustFallbackResult(originalQuery, e, config);
+                listener.accept(ResearchUpdate.completed(sessionId, fallbackResult));
+                return fallbackResult;
             }
         }, mainExecutor);
     }
 
+    // The updates of executeDeepResearch as a stream; each subscription runs its own session.
+    public Flow.Publisher<ResearchUpdate> streamDeepResearch(String originalQuery, DeepResearchConfig config) {
+        return StreamPublisher.create(emitter -> executeDeepResearch(originalQuery, config, emitter::emit).whenComplete((result, error) -> {
+            if (error != null) {
+                emitter.fail(error);
+            } else {
+                emitter.complete();
+            }
+        }));
+    }
+
     private ResearchPlan generateResearchPlan(String originalQuery, DeepResearchContext context) {
         try {
             String planPrompt = buildResearchPlanPrompt(originalQuery, context);
@@ -168,11 +212,12 @@ public class DeepResearchEngine {
                     continue;
                 }
 
+                Deadline roundDeadline = Deadline.after(ROUND_SEARCH_TIMEOUT);
                 List<CompletableFuture<QuestionResearchResult>> searchFutures = roundQuestions.stream()
-                    .map(question -> executeQuestionResearchWithResult(question, context, exploredTopics))
+                    .map(question -> executeQuestionResearchWithResult(question, context, exploredTopics, roundDeadline))
                     .collect(Collectors.toList());
 
-                List<QuestionResearchResult> roundResults = collectRoundResults(searchFutures, round);
+                List<QuestionResearchResult> roundResults = collectRoundResults(searchFutures, round, roundDeadline);
 
                 Map<String, String> roundInsights = synthesizeRoundInsightsSafely(roundResults, context);
 
@@ -253,60 +298,65 @@ public class DeepResearchEngine {
         return null;
     }
 
+    // Query generation stays on the engine pool; the searches for one question then run concurrently through
+    // CitationService.searchAsync instead of one after another on a pool thread. Every search shares the round's
+    // deadline, so a degraded provider costs the round at most that long instead of a timeout per question.
     private CompletableFuture<QuestionResearchResult> executeQuestionResearchWithResult(ResearchQuestion question, DeepResearchContext context,
-        Set<String> exploredTopics) {
+        Set<String> exploredTopics, Deadline roundDeadline) {
         return CompletableFuture.supplyAsync(() -> {
-            try {
                 logger.info("Researching question: " + truncateString(question.getQuestion(), 100));
-
-                List<String> searchQueries = generateSearchQueries(question, context);
-                List<CitationResult> questionResults = new ArrayList<>();
-                Set<String> extractedTopics = new HashSet<>();
-
-                for (String query : searchQueries) {
-                    try {
-                        List<CitationResult> queryResults = citationService.search(query);
-
-                        List<CitationResult> filteredResults = queryResults.stream()
+                return generateSearchQueries(question, context);
+            }, mainExecutor)
+            .thenCompose(searchQueries -> {
+                List<CompletableFuture<List<CitationResult>>> queryFutures = searchQueries.stream()
+                    .map(query -> citationService.searchAsync(query, roundDeadline)
+                        .thenApply(queryResults -> queryResults.stream()
                             .filter(citation -> citation != null && citation.isValid())
                             .filter(citation -> citation.getRelevanceScore() >= 0.4)
                             .filter(citation -> citation.getContent() != null && citation.getContent()
                                 .length() > 150)
                             .limit(12)
-                            .collect(Collectors.toList());
-
-                        questionResults.addAll(filteredResults);
-
-                        extractedTopics.addAll(extractTopicsFromCitations(filteredResults));
-
-                        Thread.sleep(800);
-
-                    } catch (Exception e) {
-                        logger.warning("Search failed for query '" + query + "': " + e.getMessage());
-                    }
-                }
+                            .collect(Collectors.toList()))
+                        .exceptionally(e -> {
+                            logger.warning("Search failed for query '" + query + "': " + e.getMessage());
+                            return new ArrayList<>();
+                        }))
+                    .collect(Collectors.toList());
 
-                List<CitationResult> uniqueResults = removeDuplicateCitations(questionResults);
-                uniqueResults.sort((c1, c2) -> Double.compare(c2.getRelevanceScore(), c1.getRelevanceScore()));
+                return CompletableFuture.allOf(queryFutures.toArray(new CompletableFuture<?>[0]))
+                    .thenApply(ignored -> {
+                        List<CitationResult> questionResults = new ArrayList<>();
+                        Set<String> extractedTopics = new HashSet<>();
+                        for (CompletableFuture<List<CitationResult>> queryFuture : queryFutures) {
+                            List<CitationResult> filteredResults = queryFuture.join();
+                            questionResults.addAll(filteredResults);
+                            extractedTopics.addAll(extractTopicsFromCitations(filteredResults));
+                        }
 
-                context.markQuestionAsResearched(question);
+                        List<CitationResult> uniqueResults = removeDuplicateCitations(questionResults);
+                        uniqueResults.sort((c1, c2) -> Double.compare(c2.getRelevanceScore(), c1.getRelevanceScore()));
 
-                logger.info("Question research completed: " + uniqueResults.size() + " citations found");
-                return new QuestionResearchResult(question, uniqueResults, extractedTopics);
+                        context.markQuestionAsResearched(question);
 
-            } catch (Exception e) {
+                        logger.info("Question research completed: " + uniqueResults.size() + " citations found");
+                        return new QuestionResearchResult(question, uniqueResults, extractedTopics);
+                    });
+            })
+            .exceptionally(e -> {
                 logger.warning("Question research failed: " + question.getQuestion() + " - " + e.getMessage());
                 return new QuestionResearchResult(question, new ArrayList<>(), new HashSet<>());
-            }
-        }, mainExecutor);
+            });
     }
 
-    private List<QuestionResearchResult> collectRoundResults(List<CompletableFuture<QuestionResearchResult>> searchFutures, int round) {
+    // Searches resolve with partial results at the round deadline; the grace only covers merging them.
+    private List<QuestionResearchResult> collectRoundResults(List<CompletableFuture<QuestionResearchResult>> searchFutures, int round,
+        Deadline roundDeadline) {
         List<QuestionResearchResult> roundResults = new ArrayList<>();
 
         for (CompletableFuture<QuestionResearchResult> future : searchFutures) {
             try {
-                QuestionResearchResult result = future.get(60, TimeUnit.SECONDS);
+                long waitNanos = roundDeadline.remainingNanos() + TimeUnit.MILLISECONDS.toNanos(ROUND_COLLECT_GRACE_MILLIS);
+                QuestionResearchResult result = future.get(waitNanos, TimeUnit.NANOSECONDS);
                 if (result != null && !result.getCitations()
                     .isEmpty()) {
                     roundResults.add(result);
@@ -681,55 +731,7 @@ public class DeepResearchEngine {
     }
 
     private List<CitationResult> removeDuplicateCitations(List<CitationResult> citations) {
-        Map<String, CitationResult> uniqueCitations = new LinkedHashMap<>();
-        Set<String> seenTitles = new HashSet<>();
-
-        for (CitationResult citation : citations) {
-            if (citation == null || !citation.isValid()) {
-                continue;
-            }
-
-            String url = citation.getUrl();
-            String title = citation.getTitle();
-
-            if (url != null && uniqueCitations.containsKey(url)) {
-                continue;
-            }
-
-            boolean similarTitleExists = seenTitles.stream()
-                .anyMatch(seenTitle -> calculateTitleSimilarity(title, seenTitle) > 0.8);
-
-            if (!similarTitleExists) {
-                uniqueCitations.put(url != null ? url : title + "_" + System.nanoTime(), citation);
-                if (title != null) {
-                    seenTitles.add(title);
-                }
-            }
-        }
-
-        return new ArrayList<>(uniqueCitations.values());
-    }
-
-    private double calculateTitleSimilarity(String title1, String title2) {
-        if (title1 == null || title2 == null) {
-            return 0.0;
-        }
-
-        String[] words1 = title1.toLowerCase()
-            .split("\\W+");
-        String[] words2 = title2.toLowerCase()
-            .split("\\W+");
-
-        Set<String> set1 = new HashSet<>(Arrays.asList(words1));
-        Set<String> set2 = new HashSet<>(Arrays.asList(words2));
-
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
-
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+        return CitationDeduplicator.deduplicate(citations);
     }
 
     private boolean isStopWord(String word) {
@@ -740,24 +742,19 @@ public class DeepResearchEngine {
         return stopWords.contains(word.toLowerCase());
     }
 
+    // One insight per question, all synthesized at once; a question whose synthesis fails gets the fallback insight.
     private Map<String, String> synthesizeRoundInsightsSafely(List<QuestionResearchResult> results, DeepResearchContext context) {
-        Map<String, String> insights = new HashMap<>();
+        Map<QuestionResearchResult, String> synthesized = synthesisEngine.map(INSIGHT_STAGE, results,
+            result -> synthesizeQuestionInsightSafely(result.getQuestion(), result.getCitations(), context),
+            result -> createFallbackInsight(result.getCitations(), result.getQuestion()));
 
-        for (QuestionResearchResult result : results) {
-            ResearchQuestion question = result.getQuestion();
-            List<CitationResult> questionResults = result.getCitations();
-
-            try {
-                String insight = synthesizeQuestionInsightSafely(question, questionResults, context);
-                insights.put(question.getQuestion(), insight);
-                context.addInsight(question.getQuestion(), insight);
-
-            } catch (Exception e) {
-                logger.warning("Insight synthesis failed for question: " + question.getQuestion());
-                String fallbackInsight = createFallbackInsight(questionResults, question);
-                insights.put(question.getQuestion(), fallbackInsight);
-                context.addInsight(question.getQuestion(), fallbackInsight);
-            }
+        Map<String, String> insights = new HashMap<>();
+        for (Map.Entry<QuestionResearchResult, String> entry : synthesized.entrySet()) {
+            String question = entry.getKey()
+                .getQuestion()
+                .getQuestion();
+            insights.put(question, entry.getValue());
+            context.addInsight(question, entry.getValue());
         }
 
         return insights;
@@ -950,15 +947,7 @@ public class DeepResearchEngine {
 
             Map<String, List<String>> thematicInsights = groupInsightsByTheme(results.getInsights());
 
-            Map<String, String> synthesizedThemes = new HashMap<>();
-            for (Map.Entry<String, List<String>> themeEntry : thematicInsights.entrySet()) {
-                String themeKey = themeEntry.getKey();
-                List<String> themeInsights = themeEntry.getValue();
-
-                String themeSynthesis = hierarchicalSynthesizer.synthesizeIterativeInsights(Map.of(themeKey, themeInsights), context)
-                    .get(themeKey);
-                synthesizedThemes.put(themeKey, themeSynthesis);
-            }
+            Map<String, String> synthesizedThemes = hierarchicalSynthesizer.synthesizeIterativeInsights(thematicInsights, context);
 
             return hierarchicalSynthesizer.synthesizeHierarchically(synthesizedThemes, context);
 
@@ -1319,6 +1308,7 @@ public class DeepResearchEngine {
             logger.info("Shutting down Enhanced DeepResearchEngine...");
 
             researchSupervisor.shutdown();
+            synthesisEngine.close();
             mainExecutor.shutdown();
             scheduledExecutor.shutdown();
 
@@ -12,7 +12,9 @@ import com.github.bhavuklabs.deepresearch.models.ResearchResults;
 import com.github.bhavuklabs.deepresearch.models.PersonalizedMarkdownConfig;
 import com.github.bhavuklabs.builders.ConnectedContentBuilder;
 import com.github.bhavuklabs.services.ContentVectorizer;
+import com.github.bhavuklabs.services.ContentVectorizer.ContentChunk;
 import com.github.bhavuklabs.services.ContentVectorizer.RelatedContent;
+import com.github.bhavuklabs.services.impl.BatchingEmbeddingService;
 import com.github.bhavuklabs.services.impl.ProductionEmbeddingService;
 import com.github.bhavuklabs.vector.VectorStore;
 
@@ -22,22 +24,30 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
     private static final Logger logger = Logger.getLogger(VectorEnhancedDeepResearchEngine.class.getName());
 
     private final VectorStore vectorStore;
+    private final BatchingEmbeddingService embeddingService;
     private final ContentVectorizer contentVectorizer;
     private final Map<String, ConnectedContentBuilder> sessionBuilders;
     private final Map<String, VectorResearchSession> vectorSessions;
     private final LLMClient llmClient;
     
     public VectorEnhancedDeepResearchEngine(LLMClient llmClient, CitationService citationService) {
+        this(llmClient, citationService, new VectorStore(384)); // 384-dimension vectors
+    }
+    
+    public VectorEnhancedDeepResearchEngine(LLMClient llmClient, CitationService citationService, VectorStore vectorStore) {
         super(llmClient, citationService);
 
         this.llmClient = llmClient;
 
-        this.vectorStore = new VectorStore(384); // 384-dimension vectors
-        this.contentVectorizer = new ContentVectorizer(vectorStore, new ProductionEmbeddingService());
+        this.vectorStore = vectorStore;
+        this.embeddingService = BatchingEmbeddingService.builder(new ProductionEmbeddingService())
+            .build();
+        this.contentVectorizer = new ContentVectorizer(vectorStore, embeddingService);
         this.sessionBuilders = new ConcurrentHashMap<>();
         this.vectorSessions = new ConcurrentHashMap<>();
         
-        logger.info("Initialized VectorEnhancedDeepResearchEngine with 384-dimension vector store");
+        logger.info("Initialized VectorEnhancedDeepResearchEngine with " + vectorStore.getConfig().getDimensions() + "-dimension vector store"
+            + (vectorStore.isPersistent() ? " (persistent)" : ""));
     }
     
     
@@ -124,8 +134,8 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
     private void storeResearchInVectorStore(DeepResearchResult result, VectorResearchSession session) {
         try {
 
-            contentVectorizer.storeContent(
-                session.getSessionId(),
+            List<ContentChunk> chunks = new ArrayList<>();
+            chunks.add(new ContentChunk(
                 session.getSessionId() + "_narrative",
                 result.getNarrative(),
                 Map.of("type", "narrative", 
@@ -133,10 +143,9 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
                        "topic", session.getTopic(),
                        "subtopic", "narrative",
                        "section_type", "main_content")
-            );
+            ));
 
-            contentVectorizer.storeContent(
-                session.getSessionId(),
+            chunks.add(new ContentChunk(
                 session.getSessionId() + "_summary",
                 result.getExecutiveSummary(),
                 Map.of("type", "summary", 
@@ -144,12 +153,11 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
                        "topic", session.getTopic(),
                        "subtopic", "summary",
                        "section_type", "executive_summary")
-            );
+            ));
 
             result.getAllCitations().forEach(citation -> {
                 String citationId = session.getSessionId() + "_citation_" + citation.getUrl().hashCode();
-                contentVectorizer.storeContent(
-                    session.getSessionId(),
+                chunks.add(new ContentChunk(
                     citationId,
                     citation.getContent(),
                     Map.of("type", "citation", 
@@ -158,8 +166,10 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
                            "subtopic", "citation",
                            "section_type", "reference_material",
                            "url", citation.getUrl())
-                );
+                ));
             });
+
+            contentVectorizer.storeContentBatch(session.getSessionId(), chunks);
             
         } catch (Exception e) {
             logger.warning("Error storing research in vector store: " + e.getMessage());
@@ -327,7 +337,13 @@ public class VectorEnhancedDeepResearchEngine extends DeepResearchEngine {
     private LLMClient getLLMClient() {
         return this.llmClient;
     }
-    
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        embeddingService.close();
+    }
+
     
     private static class VectorResearchSession {
         private final String sessionId;
@@ -0,0 +1,76 @@
+package com.github.bhavuklabs.deepresearch.models;
+
+public class ResearchUpdate {
+
+    public enum Type {
+        PHASE,
+        SECTION_TOKEN,
+        SECTION_COMPLETED,
+        COMPLETED
+    }
+
+    private final Type type;
+    private final String sessionId;
+    private final ResearchPhase phase;
+    private final String section;
+    private final String text;
+    private final DeepResearchResult result;
+
+    private ResearchUpdate(Type type, String sessionId, ResearchPhase phase, String section, String text, DeepResearchResult result) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.phase = phase;
+        this.section = section;
+        this.text = text;
+        this.result = result;
+    }
+
+    public static ResearchUpdate phase(String sessionId, ResearchPhase phase) {
+        return new ResearchUpdate(Type.PHASE, sessionId, phase, null, phase.getDescription(), null);
+    }
+
+    // A piece of a narrative section as the model writes it. Sections are written in parallel, so tokens of
+    // different sections interleave; group them by getSection().
+    public static ResearchUpdate sectionToken(String sessionId, String section, String token) {
+        return new ResearchUpdate(Type.SECTION_TOKEN, sessionId, ResearchPhase.REPORT_GENERATION, section, token, null);
+    }
+
+    // The finished section, after post-processing; replaces what its tokens spelled out.
+    public static ResearchUpdate sectionCompleted(String sessionId, String section, String content) {
+        return new ResearchUpdate(Type.SECTION_COMPLETED, sessionId, ResearchPhase.REPORT_GENERATION, section, content, null);
+    }
+
+    public static ResearchUpdate completed(String sessionId, DeepResearchResult result) {
+        return new ResearchUpdate(Type.COMPLETED, sessionId, ResearchPhase.COMPLETED, null, null, result);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public ResearchPhase getPhase() {
+        return phase;
+    }
+
+    public String getSection() {
+        return section;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public DeepResearchResult getResult() {
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ResearchUpdate{" + "type=" + type + ", phase=" + phase + (section != null ? ", section='" + section + "'" : "") + ", text=" +
+            (text != null ? text.length() + " chars" : "none") + "}";
+    }
+}
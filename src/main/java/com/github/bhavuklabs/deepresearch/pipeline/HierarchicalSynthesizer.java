@@ -4,7 +4,6 @@ import java.util.*;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.core.contracts.LLMClient;
-import com.github.bhavuklabs.core.payloads.LLMResponse;
 import com.github.bhavuklabs.deepresearch.context.DeepResearchContext;
 
 
@@ -12,10 +11,21 @@ public class HierarchicalSynthesizer {
 
     private static final Logger logger = Logger.getLogger(HierarchicalSynthesizer.class.getName());
 
-    private final LLMClient llmClient;
+    // Stages the synthesis calls are reported under, since they all run through the shared synthesis engine.
+    private static final String GROUP_STAGE = "GroupSynthesis";
+    private static final String COHERENCE_STAGE = "CoherenceSynthesis";
+    private static final String THEME_STAGE = "ThemeSynthesis";
+
+    private final MapReduceSynthesizer synthesisEngine;
 
     public HierarchicalSynthesizer(LLMClient llmClient) {
-        this.llmClient = llmClient;
+        this(MapReduceSynthesizer.builder()
+            .llmClient(llmClient)
+            .build());
+    }
+
+    public HierarchicalSynthesizer(MapReduceSynthesizer synthesisEngine) {
+        this.synthesisEngine = synthesisEngine;
     }
 
     
@@ -41,18 +51,16 @@ public class HierarchicalSynthesizer {
     }
 
     
+    // All groups at once; a group that fails keeps its sections as they are.
     private Map<String, String> synthesizeRelatedSections(Map<String, String> sections) {
         Map<String, List<String>> groups = groupRelatedSections(sections);
-        Map<String, String> syntheses = new HashMap<>();
-
-        for (Map.Entry<String, List<String>> group : groups.entrySet()) {
-            String groupSynthesis = synthesizeSectionGroup(group.getValue(), group.getKey());
-            syntheses.put(group.getKey(), groupSynthesis);
-            logger.info("Synthesized group: " + group.getKey() +
-                " (" + group.getValue().size() + " sections)");
-        }
 
-        return syntheses;
+        return synthesisEngine.map(GROUP_STAGE, groups.keySet(), groupKey -> {
+            String groupSynthesis = synthesizeSectionGroup(groups.get(groupKey), groupKey);
+            logger.info("Synthesized group: " + groupKey +
+                " (" + groups.get(groupKey).size() + " sections)");
+            return groupSynthesis;
+        }, groupKey -> String.join("\n\n", groups.get(groupKey)));
     }
 
     
@@ -105,18 +113,9 @@ public class HierarchicalSynthesizer {
             return groupSections.get(0);
         }
 
-        try {
-            
-            String synthesisPrompt = buildGroupSynthesisPrompt(groupSections, groupType);
-
-            LLMResponse<String> response = llmClient.complete(synthesisPrompt, String.class);
-            return response.structuredOutput();
-
-        } catch (Exception e) {
-            logger.warning("Group synthesis failed for " + groupType + ": " + e.getMessage());
-            
-            return String.join("\n\n", groupSections);
-        }
+        return synthesisEngine.reduce(GROUP_STAGE, groupSections,
+            batch -> buildGroupSynthesisPrompt(batch, groupType),
+            batch -> String.join("\n\n", batch));
     }
 
     
@@ -158,7 +157,7 @@ public class HierarchicalSynthesizer {
     
     private String synthesizeAcrossGroups(Map<String, String> groupSyntheses,
         DeepResearchContext context) {
-        StringBuilder synthesis = new StringBuilder();
+        List<String> synthesis = new ArrayList<>();
 
         
         String[] preferredOrder = {
@@ -169,20 +168,18 @@ public class HierarchicalSynthesizer {
         
         for (String groupKey : preferredOrder) {
             if (groupSyntheses.containsKey(groupKey)) {
-                synthesis.append(createGroupTransition(groupKey));
-                synthesis.append(groupSyntheses.get(groupKey)).append("\n\n");
+                synthesis.add(createGroupTransition(groupKey) + groupSyntheses.get(groupKey) + "\n\n");
             }
         }
 
         
         for (Map.Entry<String, String> group : groupSyntheses.entrySet()) {
             if (!Arrays.asList(preferredOrder).contains(group.getKey())) {
-                synthesis.append(createGroupTransition(group.getKey()));
-                synthesis.append(group.getValue()).append("\n\n");
+                synthesis.add(createGroupTransition(group.getKey()) + group.getValue() + "\n\n");
             }
         }
 
-        return applyFinalCoherenceEnhancement(synthesis.toString(), context);
+        return applyFinalCoherenceEnhancement(synthesis, context);
     }
 
     
@@ -200,73 +197,59 @@ public class HierarchicalSynthesizer {
     }
 
     
-    private String applyFinalCoherenceEnhancement(String content, DeepResearchContext context) {
-        try {
-            if (content.length() < 5000) {
-                
-                return content;
-            }
-
-            String enhancementPrompt = String.format("""
-                Enhance the coherence and flow of this comprehensive research synthesis:
-                
-                RESEARCH TOPIC: %s
-                CONTENT LENGTH: %d characters
-                
-                ENHANCEMENT REQUIREMENTS:
-                1. Ensure smooth transitions between major sections
-                2. Eliminate any remaining redundancy
-                3. Strengthen logical argument flow
-                4. Enhance readability while maintaining technical depth
-                5. Verify consistent terminology throughout
-                6. Improve paragraph transitions and connectivity
-                
-                CONTENT TO ENHANCE:
-                %s
-                
-                Return the enhanced, coherent version:
-                """,
-                context.getOriginalQuery(),
-                content.length(),
-                truncateForPrompt(content, 15000)
-            );
-
-            LLMResponse<String> response = llmClient.complete(enhancementPrompt, String.class);
-            return response.structuredOutput();
-
-        } catch (Exception e) {
-            logger.warning("Final coherence enhancement failed: " + e.getMessage());
+    // Neighbouring sections are merged in a tree of coherence passes, so no section is cut to fit a single prompt.
+    private String applyFinalCoherenceEnhancement(List<String> sections, DeepResearchContext context) {
+        String content = String.join("", sections);
+        if (content.length() < 5000) {
+            
             return content;
         }
+
+        return synthesisEngine.reduce(COHERENCE_STAGE, sections,
+            batch -> buildCoherencePrompt(String.join("", batch), context),
+            batch -> String.join("", batch));
+    }
+
+    
+    private String buildCoherencePrompt(String content, DeepResearchContext context) {
+        return String.format("""
+            Enhance the coherence and flow of this comprehensive research synthesis:
+            
+            RESEARCH TOPIC: %s
+            CONTENT LENGTH: %d characters
+            
+            ENHANCEMENT REQUIREMENTS:
+            1. Ensure smooth transitions between major sections
+            2. Eliminate any remaining redundancy
+            3. Strengthen logical argument flow
+            4. Enhance readability while maintaining technical depth
+            5. Verify consistent terminology throughout
+            6. Improve paragraph transitions and connectivity
+            7. Keep every "##" section heading
+            
+            CONTENT TO ENHANCE:
+            %s
+            
+            Return the enhanced, coherent version:
+            """,
+            context.getOriginalQuery(),
+            content.length(),
+            content
+        );
     }
 
     
     public Map<String, String> synthesizeIterativeInsights(Map<String, List<String>> iterativeResults,
         DeepResearchContext context) {
-        Map<String, String> synthesizedInsights = new HashMap<>();
-
-        for (Map.Entry<String, List<String>> entry : iterativeResults.entrySet()) {
-            String questionKey = entry.getKey();
-            List<String> insights = entry.getValue();
-
+        return synthesisEngine.map(THEME_STAGE, iterativeResults.keySet(), questionKey -> {
+            List<String> insights = iterativeResults.get(questionKey);
             if (insights.size() == 1) {
-                synthesizedInsights.put(questionKey, insights.get(0));
-                continue;
+                return insights.get(0);
             }
-
-            try {
-                String synthesisPrompt = buildInsightSynthesisPrompt(questionKey, insights);
-                LLMResponse<String> response = llmClient.complete(synthesisPrompt, String.class);
-                synthesizedInsights.put(questionKey, response.structuredOutput());
-
-            } catch (Exception e) {
-                logger.warning("Insight synthesis failed for: " + questionKey);
-                
-                synthesizedInsights.put(questionKey, String.join(" ", insights));
-            }
-        }
-
-        return synthesizedInsights;
+            return synthesisEngine.reduce(THEME_STAGE, insights,
+                batch -> buildInsightSynthesisPrompt(questionKey, batch),
+                batch -> String.join(" ", batch));
+        }, questionKey -> String.join(" ", iterativeResults.get(questionKey)));
     }
 
     
@@ -303,11 +286,4 @@ public class HierarchicalSynthesizer {
         }
         return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
     }
-
-    private String truncateForPrompt(String content, int maxLength) {
-        if (content.length() <= maxLength) {
-            return content;
-        }
-        return content.substring(0, maxLength - 3) + "...";
-    }
 }
\ No newline at end of file
@@ -0,0 +1,290 @@
+package com.github.bhavuklabs.deepresearch.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.contracts.LLMStage;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+
+// Runs synthesis as a map-reduce tree instead of a loop of LLM calls. map() synthesizes every leaf at once; reduce()
+// merges partial texts level by level, up to fanIn parts per call and within a prompt token budget, so n parts take
+// about log(n) rounds of calls rather than n. A leaf or merge that fails, times out or comes back empty is replaced
+// by its local fallback and its siblings carry on. Calls are not throttled here: the LLM client's concurrency limiter
+// decides how many run at once. Leaves and merges run on the synthesizer's threads under the LLMStage of the caller,
+// or the stage passed in, so per-stage statistics credit the stage that asked for the synthesis rather than this class.
+public final class MapReduceSynthesizer implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(MapReduceSynthesizer.class.getName());
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    @FunctionalInterface
+    public interface LeafTask<K> {
+
+        String synthesize(K key) throws Exception;
+    }
+
+    private final LLMClient llmClient;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int fanIn;
+    private final int tokenBudget;
+    private final Duration callTimeout;
+
+    private final LongAdder leafCount = new LongAdder();
+    private final LongAdder reduceCount = new LongAdder();
+    private final LongAdder fallbackCount = new LongAdder();
+
+    private MapReduceSynthesizer(Builder builder) {
+        this.llmClient = builder.llmClient;
+        this.ownsExecutor = builder.executor == null;
+        // Leaves wait on their own merges, so a bounded pool could deadlock; virtual threads cannot run out.
+        this.executor = ownsExecutor ? CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor()) : builder.executor;
+        this.fanIn = builder.fanIn;
+        this.tokenBudget = builder.tokenBudget;
+        this.callTimeout = builder.callTimeout;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Results keep the order of the keys.
+    public <K> Map<K, String> map(Collection<K> keys, LeafTask<K> task, Function<K, String> fallback) {
+        return map(LLMStage.current(), keys, task, fallback);
+    }
+
+    public <K> Map<K, String> map(String stage, Collection<K> keys, LeafTask<K> task, Function<K, String> fallback) {
+        Map<K, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            futures.put(key, withFallback(CompletableFuture.supplyAsync(() -> {
+                LLMStage.Scope scope = LLMStage.enter(stage);
+                try (scope) {
+                    return task.synthesize(key);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e.getMessage(), e);
+                }
+            }, executor), () -> fallback.apply(key), "leaf " + key));
+            leafCount.increment();
+        }
+
+        Map<K, String> results = new LinkedHashMap<>();
+        for (Map.Entry<K, CompletableFuture<String>> entry : futures.entrySet()) {
+            results.put(entry.getKey(), entry.getValue()
+                .join());
+        }
+        return results;
+    }
+
+    // Merges the parts into one text. promptBuilder writes the merge prompt for a batch of parts (already fitted to
+    // the token budget); localMerge combines a batch without the LLM when its call fails.
+    public String reduce(List<String> parts, Function<List<String>, String> promptBuilder, Function<List<String>, String> localMerge) {
+        return reduce(LLMStage.current(), parts, promptBuilder, localMerge);
+    }
+
+    public String reduce(String stage, List<String> parts, Function<List<String>, String> promptBuilder, Function<List<String>, String> localMerge) {
+        if (parts.isEmpty()) {
+            return localMerge.apply(parts);
+        }
+        List<String> level = new ArrayList<>(parts);
+        int rounds = 0;
+        while (level.size() > 1) {
+            List<CompletableFuture<String>> merges = new ArrayList<>();
+            for (List<String> batch : partition(level)) {
+                if (batch.size() == 1) {
+                    merges.add(CompletableFuture.completedFuture(batch.get(0)));
+                    continue;
+                }
+                List<String> fitted = fitToBudget(batch);
+                merges.add(withFallback(CompletableFuture.supplyAsync(() -> {
+                    LLMStage.Scope scope = LLMStage.enter(stage);
+                    try (scope) {
+                        return llmClient.complete(promptBuilder.apply(fitted), String.class)
+                            .structuredOutput();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e.getMessage(), e);
+                    }
+                }, executor), () -> localMerge.apply(batch), "merge of " + batch.size() + " parts"));
+                reduceCount.increment();
+            }
+
+            List<String> next = new ArrayList<>();
+            for (CompletableFuture<String> merge : merges) {
+                next.add(merge.join());
+            }
+            level = next;
+            rounds++;
+        }
+        logger.info("Reduced " + parts.size() + " parts in " + rounds + " rounds");
+        return level.get(0);
+    }
+
+    public int getFanIn() {
+        return fanIn;
+    }
+
+    public int getTokenBudget() {
+        return tokenBudget;
+    }
+
+    public long getLeafCount() {
+        return leafCount.sum();
+    }
+
+    public long getReduceCount() {
+        return reduceCount.sum();
+    }
+
+    public long getFallbackCount() {
+        return fallbackCount.sum();
+    }
+
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MapReduceSynthesizer{fanIn=%d, tokenBudget=%d, leaves=%d, merges=%d, fallbacks=%d}", fanIn, tokenBudget, getLeafCount(),
+            getReduceCount(), getFallbackCount());
+    }
+
+    private CompletableFuture<String> withFallback(CompletableFuture<String> call, Supplier<String> fallback, String label) {
+        return call.orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .handle((result, error) -> {
+                if (error == null && result != null && !result.trim()
+                    .isEmpty()) {
+                    return result;
+                }
+                fallbackCount.increment();
+                logger.warning("Synthesis " + label + " fell back locally: " + (error != null ? describe(error) : "empty response"));
+                return fallback.get();
+            });
+    }
+
+    // Closes a batch at fanIn parts, or earlier once the next part would overrun the token budget. Every batch but
+    // the last holds at least two parts, so each round shrinks the level.
+    private List<List<String>> partition(List<String> level) {
+        List<List<String>> batches = new ArrayList<>();
+        List<String> batch = new ArrayList<>();
+        int batchTokens = 0;
+        for (String part : level) {
+            int tokens = estimateTokens(part);
+            if (batch.size() >= fanIn || (batch.size() >= 2 && batchTokens + tokens > tokenBudget)) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchTokens = 0;
+            }
+            batch.add(part);
+            batchTokens += tokens;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    // A pair that is over budget on its own is merged anyway, with each part cut to an equal share of the budget.
+    private List<String> fitToBudget(List<String> batch) {
+        int total = 0;
+        for (String part : batch) {
+            total += estimateTokens(part);
+        }
+        if (total <= tokenBudget) {
+            return batch;
+        }
+        int maxChars = Math.max(16, tokenBudget / batch.size() * CHARS_PER_TOKEN);
+        List<String> fitted = new ArrayList<>(batch.size());
+        for (String part : batch) {
+            fitted.add(part.length() <= maxChars ? part : part.substring(0, maxChars - 3) + "...");
+        }
+        return fitted;
+    }
+
+    private static int estimateTokens(String text) {
+        return text != null ? (int) Math.ceil(text.length() / (double) CHARS_PER_TOKEN) : 0;
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause instanceof TimeoutException ? "timed out" : cause.getMessage();
+    }
+
+    public static final class Builder {
+
+        private LLMClient llmClient;
+        private ExecutorService executor;
+        private int fanIn = 4;
+        private int tokenBudget = 8000;
+        private Duration callTimeout = Duration.ofMinutes(3);
+
+        private Builder() {
+        }
+
+        public Builder llmClient(LLMClient llmClient) {
+            this.llmClient = llmClient;
+            return this;
+        }
+
+        // Defaults to a virtual thread per task, owned and shut down by the synthesizer.
+        public Builder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        // The most parts merged by one call.
+        public Builder fanIn(int fanIn) {
+            if (fanIn < 2) {
+                throw new IllegalArgumentException("Fan-in must be at least 2");
+            }
+            this.fanIn = fanIn;
+            return this;
+        }
+
+        // The most tokens of part text put into one merge prompt.
+        public Builder tokenBudget(int tokenBudget) {
+            if (tokenBudget < 1) {
+                throw new IllegalArgumentException("Token budget must be positive");
+            }
+            this.tokenBudget = tokenBudget;
+            return this;
+        }
+
+        public Builder callTimeout(Duration callTimeout) {
+            if (callTimeout == null || callTimeout.isNegative() || callTimeout.isZero()) {
+                throw new IllegalArgumentException("Call timeout must be positive");
+            }
+            this.callTimeout = callTimeout;
+            return this;
+        }
+
+        public MapReduceSynthesizer build() {
+            if (llmClient == null) {
+                throw new IllegalArgumentException("LLM client cannot be null");
+            }
+            return new MapReduceSynthesizer(this);
+        }
+    }
+}
@@ -3,16 +3,19 @@ package com.github.bhavuklabs.deepresearch.pipeline;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.citation.CitationResult;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.deepresearch.context.DeepResearchContext;
 import com.github.bhavuklabs.deepresearch.models.NarrativeSection;
 import com.github.bhavuklabs.deepresearch.models.NarrativeStructure;
 import com.github.bhavuklabs.deepresearch.models.ResearchQuestion;
+import com.github.bhavuklabs.deepresearch.models.ResearchUpdate;
 
 public class NarrativeBuilder {
 
@@ -41,6 +44,14 @@ public class NarrativeBuilder {
     
     public String buildComprehensiveNarrative(DeepResearchContext context,
         String synthesizedKnowledge) {
+        return buildComprehensiveNarrative(context, synthesizedKnowledge, update -> {
+        });
+    }
+
+    // Section text is streamed to the listener token by token as it is generated.
+    public String buildComprehensiveNarrative(DeepResearchContext context,
+        String synthesizedKnowledge,
+        Consumer<ResearchUpdate> listener) {
         try {
             logger.info("Building comprehensive narrative for session: " + context.getSessionId());
 
@@ -53,7 +64,7 @@ public class NarrativeBuilder {
 
             
             Map<String, String> sectionContents = generateSectionsInParallel(
-                structure, contentChunks, context);
+                structure, contentChunks, context, listener);
 
             
             String narrative = assembleProgressiveNarrative(structure, sectionContents, context);
@@ -140,13 +151,15 @@ public class NarrativeBuilder {
     
     private Map<String, String> generateSectionsInParallel(NarrativeStructure structure,
         List<ContextAwareChunker.ContentChunk> contentChunks,
-        DeepResearchContext context) {
+        DeepResearchContext context,
+        Consumer<ResearchUpdate> listener) {
         try {
             List<CompletableFuture<Map.Entry<String, String>>> futures = structure.getSections()
                 .stream()
                 .map(section -> CompletableFuture.supplyAsync(() -> {
                     try {
-                        String sectionContent = generateContextAwareSection(section, contentChunks, context);
+                        String sectionContent = generateContextAwareSection(section, contentChunks, context, listener);
+                        listener.accept(ResearchUpdate.sectionCompleted(context.getSessionId(), section.getTitle(), sectionContent));
                         return Map.entry(section.getTitle(), sectionContent);
                     } catch (Exception e) {
                         logger.warning("Section generation failed for: " + section.getTitle());
@@ -168,7 +181,8 @@ public class NarrativeBuilder {
     
     private String generateContextAwareSection(NarrativeSection section,
         List<ContextAwareChunker.ContentChunk> contentChunks,
-        DeepResearchContext context) {
+        DeepResearchContext context,
+        Consumer<ResearchUpdate> listener) {
         try {
             
             List<ContextAwareChunker.ContentChunk> relevantChunks = filterRelevantChunks(section, contentChunks);
@@ -184,8 +198,9 @@ public class NarrativeBuilder {
                     sectionPrompt = contextChunker.compressPrompt(sectionPrompt, CONTEXT_WINDOW_LIMIT);
                 }
 
-                LLMResponse<String> response = llmClient.complete(sectionPrompt, String.class);
-                String chunkContent = response.structuredOutput();
+                String chunkContent = StreamPublisher.collectText(llmClient.stream(sectionPrompt),
+                        token -> listener.accept(ResearchUpdate.sectionToken(context.getSessionId(), section.getTitle(), token)))
+                    .join();
 
                 
                 sectionBuilder.append(chunkContent).append("\n\n");
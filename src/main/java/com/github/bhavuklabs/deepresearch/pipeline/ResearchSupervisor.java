@@ -1,14 +1,17 @@
 package com.github.bhavuklabs.deepresearch.pipeline;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.dedup.CitationDeduplicator;
 import com.github.bhavuklabs.citation.service.CitationService;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.resilience.Deadline;
 import com.github.bhavuklabs.deepresearch.context.DeepResearchContext;
 import com.github.bhavuklabs.deepresearch.models.ContextAwareQueryGenerator;
 import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
@@ -27,8 +30,7 @@ public class ResearchSupervisor {
     private static final int MAX_RESEARCH_ITERATIONS = 5;
     private static final int CONTEXT_WINDOW_LIMIT = 32000;
     private static final int SEARCH_RESULT_LIMIT = 15;
-    private static final long SEARCH_RATE_LIMIT_MS = 500;
-    private static final long DEEP_SEARCH_RATE_LIMIT_MS = 1000;
+    private static final Duration PARALLEL_SEARCH_TIMEOUT = Duration.ofSeconds(30);
 
     private final LLMClient llmClient;
     private final CitationService citationService;
@@ -37,8 +39,6 @@ public class ResearchSupervisor {
     private final ContextAwareQueryGenerator queryGenerator;
     private final ResearchQualityAnalyzer qualityAnalyzer;
 
-    
-    private final Map<String, Long> lastSearchTimes = new ConcurrentHashMap<>();
 
     public ResearchSupervisor(LLMClient llmClient,
         CitationService citationService,
@@ -242,12 +242,13 @@ public class ResearchSupervisor {
             Map<String, List<ResearchQuery>> prioritizedQueries = queries.stream()
                 .collect(Collectors.groupingBy(ResearchQuery::getPriority));
 
+            Deadline searchDeadline = Deadline.after(PARALLEL_SEARCH_TIMEOUT);
             List<CompletableFuture<List<CitationResult>>> searchFutures = new ArrayList<>();
 
             
             if (prioritizedQueries.containsKey("High")) {
                 for (ResearchQuery query : prioritizedQueries.get("High")) {
-                    searchFutures.add(executeRateLimitedSearch(query, SEARCH_RATE_LIMIT_MS));
+                    searchFutures.add(executeRateLimitedSearch(query, searchDeadline));
                 }
             }
 
@@ -255,21 +256,20 @@ public class ResearchSupervisor {
             for (String priority : Arrays.asList("Medium", "Low")) {
                 if (prioritizedQueries.containsKey(priority)) {
                     for (ResearchQuery query : prioritizedQueries.get(priority)) {
-                        searchFutures.add(executeRateLimitedSearch(query, SEARCH_RATE_LIMIT_MS));
+                        searchFutures.add(executeRateLimitedSearch(query, searchDeadline));
                     }
                 }
             }
 
             
-            List<CitationResult> allResults = searchFutures.stream()
-                .map(future -> {
-                    try {
-                        return future.get(30, TimeUnit.SECONDS); 
-                    } catch (Exception e) {
-                        logger.warning("Search future failed or timed out: " + e.getMessage());
-                        return new ArrayList<CitationResult>();
-                    }
-                })
+            List<CompletableFuture<List<CitationResult>>> boundedFutures = searchFutures.stream()
+                .map(future -> future.completeOnTimeout(new ArrayList<>(), searchDeadline.remainingNanos() + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS))
+                .collect(Collectors.toList());
+            CompletableFuture.allOf(boundedFutures.toArray(new CompletableFuture<?>[0]))
+                .join();
+
+            List<CitationResult> allResults = boundedFutures.stream()
+                .map(CompletableFuture::join)
                 .flatMap(List::stream)
                 .collect(Collectors.toList());
 
@@ -287,26 +287,18 @@ public class ResearchSupervisor {
     }
 
     
-    private CompletableFuture<List<CitationResult>> executeRateLimitedSearch(ResearchQuery query,
-        long rateLimitMs) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                
-                String threadKey = Thread.currentThread().getName();
-                long lastSearchTime = lastSearchTimes.getOrDefault(threadKey, 0L);
-                long currentTime = System.currentTimeMillis();
-                long timeSinceLastSearch = currentTime - lastSearchTime;
-
-                if (timeSinceLastSearch < rateLimitMs) {
-                    Thread.sleep(rateLimitMs - timeSinceLastSearch);
+    // Pacing is left to the provider-wide limiter behind CitationService, so cached queries cost no wait at all. The
+    // search itself is asynchronous; an empty result gets one reworded attempt, as the blocking retry loop would,
+    // within what is left of the shared deadline.
+    private CompletableFuture<List<CitationResult>> executeRateLimitedSearch(ResearchQuery query, Deadline deadline) {
+        return citationService.searchAsync(query.getQuery(), deadline)
+            .thenCompose(results -> {
+                if (results != null && !results.isEmpty()) {
+                    return CompletableFuture.completedFuture(results);
                 }
-
-                lastSearchTimes.put(threadKey, System.currentTimeMillis());
-
-                
-                List<CitationResult> results = executeSearchWithRetry(query);
-
-                
+                return citationService.searchAsync(enhanceQuery(query.getQuery(), 0), deadline);
+            })
+            .thenApply(results -> {
                 List<CitationResult> validResults = results.stream()
                     .filter(result -> result != null && result.isValid())
                     .filter(result -> result.getRelevanceScore() >= 0.3)
@@ -320,12 +312,11 @@ public class ResearchSupervisor {
                     validResults.size() + " valid results");
 
                 return validResults;
-
-            } catch (Exception e) {
+            })
+            .exceptionally(e -> {
                 logger.warning("Rate-limited search failed for query '" + query.getQuery() + "': " + e.getMessage());
                 return new ArrayList<>();
-            }
-        }, researchExecutor);
+            });
     }
 
     
@@ -392,57 +383,9 @@ public class ResearchSupervisor {
 
     
     private List<CitationResult> removeDuplicateCitations(List<CitationResult> citations) {
-        Map<String, CitationResult> uniqueCitations = new LinkedHashMap<>();
-        Set<String> seenTitles = new HashSet<>();
-
-        for (CitationResult citation : citations) {
-            if (citation == null || !citation.isValid()) {
-                continue;
-            }
-
-            String url = citation.getUrl();
-            String title = citation.getTitle();
-
-            
-            if (url != null && uniqueCitations.containsKey(url)) {
-                continue;
-            }
-
-            
-            boolean similarTitleExists = seenTitles.stream()
-                .anyMatch(seenTitle -> calculateTitleSimilarity(title, seenTitle) > 0.8);
-
-            if (!similarTitleExists) {
-                uniqueCitations.put(url != null ? url : title + "_" + System.nanoTime(), citation);
-                if (title != null) {
-                    seenTitles.add(title);
-                }
-            }
-        }
-
-        logger.info("Removed duplicates: " + citations.size() + " -> " + uniqueCitations.size() + " unique citations");
-        return new ArrayList<>(uniqueCitations.values());
-    }
-
-    
-    private double calculateTitleSimilarity(String title1, String title2) {
-        if (title1 == null || title2 == null) {
-            return 0.0;
-        }
-
-        String[] words1 = title1.toLowerCase().split("\\W+");
-        String[] words2 = title2.toLowerCase().split("\\W+");
-
-        Set<String> set1 = new HashSet<>(Arrays.asList(words1));
-        Set<String> set2 = new HashSet<>(Arrays.asList(words2));
-
-        Set<String> intersection = new HashSet<>(set1);
-        intersection.retainAll(set2);
-
-        Set<String> union = new HashSet<>(set1);
-        union.addAll(set2);
-
-        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+        List<CitationResult> unique = CitationDeduplicator.deduplicate(citations);
+        logger.info("Removed duplicates: " + citations.size() + " -> " + unique.size() + " unique citations");
+        return unique;
     }
 
     
@@ -715,9 +658,6 @@ public class ResearchSupervisor {
                 List<CitationResult> queryResults = executeSearchWithRetry(query);
                 allResults.addAll(queryResults);
 
-                
-                Thread.sleep(DEEP_SEARCH_RATE_LIMIT_MS);
-
             } catch (Exception e) {
                 logger.warning("Multi-step search failed for query: " + query.getQuery() + " - " + e.getMessage());
             }
@@ -896,9 +836,6 @@ public class ResearchSupervisor {
                 List<CitationResult> queryResults = citationService.search(query.getQuery());
                 allResults.addAll(queryResults);
 
-                
-                Thread.sleep(SEARCH_RATE_LIMIT_MS);
-
             } catch (Exception e) {
                 logger.warning("Sequential search failed for query: " + query.getQuery());
             }
@@ -36,10 +36,14 @@ public class VectorEnhancedResearchService {
     private final Map<String, VectorResearchSession> activeSessions;
     
     public VectorEnhancedResearchService(LLMClient llmClient, CitationService citationService) {
+        this(llmClient, citationService, new VectorStore(384));
+    }
+    
+    public VectorEnhancedResearchService(LLMClient llmClient, CitationService citationService, VectorStore vectorStore) {
         this.llmClient = llmClient;
         this.deepResearchEngine = new DeepResearchEngine(llmClient, citationService);
 
-        this.vectorStore = new VectorStore(384);
+        this.vectorStore = vectorStore;
         this.contentVectorizer = new ContentVectorizer(vectorStore, new SimpleEmbeddingService());
 
         this.sessionBuilders = new ConcurrentHashMap<>();
@@ -0,0 +1,356 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.Research4j;
+import com.github.bhavuklabs.agent.ResearchResult;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+import com.github.bhavuklabs.client.limit.ConcurrencyLimitedLLMClient;
+import com.github.bhavuklabs.client.limit.LLMConcurrencyLimiters;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.enums.ModelType;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter;
+import com.github.bhavuklabs.core.ratelimit.AdaptiveConcurrencyLimiter.Lane;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+import com.github.bhavuklabs.core.replay.ProviderStandIn;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+
+import dev.langchain4j.exception.RateLimitException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class AdaptiveConcurrencyTest {
+
+    private static final int PROVIDER_CAPACITY = 6;
+    private static final long BASE_LATENCY_MILLIS = 20;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Adaptive Concurrency Test ===\n");
+
+        boolean converges = testConvergesToProviderCapacity();
+        boolean backoff = testBacksOffOnOverload();
+        boolean lanes = testInteractiveAheadOfBackground();
+        boolean fairness = testSessionsTakeTurns();
+        boolean context = testContextFollowsTasks();
+        boolean timeout = testAdmissionTimeout();
+        boolean research = testResearchCallsCarrySession();
+
+        if (converges && backoff && lanes && fairness && context && timeout && research) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: converges=" + converges + ", backoff=" + backoff + ", lanes=" + lanes + ", fairness=" + fairness +
+                ", context=" + context + ", timeout=" + timeout + ", research=" + research);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testConvergesToProviderCapacity() throws Exception {
+        System.out.println("1. Under a burst, the limit settles near the provider's capacity and 429s stop");
+        int callers = 40;
+        int callsPerCaller = 15;
+
+        SimulatedProvider unlimitedProvider = new SimulatedProvider();
+        long unlimitedMillis = runBurst(unlimitedProvider, callers, callsPerCaller);
+
+        SimulatedProvider limitedProvider = new SimulatedProvider();
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+            .name("simulated")
+            .initialLimit(20)
+            .maxLimit(64)
+            .baselineWindow(20)
+            .build();
+        long limitedMillis = runBurst(new ConcurrencyLimitedLLMClient(limitedProvider, limiter, "TEST"), callers, callsPerCaller);
+
+        int total = callers * callsPerCaller;
+        System.out.println("   unlimited: " + unlimitedProvider.rejected.get() + " of " + total + " calls rejected with 429, peak concurrency " +
+            unlimitedProvider.peak.get() + ", " + unlimitedMillis + " ms");
+        System.out.println("   limited:   " + limitedProvider.rejected.get() + " of " + total + " calls rejected with 429, peak concurrency " +
+            limitedProvider.peak.get() + ", " + limitedMillis + " ms, final limit " + limiter.getLimit() + "\n");
+        return limitedProvider.rejected.get() * 5 < unlimitedProvider.rejected.get() && limiter.getLimit() >= PROVIDER_CAPACITY / 2 &&
+            limiter.getLimit() <= PROVIDER_CAPACITY * 2 + 1 && limiter.getInFlight() == 0;
+    }
+
+    private static boolean testBacksOffOnOverload() throws Exception {
+        System.out.println("2. A 429 halves the limit; other failures leave it alone");
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+            .initialLimit(16)
+            .build();
+        LLMClient rateLimited = new LLMClient() {
+            @Override
+            public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+                throw new LLMClientException("Failed to complete prompt: quota exceeded", new RateLimitException("429 Too Many Requests"), "TEST",
+                    "completion");
+            }
+        };
+        LLMClient badRequest = new LLMClient() {
+            @Override
+            public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+                throw new LLMClientException("Failed to complete prompt: invalid schema", "TEST", "completion");
+            }
+        };
+        completeQuietly(new ConcurrencyLimitedLLMClient(badRequest, limiter, "TEST"));
+        int afterBadRequest = limiter.getLimit();
+        completeQuietly(new ConcurrencyLimitedLLMClient(rateLimited, limiter, "TEST"));
+        int afterRateLimit = limiter.getLimit();
+
+        System.out.println("   limit 16 -> " + afterBadRequest + " after a bad request -> " + afterRateLimit + " after a 429\n");
+        return afterBadRequest == 16 && afterRateLimit == 8 && limiter.getDroppedCount() == 1 && limiter.getInFlight() == 0;
+    }
+
+    private static boolean testInteractiveAheadOfBackground() throws Exception {
+        System.out.println("3. Interactive calls go first, with a share kept for background work");
+        List<String> order = grantOrder(List.of(
+            new Request(Lane.BACKGROUND, "deep", "B1"), new Request(Lane.BACKGROUND, "deep", "B2"), new Request(Lane.BACKGROUND, "deep", "B3"),
+            new Request(Lane.INTERACTIVE, "user", "I1"), new Request(Lane.INTERACTIVE, "user", "I2"), new Request(Lane.INTERACTIVE, "user", "I3"),
+            new Request(Lane.INTERACTIVE, "user", "I4"), new Request(Lane.INTERACTIVE, "user", "I5"), new Request(Lane.INTERACTIVE, "user", "I6")));
+
+        System.out.println("   grant order: " + order + "\n");
+        return order.equals(List.of("I1", "I2", "I3", "B1", "I4", "I5", "I6", "B2", "B3"));
+    }
+
+    private static boolean testSessionsTakeTurns() throws Exception {
+        System.out.println("4. Within a lane, sessions take turns instead of queueing behind one fan-out");
+        List<Request> requests = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            requests.add(new Request(Lane.BACKGROUND, "session-a", "A" + i));
+        }
+        requests.add(new Request(Lane.BACKGROUND, "session-b", "B1"));
+        requests.add(new Request(Lane.BACKGROUND, "session-b", "B2"));
+        List<String> order = grantOrder(requests);
+
+        System.out.println("   grant order: " + order + "\n");
+        return order.equals(List.of("A1", "B1", "A2", "B2", "A3", "A4", "A5"));
+    }
+
+    private static boolean testContextFollowsTasks() throws Exception {
+        System.out.println("5. The lane and session follow work onto a propagating pool");
+        ExecutorService plain = Executors.newFixedThreadPool(1);
+        ExecutorService propagating = CallContext.propagating(Executors.newFixedThreadPool(1));
+        try {
+            // Start the pool threads first, so nothing could be inherited at thread creation.
+            plain.submit(() -> null)
+                .get();
+            propagating.submit(() -> null)
+                .get();
+
+            CallContext inherited;
+            CallContext notInherited;
+            CallContext.Scope scope = CallContext.enter(Lane.BACKGROUND, "session-42");
+            try (scope) {
+                inherited = propagating.submit(CallContext::current)
+                    .get();
+                notInherited = plain.submit(CallContext::current)
+                    .get();
+            }
+            CallContext afterScope = CallContext.current();
+
+            System.out.println("   propagating pool: " + inherited + ", plain pool: " + notInherited + ", after scope: " + afterScope + "\n");
+            return inherited.getLane() == Lane.BACKGROUND && "session-42".equals(inherited.getSession()) && notInherited.getLane() == Lane.INTERACTIVE &&
+                CallContext.SHARED_SESSION.equals(afterScope.getSession());
+        } finally {
+            plain.shutdown();
+            propagating.shutdown();
+        }
+    }
+
+    private static boolean testAdmissionTimeout() throws Exception {
+        System.out.println("6. A call that cannot get capacity in time fails instead of hanging");
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+            .initialLimit(1)
+            .minLimit(1)
+            .maxLimit(1)
+            .maxWait(Duration.ofMillis(50))
+            .build();
+        AdaptiveConcurrencyLimiter.Permit held = limiter.acquire(Lane.INTERACTIVE, "holder");
+        ConcurrencyLimitedLLMClient client = new ConcurrencyLimitedLLMClient(new SimulatedProvider(), limiter, "TEST");
+        String operation = null;
+        try {
+            client.complete("Explain leases", String.class);
+        } catch (LLMClientException e) {
+            operation = e.getOperation();
+        }
+        held.onIgnored();
+        String answer = client.complete("Explain leases", String.class)
+            .structuredOutput();
+
+        System.out.println("   while held: failed at " + operation + "; after release: \"" + answer + "\", " + limiter + "\n");
+        return "admission".equals(operation) && answer != null && limiter.getTimedOutCount() == 1 && limiter.getInFlight() == 0;
+    }
+
+    private static boolean testResearchCallsCarrySession() throws Exception {
+        System.out.println("7. Every LLM call of Research4j.research reaches the limiter in the research session's interactive lane");
+        List<String> admissions = Collections.synchronizedList(new ArrayList<>());
+        LLMConcurrencyLimiters.configure(ModelType.OPENAI, AdaptiveConcurrencyLimiter.builder()
+            .name("OPENAI")
+            .admissionObserver((lane, session) -> admissions.add(lane + "/" + session))
+            .build());
+        ProviderRateLimiters.configure(CitationSource.TAVILY, 1000.0, 100);
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .llmResponder(AdaptiveConcurrencyTest::answer)
+            .start(); Research4j research4j = Research4j.builder()
+            .withOpenAI("test-key", "gpt-4o-mini")
+            .withTavily("test-key")
+            .withProviderStandIn(standIn)
+            .disableCache()
+            .build()) {
+
+            ResearchResult result = research4j.research("How do consistent hashing rings rebalance?");
+            String expected = Lane.INTERACTIVE + "/" + result.getSessionId();
+            List<String> seen;
+            synchronized (admissions) {
+                seen = new ArrayList<>(admissions);
+            }
+
+            System.out.println("   session " + result.getSessionId() + ", limiter admissions: " + seen + "\n");
+            return result.getSessionId()
+                .startsWith("research-session-") && seen.size() >= 2 && seen.stream()
+                .allMatch(expected::equals);
+        } finally {
+            LLMConcurrencyLimiters.reset(ModelType.OPENAI);
+        }
+    }
+
+    // Answers the query analysis prompt in the JSON it asks for, and everything else in prose.
+    private static String answer(String prompt) {
+        if (prompt.contains("\"requiresCitations\"")) {
+            return "{\"intent\": \"research\", \"complexityScore\": 5, \"topics\": [\"consistent hashing\"], \"requiresCitations\": true, " +
+                "\"estimatedTime\": \"1-2 minutes\", \"suggestedReasoning\": \"CHAIN_OF_THOUGHT\"}";
+        }
+        return "Consistent hashing moves only the keys between a new node and its predecessor on the ring.";
+    }
+
+    private static long runBurst(LLMClient client, int callers, int callsPerCaller) throws Exception {
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int caller = 0; caller < callers; caller++) {
+                int id = caller;
+                futures.add(executor.submit(() -> {
+                    for (int call = 0; call < callsPerCaller; call++) {
+                        try {
+                            client.complete("caller " + id + " call " + call, String.class);
+                        } catch (LLMClientException e) {
+                            // Counted by the provider.
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private static void completeQuietly(LLMClient client) {
+        try {
+            client.complete("prompt", String.class);
+        } catch (LLMClientException e) {
+            // Expected.
+        }
+    }
+
+    // With a limit of one, each waiter is granted only after the previous one is released, so the order is exact.
+    private static List<String> grantOrder(List<Request> requests) throws Exception {
+        AdaptiveConcurrencyLimiter limiter = AdaptiveConcurrencyLimiter.builder()
+            .initialLimit(1)
+            .minLimit(1)
+            .maxLimit(1)
+            .build();
+        BlockingQueue<AdaptiveConcurrencyLimiter.Permit> granted = new LinkedBlockingQueue<>();
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+        AdaptiveConcurrencyLimiter.Permit holder = limiter.acquire(Lane.INTERACTIVE, "holder");
+        int queued = 0;
+        for (Request request : requests) {
+            Thread.ofVirtual()
+                .start(() -> {
+                    try {
+                        AdaptiveConcurrencyLimiter.Permit permit = limiter.acquire(request.lane, request.session);
+                        order.add(request.label);
+                        granted.add(permit);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread()
+                            .interrupt();
+                    }
+                });
+            queued++;
+            while (limiter.getQueued(Lane.INTERACTIVE) + limiter.getQueued(Lane.BACKGROUND) < queued) {
+                Thread.sleep(1);
+            }
+        }
+
+        holder.onIgnored();
+        for (int i = 0; i < requests.size(); i++) {
+            AdaptiveConcurrencyLimiter.Permit permit = granted.poll(5, TimeUnit.SECONDS);
+            if (permit == null) {
+                break;
+            }
+            permit.onIgnored();
+        }
+        return new ArrayList<>(order);
+    }
+
+    private static final class Request {
+
+        final Lane lane;
+        final String session;
+        final String label;
+
+        Request(Lane lane, String session, String label) {
+            this.lane = lane;
+            this.session = session;
+            this.label = label;
+        }
+    }
+
+    // A provider that serves PROVIDER_CAPACITY calls at full speed, slows down as requests queue beyond that, and
+    // answers 429 once twice its capacity is in flight.
+    private static final class SimulatedProvider implements LLMClient {
+
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final AtomicInteger rejected = new AtomicInteger();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+            int concurrent = inFlight.incrementAndGet();
+            peak.accumulateAndGet(concurrent, Math::max);
+            try {
+                if (concurrent > PROVIDER_CAPACITY * 2) {
+                    rejected.incrementAndGet();
+                    sleep(2);
+                    throw new LLMClientException("Failed to complete prompt: 429 Too Many Requests", new RateLimitException("429 Too Many Requests"),
+                        "TEST", "completion");
+                }
+                sleep(BASE_LATENCY_MILLIS * Math.max(1, concurrent) / Math.min(concurrent, PROVIDER_CAPACITY));
+                String text = "answer to " + prompt;
+                return new LLMResponse<>(text, (T) text);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+
+        private static void sleep(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.config.CitationConfig;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class AsyncCitationFetchTest {
+
+    private static final int CONCURRENT_SEARCHES = 400;
+    private static final long LATENCY_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Async Citation Fetch Test ===\n");
+
+        boolean fanOut = testFanOutWithoutThreads();
+        boolean retried = testAsyncRetry();
+        boolean fallback = testDefaultFetchAsync();
+
+        if (fanOut && retried && fallback) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: fanOut=" + fanOut + ", retried=" + retried + ", fallback=" + fallback);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testFanOutWithoutThreads() {
+        System.out.println("1. " + CONCURRENT_SEARCHES + " concurrent searches against a " + LATENCY_MILLIS + " ms provider");
+        LatencyFetcher fetcher = new LatencyFetcher(0);
+        CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+
+        int threadsBefore = ManagementFactory.getThreadMXBean()
+            .getThreadCount();
+        long start = System.nanoTime();
+        List<CompletableFuture<List<CitationResult>>> searches = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_SEARCHES; i++) {
+            searches.add(service.searchAsync("distributed tracing sampling strategy " + i));
+        }
+        long issueMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int threadsDuring = ManagementFactory.getThreadMXBean()
+            .getThreadCount();
+
+        CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[0]))
+            .join();
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        boolean complete = searches.stream()
+            .allMatch(search -> search.join()
+                .size() == 3);
+
+        System.out.println("   issued in " + issueMillis + " ms, all completed in " + totalMillis + " ms");
+        System.out.println("   platform threads: " + threadsBefore + " before, " + threadsDuring + " while in flight");
+        System.out.println("   every search returned its citations: " + complete);
+        // Searches delayed by local load can draw a hedge; those are the only provider calls beyond one per search.
+        long hedges = service.getHedger()
+            .getHedgeCount();
+        System.out.println("   provider calls: " + fetcher.calls.get() + " (" + hedges + " hedges)\n");
+        service.close();
+        // Run back to back, the same searches would take CONCURRENT_SEARCHES * LATENCY_MILLIS (80 s).
+        return complete && fetcher.calls.get() == CONCURRENT_SEARCHES + hedges && hedges <= CONCURRENT_SEARCHES / 10
+            && totalMillis < CONCURRENT_SEARCHES * LATENCY_MILLIS / 10 && threadsDuring - threadsBefore < 20;
+    }
+
+    private static boolean testAsyncRetry() {
+        System.out.println("2. A failed attempt is retried after a non-blocking back-off");
+        LatencyFetcher fetcher = new LatencyFetcher(1);
+        CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+
+        long start = System.nanoTime();
+        CompletableFuture<List<CitationResult>> search = service.searchAsync("consensus protocols raft paxos");
+        boolean returnedImmediately = !search.isDone() && TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 50;
+        List<CitationResult> results = search.join();
+        System.out.println("   attempts: " + fetcher.calls.get() + ", results: " + results.size() + ", caller not blocked: " + returnedImmediately + "\n");
+        service.close();
+        return fetcher.calls.get() == 2 && results.size() == 3 && returnedImmediately;
+    }
+
+    private static boolean testDefaultFetchAsync() throws Exception {
+        System.out.println("3. Blocking fetchers get an asynchronous wrapper on a virtual thread");
+        CitationFetcher blocking = query -> {
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+            return citations(query);
+        };
+        long start = System.nanoTime();
+        CompletableFuture<List<CitationResult>> result = blocking.fetchAsync("virtual threads", FetchOptions.defaults());
+        long issueMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        int size = result.get(5, TimeUnit.SECONDS)
+            .size();
+        System.out.println("   fetchAsync returned in " + issueMillis + " ms, completed with " + size + " citations");
+        return issueMillis < LATENCY_MILLIS && size == 3;
+    }
+
+    private static List<CitationResult> citations(String query) {
+        List<CitationResult> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String content = ("A detailed article about " + query + " covering design trade-offs, failure modes and measured results. ").repeat(3);
+            results.add(new CitationResult("Article " + i + " on " + query, "About " + query, content,
+                "https://docs.example.org/" + Math.abs(query.hashCode()) + "/" + i, 0.7));
+        }
+        return results;
+    }
+
+    // Completes each fetch from a timer after a fixed latency, the way an HttpClient.sendAsync-based fetcher would,
+    // so no thread is held while the "request" is outstanding.
+    private static final class LatencyFetcher implements CitationFetcher {
+
+        // Like the HTTP fetchers, responses complete on virtual threads; the default async pool would start a
+        // platform thread per response on a single-core host and skew the thread count.
+        private static final Executor RESPONSES = Executors.newVirtualThreadPerTaskExecutor();
+
+        final AtomicInteger calls = new AtomicInteger();
+        final int failuresBeforeSuccess;
+
+        LatencyFetcher(int failuresBeforeSuccess) {
+            this.failuresBeforeSuccess = failuresBeforeSuccess;
+        }
+
+        @Override
+        public List<CitationResult> fetch(String query) throws CitationException {
+            return fetchAsync(query).join();
+        }
+
+        @Override
+        public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+            int call = calls.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                if (call <= failuresBeforeSuccess) {
+                    throw new IllegalStateException("upstream 503");
+                }
+                return citations(query);
+            }, CompletableFuture.delayedExecutor(LATENCY_MILLIS, TimeUnit.MILLISECONDS, RESPONSES));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.services.ContentVectorizer;
+import com.github.bhavuklabs.services.ContentVectorizer.ContentChunk;
+import com.github.bhavuklabs.services.EmbeddingService;
+import com.github.bhavuklabs.services.impl.BatchingEmbeddingService;
+import com.github.bhavuklabs.services.impl.ProductionEmbeddingService;
+import com.github.bhavuklabs.vector.VectorStore;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class BatchEmbeddingPipelineTest {
+
+    private static final int TEXTS = 400;
+    private static final int CONCURRENT_REQUESTS = 64;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Batched Embedding Pipeline Test ===\n");
+
+        boolean parallel = testWorkStealingBatch();
+        boolean coalesced = testMicroBatching();
+        boolean stored = testStoreContentBatch();
+
+        if (parallel && coalesced && stored) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: parallel=" + parallel + ", coalesced=" + coalesced + ", stored=" + stored);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testWorkStealingBatch() {
+        System.out.println("1. Work-stealing batch embedding");
+        String[] texts = new String[TEXTS];
+        for (int i = 0; i < TEXTS; i++) {
+            texts[i] = "Passage " + i + " on concurrent garbage collection, memory barriers and thread scheduling. ".repeat(1 + i % 7);
+        }
+
+        // Constant filler noise keeps the embeddings comparable between the two runs.
+        ProductionEmbeddingService sequential = new ProductionEmbeddingService(1, null, () -> 0.5);
+        sequential.generateBatchEmbeddings(texts);
+        long start = System.nanoTime();
+        float[][] expected = sequential.generateBatchEmbeddings(texts);
+        long sequentialNanos = System.nanoTime() - start;
+
+        try (BatchingEmbeddingService batching = BatchingEmbeddingService.builder(new ProductionEmbeddingService(1, null, () -> 0.5))
+            .parallelism(Math.max(2, Runtime.getRuntime()
+                .availableProcessors()))
+            .build()) {
+            start = System.nanoTime();
+            float[][] actual = batching.generateBatchEmbeddings(texts);
+            long parallelNanos = System.nanoTime() - start;
+
+            boolean identical = Arrays.deepEquals(expected, actual);
+            System.out.println(String.format("   sequential: %.1f ms, work-stealing: %.1f ms on %d cores", sequentialNanos / 1e6, parallelNanos / 1e6,
+                Runtime.getRuntime()
+                    .availableProcessors()));
+            System.out.println("   embeddings identical to sequential: " + identical + "\n");
+            return identical;
+        }
+    }
+
+    private static boolean testMicroBatching() throws Exception {
+        System.out.println("2. Micro-batching of concurrent single requests");
+        RemoteStub remote = new RemoteStub();
+        Duration maxDelay = Duration.ofMillis(20);
+        try (BatchingEmbeddingService batching = BatchingEmbeddingService.builder(remote)
+            .parallelism(1)
+            .microBatching(16, maxDelay)
+            .build(); ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<CompletableFuture<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String text = "request-" + i;
+                results.add(CompletableFuture.supplyAsync(() -> batching.generateEmbeddings(text)[0] == text.hashCode(), callers));
+            }
+            boolean correct = true;
+            for (CompletableFuture<Boolean> result : results) {
+                correct &= result.get();
+            }
+
+            long start = System.nanoTime();
+            batching.generateEmbeddings("lonely request");
+            double loneMillis = (System.nanoTime() - start) / 1e6;
+
+            boolean coalesced = remote.batchCalls.get() < CONCURRENT_REQUESTS / 2;
+            boolean bounded = loneMillis < maxDelay.toMillis() + RemoteStub.ROUND_TRIP_MILLIS + 50;
+            System.out.println("   " + CONCURRENT_REQUESTS + " requests served by " + (remote.batchCalls.get() - 1) + " delegate batches");
+            System.out.println(String.format("   lone request latency: %.1f ms (max delay %d ms + %d ms round trip)", loneMillis, maxDelay.toMillis(),
+                RemoteStub.ROUND_TRIP_MILLIS));
+            System.out.println("   results routed correctly: " + correct + "\n");
+            return correct && coalesced && bounded;
+        }
+    }
+
+    private static boolean testStoreContentBatch() {
+        System.out.println("3. Bulk storeContentBatch");
+        VectorStore store = new VectorStore(384);
+        CountingEmbeddingService embeddings = new CountingEmbeddingService(new ProductionEmbeddingService());
+        ContentVectorizer vectorizer = new ContentVectorizer(store, embeddings);
+
+        List<ContentChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            chunks.add(new ContentChunk("chunk_" + i, "Distributed cache design note " + i + ": eviction policy, admission and hit rate.",
+                Map.of("topic", "caching", "subtopic", "note_" + i)));
+        }
+        int validChunks = chunks.size();
+        // A citation without content must be skipped, not abort the chunks after it or the connection pass.
+        chunks.add(7, new ContentChunk("chunk_missing", null, Map.of("topic", "caching")));
+        chunks.add(12, new ContentChunk("chunk_blank", "  ", null));
+        vectorizer.storeContentBatch("session", chunks);
+
+        Map<String, Set<String>> connections = vectorizer.getContentConnections("session");
+        boolean indexed = store.size() == validChunks;
+        boolean linked = connections.size() == validChunks;
+        boolean embeddedOnce = embeddings.singleCalls.get() == 0 && embeddings.batchCalls.get() == 1;
+        System.out.println("   indexed: " + store.size() + ", connected: " + connections.size() + ", single embeds: " + embeddings.singleCalls.get()
+            + ", batch embeds: " + embeddings.batchCalls.get());
+        return indexed && linked && embeddedOnce;
+    }
+
+    // Stands in for a remote embedding API: each call costs a fixed round trip regardless of batch size.
+    private static final class RemoteStub implements EmbeddingService {
+
+        static final long ROUND_TRIP_MILLIS = 25;
+
+        final AtomicInteger batchCalls = new AtomicInteger();
+
+        @Override
+        public float[] generateEmbeddings(String text) {
+            return generateBatchEmbeddings(new String[] {text})[0];
+        }
+
+        @Override
+        public float[][] generateBatchEmbeddings(String[] texts) {
+            batchCalls.incrementAndGet();
+            try {
+                Thread.sleep(ROUND_TRIP_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+            float[][] embeddings = new float[texts.length][];
+            for (int i = 0; i < texts.length; i++) {
+                embeddings[i] = new float[] {texts[i].hashCode()};
+            }
+            return embeddings;
+        }
+
+        @Override
+        public int getDimensions() {
+            return 1;
+        }
+    }
+
+    private static final class CountingEmbeddingService implements EmbeddingService {
+
+        final EmbeddingService delegate;
+        final AtomicInteger singleCalls = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+
+        CountingEmbeddingService(EmbeddingService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public float[] generateEmbeddings(String text) {
+            singleCalls.incrementAndGet();
+            return delegate.generateEmbeddings(text);
+        }
+
+        @Override
+        public float[][] generateBatchEmbeddings(String[] texts) {
+            batchCalls.incrementAndGet();
+            float[][] embeddings = new float[texts.length][];
+            for (int i = 0; i < texts.length; i++) {
+                embeddings[i] = delegate.generateEmbeddings(texts[i]);
+            }
+            return embeddings;
+        }
+
+        @Override
+        public int getDimensions() {
+            return delegate.getDimensions();
+        }
+    }
+}
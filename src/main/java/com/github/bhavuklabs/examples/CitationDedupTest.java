@@ -0,0 +1,203 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.dedup.CitationDeduplicator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+
+public class CitationDedupTest {
+
+    private static final int ARTICLE_WORDS = 120;
+
+    public static void main(String[] args) {
+        System.out.println("=== Citation Dedup Test ===\n");
+
+        boolean urlsAndTitles = testUrlAndTitleDuplicates();
+        boolean mirrors = testMirroredContent();
+        boolean distinct = testDistinctArticlesKept();
+        boolean scaling = testNearLinearScaling();
+
+        if (urlsAndTitles && mirrors && distinct && scaling) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: urlsAndTitles=" + urlsAndTitles + ", mirrors=" + mirrors + ", distinct=" + distinct +
+                ", scaling=" + scaling);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testUrlAndTitleDuplicates() {
+        System.out.println("1. URL spellings and near-identical titles of one page are merged");
+        Random random = new Random(1);
+        String body = article(random);
+        List<CitationResult> citations = List.of(
+            citation("Understanding the CAP theorem", "https://example.com/cap", body),
+            citation("Some other page entirely", "http://www.example.com/cap/?utm_source=feed", article(random)),
+            citation("Understanding the CAP Theorem!", "https://blog.example.org/cap-theorem", article(random)),
+            citation("Consistency models in distributed databases", "https://example.com/consistency", article(random)));
+
+        List<CitationResult> unique = CitationDeduplicator.deduplicate(citations);
+        System.out.println("   " + citations.size() + " citations -> " + unique.size() + " unique\n");
+        return unique.size() == 2 && unique.get(0) == citations.get(0) && unique.get(1) == citations.get(3);
+    }
+
+    private static boolean testMirroredContent() {
+        System.out.println("2. Mirrored and syndicated copies are caught under other titles");
+        Random random = new Random(2);
+        String original = article(random);
+        String[] words = original.split(" ");
+        // A syndicated copy: site chrome around the text and a few words edited.
+        for (int i = 10; i < words.length; i += 40) {
+            words[i] = "edited";
+        }
+        String syndicated = "Home | News | Subscribe " + String.join(" ", words) + " Share this article on social media";
+
+        CitationDeduplicator deduplicator = CitationDeduplicator.create();
+        boolean originalKept = deduplicator.add(citation("Raft consensus explained", "https://example.com/raft", original));
+        boolean mirrorKept = deduplicator.add(citation("A guide to leader election", "https://mirror.example.net/a/1", original));
+        boolean syndicatedKept = deduplicator.add(citation("How distributed systems agree", "https://news.example.io/raft", syndicated));
+        boolean relatedKept = deduplicator.add(citation("Paxos consensus explained", "https://example.com/paxos", article(random)));
+
+        System.out.println("   original kept: " + originalKept + ", exact mirror kept: " + mirrorKept + ", syndicated copy kept: " + syndicatedKept +
+            ", different article kept: " + relatedKept + "\n");
+        return originalKept && !mirrorKept && !syndicatedKept && relatedKept && deduplicator.getDuplicateCount() == 2;
+    }
+
+    private static boolean testDistinctArticlesKept() {
+        System.out.println("3. Thousands of distinct articles on overlapping vocabulary are all kept");
+        Random random = new Random(3);
+        List<CitationResult> citations = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            citations.add(citation(title(random), "https://site" + i + ".example.com/article", article(random)));
+        }
+        List<CitationResult> unique = CitationDeduplicator.deduplicate(citations);
+        System.out.println("   " + citations.size() + " articles -> " + unique.size() + " unique\n");
+        return unique.size() == citations.size();
+    }
+
+    private static boolean testNearLinearScaling() {
+        System.out.println("4. Dedup time grows about linearly with session size");
+        deduplicateWithCopies(2000, new Random(4));
+
+        int[] sizes = { 1000, 4000, 16000 };
+        long[] millis = new long[sizes.length];
+        boolean counted = true;
+        for (int i = 0; i < sizes.length; i++) {
+            long start = System.nanoTime();
+            int[] counts = deduplicateWithCopies(sizes[i], new Random(5 + i));
+            millis[i] = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            counted &= counts[0] == counts[1];
+            System.out.println("   " + sizes[i] + " citations (a quarter of them copies): " + millis[i] + " ms, " + counts[0] + " unique of " +
+                counts[1] + " expected");
+        }
+
+        int legacySize = 1000;
+        List<CitationResult> legacyInput = new ArrayList<>();
+        Random random = new Random(9);
+        for (int i = 0; i < legacySize; i++) {
+            legacyInput.add(citation(title(random), "https://legacy" + i + ".example.com/", article(random)));
+        }
+        long legacyStart = System.nanoTime();
+        int legacyUnique = pairwiseTitleDedup(legacyInput);
+        long legacyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - legacyStart);
+        long start = System.nanoTime();
+        int unique = CitationDeduplicator.deduplicate(legacyInput)
+            .size();
+        long newMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("   " + legacySize + " citations: pairwise title scan " + legacyMillis + " ms (" + legacyUnique + " unique), MinHash " + newMillis +
+            " ms (" + unique + " unique)");
+
+        double growth = (double) millis[2] / millis[0];
+        System.out.println("   16x the citations took " + String.format("%.1f", growth) + "x the time\n");
+        return counted && growth < 40 && unique == legacyUnique;
+    }
+
+    // Returns {unique found, unique expected}.
+    private static int[] deduplicateWithCopies(int size, Random random) {
+        List<CitationResult> originals = new ArrayList<>();
+        List<CitationResult> citations = new ArrayList<>();
+        int copies = size / 4;
+        for (int i = 0; i < size - copies; i++) {
+            CitationResult citation = citation(title(random), "https://site" + i + ".example.com/page", article(random));
+            originals.add(citation);
+            citations.add(citation);
+        }
+        for (int i = 0; i < copies; i++) {
+            CitationResult original = originals.get(random.nextInt(originals.size()));
+            citations.add(random.nextInt(citations.size()), citation(title(random), "https://mirror" + i + ".example.net/copy",
+                original.getContent()));
+        }
+        return new int[] { CitationDeduplicator.deduplicate(citations)
+            .size(), originals.size() };
+    }
+
+    // The word-set Jaccard scan the pipelines used before, kept here as the baseline.
+    private static int pairwiseTitleDedup(List<CitationResult> citations) {
+        List<String> seenTitles = new ArrayList<>();
+        Set<String> seenUrls = new HashSet<>();
+        for (CitationResult citation : citations) {
+            if (seenUrls.contains(citation.getUrl())) {
+                continue;
+            }
+            String title = citation.getTitle();
+            boolean similar = seenTitles.stream()
+                .anyMatch(seen -> jaccard(title, seen) > 0.8);
+            if (!similar) {
+                seenUrls.add(citation.getUrl());
+                seenTitles.add(title);
+            }
+        }
+        return seenTitles.size();
+    }
+
+    private static double jaccard(String title1, String title2) {
+        Set<String> set1 = new HashSet<>(Arrays.asList(title1.toLowerCase()
+            .split("\\W+")));
+        Set<String> set2 = new HashSet<>(Arrays.asList(title2.toLowerCase()
+            .split("\\W+")));
+        Set<String> intersection = new HashSet<>(set1);
+        intersection.retainAll(set2);
+        Set<String> union = new HashSet<>(set1);
+        union.addAll(set2);
+        return union.isEmpty() ? 0.0 : (double) intersection.size() / union.size();
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            title.append(i == 0 ? "" : " ")
+                .append(word(random, 2000));
+        }
+        return title.toString();
+    }
+
+    private static String article(Random random) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < ARTICLE_WORDS; i++) {
+            text.append(i == 0 ? "" : " ")
+                .append(word(random, 500));
+        }
+        return text.toString();
+    }
+
+    private static String word(Random random, int vocabulary) {
+        return "term" + Integer.toString(random.nextInt(vocabulary), 36);
+    }
+
+    private static CitationResult citation(String title, String url, String content) {
+        return CitationResult.builder()
+            .title(title)
+            .snippet(content.substring(0, Math.min(120, content.length())))
+            .content(content)
+            .url(url)
+            .relevanceScore(0.7)
+            .build();
+    }
+}
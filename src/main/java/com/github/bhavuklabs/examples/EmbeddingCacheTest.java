@@ -0,0 +1,108 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.core.cache.BoundedCache;
+import com.github.bhavuklabs.core.cache.CacheStats;
+import com.github.bhavuklabs.services.impl.ProductionEmbeddingService;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class EmbeddingCacheTest {
+
+    private static final long BUDGET_BYTES = 1024 * 1024;
+    private static final int CACHE_ENTRIES = 1000;
+
+    public static void main(String[] args) {
+        System.out.println("=== Bounded Embedding Cache Test ===\n");
+
+        boolean bounded = testByteBudget();
+        boolean scanResistant = testScanResistance();
+        boolean expires = testExpiry();
+
+        if (bounded && scanResistant && expires) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: bounded=" + bounded + ", scanResistant=" + scanResistant + ", expires=" + expires);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testByteBudget() {
+        System.out.println("1. Byte budget");
+        ProductionEmbeddingService service = new ProductionEmbeddingService(BUDGET_BYTES, null);
+        for (int i = 0; i < 5000; i++) {
+            service.generateEmbeddings("distinct research passage number " + i + " about distributed caching");
+        }
+        float[] first = service.generateEmbeddings("  Repeated Passage about JVM performance  ");
+        float[] second = service.generateEmbeddings("repeated passage about jvm performance");
+        second[0] = 42.0f;
+        float[] third = service.generateEmbeddings("repeated passage about jvm performance");
+
+        CacheStats stats = service.getCacheStats();
+        System.out.println("   " + stats);
+        boolean withinBudget = stats.getWeightedSize() <= BUDGET_BYTES && stats.getEvictionCount() > 0;
+        boolean keyed = stats.getHitCount() >= 2 && Arrays.equals(first, third);
+        System.out.println("   within budget: " + withinBudget + ", normalised hits isolated from callers: " + keyed + "\n");
+        return withinBudget && keyed;
+    }
+
+    private static boolean testScanResistance() {
+        System.out.println("2. Hot set under a one-off scan (" + CACHE_ENTRIES + " entries)");
+        BoundedCache<String, String> tinyLfu = BoundedCache.<String, String>builder()
+            .maximumSize(CACHE_ENTRIES)
+            .build();
+        Map<String, String> lru = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > CACHE_ENTRIES;
+            }
+        };
+
+        Random random = new Random(9);
+        long lruHits = 0;
+        long requests = 0;
+        int scan = 0;
+        for (int i = 0; i < 200_000; i++) {
+            String key = i % 2 == 0 ? "hot-" + random.nextInt(800) : "scan-" + scan++;
+            requests++;
+            if (tinyLfu.get(key) == null) {
+                tinyLfu.put(key, key);
+            }
+            if (lru.get(key) != null) {
+                lruHits++;
+            } else {
+                lru.put(key, key);
+            }
+        }
+
+        double lruHitRate = (double) lruHits / requests;
+        double tinyLfuHitRate = tinyLfu.stats()
+            .getHitRate();
+        System.out.println(String.format("   LRU hit rate:     %.3f", lruHitRate));
+        System.out.println(String.format("   TinyLFU hit rate: %.3f\n", tinyLfuHitRate));
+        return tinyLfuHitRate > lruHitRate;
+    }
+
+    private static boolean testExpiry() {
+        System.out.println("3. Expire after write");
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, String> cache = BoundedCache.<String, String>builder()
+            .maximumSize(10)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .ticker(now::get)
+            .build();
+        cache.put("query", "result");
+        boolean freshHit = "result".equals(cache.get("query"));
+        now.addAndGet(Duration.ofMinutes(6)
+            .toNanos());
+        boolean expired = cache.get("query") == null && cache.stats()
+            .getExpirationCount() == 1;
+        System.out.println("   fresh hit: " + freshHit + ", expired after TTL: " + expired);
+        return freshHit && expired;
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.services.impl.ProductionEmbeddingService;
+
+import java.util.Random;
+
+
+public class EmbeddingGoldenVectorTest {
+
+    private static final long NOISE_SEED = 42L;
+
+    private static final String[] TEXTS = {
+        "Java virtual threads improve the scalability of blocking I/O services.",
+        "# Caching Strategies\n\n- LRU eviction\n- LFU eviction\n* TinyLFU admission\n1. Measure hit rate\n\nHowever, the cache must be bounded. "
+            + "Therefore we size it by bytes!",
+        "```java\nint x = compute(a, b);\nif (x >= 10 && y != 3) { return map.get(key); }\n```\nThe **algorithm** runs in O(n log n) time, "
+            + "compared to the __naive__ approach. For example, merge sort versus quick sort.",
+        "What is the time complexity of a hash table lookup? Is it constant? Perhaps it might be, unclear!!!",
+        "Microservice architecture: API gateway, service mesh, load balancing, and circuit breakers. Moreover, the system design pattern "
+            + "favours resilience; additionally it is robust, tested and validated.",
+        "Database indexing (B-tree vs LSM) affects query performance; SQL and NoSQL engines differ. Consequently transaction throughput varies.",
+        "!!!",
+        ". Leading delimiter then text. Then more text... and more?!",
+        "Line one\r\n## Heading after CRLF\r\n- item\r\n12. numbered item\r\nfunc(call) trailing",
+        "ÜBER-Straße naïve café — ИСПОЛЬЗОВАНИЕ 😀 emoji İstanbul Σίσυφος.",
+        "   padded   text   with\t\ttabs\nand\nnewlines   ",
+        "word word word word word repeated repeated repeated concurrency concurrency parallelism",
+        "a_b c-d e.f g=h i<=j k>=l m==n (paren) [bracket] {brace} __under__ ``````six backticks",
+        "Garbage collection latency versus throughput trade-offs, rather than heap size, dominate. Instead of tuning, measure. Namely, "
+            + "specifically the p99 pauses; such as G1 and ZGC.",
+    };
+
+    // Digests of embeddings produced by the original regex-based extractor with the same seeded noise source.
+    private static final long[] GOLDEN = {
+        0x2682d4a2ced874e1L,
+        0xb21757a997fdde83L,
+        0x66e75e5cbf8e4f20L,
+        0x941087e938c1aa62L,
+        0x4cae59c046a19872L,
+        0xba3b28cff46ab019L,
+        0x2df794a24f0150eeL,
+        0x3466d769beb41ddeL,
+        0x920eb56be4543bd3L,
+        0xe8c9d87064905453L,
+        0x2e3b7ca73e8d8e7cL,
+        0x6a4930095574e03aL,
+        0xab64dc4a8f2872acL,
+        0x6142799a1c05936aL,
+    };
+
+    public static void main(String[] args) {
+        System.out.println("=== Embedding Golden Vector Test ===\n");
+
+        boolean print = args.length > 0 && "--print".equals(args[0]);
+        int mismatches = 0;
+        for (int i = 0; i < TEXTS.length; i++) {
+            ProductionEmbeddingService service = new ProductionEmbeddingService(1, null, new Random(NOISE_SEED)::nextDouble);
+            long digest = digest(service.generateEmbeddings(TEXTS[i]));
+            if (print) {
+                System.out.println(String.format("        0x%016xL,", digest));
+            } else if (i >= GOLDEN.length || GOLDEN[i] != digest) {
+                System.err.println(String.format("Text %d: digest %016x does not match golden vector", i, digest));
+                mismatches++;
+            }
+        }
+
+        if (print) {
+            return;
+        }
+        if (mismatches == 0) {
+            System.out.println("All " + TEXTS.length + " embeddings are bit-identical to the golden vectors");
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: " + mismatches + " embeddings differ from the golden vectors");
+            System.exit(1);
+        }
+    }
+
+    // FNV-1a over the raw float bits, so any change in any dimension (including NaN payloads) changes the digest.
+    private static long digest(float[] embedding) {
+        long hash = 0xcbf29ce484222325L;
+        for (float value : embedding) {
+            int bits = Float.floatToRawIntBits(value);
+            for (int shift = 0; shift < 32; shift += 8) {
+                hash ^= (bits >>> shift) & 0xFF;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
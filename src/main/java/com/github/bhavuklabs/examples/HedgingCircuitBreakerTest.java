@@ -0,0 +1,176 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.config.CitationConfig;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.resilience.ProviderCircuitBreakers;
+import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.core.resilience.CircuitBreaker;
+import com.github.bhavuklabs.core.resilience.Deadline;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class HedgingCircuitBreakerTest {
+
+    private static final long FAST_MILLIS = 40;
+    private static final long SLOW_MILLIS = 2000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Hedging and Circuit Breaker Test ===\n");
+
+        boolean hedging = testHedgingBoundsTail();
+        boolean breaker = testBreakerOpensAndRecovers();
+        boolean deadline = testDeadlineBoundsSlowProvider();
+
+        if (hedging && breaker && deadline) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: hedging=" + hedging + ", breaker=" + breaker + ", deadline=" + deadline);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testHedgingBoundsTail() {
+        System.out.println("1. One search in twenty-five stalls; a hedge after the p95 bounds the tail");
+        ProviderCircuitBreakers.reset(CitationSource.TAVILY);
+        // Every twenty-fifth request to the provider stalls, whichever search it belongs to.
+        ScriptedFetcher fetcher = new ScriptedFetcher(call -> call % 25 == 0 ? SLOW_MILLIS : FAST_MILLIS, call -> false);
+        CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+
+        for (int i = 0; i < 25; i++) {
+            service.searchAsync("warm up query " + i)
+                .join();
+        }
+        long[] latencies = new long[60];
+        for (int i = 0; i < latencies.length; i++) {
+            long start = System.nanoTime();
+            service.searchAsync("tail latency query " + i)
+                .join();
+            latencies[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+        Arrays.sort(latencies);
+        long p50 = latencies[latencies.length / 2];
+        long max = latencies[latencies.length - 1];
+        System.out.println("   p50: " + p50 + " ms, max: " + max + " ms (a stalled request takes " + SLOW_MILLIS + " ms)");
+        System.out.println("   " + service.getHedger() + ", provider requests: " + fetcher.calls.get() + "\n");
+        service.close();
+        return max < SLOW_MILLIS / 2 && service.getHedger()
+            .getHedgeWinCount() > 0 && service.getHedger()
+                .getHedgeCount() <= service.getHedger()
+                    .getCallCount() / 10;
+    }
+
+    private static boolean testBreakerOpensAndRecovers() throws Exception {
+        System.out.println("2. A failing provider opens the breaker, is skipped, then probed back in");
+        CircuitBreaker breaker = ProviderCircuitBreakers.configure(CitationSource.TAVILY, CircuitBreaker.builder()
+            .name("TAVILY")
+            .minimumCalls(4)
+            .windowSize(10)
+            .failureRateThreshold(0.5)
+            .openDuration(Duration.ofMillis(500))
+            .halfOpenProbes(1)
+            .build());
+        boolean[] failing = { true };
+        ScriptedFetcher fetcher = new ScriptedFetcher(call -> FAST_MILLIS, call -> failing[0]);
+        CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+
+        CompletableFuture<List<CitationResult>> first = service.searchAsync("replication lag monitoring");
+        CompletableFuture<List<CitationResult>> second = service.searchAsync("leader election timeouts");
+        boolean degradedToEmpty = first.join()
+            .isEmpty() && second.join()
+                .isEmpty();
+        CircuitBreaker.State afterFailures = breaker.getState();
+        int callsWhenOpened = fetcher.calls.get();
+
+        long start = System.nanoTime();
+        List<CitationResult> whileOpen = service.searchAsync("quorum reads")
+            .join();
+        long failFastMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        boolean skipped = whileOpen.isEmpty() && fetcher.calls.get() == callsWhenOpened;
+
+        failing[0] = false;
+        Thread.sleep(600);
+        List<CitationResult> probed = service.searchAsync("anti entropy repair")
+            .join();
+        System.out.println("   after failures: " + afterFailures + " (" + callsWhenOpened + " provider calls), open search answered in " + failFastMillis
+            + " ms without a call: " + skipped);
+        System.out.println("   probe returned " + probed.size() + " citations, breaker now " + breaker.getState());
+        System.out.println("   " + breaker + "\n");
+        service.close();
+        return degradedToEmpty && afterFailures == CircuitBreaker.State.OPEN && skipped && failFastMillis < 100 && probed.size() == 3
+            && breaker.getState() == CircuitBreaker.State.CLOSED && breaker.getRejectedCount() > 0;
+    }
+
+    private static boolean testDeadlineBoundsSlowProvider() {
+        System.out.println("3. The caller's deadline bounds a provider that stops answering");
+        ProviderCircuitBreakers.reset(CitationSource.TAVILY);
+        ScriptedFetcher fetcher = new ScriptedFetcher(call -> 10_000L, call -> false);
+        CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+
+        long start = System.nanoTime();
+        List<CitationResult> results = service.searchAsync("slow provider query", Deadline.after(Duration.ofMillis(300)))
+            .join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("   returned " + results.size() + " citations after " + elapsedMillis + " ms, provider calls: " + fetcher.calls.get());
+        System.out.println("   page downloads would have been capped at: " + fetcher.lastContentTimeout);
+        service.close();
+        return results.isEmpty() && elapsedMillis < 1000 && fetcher.calls.get() == 1 && fetcher.lastContentTimeout != null
+            && fetcher.lastContentTimeout.toMillis() <= 300;
+    }
+
+    private static List<CitationResult> citations(String query) {
+        List<CitationResult> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String content = ("A detailed article about " + query + " covering design trade-offs, failure modes and measured results. ").repeat(3);
+            results.add(new CitationResult("Article " + i + " on " + query, "About " + query, content,
+                "https://docs.example.org/" + Math.abs(query.hashCode()) + "/" + i, 0.7));
+        }
+        return results;
+    }
+
+    private interface CallScript<T> {
+        T forCall(int call);
+    }
+
+    // Answers from a timer after a per-call latency, optionally failing, like an HttpClient.sendAsync-based fetcher.
+    private static final class ScriptedFetcher implements CitationFetcher {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CallScript<Long> latency;
+        final CallScript<Boolean> failure;
+        volatile Duration lastContentTimeout;
+
+        ScriptedFetcher(CallScript<Long> latency, CallScript<Boolean> failure) {
+            this.latency = latency;
+            this.failure = failure;
+        }
+
+        @Override
+        public List<CitationResult> fetch(String query) throws CitationException {
+            return fetchAsync(query).join();
+        }
+
+        @Override
+        public CompletableFuture<List<CitationResult>> fetchAsync(String query, FetchOptions options) {
+            int call = calls.incrementAndGet();
+            lastContentTimeout = options.resolveContentTimeout(Duration.ofSeconds(15));
+            boolean fail = failure.forCall(call);
+            return CompletableFuture.supplyAsync(() -> {
+                if (fail) {
+                    throw new IllegalStateException("upstream 503");
+                }
+                return citations(query);
+            }, CompletableFuture.delayedExecutor(latency.forCall(call), TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.vector.VectorStore;
+import com.github.bhavuklabs.vector.VectorStore.SimilarityResult;
+import com.github.bhavuklabs.vector.VectorStoreConfig;
+import com.github.bhavuklabs.vector.index.HnswVectorIndex;
+import com.github.bhavuklabs.vector.index.VectorIndexType;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+public class HnswRecallTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final int DOCUMENTS = 20_000;
+    private static final int QUERIES = 200;
+    private static final int TOP_K = 10;
+    private static final int CLUSTERS = 64;
+    private static final double MIN_RECALL = 0.90;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== HNSW Recall vs Exact Search Test ===\n");
+
+        Random random = new Random(42);
+        float[][] centroids = new float[CLUSTERS][];
+        for (int i = 0; i < CLUSTERS; i++) {
+            centroids[i] = randomVector(random, null, 1.0f);
+        }
+
+        float[][] vectors = new float[DOCUMENTS][];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            vectors[i] = randomVector(random, centroids[random.nextInt(CLUSTERS)], 0.35f);
+        }
+
+        VectorStore exactStore = new VectorStore(VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .indexType(VectorIndexType.FLAT)
+            .build());
+        VectorStore hnswStore = new VectorStore(VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .enableHnsw()
+            .hnswM(16)
+            .hnswEfConstruction(200)
+            .hnswEfSearch(96)
+            .build());
+
+        System.out.println("1. Inserting " + DOCUMENTS + " vectors...");
+        for (int i = 0; i < DOCUMENTS; i++) {
+            exactStore.store("doc-" + i, vectors[i], "content " + i, Map.of("position", i));
+        }
+
+        long buildStart = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < DOCUMENTS; i++) {
+            final int position = i;
+            executor.submit(() -> hnswStore.store("doc-" + position, vectors[position], "content " + position, Map.of("position", position)));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        long buildMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - buildStart);
+        System.out.println("✓ HNSW index built concurrently in " + buildMillis + " ms\n");
+
+        System.out.println("2. Running " + QUERIES + " queries (top " + TOP_K + ")...");
+        double recall = measureRecall(exactStore, hnswStore, random, centroids);
+
+        System.out.println("\n3. Deleting half the vectors and replacing a tenth, then querying again...");
+        HnswVectorIndex index = (HnswVectorIndex) hnswStore.getIndex();
+        long slowestMutationNanos = 0;
+        for (int i = 0; i < DOCUMENTS; i += 2) {
+            exactStore.delete("doc-" + i);
+            long start = System.nanoTime();
+            hnswStore.delete("doc-" + i);
+            slowestMutationNanos = Math.max(slowestMutationNanos, System.nanoTime() - start);
+        }
+        for (int i = 1; i < DOCUMENTS; i += 10) {
+            float[] replacement = randomVector(random, centroids[random.nextInt(CLUSTERS)], 0.35f);
+            exactStore.store("doc-" + i, replacement, "content " + i, Map.of("position", i));
+            long start = System.nanoTime();
+            hnswStore.store("doc-" + i, replacement, "content " + i, Map.of("position", i));
+            slowestMutationNanos = Math.max(slowestMutationNanos, System.nanoTime() - start);
+        }
+        long slowestMutationMillis = TimeUnit.NANOSECONDS.toMillis(slowestMutationNanos);
+        System.out.println("✓ Slowest store or delete during churn: " + slowestMutationMillis + " ms (rebuilds run in the background)");
+        double churnedRecall = measureRecall(exactStore, hnswStore, random, centroids);
+
+        index.awaitRebuild();
+        int tombstones = index.getTombstoneCount();
+        System.out.println("✓ " + index.size() + " live vectors, " + tombstones + " tombstones left in the graph after rebuilding");
+        double rebuiltRecall = measureRecall(exactStore, hnswStore, random, centroids);
+        boolean purged = tombstones <= Math.max(64, index.size() / 4);
+        // A rebuild on the caller's thread took seconds here; a background one leaves each call at insert cost.
+        boolean nonBlocking = slowestMutationMillis < 1000;
+
+        if (recall >= MIN_RECALL && churnedRecall >= MIN_RECALL && rebuiltRecall >= MIN_RECALL && purged && nonBlocking) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: recall " + String.format("%.4f", recall) + ", after churn " + String.format("%.4f", churnedRecall) +
+                " and rebuilt " + String.format("%.4f", rebuiltRecall) + " (minimum " + MIN_RECALL + "), tombstones " + tombstones + ", slowest mutation " +
+                slowestMutationMillis + " ms");
+            System.exit(1);
+        }
+    }
+
+    // Recall counts a short result as misses, so an index that runs out of live candidates fails here too.
+    private static double measureRecall(VectorStore exactStore, VectorStore hnswStore, Random random, float[][] centroids) {
+        long exactNanos = 0;
+        long hnswNanos = 0;
+        double recallSum = 0.0;
+
+        for (int q = 0; q < QUERIES; q++) {
+            float[] query = randomVector(random, centroids[random.nextInt(CLUSTERS)], 0.35f);
+
+            long start = System.nanoTime();
+            List<SimilarityResult> exact = exactStore.search(query, TOP_K);
+            exactNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            List<SimilarityResult> approximate = hnswStore.search(query, TOP_K);
+            hnswNanos += System.nanoTime() - start;
+
+            Set<String> expectedIds = exact.stream()
+                .map(result -> result.getDocument().getId())
+                .collect(Collectors.toSet());
+            Set<String> foundIds = new HashSet<>();
+            for (SimilarityResult result : approximate) {
+                foundIds.add(result.getDocument().getId());
+            }
+            foundIds.retainAll(expectedIds);
+            recallSum += (double) foundIds.size() / expectedIds.size();
+        }
+
+        double recall = recallSum / QUERIES;
+        System.out.println(String.format("Exact search:  %.3f ms/query", exactNanos / 1_000_000.0 / QUERIES));
+        System.out.println(String.format("HNSW search:   %.3f ms/query", hnswNanos / 1_000_000.0 / QUERIES));
+        System.out.println(String.format("Recall@%d:     %.4f", TOP_K, recall));
+        return recall;
+    }
+
+    private static float[] randomVector(Random random, float[] centre, float spread) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            float noise = (float) random.nextGaussian() * spread;
+            vector[i] = centre != null ? centre[i] + noise : noise;
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.content.HtmlTextExtractor;
+import com.github.bhavuklabs.citation.content.PageFetcher;
+import com.sun.net.httpserver.HttpServer;
+
+import org.jsoup.Jsoup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+
+public class HtmlExtractionTest {
+
+    private static final String ARTICLE_TEXT = "Write-ahead logging makes every change durable before it is applied to the data pages. "
+        + "Checkpoints bound recovery time by flushing dirty pages in the background. ";
+
+    private static final String PAGE = "<!DOCTYPE html><html><head><title>WAL internals</title><style>body{color:red}</style>"
+        + "<script>var x = '<div>not text</div>';</script></head><body>"
+        + "<header><nav><a href=\"/\">Home</a> <a href=\"/docs\">Docs</a></nav></header>"
+        + "<div class=\"ad banner\">Buy cheap servers now</div>"
+        + "<div class=\"shadow-box\"><article><h1>Write&#8209;ahead logging</h1><!-- editor note: <b>draft</b> -->"
+        + "<p>" + ARTICLE_TEXT.repeat(3) + "</p><p>Compare &amp; contrast: redo &lt;vs&gt; undo.</p>"
+        + "<div class=\"social share\">Share on social media</div><img src=\"wal.png\"><br/></article></div>"
+        + "<aside>Related posts</aside><footer>Copyright 2026</footer></body></html>";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Streaming HTML Extraction Test ===\n");
+
+        boolean extraction = testExtraction();
+        boolean encodings = testCompressedResponses();
+        boolean budget = testByteBudget();
+
+        if (extraction && encodings && budget) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: extraction=" + extraction + ", encodings=" + encodings + ", budget=" + budget);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testExtraction() {
+        System.out.println("1. Main content is kept, boilerplate and markup are dropped");
+        HtmlTextExtractor extractor = HtmlTextExtractor.builder()
+            .maxChars(10000)
+            .minMainContentLength(100)
+            .build();
+        HtmlTextExtractor.Extraction extraction = extractor.extract(PAGE);
+        String text = extraction.getText();
+        String reference = Jsoup.parse(PAGE)
+            .select("article")
+            .first()
+            .text();
+
+        boolean keepsArticle = text.contains(ARTICLE_TEXT.trim()) && text.contains("Compare & contrast: redo <vs> undo.");
+        boolean dropsBoilerplate = !text.contains("Home") && !text.contains("Buy cheap") && !text.contains("Share on") && !text.contains("Copyright")
+            && !text.contains("not text") && !text.contains("draft") && !text.contains("Related");
+        boolean readsLikeJsoup = reference.startsWith(text.substring(0, 40));
+        System.out.println("   main content: " + extraction.isMainContent() + ", length: " + text.length());
+        System.out.println("   starts with: " + text.substring(0, 60) + "...");
+        System.out.println("   keeps article: " + keepsArticle + ", drops boilerplate: " + dropsBoilerplate + ", matches jsoup article text: "
+            + readsLikeJsoup);
+
+        HtmlTextExtractor small = HtmlTextExtractor.builder()
+            .maxChars(200)
+            .minMainContentLength(50)
+            .build();
+        HtmlTextExtractor.Extraction truncated = small.extract(PAGE.replace("</body>", "<main>" + ARTICLE_TEXT.repeat(200) + "</main></body>"));
+        boolean sentenceBoundary = truncated.getText()
+            .length() <= 200 && truncated.getText()
+            .endsWith(".") && truncated.isStoppedEarly();
+        String plain = extractor.extract("  plain   text\n\nwithout any\tmarkup  ")
+            .getText();
+        System.out.println("   truncated to sentence boundary: " + sentenceBoundary + ", plain text: \"" + plain + "\"\n");
+        return extraction.isMainContent() && keepsArticle && dropsBoilerplate && readsLikeJsoup && sentenceBoundary
+            && plain.equals("plain text without any markup");
+    }
+
+    private static boolean testCompressedResponses() throws Exception {
+        System.out.println("2. gzip and deflate bodies are decompressed while streaming");
+        byte[] html = PAGE.getBytes(StandardCharsets.UTF_8);
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", exchange -> respond(exchange, "gzip", gzip(html)));
+        server.createContext("/deflate", exchange -> respond(exchange, "deflate", deflate(html, false)));
+        server.createContext("/raw-deflate", exchange -> respond(exchange, "deflate", deflate(html, true)));
+        server.createContext("/identity", exchange -> respond(exchange, null, html));
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+
+        boolean allMatch = true;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            PageFetcher fetcher = pageFetcher(executor, 1024 * 1024);
+            String base = "http://127.0.0.1:" + server.getAddress()
+                .getPort();
+            String expected = HtmlTextExtractor.builder()
+                .build()
+                .extract(PAGE)
+                .getText();
+            for (String path : new String[] { "/gzip", "/deflate", "/raw-deflate", "/identity" }) {
+                PageFetcher.FetchedPage page = fetcher.fetch(base + path, Duration.ofSeconds(5))
+                    .join();
+                boolean same = page.isSuccessful() && page.getText()
+                    .equals(expected);
+                System.out.println("   " + path + ": " + page.getBytesRead() + " bytes decompressed, text matches: " + same);
+                allMatch &= same;
+            }
+            PageFetcher.FetchedPage missing = fetcher.fetch(base + "/missing", Duration.ofSeconds(5))
+                .join();
+            System.out.println("   /missing: " + missing.getText() + "\n");
+            allMatch &= missing.getText()
+                .equals("Content not available (HTTP 404)");
+        } finally {
+            server.stop(0);
+        }
+        return allMatch;
+    }
+
+    private static boolean testByteBudget() throws Exception {
+        System.out.println("3. Reading stops at the byte budget on a very large page");
+        AtomicLong bytesSent = new AtomicLong();
+        long pageSize = 64L * 1024 * 1024;
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/huge", exchange -> {
+            exchange.getResponseHeaders()
+                .add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, 0);
+            byte[] chunk = ("<div><span>" + "filler words without any sentence end ".repeat(20) + "</span></div>").getBytes(StandardCharsets.UTF_8);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write("<html><body>".getBytes(StandardCharsets.UTF_8));
+                while (bytesSent.get() < pageSize) {
+                    out.write(chunk);
+                    bytesSent.addAndGet(chunk.length);
+                }
+            } catch (IOException e) {
+                // The client hung up once it had read its budget.
+            }
+        });
+        server.start();
+
+        long maxBytes = 256 * 1024;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            PageFetcher fetcher = pageFetcher(executor, maxBytes);
+            long start = System.nanoTime();
+            PageFetcher.FetchedPage page = fetcher.fetch("http://127.0.0.1:" + server.getAddress()
+                .getPort() + "/huge", Duration.ofSeconds(10))
+                .join();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Thread.sleep(200);
+            System.out.println("   read " + page.getBytesRead() + " of " + pageSize + " bytes in " + elapsedMs + " ms, truncated: " + page.isTruncated()
+                + ", text length: " + page.getText()
+                .length());
+            System.out.println("   server wrote " + bytesSent.get() + " bytes before the connection was dropped");
+            return page.getBytesRead() <= maxBytes && page.isTruncated() && page.getText()
+                .length() <= 10003 && bytesSent.get() < pageSize;
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static PageFetcher pageFetcher(ExecutorService executor, long maxBytes) {
+        HttpClient client = HttpClient.newBuilder()
+            .executor(executor)
+            .build();
+        return PageFetcher.builder()
+            .httpClient(client)
+            .executor(executor)
+            .maxBytes(maxBytes)
+            .build();
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange exchange, String encoding, byte[] body) throws IOException {
+        exchange.getResponseHeaders()
+            .add("Content-Type", "text/html; charset=utf-8");
+        if (encoding != null) {
+            exchange.getResponseHeaders()
+                .add("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean raw) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            out.write(data);
+        }
+        return bytes.toByteArray();
+    }
+}
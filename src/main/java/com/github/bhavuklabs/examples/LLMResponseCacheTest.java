@@ -0,0 +1,215 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.client.cache.CachingLLMClient;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+import com.github.bhavuklabs.services.EmbeddingService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+public class LLMResponseCacheTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== LLM Response Cache Test ===\n");
+        Path directory = Files.createTempDirectory("llm-cache-test");
+        try {
+            boolean exact = testExactTierAndStageStats();
+            boolean persistent = testSurvivesRestart(directory);
+            boolean semantic = testSemanticTier();
+            boolean bounded = testBoundedAndExpiring();
+
+            if (exact && persistent && semantic && bounded) {
+                System.out.println("\n=== Test Passed Successfully! ===");
+            } else {
+                System.err.println("❌ Test Failed: exact=" + exact + ", persistent=" + persistent + ", semantic=" + semantic + ", bounded=" + bounded);
+                System.exit(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder())
+                    .forEach(file -> file.toFile()
+                        .delete());
+            }
+        }
+    }
+
+    private static boolean testExactTierAndStageStats() throws Exception {
+        System.out.println("1. Repeated prompts are served from the exact tier, with hit rates per stage");
+        CountingClient model = new CountingClient();
+        CachingLLMClient client = CachingLLMClient.builder(model, "test-model")
+            .build();
+        QueryAnalysis analysis = new QueryAnalysis(client);
+        Synthesis synthesis = new Synthesis(client);
+
+        for (int i = 0; i < 4; i++) {
+            analysis.analyze("How does Raft elect a leader?");
+        }
+        synthesis.synthesize("Summarize leader election in Raft");
+        synthesis.synthesize("Summarize log replication in Raft");
+        // Same prompt, different output type: a separate entry.
+        client.complete("How does Raft elect a leader?", Map.class);
+
+        Map<String, CachingLLMClient.StageStats> stages = client.getStageStats();
+        System.out.println("   model calls: " + model.calls.get() + ", stages: " + stages.values() + "\n");
+        CachingLLMClient.StageStats analysisStats = stages.get("QueryAnalysis");
+        CachingLLMClient.StageStats synthesisStats = stages.get("Synthesis");
+        return model.calls.get() == 4 && analysisStats != null && analysisStats.getExactHitCount() == 3 && analysisStats.getHitRate() == 0.75
+            && synthesisStats != null && synthesisStats.getMissCount() == 2 && synthesisStats.getHitRate() == 0.0;
+    }
+
+    private static boolean testSurvivesRestart(Path directory) throws Exception {
+        System.out.println("2. Entries persist across restarts, structured outputs included");
+        CountingClient firstModel = new CountingClient();
+        CachingLLMClient first = CachingLLMClient.builder(firstModel, "test-model")
+            .directory(directory)
+            .build();
+        LLMResponse<String> text = first.complete("Explain vector clocks", String.class);
+        LLMResponse<?> structured = first.complete("Classify: vector clocks", Map.class);
+
+        CountingClient secondModel = new CountingClient();
+        CachingLLMClient second = CachingLLMClient.builder(secondModel, "test-model")
+            .directory(directory)
+            .build();
+        LLMResponse<String> textAgain = second.complete("Explain vector clocks", String.class);
+        LLMResponse<?> structuredAgain = second.complete("Classify: vector clocks", Map.class);
+
+        // Another model must not see these entries.
+        CountingClient otherModel = new CountingClient();
+        CachingLLMClient other = CachingLLMClient.builder(otherModel, "other-model")
+            .directory(directory)
+            .build();
+        other.complete("Explain vector clocks", String.class);
+
+        System.out.println("   after restart: model calls " + secondModel.calls.get() + ", disk hits " + second.getDiskHitCount() + ", structured " +
+            structuredAgain.structuredOutput() + "; other model calls: " + otherModel.calls.get() + "\n");
+        return secondModel.calls.get() == 0 && second.getDiskHitCount() == 2 && text.rawText()
+            .equals(textAgain.rawText()) && structured.structuredOutput()
+                .equals(structuredAgain.structuredOutput()) && otherModel.calls.get() == 1;
+    }
+
+    private static boolean testSemanticTier() throws Exception {
+        System.out.println("3. Near-repeats of short prompts are served from the semantic tier");
+        CountingClient model = new CountingClient();
+        CachingLLMClient client = CachingLLMClient.builder(model, "test-model")
+            .semanticTier(new BagOfWordsEmbeddings(), 0.95)
+            .semanticMaxPromptChars(200)
+            .build();
+
+        client.complete("What is the Raft consensus algorithm?", String.class);
+        LLMResponse<String> nearRepeat = client.complete("what is the raft consensus algorithm", String.class);
+        client.complete("What is the Paxos consensus algorithm?", String.class);
+        String longPrompt = "Summarize these sources: " + "raft consensus leader election log replication ".repeat(10);
+        client.complete(longPrompt, String.class);
+        client.complete(longPrompt.toUpperCase(), String.class);
+
+        CachingLLMClient.StageStats total = client.getTotalStats();
+        System.out.println("   model calls: " + model.calls.get() + ", " + total + "\n");
+        return model.calls.get() == 4 && total.getSemanticHitCount() == 1 && nearRepeat.rawText()
+            .contains("Raft consensus algorithm?");
+    }
+
+    private static boolean testBoundedAndExpiring() throws Exception {
+        System.out.println("4. The memory tier is bounded and entries expire");
+        AtomicLong now = new AtomicLong(0);
+        CountingClient model = new CountingClient();
+        CachingLLMClient client = CachingLLMClient.builder(model, "test-model")
+            .maximumEntries(10)
+            .timeToLive(Duration.ofHours(1))
+            .clock(now::get)
+            .build();
+
+        for (int i = 0; i < 100; i++) {
+            client.complete("Question number " + i, String.class);
+        }
+        long entries = client.getMemoryStats()
+            .getEntryCount();
+        client.complete("Question number 99", String.class);
+        int beforeExpiry = model.calls.get();
+        now.addAndGet(Duration.ofHours(2)
+            .toMillis());
+        client.complete("Question number 99", String.class);
+
+        System.out.println("   entries held: " + entries + " of 100, calls before expiry " + beforeExpiry + ", after " + model.calls.get() + "\n");
+        return entries <= 10 && beforeExpiry == 100 && model.calls.get() == 101;
+    }
+
+    private static final class QueryAnalysis {
+
+        private final LLMClient client;
+
+        QueryAnalysis(LLMClient client) {
+            this.client = client;
+        }
+
+        String analyze(String query) throws LLMClientException {
+            return client.complete(query, String.class)
+                .structuredOutput();
+        }
+    }
+
+    private static final class Synthesis {
+
+        private final LLMClient client;
+
+        Synthesis(LLMClient client) {
+            this.client = client;
+        }
+
+        String synthesize(String prompt) throws LLMClientException {
+            return client.complete(prompt, String.class)
+                .structuredOutput();
+        }
+    }
+
+    private static final class CountingClient implements LLMClient {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> LLMResponse<T> complete(String prompt, Class<T> type) {
+            int call = calls.incrementAndGet();
+            String raw = "Answer " + call + " to: " + prompt;
+            if (type == String.class) {
+                return new LLMResponse<>(raw, (T) raw);
+            }
+            Map<String, Object> structured = new HashMap<>();
+            structured.put("answer", raw);
+            structured.put("call", call);
+            return new LLMResponse<>(raw, (T) structured);
+        }
+    }
+
+    // Deterministic word-count embedding: prompts with the same words in any case or punctuation embed identically.
+    private static final class BagOfWordsEmbeddings implements EmbeddingService {
+
+        private static final int DIMENSIONS = 256;
+
+        @Override
+        public float[] generateEmbeddings(String text) {
+            float[] embedding = new float[DIMENSIONS];
+            for (String word : text.toLowerCase()
+                .split("[^a-z0-9]+")) {
+                if (!word.isEmpty()) {
+                    embedding[Math.floorMod(word.hashCode(), DIMENSIONS)] += 1.0f;
+                }
+            }
+            return embedding;
+        }
+
+        @Override
+        public int getDimensions() {
+            return DIMENSIONS;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.client.cache.CachingLLMClient;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.deepresearch.context.DeepResearchContext;
+import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
+import com.github.bhavuklabs.deepresearch.pipeline.HierarchicalSynthesizer;
+import com.github.bhavuklabs.deepresearch.pipeline.MapReduceSynthesizer;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class MapReduceSynthesisTest {
+
+    private static final long LATENCY_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Map-Reduce Synthesis Test ===\n");
+
+        boolean leaves = testLeavesRunConcurrently();
+        boolean tree = testReduceTakesLogarithmicRounds();
+        boolean isolation = testFailedLeavesFallBackAlone();
+        boolean budget = testMergesStayWithinTokenBudget();
+        boolean hierarchical = testHierarchicalSynthesis();
+        boolean stages = testMergesCreditedToTheirStage();
+
+        if (leaves && tree && isolation && budget && hierarchical && stages) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: leaves=" + leaves + ", tree=" + tree + ", isolation=" + isolation + ", budget=" + budget +
+                ", hierarchical=" + hierarchical + ", stages=" + stages);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testLeavesRunConcurrently() {
+        System.out.println("1. Eight leaves take about one round trip, not eight");
+        SlowClient client = new SlowClient();
+        try (MapReduceSynthesizer synthesizer = MapReduceSynthesizer.builder()
+            .llmClient(client)
+            .build()) {
+            List<String> questions = List.of("q1", "q2", "q3", "q4", "q5", "q6", "q7", "q8");
+            long start = System.nanoTime();
+            Map<String, String> insights = synthesizer.map(questions, question -> client.complete("insight for " + question, String.class)
+                .structuredOutput(), question -> "fallback " + question);
+            long elapsed = elapsedMillis(start);
+
+            System.out.println("   " + insights.size() + " insights in " + elapsed + " ms, peak concurrency " + client.peak.get() + ", order " +
+                insights.keySet() + "\n");
+            return new ArrayList<>(insights.keySet()).equals(questions) && insights.get("q3")
+                .equals("merged[insight for q3]") && elapsed < LATENCY_MILLIS * 3 && client.peak.get() == 8;
+        }
+    }
+
+    private static boolean testReduceTakesLogarithmicRounds() {
+        System.out.println("2. Sixteen parts reduce in two rounds of fan-in 4");
+        SlowClient client = new SlowClient();
+        try (MapReduceSynthesizer synthesizer = MapReduceSynthesizer.builder()
+            .llmClient(client)
+            .fanIn(4)
+            .build()) {
+            List<String> parts = new ArrayList<>();
+            for (int i = 1; i <= 16; i++) {
+                parts.add("part-" + i);
+            }
+            long start = System.nanoTime();
+            String result = synthesizer.reduce(parts, MapReduceSynthesisTest::mergePrompt, batch -> String.join("|", batch));
+            long elapsed = elapsedMillis(start);
+
+            System.out.println("   " + client.calls.get() + " merge calls in " + elapsed + " ms (sequential would be " + (16 * LATENCY_MILLIS) +
+                " ms), result length " + result.length() + "\n");
+            return client.calls.get() == 5 && elapsed < LATENCY_MILLIS * 4 && result.contains("part-1,") && result.contains("part-16");
+        }
+    }
+
+    private static boolean testFailedLeavesFallBackAlone() {
+        System.out.println("3. A failing leaf and a hung leaf fall back without holding up their siblings");
+        SlowClient client = new SlowClient();
+        try (MapReduceSynthesizer synthesizer = MapReduceSynthesizer.builder()
+            .llmClient(client)
+            .callTimeout(Duration.ofMillis(600))
+            .build()) {
+            long start = System.nanoTime();
+            Map<String, String> results = synthesizer.map(List.of("ok-1", "broken", "hung", "ok-2"), key -> {
+                if (key.equals("broken")) {
+                    throw new LLMClientException("Failed to complete prompt: invalid response", "TEST", "completion");
+                }
+                if (key.equals("hung")) {
+                    Thread.sleep(10_000);
+                }
+                return client.complete(key, String.class)
+                    .structuredOutput();
+            }, key -> "local summary of " + key);
+            long elapsed = elapsedMillis(start);
+
+            System.out.println("   " + results + " in " + elapsed + " ms, " + synthesizer + "\n");
+            return results.get("broken")
+                .equals("local summary of broken") && results.get("hung")
+                .equals("local summary of hung") && results.get("ok-1")
+                .equals("merged[ok-1]") && synthesizer.getFallbackCount() == 2 && elapsed < 2000;
+        }
+    }
+
+    private static boolean testMergesStayWithinTokenBudget() {
+        System.out.println("4. Merge prompts stay within the token budget");
+        SlowClient client = new SlowClient();
+        int tokenBudget = 2000;
+        try (MapReduceSynthesizer synthesizer = MapReduceSynthesizer.builder()
+            .llmClient(client)
+            .fanIn(4)
+            .tokenBudget(tokenBudget)
+            .build()) {
+            // 900 tokens each: two fit in a merge, a third would not.
+            List<String> parts = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                parts.add(String.valueOf((char) ('a' + i))
+                    .repeat(3600));
+            }
+            // 5000 tokens each: a pair has to be cut down to fit.
+            List<String> oversized = List.of("x".repeat(20000), "y".repeat(20000));
+
+            synthesizer.reduce(parts, batch -> String.join("", batch), batch -> String.join("", batch));
+            synthesizer.reduce(oversized, batch -> String.join("", batch), batch -> String.join("", batch));
+
+            int largestPrompt = client.prompts.stream()
+                .mapToInt(String::length)
+                .max()
+                .orElse(0);
+            System.out.println("   " + client.prompts.size() + " merges, largest prompt " + largestPrompt + " chars (budget " + tokenBudget * 4 +
+                ")\n");
+            return client.prompts.size() == 4 && largestPrompt <= tokenBudget * 4 && client.prompts.stream()
+                .anyMatch(prompt -> prompt.contains("x") && prompt.contains("y"));
+        }
+    }
+
+    private static boolean testHierarchicalSynthesis() {
+        System.out.println("5. HierarchicalSynthesizer groups sections in parallel and keeps the section headings");
+        SlowClient client = new SlowClient();
+        HierarchicalSynthesizer synthesizer = new HierarchicalSynthesizer(client);
+        DeepResearchContext context = new DeepResearchContext("session-1", "Distributed consensus", DeepResearchConfig.createDefault());
+
+        Map<String, String> sections = new LinkedHashMap<>();
+        String[] titles = {"Implementation", "Technical details", "Performance benchmarks", "Speed tuning", "Architecture", "Design patterns",
+            "Security risks", "Privacy", "Use case studies", "Applications", "Evaluation", "Comparison"};
+        for (String title : titles) {
+            sections.put(title, title + ": " + "detail ".repeat(150));
+        }
+
+        long start = System.nanoTime();
+        String synthesis = synthesizer.synthesizeHierarchically(sections, context);
+        long elapsed = elapsedMillis(start);
+
+        // Six groups of two sections: one round of six group merges, then coherence merges of four and two parts and a
+        // final one over both.
+        System.out.println("   " + client.calls.get() + " calls in " + elapsed + " ms (sequential would be " + (7 * LATENCY_MILLIS) +
+            " ms), peak concurrency " + client.peak.get() + "\n");
+        return client.calls.get() == 9 && client.peak.get() == 6 && elapsed < LATENCY_MILLIS * 5 && synthesis.contains(
+            "## Implementation Strategies") && synthesis.contains("## Security Considerations");
+    }
+
+    private static boolean testMergesCreditedToTheirStage() {
+        System.out.println("6. Cache statistics credit each merge to the synthesis stage that asked for it");
+        CachingLLMClient client = CachingLLMClient.builder(new SlowClient(), "test-model")
+            .build();
+        HierarchicalSynthesizer synthesizer = new HierarchicalSynthesizer(client);
+        DeepResearchContext context = new DeepResearchContext("session-1", "Distributed consensus", DeepResearchConfig.createDefault());
+
+        Map<String, String> sections = new LinkedHashMap<>();
+        for (String title : new String[] {"Implementation", "Technical details", "Security risks", "Privacy"}) {
+            sections.put(title, title + ": " + "detail ".repeat(400));
+        }
+        Map<String, List<String>> themes = new LinkedHashMap<>();
+        themes.put("consensus", List.of("Raft elects a leader", "Paxos agrees on values", "Both need a quorum"));
+        themes.put("replication", List.of("Logs are replicated", "Followers apply entries"));
+
+        synthesizer.synthesizeHierarchically(sections, context);
+        synthesizer.synthesizeIterativeInsights(themes, context);
+
+        // Two group merges, one coherence merge over both groups, and one merge per theme.
+        Map<String, CachingLLMClient.StageStats> stages = client.getStageStats();
+        System.out.println("   stages: " + stages.values() + "\n");
+        client.close();
+        return stages.keySet()
+            .equals(Set.of("GroupSynthesis", "CoherenceSynthesis", "ThemeSynthesis")) && stages.get("GroupSynthesis")
+            .getMissCount() == 2 && stages.get("CoherenceSynthesis")
+            .getMissCount() == 1 && stages.get("ThemeSynthesis")
+            .getMissCount() == 2;
+    }
+
+    private static String mergePrompt(List<String> batch) {
+        return String.join(",", batch);
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    // Answers every prompt after a fixed latency, echoing it back wrapped in merged[...].
+    private static final class SlowClient implements LLMClient {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final List<String> prompts = new CopyOnWriteArrayList<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> LLMResponse<T> complete(String prompt, Class<T> type) throws LLMClientException {
+            calls.incrementAndGet();
+            prompts.add(prompt);
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+                throw new LLMClientException("Interrupted", e, "TEST", "completion");
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            String text = "merged[" + prompt + "]";
+            return new LLMResponse<>(text, (T) text);
+        }
+    }
+}
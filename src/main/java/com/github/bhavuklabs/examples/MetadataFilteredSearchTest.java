@@ -0,0 +1,171 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.services.ContentVectorizer;
+import com.github.bhavuklabs.services.impl.ProductionEmbeddingService;
+import com.github.bhavuklabs.vector.VectorStore;
+import com.github.bhavuklabs.vector.VectorStore.SimilarityResult;
+import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+import com.github.bhavuklabs.vector.VectorStoreConfig;
+import com.github.bhavuklabs.vector.filter.MetadataFilter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+
+public class MetadataFilteredSearchTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final int SESSIONS = 200;
+    private static final int CHUNKS_PER_SESSION = 500;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Metadata-Filtered Vector Search Test ===\n");
+
+        Random random = new Random(3);
+        VectorStore store = new VectorStore(DIMENSIONS);
+        for (int s = 0; s < SESSIONS; s++) {
+            for (int c = 0; c < CHUNKS_PER_SESSION; c++) {
+                store.store("session-" + s + ":chunk-" + c, randomVector(random), "content",
+                    Map.of("session_id", "session-" + s, "content_id", "chunk-" + c, "topic", "topic-" + (c % 10)));
+            }
+        }
+        System.out.println("Stored " + store.size() + " documents across " + SESSIONS + " sessions\n");
+
+        float[] query = randomVector(random);
+        MetadataFilter filter = MetadataFilter.builder()
+            .sessionId("session-17")
+            .topic("topic-3")
+            .build();
+
+        long start = System.nanoTime();
+        List<SimilarityResult> filtered = store.search(query, 5, filter);
+        double filteredMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        List<SimilarityResult> expected = store.search(query, Integer.MAX_VALUE)
+            .stream()
+            .filter(result -> filter.matches(result.getDocument()::getMetadataValue))
+            .limit(5)
+            .collect(Collectors.toList());
+        double scanMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        start = System.nanoTime();
+        List<VectorDocument> sessionDocs = store.findByMetadata(MetadataFilter.where("session_id", "session-42"), Integer.MAX_VALUE);
+        double lookupMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        List<String> filteredIds = filtered.stream()
+            .map(result -> result.getDocument().getId())
+            .collect(Collectors.toList());
+        List<String> expectedIds = expected.stream()
+            .map(result -> result.getDocument().getId())
+            .collect(Collectors.toList());
+
+        System.out.println(String.format("Filtered search:    %.3f ms -> %s", filteredMillis, filteredIds));
+        System.out.println(String.format("Full scan + filter: %.3f ms -> %s", scanMillis, expectedIds));
+        System.out.println(String.format("Session lookup:     %.3f ms -> %d documents", lookupMillis, sessionDocs.size()));
+
+        boolean consistent = concurrentRewritesStayConsistent();
+        boolean noSelfLinks = connectionsSkipTheDocumentItself();
+
+        if (filteredIds.equals(expectedIds) && sessionDocs.size() == CHUNKS_PER_SESSION && consistent && noSelfLinks) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: filtered results differ from a full scan, or concurrent rewrites left stale postings");
+            System.exit(1);
+        }
+    }
+
+    // Writers walk the same ids in lock step, each storing its own vector under a random session, so every id ends on a race;
+    // afterwards each id must be posted under exactly the session of its live document, and the index must hold that
+    // document's vector. HNSW inserts are slow enough to widen the window between the index and the document map.
+    private static boolean concurrentRewritesStayConsistent() throws Exception {
+        int ids = 2_000;
+        int writerCount = 8;
+        VectorStore store = new VectorStore(VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .enableHnsw()
+            .build());
+        float[][][] vectors = new float[writerCount][ids][];
+        Random seed = new Random(5);
+        for (int w = 0; w < writerCount; w++) {
+            for (int i = 0; i < ids; i++) {
+                vectors[w][i] = randomVector(seed);
+            }
+        }
+        CyclicBarrier step = new CyclicBarrier(writerCount);
+        ExecutorService writers = Executors.newFixedThreadPool(writerCount);
+        for (int w = 0; w < writerCount; w++) {
+            float[][] own = vectors[w];
+            writers.submit(() -> {
+                Random random = ThreadLocalRandom.current();
+                for (int i = 0; i < ids; i++) {
+                    String session = "session-" + random.nextInt(2);
+                    step.await();
+                    store.store("shared-" + i, own[i], "content", Map.of("session_id", session));
+                }
+                return null;
+            });
+        }
+        writers.shutdown();
+        writers.awaitTermination(5, TimeUnit.MINUTES);
+
+        int stale = 0;
+        for (int i = 0; i < ids; i++) {
+            String id = "shared-" + i;
+            VectorDocument live = store.retrieve(id);
+            Object session = live.getMetadataValue("session_id");
+            Object otherSession = "session-0".equals(session) ? "session-1" : "session-0";
+            boolean posted = store.findByMetadata(MetadataFilter.where("session_id", session), Integer.MAX_VALUE)
+                .stream()
+                .anyMatch(doc -> doc.getId().equals(id));
+            boolean postedElsewhere = store.findByMetadata(MetadataFilter.where("session_id", otherSession), Integer.MAX_VALUE)
+                .stream()
+                .anyMatch(doc -> doc.getId().equals(id));
+            List<SimilarityResult> nearest = store.search(live.getVector(), 1, MetadataFilter.where("session_id", session));
+            boolean indexed = !nearest.isEmpty() && nearest.get(0).getDocument().getId().equals(id) && nearest.get(0).getSimilarity() > 0.999f;
+            if (!posted || postedElsewhere || !indexed) {
+                stale++;
+            }
+        }
+        System.out.println("Concurrent rewrites: " + stale + " of " + ids + " ids with stale postings or vectors");
+        return stale == 0;
+    }
+
+    // Every stored document is its own nearest neighbour; the vectorizer must not record that as a connection.
+    private static boolean connectionsSkipTheDocumentItself() {
+        VectorStore store = new VectorStore(DIMENSIONS);
+        ContentVectorizer vectorizer = new ContentVectorizer(store, new ProductionEmbeddingService());
+        for (int i = 0; i < 6; i++) {
+            vectorizer.storeContent("session-x", "note-" + i, "Write-ahead log note " + i + ": fsync, group commit and recovery.",
+                Map.of("topic", "storage"));
+        }
+
+        int selfLinks = 0;
+        int links = 0;
+        for (Map.Entry<String, Set<String>> entry : vectorizer.getContentConnections("session-x").entrySet()) {
+            String contentId = entry.getKey().substring(entry.getKey().indexOf(':') + 1);
+            links += entry.getValue().size();
+            if (entry.getValue().contains(contentId)) {
+                selfLinks++;
+            }
+        }
+        System.out.println("Content connections: " + links + " links, " + selfLinks + " documents linked to themselves");
+        return selfLinks == 0 && links > 0;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
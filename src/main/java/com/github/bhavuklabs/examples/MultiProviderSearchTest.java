@@ -0,0 +1,246 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.local.LocalCitationFetcher;
+import com.github.bhavuklabs.citation.perplexity.PerplexityCitationFetcher;
+import com.github.bhavuklabs.citation.resilience.ProviderCircuitBreakers;
+import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.citation.service.ProviderBudget;
+import com.github.bhavuklabs.exceptions.citation.CitationException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class MultiProviderSearchTest {
+
+    private static final String QUERY = "vector database indexing";
+    private static final String[] VOCABULARY = ("recall latency graph partition centroid quantization codebook neighbor layer "
+        + "probe cluster distance cosine memory disk shard replica build insert delete filter payload segment merge "
+        + "benchmark throughput accuracy dimension embedding search index vector storage cache").split(" ");
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Multi-Provider Search Test ===\n");
+        for (CitationSource source : CitationSource.values()) {
+            ProviderCircuitBreakers.reset(source);
+        }
+
+        boolean parallel = testProvidersQueriedInParallel();
+        boolean merged = testDuplicatesMergedAcrossProviders();
+        boolean early = testEarlyReturnOnEnoughRelevantResults();
+        boolean budget = testSlowProviderBoundedByBudget();
+        boolean perplexity = testPerplexityResponses();
+        boolean abandoned = testRetriesStopOnceSearchCompletes();
+
+        if (parallel && merged && early && budget && perplexity && abandoned) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: parallel=" + parallel + ", merged=" + merged + ", early=" + early + ", budget=" + budget +
+                ", perplexity=" + perplexity + ", abandoned=" + abandoned);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testProvidersQueriedInParallel() {
+        System.out.println("1. Three providers taking 400 ms each answer in about 400 ms, not 1200 ms");
+        CitationService service = CitationService.multiProvider()
+            .provider(CitationSource.TAVILY, corpus("tavily", 400, "https://tavily.example.com/"))
+            .provider(CitationSource.PERPLEXITY, corpus("perplexity", 400, "https://perplexity.example.com/"))
+            .provider(CitationSource.GOOGLE_GEMINI, corpus("google", 400, "https://google.example.com/"))
+            .targetCitations(50)
+            .build();
+
+        long start = System.nanoTime();
+        List<CitationResult> results = service.searchAsync(QUERY)
+            .join();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Set<Object> sources = new HashSet<>();
+        for (CitationResult result : results) {
+            sources.add(result.getMetadata()
+                .get("source"));
+        }
+        System.out.println("   " + results.size() + " citations from " + sources + " in " + elapsed + " ms\n");
+        service.close();
+        return elapsed < 1000 && sources.size() == 3 && results.size() == 9;
+    }
+
+    private static boolean testDuplicatesMergedAcrossProviders() {
+        System.out.println("2. The same pages reported by several providers are merged");
+        // The second provider reports the first one's pages under other URL spellings, plus a mirror of one page with
+        // the same title on another host.
+        LocalCitationFetcher first = LocalCitationFetcher.builder()
+            .name("first")
+            .document("Vector database indexing with HNSW graphs", "https://example.com/hnsw", body("hnsw"))
+            .document("Vector database indexing with IVF partitions", "https://example.com/ivf/", body("ivf"))
+            .document("Vector database indexing and product quantization", "https://example.com/pq", body("pq"))
+            .build();
+        LocalCitationFetcher second = LocalCitationFetcher.builder()
+            .name("second")
+            .document("Vector database indexing with HNSW graphs", "http://www.example.com/hnsw?utm_source=search", body("hnsw"))
+            .document("Vector database indexing with IVF partitions", "https://EXAMPLE.com/ivf", body("ivf"))
+            .document("Vector database indexing and product quantization", "https://mirror.example.org/pq-copy", body("pq"))
+            .document("Vector database indexing benchmarks", "https://bench.example.net/results", body("benchmarks"))
+            .build();
+        CitationService service = CitationService.multiProvider()
+            .provider(CitationSource.TAVILY, first)
+            .provider(CitationSource.PERPLEXITY, second)
+            .targetCitations(50)
+            .build();
+
+        List<CitationResult> results = service.searchAsync(QUERY)
+            .join();
+        Set<String> titles = new HashSet<>();
+        for (CitationResult result : results) {
+            titles.add(result.getTitle());
+        }
+        System.out.println("   7 reported, " + results.size() + " kept: " + titles + "\n");
+        service.close();
+        return results.size() == 4 && titles.size() == 4;
+    }
+
+    private static boolean testEarlyReturnOnEnoughRelevantResults() {
+        System.out.println("3. Enough relevant citations from the fast provider end the search early");
+        CitationService service = CitationService.multiProvider()
+            .provider(CitationSource.TAVILY, corpus("fast", 50, "https://fast.example.com/"))
+            .provider(CitationSource.PERPLEXITY, corpus("slow", 3000, "https://slow.example.com/"))
+            .targetCitations(3)
+            .build();
+
+        long start = System.nanoTime();
+        List<CitationResult> results = service.searchAsync(QUERY)
+            .join();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("   " + results.size() + " citations in " + elapsed + " ms (the slow provider takes 3000 ms)\n");
+        service.close();
+        return elapsed < 1500 && results.size() == 3;
+    }
+
+    private static boolean testSlowProviderBoundedByBudget() {
+        System.out.println("4. A provider past its budget is dropped instead of holding up the search");
+        CitationService service = CitationService.multiProvider()
+            .provider(CitationSource.TAVILY, corpus("fast", 50, "https://fast.example.com/"))
+            .provider(CitationSource.PERPLEXITY, corpus("stalled", 5000, "https://stalled.example.com/"), ProviderBudget.builder()
+                .timeout(Duration.ofMillis(500))
+                .build())
+            .targetCitations(50)
+            .build();
+
+        long start = System.nanoTime();
+        List<CitationResult> results = service.searchAsync(QUERY)
+            .join();
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("   " + results.size() + " citations in " + elapsed + " ms (budget 500 ms, provider takes 5000 ms)\n");
+        service.close();
+        return elapsed < 2000 && results.size() == 3;
+    }
+
+    private static boolean testPerplexityResponses() throws Exception {
+        System.out.println("5. Perplexity search_results and citations are parsed; a bad key is reported as such");
+        String snippet = body("perplexity");
+        String response = "{\"choices\":[{\"message\":{\"content\":\"Indexes avoid full scans [1][2].\"}}],"
+            + "\"search_results\":[{\"title\":\"HNSW vector database indexing\",\"url\":\"https://example.com/hnsw\",\"snippet\":\"" + snippet + "\"},"
+            + "{\"title\":\"IVF vector database indexing\",\"url\":\"https://example.com/ivf\",\"snippet\":\"" + snippet + "\"}],"
+            + "\"citations\":[\"https://example.com/hnsw\",\"https://example.com/ivf\"]}";
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/chat/completions", exchange -> {
+            String authorization = exchange.getRequestHeaders()
+                .getFirst("Authorization");
+            if (!"Bearer good-key".equals(authorization)) {
+                respond(exchange, 401, "{\"error\":\"invalid api key\"}");
+                return;
+            }
+            respond(exchange, 200, response);
+        });
+        server.start();
+        URI endpoint = URI.create("http://127.0.0.1:" + server.getAddress()
+            .getPort() + "/chat/completions");
+
+        try (PerplexityCitationFetcher good = new PerplexityCitationFetcher("good-key", endpoint, "sonar", Duration.ofSeconds(5));
+            PerplexityCitationFetcher bad = new PerplexityCitationFetcher("bad-key", endpoint, "sonar", Duration.ofSeconds(5))) {
+            List<CitationResult> results = good.fetch(QUERY);
+            System.out.println("   parsed " + results.size() + " citations: " + (results.isEmpty() ? "-" : results.get(0)
+                .getTitle()));
+
+            boolean rejected = false;
+            try {
+                bad.fetch(QUERY);
+            } catch (CitationException e) {
+                rejected = e.getMessage()
+                    .contains("authentication");
+                System.out.println("   bad key: " + e.getMessage());
+            }
+            return results.size() == 2 && results.get(0)
+                .getContent()
+                .startsWith("Vector database indexing") && rejected;
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static boolean testRetriesStopOnceSearchCompletes() throws Exception {
+        System.out.println("6. A failing provider is not retried once the other providers have answered the search");
+        AtomicInteger attempts = new AtomicInteger();
+        CitationService service = CitationService.multiProvider()
+            .provider(CitationSource.TAVILY, corpus("fast", 50, "https://fast.example.com/"))
+            .provider(CitationSource.GOOGLE_GEMINI, query -> {
+                attempts.incrementAndGet();
+                throw new CitationException("Upstream unavailable", query, "flaky");
+            })
+            .targetCitations(3)
+            .build();
+
+        List<CitationResult> results = service.searchAsync(QUERY)
+            .join();
+        // Unchecked, the failing provider would be retried after 1 s and again after 2 more.
+        Thread.sleep(3500);
+        System.out.println("   " + results.size() + " citations; the failing provider was tried " + attempts.get() + " time(s)\n");
+        service.close();
+        return results.size() == 3 && attempts.get() == 1;
+    }
+
+    // Short titles keep one provider's pages clear of the near-duplicate title match against another's.
+    private static LocalCitationFetcher corpus(String name, long latencyMillis, String baseUrl) {
+        return LocalCitationFetcher.builder()
+            .name(name)
+            .document(name + " on HNSW", baseUrl + "hnsw", body(name + "hnsw"))
+            .document(name + " on IVF", baseUrl + "ivf", body(name + "ivf"))
+            .document(name + " on quantization", baseUrl + "pq", body(name + "pq"))
+            .latency(Duration.ofMillis(latencyMillis))
+            .build();
+    }
+
+    // Distinct pages need distinct bodies, or the content match merges them as mirrors.
+    private static String body(String page) {
+        Random random = new Random(page.hashCode());
+        StringBuilder text = new StringBuilder("Vector database indexing");
+        for (int i = 0; i < 40; i++) {
+            text.append(' ')
+                .append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return text.append('.')
+            .toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders()
+            .set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.cache.PageStore;
+import com.github.bhavuklabs.citation.content.PageFetcher;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+public class PageStoreTest {
+
+    private static final String LAST_MODIFIED = "Tue, 06 Oct 2026 08:00:00 GMT";
+
+    private static final AtomicInteger fullResponses = new AtomicInteger();
+    private static final AtomicInteger notModifiedResponses = new AtomicInteger();
+    private static volatile int version = 1;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Page Store Revalidation Test ===\n");
+
+        boolean canonical = testCanonicalUrls();
+
+        Path directory = Files.createTempDirectory("research4j-page-store");
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/docs", PageStoreTest::serveDocs);
+        server.createContext("/private", exchange -> respond(exchange, 200, "no-store", null, page("Account settings for the signed in user.")));
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress()
+            .getPort();
+
+        boolean revalidation;
+        boolean persistence;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            AtomicLong now = new AtomicLong(1_000_000L);
+            revalidation = testRevalidation(executor, directory, now, base);
+            persistence = testDiskBacking(executor, directory, now, base);
+        } finally {
+            server.stop(0);
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder())
+                    .forEach(path -> path.toFile()
+                        .delete());
+            }
+        }
+
+        if (canonical && revalidation && persistence) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: canonical=" + canonical + ", revalidation=" + revalidation + ", persistence=" + persistence);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testCanonicalUrls() {
+        System.out.println("1. Links to the same page share one canonical key");
+        String canonical = PageStore.canonicalize("https://Docs.Example.org:443/guide/wal?b=2&utm_source=news&a=1#recovery");
+        boolean same = canonical.equals(PageStore.canonicalize("https://docs.example.org/guide/wal?a=1&b=2&gclid=xyz"));
+        boolean rootPath = PageStore.canonicalize("http://example.org")
+            .equals("http://example.org/");
+        System.out.println("   " + canonical + ", variants match: " + same + ", root path: " + rootPath + "\n");
+        return same && rootPath && canonical.equals("https://docs.example.org/guide/wal?a=1&b=2");
+    }
+
+    private static boolean testRevalidation(ExecutorService executor, Path directory, AtomicLong now, String base) {
+        System.out.println("2. Fresh pages cost nothing, stale pages one conditional GET");
+        PageStore store = PageStore.builder()
+            .directory(directory)
+            .defaultFreshness(Duration.ofMinutes(10))
+            .clock(now::get)
+            .build();
+        PageFetcher fetcher = fetcher(executor, store);
+        String url = base + "/docs/wal";
+
+        PageFetcher.FetchedPage first = fetch(fetcher, url);
+        PageFetcher.FetchedPage fresh = fetch(fetcher, url + "#checkpoints");
+        now.addAndGet(Duration.ofMinutes(11)
+            .toMillis());
+        PageFetcher.FetchedPage revalidated = fetch(fetcher, url);
+        PageFetcher.FetchedPage freshAgain = fetch(fetcher, url);
+        System.out.println("   first: " + first.getOrigin() + ", again: " + fresh.getOrigin() + ", after expiry: " + revalidated.getOrigin() + ", then: "
+            + freshAgain.getOrigin());
+        System.out.println("   language: " + first.getLanguage() + ", words: " + first.getWordCount() + ", same text from store: " + revalidated.getText()
+            .equals(first.getText()));
+
+        version = 2;
+        now.addAndGet(Duration.ofMinutes(11)
+            .toMillis());
+        PageFetcher.FetchedPage changed = fetch(fetcher, url);
+        boolean sawChange = changed.getOrigin() == PageFetcher.Origin.NETWORK && changed.getText()
+            .contains("version 2");
+
+        PageFetcher.FetchedPage privatePage = fetch(fetcher, base + "/private");
+        PageFetcher.FetchedPage privateAgain = fetch(fetcher, base + "/private");
+        boolean noStore = privatePage.getOrigin() == PageFetcher.Origin.NETWORK && privateAgain.getOrigin() == PageFetcher.Origin.NETWORK;
+
+        System.out.println("   full responses: " + fullResponses.get() + ", 304 responses: " + notModifiedResponses.get() + ", changed page refetched: "
+            + sawChange + ", no-store honoured: " + noStore);
+        System.out.println("   " + store + "\n");
+        return first.getOrigin() == PageFetcher.Origin.NETWORK && fresh.getOrigin() == PageFetcher.Origin.STORE
+            && revalidated.getOrigin() == PageFetcher.Origin.REVALIDATED && freshAgain.getOrigin() == PageFetcher.Origin.STORE && "en".equals(
+                first.getLanguage()) && first.getWordCount() > 20 && revalidated.getText()
+                    .equals(first.getText()) && sawChange && noStore && fullResponses.get() == 2 && notModifiedResponses.get() == 1;
+    }
+
+    private static boolean testDiskBacking(ExecutorService executor, Path directory, AtomicLong now, String base) {
+        System.out.println("3. A new process finds the page on disk and revalidates it");
+        PageStore restarted = PageStore.builder()
+            .directory(directory)
+            .defaultFreshness(Duration.ofMinutes(10))
+            .clock(now::get)
+            .build();
+        PageFetcher fetcher = fetcher(executor, restarted);
+        int fullBefore = fullResponses.get();
+
+        PageFetcher.FetchedPage fromDisk = fetch(fetcher, base + "/docs/wal");
+        now.addAndGet(Duration.ofMinutes(11)
+            .toMillis());
+        PageFetcher.FetchedPage revalidated = fetch(fetcher, base + "/docs/wal");
+        System.out.println("   restart: " + fromDisk.getOrigin() + ", after expiry: " + revalidated.getOrigin() + ", extra full responses: " + (fullResponses.get()
+            - fullBefore));
+        System.out.println("   " + restarted);
+        return fromDisk.getOrigin() == PageFetcher.Origin.STORE && revalidated.getOrigin() == PageFetcher.Origin.REVALIDATED
+            && fullResponses.get() == fullBefore && restarted.getDiskHitCount() == 1 && fromDisk.getText()
+                .contains("version 2");
+    }
+
+    private static PageFetcher.FetchedPage fetch(PageFetcher fetcher, String url) {
+        return fetcher.fetch(url, Duration.ofSeconds(5))
+            .join();
+    }
+
+    private static PageFetcher fetcher(ExecutorService executor, PageStore store) {
+        return PageFetcher.builder()
+            .httpClient(HttpClient.newBuilder()
+                .executor(executor)
+                .build())
+            .executor(executor)
+            .pageStore(store)
+            .build();
+    }
+
+    private static void serveDocs(HttpExchange exchange) throws IOException {
+        String etag = "\"wal-v" + version + "\"";
+        String ifNoneMatch = exchange.getRequestHeaders()
+            .getFirst("If-None-Match");
+        if (etag.equals(ifNoneMatch)) {
+            notModifiedResponses.incrementAndGet();
+            exchange.getResponseHeaders()
+                .add("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        fullResponses.incrementAndGet();
+        respond(exchange, 200, null, etag, page("Write-ahead logging, version " + version
+            + ". The log is flushed before the data pages change, so the database can replay it after a crash and reach a consistent state. "
+            + "Checkpoints limit how much of the log has to be replayed."));
+    }
+
+    private static String page(String text) {
+        return "<html lang=\"en-GB\"><head><title>Docs</title></head><body><nav>Home</nav><main><p>" + text + "</p></main></body></html>";
+    }
+
+    private static void respond(HttpExchange exchange, int status, String cacheControl, String etag, String html) throws IOException {
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders()
+            .add("Content-Type", "text/html; charset=utf-8");
+        exchange.getResponseHeaders()
+            .add("Last-Modified", LAST_MODIFIED);
+        if (etag != null) {
+            exchange.getResponseHeaders()
+                .add("ETag", etag);
+        }
+        if (cacheControl != null) {
+            exchange.getResponseHeaders()
+                .add("Cache-Control", cacheControl);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
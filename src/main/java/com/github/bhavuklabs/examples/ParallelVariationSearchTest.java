@@ -0,0 +1,117 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.FetchOptions;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.gemini.GeminiCitationFetcher;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+
+import dev.langchain4j.web.search.WebSearchEngine;
+import dev.langchain4j.web.search.WebSearchInformationResult;
+import dev.langchain4j.web.search.WebSearchOrganicResult;
+import dev.langchain4j.web.search.WebSearchRequest;
+import dev.langchain4j.web.search.WebSearchResults;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class ParallelVariationSearchTest {
+
+    private static final long LATENCY_MILLIS = 300;
+    private static final int MAX_TOTAL_SEARCHES = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Parallel Variation Search Test ===\n");
+        ProviderRateLimiters.configure(CitationSource.GOOGLE_GEMINI, 100, 20);
+        FetchOptions snippetsOnly = FetchOptions.builder()
+            .fetchPageContent(false)
+            .build();
+
+        boolean earlyCutoff = testEarlyCutoff(snippetsOnly);
+        boolean quota = testQuotaWithLowQuality(snippetsOnly);
+
+        if (earlyCutoff && quota) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: earlyCutoff=" + earlyCutoff + ", quota=" + quota);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testEarlyCutoff(FetchOptions options) throws Exception {
+        System.out.println("1. Good results stop the search early and cancel the rest");
+        LatencyEngine engine = new LatencyEngine(true);
+        try (GeminiCitationFetcher fetcher = new GeminiCitationFetcher(engine, Duration.ofSeconds(5), 10)) {
+            long start = System.nanoTime();
+            List<CitationResult> results = fetcher.fetchAsync("write ahead logging recovery", options)
+                .get();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Thread.sleep(LATENCY_MILLIS);
+
+            long sequentialMs = engine.completed.get() * LATENCY_MILLIS;
+            System.out.println("   citations: " + results.size() + " in " + elapsedMs + " ms (the same rounds back to back: " + sequentialMs + " ms)");
+            System.out.println("   searches launched: " + fetcher.getLaunchedSearchCount() + ", reached provider: " + engine.started.get() + ", answered: "
+                + engine.completed.get() + ", cancelled: " + fetcher.getCancelledSearchCount() + " (interrupted in flight: " + engine.interrupted.get() + ")\n");
+            return !results.isEmpty() && fetcher.getLaunchedSearchCount() < MAX_TOTAL_SEARCHES && fetcher.getCancelledSearchCount() > 0
+                && engine.completed.get() < fetcher.getLaunchedSearchCount() && elapsedMs < sequentialMs;
+        }
+    }
+
+    private static boolean testQuotaWithLowQuality(FetchOptions options) throws Exception {
+        System.out.println("2. Poor results keep searching, in parallel and within the quota");
+        LatencyEngine engine = new LatencyEngine(false);
+        try (GeminiCitationFetcher fetcher = new GeminiCitationFetcher(engine, Duration.ofSeconds(5), 10)) {
+            long start = System.nanoTime();
+            fetcher.fetchAsync("write ahead logging recovery", options)
+                .get();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            Thread.sleep(LATENCY_MILLIS);
+            long sequentialMs = engine.completed.get() * LATENCY_MILLIS;
+            System.out.println("   searches issued: " + engine.started.get() + " (quota " + MAX_TOTAL_SEARCHES + "), answered: " + engine.completed.get() + " in "
+                + elapsedMs + " ms, back to back: " + sequentialMs + " ms");
+            // Low quality keeps the search going until at least the sixth round (see shouldContinueSearching).
+            return engine.started.get() <= MAX_TOTAL_SEARCHES && engine.completed.get() >= 6 && elapsedMs < sequentialMs / 2;
+        }
+    }
+
+    // Answers after a fixed latency; sleeping makes a cancelled search observable as an interrupt.
+    private static final class LatencyEngine implements WebSearchEngine {
+
+        final AtomicInteger started = new AtomicInteger();
+        final AtomicInteger completed = new AtomicInteger();
+        final AtomicInteger interrupted = new AtomicInteger();
+        final boolean relevant;
+
+        LatencyEngine(boolean relevant) {
+            this.relevant = relevant;
+        }
+
+        @Override
+        public WebSearchResults search(WebSearchRequest request) {
+            int call = started.incrementAndGet();
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                Thread.currentThread()
+                    .interrupt();
+                throw new IllegalStateException("search cancelled");
+            }
+            completed.incrementAndGet();
+
+            String query = request.searchTerms();
+            List<WebSearchOrganicResult> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                String title = relevant ? "Write ahead logging and crash recovery, part " + i : "Weekend deals " + i;
+                String snippet = relevant ? ("Write ahead logging makes recovery possible: the log is written before data pages, so recovery replays "
+                    + "the write ahead log after a crash. ").repeat(2) : ("Unrelated promotional text about shopping and travel offers. ").repeat(4);
+                results.add(WebSearchOrganicResult.from(title, URI.create("https://site" + call + "-" + i + ".example.edu/wal/" + i), snippet, null));
+            }
+            return WebSearchResults.from(WebSearchInformationResult.from((long) results.size()), results);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.vector.VectorStore;
+import com.github.bhavuklabs.vector.VectorStore.SimilarityResult;
+import com.github.bhavuklabs.vector.VectorStoreConfig;
+import com.github.bhavuklabs.vector.index.QuantizedVectorIndex;
+import com.github.bhavuklabs.vector.quantization.QuantizationType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+public class QuantizationRecallTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final int DOCUMENTS = 20_000;
+    private static final int CLUSTERS = 200;
+    private static final int QUERIES = 200;
+    private static final int TOP_K = 10;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Vector Quantization Recall Report ===\n");
+
+        Random random = new Random(5);
+        float[][] centers = new float[CLUSTERS][];
+        for (int c = 0; c < CLUSTERS; c++) {
+            centers[c] = gaussian(random, 1.0f);
+        }
+        float[][] documents = new float[DOCUMENTS][];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            documents[i] = around(centers[random.nextInt(CLUSTERS)], random);
+        }
+        float[][] queries = new float[QUERIES][];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = around(centers[random.nextInt(CLUSTERS)], random);
+        }
+
+        List<Set<String>> truth;
+        try (VectorStore exact = load(VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .build(), documents)) {
+            truth = new ArrayList<>();
+            for (float[] query : queries) {
+                truth.add(ids(exact.search(query, TOP_K)));
+            }
+        }
+
+        System.out.println(String.format("%d documents, %d dimensions, %d queries, recall@%d against exact search\n", DOCUMENTS, DIMENSIONS, QUERIES, TOP_K));
+        System.out.println(String.format("%-22s %10s %14s %15s %15s %12s %12s", "mode", "recall", "heap B/vector", "mapped B/vector", "total B/vector",
+            "heap cut", "ms/query"));
+
+        double int8Recall = report("int8", QuantizationType.INT8, 0, documents, queries, truth);
+        double int8Reranked = report("int8 + re-rank 100", QuantizationType.INT8, 100, documents, queries, truth);
+        double pqRecall = report("pq", QuantizationType.PRODUCT, 0, documents, queries, truth);
+        double pqReranked = report("pq + re-rank 100", QuantizationType.PRODUCT, 100, documents, queries, truth);
+
+        if (int8Reranked >= 0.95 && pqReranked >= 0.90 && int8Recall > 0.0 && pqRecall > 0.0) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: re-ranked recall below target");
+            System.exit(1);
+        }
+    }
+
+    private static double report(String label, QuantizationType type, int rerank, float[][] documents, float[][] queries, List<Set<String>> truth)
+        throws Exception {
+        VectorStoreConfig config = VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .memoryMapped(null)
+            .quantization(type)
+            .rerankCandidates(rerank)
+            .build();
+
+        try (VectorStore store = load(config, documents)) {
+            QuantizedVectorIndex index = (QuantizedVectorIndex) store.getIndex();
+            double recall = 0.0;
+            long start = System.nanoTime();
+            for (int q = 0; q < queries.length; q++) {
+                Set<String> found = ids(store.search(queries[q], TOP_K));
+                found.retainAll(truth.get(q));
+                recall += (double) found.size() / TOP_K;
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / queries.length;
+            recall /= queries.length;
+
+            // Codes and norms are on the heap; the full-precision arena is a mapped file, so the total is larger than plain floats
+            // and the saving is in what must stay resident.
+            double heapBytesPerVector = (double) index.getCodeBytes() / index.size();
+            double mappedBytesPerVector = (double) index.getArena()
+                .getCapacityBytes() / index.size();
+            double reduction = (double) DIMENSIONS * Float.BYTES / heapBytesPerVector;
+            System.out.println(String.format("%-22s %10.4f %14.1f %15.1f %15.1f %11.1fx %12.3f", label, recall, heapBytesPerVector, mappedBytesPerVector,
+                heapBytesPerVector + mappedBytesPerVector, reduction, millis));
+            return recall;
+        }
+    }
+
+    private static VectorStore load(VectorStoreConfig config, float[][] documents) {
+        VectorStore store = new VectorStore(config);
+        for (int i = 0; i < documents.length; i++) {
+            store.store("doc-" + i, documents[i], "content " + i, Map.of("session_id", "recall"));
+        }
+        return store;
+    }
+
+    private static Set<String> ids(List<SimilarityResult> results) {
+        return results.stream()
+            .map(result -> result.getDocument().getId())
+            .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static float[] around(float[] center, Random random) {
+        float[] noise = gaussian(random, 0.6f);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            noise[i] += center[i];
+        }
+        return noise;
+    }
+
+    private static float[] gaussian(Random random, float scale) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian() * scale;
+        }
+        return vector;
+    }
+}
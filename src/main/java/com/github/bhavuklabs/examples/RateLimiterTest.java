@@ -0,0 +1,124 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.core.ratelimit.RateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class RateLimiterTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== GCRA Rate Limiter Test ===\n");
+
+        boolean burst = testBurstThenSteadyRate();
+        boolean concurrent = testConcurrentReservations();
+        boolean async = testAsyncAcquireMatchesQuota();
+
+        if (burst && concurrent && async) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: burst=" + burst + ", concurrent=" + concurrent + ", async=" + async);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testBurstThenSteadyRate() {
+        System.out.println("1. Burst capacity, then exactly one permit per interval");
+        AtomicLong now = new AtomicLong(1_000_000_000L);
+        RateLimiter limiter = RateLimiter.builder()
+            .name("test")
+            .permitsPerSecond(10)
+            .burst(3)
+            .ticker(now::get)
+            .build();
+
+        int immediate = 0;
+        while (limiter.tryAcquire()) {
+            immediate++;
+        }
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(99));
+        boolean early = limiter.tryAcquire();
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        boolean onTime = limiter.tryAcquire();
+        boolean exhausted = !limiter.tryAcquire();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        int refilled = 0;
+        while (limiter.tryAcquire()) {
+            refilled++;
+        }
+        System.out.println("   immediate: " + immediate + ", after 99 ms: " + early + ", after 100 ms: " + onTime + ", refilled after idle: " + refilled);
+        System.out.println("   " + limiter + "\n");
+        return immediate == 3 && !early && onTime && exhausted && refilled == 3;
+    }
+
+    private static boolean testConcurrentReservations() throws Exception {
+        System.out.println("2. Concurrent reservations never share a slot");
+        AtomicLong now = new AtomicLong(0L);
+        RateLimiter limiter = RateLimiter.builder()
+            .permitsPerSecond(1000)
+            .burst(1)
+            .ticker(now::get)
+            .build();
+
+        int threads = 16;
+        int perThread = 500;
+        Set<Long> delays = ConcurrentHashMap.newKeySet();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        delays.add(limiter.reserve());
+                    }
+                }, callers));
+            }
+            for (CompletableFuture<Void> future : futures) {
+                future.get();
+            }
+        }
+        long maxDelay = delays.stream()
+            .mapToLong(Long::longValue)
+            .max()
+            .orElse(0);
+        long expectedMax = TimeUnit.MILLISECONDS.toNanos(threads * perThread - 1);
+        System.out.println("   distinct slots: " + delays.size() + " of " + threads * perThread + ", last slot at " + TimeUnit.NANOSECONDS.toMillis(maxDelay)
+            + " ms\n");
+        return delays.size() == threads * perThread && maxDelay == expectedMax;
+    }
+
+    private static boolean testAsyncAcquireMatchesQuota() throws Exception {
+        System.out.println("3. Async acquire paces callers without blocking them");
+        RateLimiter limiter = RateLimiter.builder()
+            .permitsPerSecond(50)
+            .burst(5)
+            .build();
+
+        int requests = 30;
+        long start = System.nanoTime();
+        List<CompletableFuture<Long>> grants = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            grants.add(limiter.acquire()
+                .thenApply(ignored -> System.nanoTime() - start));
+        }
+        long issueNanos = System.nanoTime() - start;
+
+        long last = 0;
+        for (CompletableFuture<Long> grant : grants) {
+            last = Math.max(last, grant.get());
+        }
+        double elapsedMs = last / 1e6;
+        double expectedMs = (requests - 5) * 1000.0 / 50;
+        System.out.println(String.format("   issued %d acquisitions in %.2f ms, last granted after %.1f ms (quota says %.0f ms)", requests, issueNanos / 1e6,
+            elapsedMs, expectedMs));
+        return issueNanos < TimeUnit.MILLISECONDS.toNanos(50) && elapsedMs >= expectedMs - 5 && elapsedMs < expectedMs + 250;
+    }
+}
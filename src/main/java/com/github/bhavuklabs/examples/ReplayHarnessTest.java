@@ -0,0 +1,417 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.Research4j;
+import com.github.bhavuklabs.agent.ResearchResult;
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.config.CitationConfig;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.gemini.GeminiCitationFetcher;
+import com.github.bhavuklabs.citation.ratelimit.ProviderRateLimiters;
+import com.github.bhavuklabs.citation.replay.RecordReplayCitationFetcher;
+import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.citation.tavily.TavilyCitationFetcher;
+import com.github.bhavuklabs.client.limit.ConcurrencyLimitedLLMClient;
+import com.github.bhavuklabs.client.replay.RecordReplayLLMClient;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.replay.Cassette;
+import com.github.bhavuklabs.core.replay.FaultProfile;
+import com.github.bhavuklabs.core.replay.ProviderStandIn;
+import com.github.bhavuklabs.core.replay.ReplayMode;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
+import com.github.bhavuklabs.deepresearch.engine.DeepResearchEngine;
+import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
+import com.github.bhavuklabs.deepresearch.models.DeepResearchResult;
+import com.github.bhavuklabs.exceptions.client.LLMClientException;
+import com.github.bhavuklabs.model.client.OpenAiClient;
+import com.github.bhavuklabs.model.config.ModelApiConfig;
+import dev.langchain4j.exception.TimeoutException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class ReplayHarnessTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Replay Harness Test ===\n");
+
+        boolean replay = testRecordAndReplay();
+        boolean faults = testFaultInjection();
+        boolean openAi = testOpenAiStandIn();
+        boolean search = testSearchStandIns();
+        boolean research = testOfflineResearchBenchmark();
+        boolean deepResearch = testOfflineDeepResearch();
+
+        if (replay && faults && openAi && search && research && deepResearch) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: replay=" + replay + ", faults=" + faults + ", openAi=" + openAi + ", search=" + search + ", research=" +
+                research + ", deepResearch=" + deepResearch);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testRecordAndReplay() throws Exception {
+        System.out.println("1. A recorded session replays from disk without the providers");
+        CountingClient provider = new CountingClient(40);
+        CountingFetcher search = new CountingFetcher();
+        Cassette recording = Cassette.empty();
+        LLMClient recorder = RecordReplayLLMClient.builder()
+            .delegate(provider)
+            .cassette(recording)
+            .mode(ReplayMode.RECORD)
+            .build();
+        CitationFetcher searchRecorder = RecordReplayCitationFetcher.builder()
+            .delegate(search)
+            .cassette(recording)
+            .mode(ReplayMode.RECORD)
+            .provider("TAVILY")
+            .build();
+
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            answers.add(recorder.complete("Question " + i + " about write-ahead logs", String.class)
+                .rawText());
+        }
+        List<CitationResult> recordedCitations = searchRecorder.fetch("write-ahead logs");
+
+        Path file = Files.createTempFile("research4j-cassette", ".r4j");
+        recording.save(file);
+        long bytes = Files.size(file);
+
+        Cassette loaded = Cassette.load(file);
+        LLMClient replayer = RecordReplayLLMClient.builder()
+            .cassette(loaded)
+            .faults(FaultProfile.none())
+            .build();
+        CitationFetcher searchReplayer = RecordReplayCitationFetcher.builder()
+            .cassette(loaded)
+            .faults(FaultProfile.none())
+            .provider("TAVILY")
+            .build();
+
+        long start = System.nanoTime();
+        boolean identical = true;
+        for (int i = 0; i < 10; i++) {
+            identical &= answers.get(i)
+                .equals(replayer.complete("Question " + i + " about write-ahead logs", String.class)
+                    .rawText());
+        }
+        List<CitationResult> replayedCitations = searchReplayer.fetch("write-ahead logs");
+        long replayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        identical &= replayedCitations.size() == recordedCitations.size() && replayedCitations.get(0)
+            .getUrl()
+            .equals(recordedCitations.get(0)
+                .getUrl());
+
+        boolean strictMiss;
+        try {
+            replayer.complete("A question that was never asked", String.class);
+            strictMiss = false;
+        } catch (LLMClientException e) {
+            strictMiss = true;
+        }
+        Files.deleteIfExists(file);
+
+        System.out.println("   " + loaded.size() + " interactions in " + bytes + " bytes, replayed in " + replayMillis + " ms (recorded at 40 ms per call), " +
+            "identical: " + identical + ", provider calls: " + provider.calls.get() + "/" + search.calls.get() + ", unrecorded prompt rejected: " + strictMiss +
+            "\n");
+        return identical && strictMiss && loaded.size() == 11 && provider.calls.get() == 10 && search.calls.get() == 1 && replayMillis < 200;
+    }
+
+    private static boolean testFaultInjection() throws Exception {
+        System.out.println("2. Replayed calls take injected latency, 429s and timeouts");
+        Cassette cassette = Cassette.empty();
+        cassette.record("llm", String.class.getName() + "\nping", Cassette.Interaction.success(0, "pong", null));
+        FaultProfile faults = FaultProfile.builder()
+            .latency(FaultProfile.Latency.logNormal(Duration.ofMillis(20), Duration.ofMillis(120)))
+            .rateLimitProbability(0.10)
+            .timeoutProbability(0.05)
+            .timeout(Duration.ofMillis(50))
+            .seed(7)
+            .build();
+        LLMClient client = RecordReplayLLMClient.builder()
+            .cassette(cassette)
+            .faults(faults)
+            .build();
+
+        int calls = 1000;
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rateLimited = new AtomicInteger();
+        AtomicInteger timedOut = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(50)) {
+            for (int i = 0; i < calls; i++) {
+                executor.submit(() -> {
+                    long start = System.nanoTime();
+                    try {
+                        client.complete("ping", String.class);
+                        latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                        ok.incrementAndGet();
+                    } catch (LLMClientException e) {
+                        if (e.getCause() instanceof TimeoutException) {
+                            timedOut.incrementAndGet();
+                        } else if (ConcurrencyLimitedLLMClient.isOverload(e)) {
+                            rateLimited.incrementAndGet();
+                        } else {
+                            other.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p50 = sorted.get(sorted.size() / 2);
+        long p99 = sorted.get((int) (sorted.size() * 0.99));
+        System.out.println("   " + calls + " calls: " + ok.get() + " ok (p50 " + p50 + " ms, p99 " + p99 + " ms), " + rateLimited.get() + " rate limited, " +
+            timedOut.get() + " timed out, " + other.get() + " other\n");
+        return other.get() == 0 && Math.abs(rateLimited.get() - 100) <= 35 && Math.abs(timedOut.get() - 50) <= 25 && p50 >= 15 && p50 <= 35 && p99 >= 60;
+    }
+
+    private static boolean testOpenAiStandIn() throws Exception {
+        System.out.println("3. The OpenAI client talks to the stand-in, including its 429s");
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .llmResponder(prompt -> "Stand-in says: " + prompt.length() + " characters received.")
+            .start(); ProviderStandIn overloaded = ProviderStandIn.builder()
+            .faults(ProviderStandIn.Endpoint.OPENAI, FaultProfile.builder()
+                .rateLimitProbability(1.0)
+                .build())
+            .start()) {
+            OpenAiClient client = new OpenAiClient(new ModelApiConfig("test-key", standIn.getOpenAiBaseUrl(), "gpt-4o-mini"), Duration.ofSeconds(10));
+            String answer = client.complete("Describe the log-structured merge tree", String.class)
+                .rawText();
+            String streamed = StreamPublisher.collectText(client.stream("Describe the log-structured merge tree"), token -> {
+                })
+                .get(10, TimeUnit.SECONDS);
+
+            OpenAiClient limited = new OpenAiClient(new ModelApiConfig("test-key", overloaded.getOpenAiBaseUrl(), "gpt-4o-mini"), Duration.ofSeconds(10));
+            boolean overload;
+            try {
+                limited.complete("Anything", String.class);
+                overload = false;
+            } catch (LLMClientException e) {
+                overload = ConcurrencyLimitedLLMClient.isOverload(e);
+            }
+            System.out.println("   answer: \"" + answer + "\", streamed: \"" + streamed + "\", 429 seen as overload: " + overload + " (" +
+                overloaded.getRateLimitedCount(ProviderStandIn.Endpoint.OPENAI) + " rejected)\n");
+            return answer.startsWith("Stand-in says:") && answer.equals(streamed) && overload &&
+                overloaded.getRateLimitedCount(ProviderStandIn.Endpoint.OPENAI) >= 1;
+        }
+    }
+
+    private static boolean testSearchStandIns() throws Exception {
+        System.out.println("4. The Tavily and Google Custom Search fetchers search the stand-in and read its pages");
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .resultsPerQuery(4)
+            .start()) {
+            List<CitationResult> tavily;
+            try (TavilyCitationFetcher fetcher = new TavilyCitationFetcher("test-key", standIn.getTavilyBaseUrl())) {
+                tavily = fetcher.fetch("bloom filter false positive rate");
+            }
+            List<CitationResult> google;
+            try (GeminiCitationFetcher fetcher = new GeminiCitationFetcher("test-key", "test-cx", standIn.getCustomSearchBaseUrl())) {
+                google = fetcher.fetch("bloom filter false positive rate");
+            }
+            boolean local = !tavily.isEmpty() && !google.isEmpty();
+            for (CitationResult citation : google) {
+                local &= citation.getUrl()
+                    .startsWith(standIn.getBaseUrl());
+            }
+            System.out.println("   tavily: " + tavily.size() + " citations, google: " + google.size() + " citations, all local: " + local + "; " + standIn);
+            boolean standInsSearched = local && standIn.getRequestCount(ProviderStandIn.Endpoint.TAVILY) >= 1 &&
+                standIn.getRequestCount(ProviderStandIn.Endpoint.CUSTOM_SEARCH) >= 1 && standIn.getRequestCount(ProviderStandIn.Endpoint.PAGE) >= 1;
+            return standInsSearched && testConfiguredFallback();
+        }
+    }
+
+    // With fewer than three primary results, a service built from credentials alone asks the configured fallback too.
+    private static boolean testConfiguredFallback() throws Exception {
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .resultsPerQuery(2)
+            .start(); CitationService service = new CitationService(new CitationConfig(CitationSource.TAVILY, "test-key", standIn.getTavilyBaseUrl()),
+            "test-cx", null, new CitationConfig(CitationSource.GOOGLE_GEMINI, "test-key", standIn.getCustomSearchBaseUrl()))) {
+            List<CitationResult> results = service.search("count-min sketch error bounds");
+            long fallbackSearches = standIn.getRequestCount(ProviderStandIn.Endpoint.CUSTOM_SEARCH);
+            System.out.println("   tavily primary with google fallback: " + results.size() + " citations, " + fallbackSearches + " fallback searches\n");
+            return service.getStats()
+                .hasFallback() && !results.isEmpty() && fallbackSearches >= 1;
+        }
+    }
+
+    private static boolean testOfflineResearchBenchmark() throws Exception {
+        System.out.println("5. Research4j.research runs end to end against the stand-in");
+        // The stand-in has no search quota; left at the default, the provider rate limiter would be all the benchmark measures.
+        ProviderRateLimiters.configure(CitationSource.TAVILY, 1000.0, 100);
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .llmResponder(ReplayHarnessTest::answer)
+            .faults(ProviderStandIn.Endpoint.OPENAI, FaultProfile.builder()
+                .latency(FaultProfile.Latency.uniform(Duration.ofMillis(20), Duration.ofMillis(60)))
+                .build())
+            .faults(ProviderStandIn.Endpoint.TAVILY, FaultProfile.builder()
+                .latency(FaultProfile.Latency.fixed(Duration.ofMillis(30)))
+                .build())
+            .start(); Research4j research4j = Research4j.builder()
+            .withOpenAI("test-key", "gpt-4o-mini")
+            .withTavily("test-key")
+            .withProviderStandIn(standIn)
+            .disableCache()
+            .build()) {
+
+            int queries = 4;
+            long start = System.nanoTime();
+            List<CompletableFuture<ResearchResult>> runs = new ArrayList<>();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < queries; i++) {
+                    String query = "How do consistent hashing rings rebalance, variant " + i + "?";
+                    runs.add(CompletableFuture.supplyAsync(() -> research4j.research(query), executor));
+                }
+                CompletableFuture.allOf(runs.toArray(new CompletableFuture<?>[0]))
+                    .get(120, TimeUnit.SECONDS);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            boolean answered = true;
+            for (CompletableFuture<ResearchResult> run : runs) {
+                String answer = run.get()
+                    .getAnswer();
+                answered &= answer != null && answer.contains("Stand-in answer");
+            }
+            System.out.println("   " + queries + " queries in " + elapsed + " ms (" + String.format("%.2f", queries * 1000.0 / elapsed) + " queries/s), all answered: " +
+                answered + "; " + standIn + "\n");
+            return answered && standIn.getRequestCount(ProviderStandIn.Endpoint.OPENAI) >= queries &&
+                standIn.getRequestCount(ProviderStandIn.Endpoint.TAVILY) >= queries;
+        }
+    }
+
+    private static boolean testOfflineDeepResearch() throws Exception {
+        System.out.println("6. Deep research recorded against the stand-in replays with the stand-in gone");
+        DeepResearchConfig config = DeepResearchConfig.builder()
+            .researchDepth(DeepResearchConfig.ResearchDepth.BASIC)
+            .maxRounds(1)
+            .maxQuestions(2)
+            .maxSources(10)
+            .build();
+        String query = "Why do LSM trees need compaction?";
+        Cassette cassette = Cassette.empty();
+
+        long recordMillis;
+        try (ProviderStandIn standIn = ProviderStandIn.builder()
+            .faults(ProviderStandIn.Endpoint.OPENAI, FaultProfile.builder()
+                .latency(FaultProfile.Latency.fixed(Duration.ofMillis(25)))
+                .build())
+            .start(); TavilyCitationFetcher tavily = new TavilyCitationFetcher("test-key", standIn.getTavilyBaseUrl())) {
+            LLMClient openAi = new OpenAiClient(new ModelApiConfig("test-key", standIn.getOpenAiBaseUrl(), "gpt-4o-mini"), Duration.ofSeconds(10));
+            long start = System.nanoTime();
+            runDeepResearch(RecordReplayLLMClient.builder()
+                .delegate(openAi)
+                .cassette(cassette)
+                .mode(ReplayMode.RECORD)
+                .build(), RecordReplayCitationFetcher.builder()
+                .delegate(tavily)
+                .cassette(cassette)
+                .mode(ReplayMode.RECORD)
+                .provider("TAVILY")
+                .build(), query, config);
+            recordMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+
+        // Prompts that embed run-specific detail miss the cassette; the counting client answers those and shows how many.
+        CountingClient fallback = new CountingClient(0);
+        long start = System.nanoTime();
+        DeepResearchResult result = runDeepResearch(RecordReplayLLMClient.builder()
+            .delegate(fallback)
+            .cassette(cassette)
+            .mode(ReplayMode.REPLAY_OR_RECORD)
+            .faults(FaultProfile.builder()
+                .latency(FaultProfile.Latency.scaled(0.5))
+                .build())
+            .build(), RecordReplayCitationFetcher.builder()
+            .cassette(cassette)
+            .provider("TAVILY")
+            .build(), query, config);
+        long replayMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.println("   recorded " + cassette.size() + " interactions in " + recordMillis + " ms, replayed at half latency in " + replayMillis + " ms, " +
+            "prompts not in the cassette: " + fallback.calls.get() + ", report length: " + (result != null && result.getNarrative() != null ? result.getNarrative()
+            .length() : 0) + "\n");
+        return result != null && cassette.size() > 0 && fallback.calls.get() < cassette.size() && replayMillis < recordMillis;
+    }
+
+    // Answers the query analysis prompt in the JSON it asks for, and everything else in prose.
+    private static String answer(String prompt) {
+        if (prompt.contains("\"requiresCitations\"")) {
+            return "{\"intent\": \"research\", \"complexityScore\": 5, \"topics\": [\"consistent hashing\"], \"requiresCitations\": true, " +
+                "\"estimatedTime\": \"1-2 minutes\", \"suggestedReasoning\": \"CHAIN_OF_THOUGHT\"}";
+        }
+        return "Stand-in answer: consistent hashing moves only the keys between a new node and its predecessor on the ring, so a rebalance touches " +
+            "about 1/n of the keys.";
+    }
+
+    private static DeepResearchResult runDeepResearch(LLMClient llmClient, CitationFetcher fetcher, String query, DeepResearchConfig config) throws Exception {
+        CitationService citations = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), fetcher, null, null);
+        DeepResearchEngine engine = new DeepResearchEngine(llmClient, citations);
+        try {
+            return engine.executeDeepResearch(query, config)
+                .get(180, TimeUnit.SECONDS);
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+    // A provider answering every prompt after a fixed delay.
+    private static final class CountingClient implements LLMClient {
+
+        final AtomicInteger calls = new AtomicInteger();
+        private final long delayMillis;
+
+        CountingClient(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> LLMResponse<T> complete(String prompt, Class<T> type) {
+            calls.incrementAndGet();
+            sleep(delayMillis);
+            String text = "Answer " + Integer.toHexString(prompt.hashCode()) + ": compaction merges sorted runs and drops obsolete versions.";
+            return new LLMResponse<>(text, type == String.class ? (T) text : null);
+        }
+    }
+
+    private static final class CountingFetcher implements CitationFetcher {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public List<CitationResult> fetch(String query) {
+            calls.incrementAndGet();
+            List<CitationResult> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(new CitationResult("Source " + i, "About " + query, "Detailed notes " + i + " on " + query, "https://example.org/" + i, 0.9 - i * 0.1));
+            }
+            return results;
+        }
+    }
+}
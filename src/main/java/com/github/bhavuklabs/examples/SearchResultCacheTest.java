@@ -0,0 +1,126 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.cache.SearchResultCache;
+import com.github.bhavuklabs.citation.cache.SearchResultCache.Freshness;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+
+public class SearchResultCacheTest {
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== Search Result Cache Test ===\n");
+
+        Path directory = Files.createTempDirectory("research4j-search-cache");
+        try {
+            boolean normalized = testNormalization();
+            boolean lifecycle = testFreshStaleExpired(directory.resolve("lifecycle"));
+            boolean persistent = testSurvivesRestart(directory.resolve("restart"));
+
+            if (normalized && lifecycle && persistent) {
+                System.out.println("\n=== Test Passed Successfully! ===");
+            } else {
+                System.err.println("❌ Test Failed: normalized=" + normalized + ", lifecycle=" + lifecycle + ", persistent=" + persistent);
+                System.exit(1);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder())
+                    .forEach(path -> path.toFile()
+                        .delete());
+            }
+        }
+    }
+
+    private static boolean testNormalization() {
+        System.out.println("1. Query normalisation");
+        String a = SearchResultCache.normalizeQuery("Java Virtual Threads: performance?");
+        String b = SearchResultCache.normalizeQuery("  performance of java virtual  threads  ");
+        String c = SearchResultCache.normalizeQuery("virtual threads java performance");
+        System.out.println("   '" + a + "' / '" + b + "' / '" + c + "'");
+        boolean ok = a.equals(c) && !a.equals(b);
+        System.out.println("   variations collapse: " + ok + "\n");
+        return ok;
+    }
+
+    private static boolean testFreshStaleExpired(Path directory) {
+        System.out.println("2. Per-source TTL with stale-while-revalidate");
+        AtomicLong now = new AtomicLong(1_000_000L);
+        SearchResultCache cache = SearchResultCache.builder()
+            .directory(directory)
+            .timeToLive(CitationSource.TAVILY, Duration.ofMinutes(10))
+            .timeToLive(CitationSource.GOOGLE_GEMINI, Duration.ofMinutes(60))
+            .staleWhileRevalidate(Duration.ofMinutes(30))
+            .clock(now::get)
+            .build();
+
+        cache.put("tavily query", CitationSource.TAVILY, results("https://example.org/a"));
+        cache.put("gemini query", CitationSource.GOOGLE_GEMINI, results("https://example.org/b"));
+
+        now.addAndGet(Duration.ofMinutes(5)
+            .toMillis());
+        boolean fresh = cache.lookup("Tavily query!")
+            .getFreshness() == Freshness.FRESH;
+        now.addAndGet(Duration.ofMinutes(20)
+            .toMillis());
+        boolean stale = cache.lookup("tavily query")
+            .getFreshness() == Freshness.STALE && cache.lookup("gemini query")
+            .getFreshness() == Freshness.FRESH;
+        now.addAndGet(Duration.ofMinutes(30)
+            .toMillis());
+        boolean expired = cache.lookup("tavily query")
+            .getFreshness() == Freshness.MISS;
+
+        List<CitationResult> first = cache.lookup("gemini query")
+            .getResults();
+        first.get(0)
+            .setRelevanceScore(0.01);
+        boolean isolated = cache.lookup("gemini query")
+            .getResults()
+            .get(0)
+            .getRelevanceScore() == 0.9;
+
+        System.out.println("   fresh: " + fresh + ", stale: " + stale + ", expired: " + expired + ", copies isolated: " + isolated + "\n");
+        return fresh && stale && expired && isolated;
+    }
+
+    private static boolean testSurvivesRestart(Path directory) {
+        System.out.println("3. Disk tier survives restart");
+        SearchResultCache before = SearchResultCache.builder()
+            .directory(directory)
+            .build();
+        List<CitationResult> stored = results("https://en.wikipedia.org/wiki/Cache");
+        stored.get(0)
+            .addMetadata("provider", "tavily");
+        before.put("cache replacement policies", CitationSource.TAVILY, stored);
+
+        SearchResultCache after = SearchResultCache.builder()
+            .directory(directory)
+            .build();
+        SearchResultCache.Lookup lookup = after.lookup("Cache replacement policies");
+        boolean restored = lookup.getFreshness() == Freshness.FRESH && lookup.getResults()
+            .size() == 1;
+        CitationResult result = restored ? lookup.getResults()
+            .get(0) : null;
+        boolean faithful = result != null && stored.get(0)
+            .getContent()
+            .equals(result.getContent()) && "tavily".equals(result.getMetadata("provider")) && stored.get(0)
+            .getRetrievedAt()
+            .equals(result.getRetrievedAt());
+        System.out.println("   restored from disk: " + restored + " (disk hits " + after.getDiskHitCount() + "), fields intact: " + faithful);
+        return restored && faithful && after.getDiskHitCount() == 1;
+    }
+
+    private static List<CitationResult> results(String url) {
+        return List.of(new CitationResult("Cache design", "snippet", "Content about caching ".repeat(10), url, 0.9));
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.vector.similarity.SimilarityKernel;
+import com.github.bhavuklabs.vector.similarity.SimilarityKernels;
+import com.github.bhavuklabs.vector.similarity.SimilarityMetric;
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+
+import java.util.Random;
+
+
+public class SimilarityKernelBenchmark {
+
+    private static final int[] DIMENSIONS = {384, 768, 1536};
+    private static final int VECTORS = 4096;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final float TOLERANCE = 1e-3f;
+
+    // Run with --add-modules jdk.incubator.vector to compare against the SIMD kernels.
+    public static void main(String[] args) {
+        System.out.println("=== Similarity Kernel Benchmark ===\n");
+
+        SimilarityKernel scalar = SimilarityKernels.scalar();
+        SimilarityKernel vectorized = SimilarityKernels.vectorized();
+        System.out.println("Vector API available: " + SimilarityKernels.isVectorApiAvailable());
+        if (vectorized != null) {
+            System.out.println("Vectorized kernel:    " + vectorized.getName());
+        }
+        System.out.println();
+
+        boolean consistent = true;
+        for (int dimensions : DIMENSIONS) {
+            float[][] vectors = randomVectors(new Random(dimensions), dimensions);
+            float[] query = vectors[0];
+
+            System.out.println("Dimensions: " + dimensions);
+            for (SimilarityMetric metric : SimilarityMetric.values()) {
+                double scalarNanos = measure(new VectorScorer(metric, scalar), query, vectors);
+                if (vectorized == null) {
+                    System.out.println(String.format("  %-12s scalar %7.1f ns/op", metric, scalarNanos));
+                    continue;
+                }
+                double vectorNanos = measure(new VectorScorer(metric, vectorized), query, vectors);
+                System.out.println(String.format("  %-12s scalar %7.1f ns/op   simd %7.1f ns/op   speedup %.2fx", metric, scalarNanos, vectorNanos,
+                    scalarNanos / vectorNanos));
+                consistent &= agree(metric, scalar, vectorized, query, vectors);
+            }
+            System.out.println();
+        }
+
+        if (consistent) {
+            System.out.println("=== Benchmark Completed Successfully! ===");
+        } else {
+            System.err.println("❌ Benchmark Failed: scalar and SIMD kernels disagree");
+            System.exit(1);
+        }
+    }
+
+    private static double measure(VectorScorer scorer, float[] query, float[][] vectors) {
+        float[] preparedQuery = scorer.prepare(query);
+        float[][] prepared = new float[vectors.length][];
+        for (int i = 0; i < vectors.length; i++) {
+            prepared[i] = scorer.prepare(vectors[i]);
+        }
+
+        float sink = 0.0f;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += scoreAll(scorer, preparedQuery, prepared);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += scoreAll(scorer, preparedQuery, prepared);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == Float.MIN_VALUE) {
+            System.out.println(sink);
+        }
+        return (double) elapsed / ((long) MEASURED_ROUNDS * vectors.length);
+    }
+
+    private static float scoreAll(VectorScorer scorer, float[] query, float[][] vectors) {
+        float total = 0.0f;
+        for (float[] vector : vectors) {
+            total += scorer.score(query, vector);
+        }
+        return total;
+    }
+
+    private static boolean agree(SimilarityMetric metric, SimilarityKernel scalar, SimilarityKernel vectorized, float[] query, float[][] vectors) {
+        VectorScorer expected = new VectorScorer(metric, scalar);
+        VectorScorer actual = new VectorScorer(metric, vectorized);
+        for (int i = 0; i < 64; i++) {
+            float a = expected.score(expected.prepare(query), expected.prepare(vectors[i]));
+            float b = actual.score(actual.prepare(query), actual.prepare(vectors[i]));
+            if (Math.abs(a - b) > TOLERANCE * Math.max(1.0f, Math.abs(a))) {
+                System.err.println(String.format("  %s mismatch at %d: scalar=%f simd=%f", metric, i, a, b));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static float[][] randomVectors(Random random, int dimensions) {
+        float[][] vectors = new float[VECTORS][dimensions];
+        for (float[] vector : vectors) {
+            for (int i = 0; i < dimensions; i++) {
+                vector[i] = (float) random.nextGaussian();
+            }
+        }
+        return vectors;
+    }
+}
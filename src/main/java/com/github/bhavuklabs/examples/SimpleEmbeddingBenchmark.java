@@ -0,0 +1,93 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.services.impl.SimpleEmbeddingService;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+
+public class SimpleEmbeddingBenchmark {
+
+    private static final int TEXTS = 1000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private static final String[] VOCABULARY = {
+        "the", "Query", "planner", "uses", "an", "index", "to", "search", "sorted", "data", "structures", "while", "the", "cache", "keeps",
+        "memory", "pressure", "low", "distributed", "microservice", "architecture", "scales", "with", "client", "server", "requests",
+        "algorithm", "optimization", "improves", "performance", "of", "SQL", "database", "storage", "and", "web", "application", "layers",
+        "42", "ms", "p99", "latency", "(measured)", "graph", "tree", "list", "array", "design", "pattern", "component", "module"
+    };
+
+    public static void main(String[] args) {
+        System.out.println("=== Simple Embedding Service Benchmark ===\n");
+
+        Random random = new Random(3);
+        String[] texts = new String[TEXTS];
+        long characters = 0;
+        for (int i = 0; i < TEXTS; i++) {
+            StringBuilder text = new StringBuilder();
+            int words = 5 + random.nextInt(60);
+            for (int w = 0; w < words; w++) {
+                text.append(VOCABULARY[random.nextInt(VOCABULARY.length)])
+                    .append(w % 9 == 8 ? ". " : " ");
+            }
+            texts[i] = text.toString();
+            characters += texts[i].length();
+        }
+
+        SimpleEmbeddingService service = new SimpleEmbeddingService();
+        System.out.println(String.format("Texts: %d (avg %d chars)\n", TEXTS, characters / TEXTS));
+
+        float[] buffer = new float[service.getDimensions()];
+        report("generateEmbeddings(text)", texts, () -> {
+            float sum = 0.0f;
+            for (String text : texts) {
+                sum += service.generateEmbeddings(text)[0];
+            }
+            return sum;
+        });
+        report("generateEmbeddings(text, buffer)", texts, () -> {
+            float sum = 0.0f;
+            for (String text : texts) {
+                service.generateEmbeddings(text, buffer);
+                sum += buffer[0];
+            }
+            return sum;
+        });
+
+        System.out.println("\n=== Benchmark Completed Successfully! ===");
+    }
+
+    private static void report(String label, String[] texts, Round round) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread()
+            .threadId();
+
+        float sink = 0.0f;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            sink += round.run();
+        }
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            sink += round.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        long operations = (long) texts.length * MEASURED_ROUNDS;
+        double seconds = elapsed / 1e9;
+        System.out.println(label);
+        System.out.println(String.format("   throughput: %.0f embeddings/s (%.2f us/op)", operations / seconds, elapsed / 1e3 / operations));
+        System.out.println(String.format("   allocation: %.0f bytes/op, %.1f MB/s", (double) allocated / operations, allocated / seconds / (1024 * 1024)));
+        if (Float.isNaN(sink)) {
+            System.out.println("   (checksum NaN)");
+        }
+    }
+
+    private interface Round {
+        float run();
+    }
+}
@@ -0,0 +1,153 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.core.cache.SingleFlight;
+import com.github.bhavuklabs.core.cache.SingleFlightStats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+public class SingleFlightTest {
+
+    private static final int CALLERS = 32;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Single-Flight Coalescing Test ===\n");
+
+        boolean coalesced = testConcurrentIdenticalCalls();
+        boolean failures = testFailureSharedThenRetried();
+        boolean async = testAsyncExecute();
+
+        if (coalesced && failures && async) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: coalesced=" + coalesced + ", failures=" + failures + ", async=" + async);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testConcurrentIdenticalCalls() throws Exception {
+        System.out.println("1. Concurrent identical keys share one load");
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        AtomicInteger downloads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                String url = i % 2 == 0 ? "https://example.org/a" : "https://example.org/b";
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return flights.call(url, () -> {
+                            downloads.incrementAndGet();
+                            release.await(5, TimeUnit.SECONDS);
+                            return "body of " + url;
+                        });
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, callers));
+            }
+            while (joined(flights) < CALLERS) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            boolean routed = true;
+            for (int i = 0; i < CALLERS; i++) {
+                routed &= results.get(i)
+                    .get()
+                    .endsWith(i % 2 == 0 ? "/a" : "/b");
+            }
+
+            SingleFlightStats stats = flights.stats();
+            System.out.println("   " + stats);
+            boolean ok = routed && downloads.get() == 2 && stats.getHitCount() == CALLERS - 2 && stats.getSavedCallCount() == CALLERS - 2
+                && stats.getSharedFlightCount() == 2 && stats.getInFlightCount() == 0;
+            System.out.println("   downloads: " + downloads.get() + " for " + CALLERS + " callers, results routed correctly: " + routed + "\n");
+            return ok;
+        }
+    }
+
+    private static boolean testFailureSharedThenRetried() throws Exception {
+        System.out.println("2. Failures reach every joiner and are not remembered");
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 4; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return flights.call("query", () -> {
+                            attempts.incrementAndGet();
+                            release.await(5, TimeUnit.SECONDS);
+                            throw new IllegalStateException("upstream 503");
+                        });
+                    } catch (IllegalStateException e) {
+                        return e.getMessage();
+                    } catch (Exception e) {
+                        return "unexpected " + e;
+                    }
+                }, callers));
+            }
+            while (joined(flights) < 4) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            boolean allFailed = true;
+            for (CompletableFuture<String> result : results) {
+                allFailed &= "upstream 503".equals(result.get());
+            }
+            String retried = flights.call("query", () -> "recovered");
+            System.out.println("   failed callers: " + results.size() + ", loads: " + attempts.get() + ", next call: " + retried + "\n");
+            return allFailed && attempts.get() == 1 && "recovered".equals(retried);
+        }
+    }
+
+    private static boolean testAsyncExecute() throws Exception {
+        System.out.println("3. Asynchronous loads");
+        SingleFlight<String, Integer> flights = new SingleFlight<>();
+        CompletableFuture<Integer> upstream = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<Integer> first = flights.execute("k", () -> {
+            started.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<Integer> second = flights.execute("k", () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(-1);
+        });
+        second.cancel(true);
+        upstream.complete(42);
+
+        boolean shared = first.get() == 42 && started.get() == 1 && second.isCancelled() && !flights.isInFlight("k");
+
+        CompletableFuture<Integer> failed = flights.execute("k", () -> CompletableFuture.failedFuture(new IllegalArgumentException("bad")));
+        boolean failurePropagated;
+        try {
+            failed.get();
+            failurePropagated = false;
+        } catch (ExecutionException e) {
+            failurePropagated = e.getCause() instanceof IllegalArgumentException;
+        }
+        System.out.println("   joiner cancellation isolated: " + shared + ", failure propagated: " + failurePropagated);
+        return shared && failurePropagated;
+    }
+
+    // Counted once the caller has either started a load or attached to one.
+    private static long joined(SingleFlight<?, ?> flights) {
+        SingleFlightStats stats = flights.stats();
+        return stats.getExecutionCount() + stats.getHitCount();
+    }
+}
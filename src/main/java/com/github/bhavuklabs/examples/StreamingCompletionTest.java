@@ -0,0 +1,314 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.citation.CitationFetcher;
+import com.github.bhavuklabs.citation.CitationResult;
+import com.github.bhavuklabs.citation.config.CitationConfig;
+import com.github.bhavuklabs.citation.enums.CitationSource;
+import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.client.cache.CachingLLMClient;
+import com.github.bhavuklabs.core.contracts.LLMClient;
+import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
+import com.github.bhavuklabs.deepresearch.engine.DeepResearchEngine;
+import com.github.bhavuklabs.deepresearch.models.DeepResearchConfig;
+import com.github.bhavuklabs.deepresearch.models.ResearchUpdate;
+import com.github.bhavuklabs.model.client.OpenAiClient;
+import com.github.bhavuklabs.model.parser.LLMExtractor;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+public class StreamingCompletionTest {
+
+    private static final int TOKENS = 40;
+    private static final long TOKEN_MILLIS = 15;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Streaming Completion Test ===\n");
+
+        boolean firstToken = testTimeToFirstToken();
+        boolean fallback = testNonStreamingFallback();
+        boolean demand = testDemandAndCancellation();
+        boolean cached = testCachedStream();
+        boolean openAi = testOpenAiStream();
+        boolean deepResearch = testDeepResearchStream();
+
+        if (firstToken && fallback && demand && cached && openAi && deepResearch) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: firstToken=" + firstToken + ", fallback=" + fallback + ", demand=" + demand + ", cached=" + cached +
+                ", openAi=" + openAi + ", deepResearch=" + deepResearch);
+            System.exit(1);
+        }
+    }
+
+    private static boolean testTimeToFirstToken() throws Exception {
+        System.out.println("1. The first token arrives long before the whole completion");
+        SlowStreamingClient client = new SlowStreamingClient();
+        String prompt = "Explain consistent hashing";
+
+        long start = System.nanoTime();
+        String blocking = client.complete(prompt, String.class)
+            .structuredOutput();
+        long blockingMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        AtomicLong firstTokenNanos = new AtomicLong();
+        long streamStart = System.nanoTime();
+        String streamed = StreamPublisher.collectText(client.stream(prompt), token -> firstTokenNanos.compareAndSet(0, System.nanoTime()))
+            .get(10, TimeUnit.SECONDS);
+        long firstTokenMillis = TimeUnit.NANOSECONDS.toMillis(firstTokenNanos.get() - streamStart);
+
+        System.out.println("   blocking completion: " + blockingMillis + " ms, first streamed token: " + firstTokenMillis + " ms\n");
+        return streamed.equals(blocking) && firstTokenMillis * 4 < blockingMillis;
+    }
+
+    private static boolean testNonStreamingFallback() throws Exception {
+        System.out.println("2. Clients without a streaming model publish the completion as one token");
+        LLMClient client = new LLMClient() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> LLMResponse<T> complete(String prompt, Class<T> type) {
+                String text = "Answer to: " + prompt;
+                return new LLMResponse<>(text, (T) text);
+            }
+        };
+        List<String> tokens = Collections.synchronizedList(new ArrayList<>());
+        StreamPublisher.forEach(client.stream("What is a CRDT?"), tokens::add)
+            .get(5, TimeUnit.SECONDS);
+
+        System.out.println("   tokens: " + tokens + "\n");
+        return tokens.equals(List.of("Answer to: What is a CRDT?"));
+    }
+
+    private static boolean testDemandAndCancellation() throws Exception {
+        System.out.println("3. Tokens follow subscriber demand and cancellation stops the source");
+        SlowStreamingClient client = new SlowStreamingClient();
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        client.stream("Explain vector clocks")
+            .subscribe(new Flow.Subscriber<String>() {
+
+                private Flow.Subscription subscription;
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    this.subscription = subscription;
+                    subscription.request(1);
+                }
+
+                @Override
+                public void onNext(String token) {
+                    received.add(token);
+                    if (received.size() == 3) {
+                        subscription.cancel();
+                        cancelled.countDown();
+                    } else {
+                        subscription.request(1);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    cancelled.countDown();
+                }
+
+                @Override
+                public void onComplete() {
+                    cancelled.countDown();
+                }
+            });
+
+        cancelled.await(10, TimeUnit.SECONDS);
+        // Give the source time to notice.
+        Thread.sleep(TOKEN_MILLIS * 5);
+        int produced = client.tokensEmitted.get();
+        System.out.println("   received " + received.size() + " tokens, source produced " + produced + " of " + TOKENS + "\n");
+        return received.size() == 3 && produced < TOKENS / 2;
+    }
+
+    private static boolean testCachedStream() throws Exception {
+        System.out.println("4. A cached response streams back without calling the model");
+        SlowStreamingClient model = new SlowStreamingClient();
+        CachingLLMClient client = CachingLLMClient.builder(model, "test-model")
+            .build();
+
+        String first = StreamPublisher.collectText(client.stream("Explain Bloom filters"), null)
+            .get(10, TimeUnit.SECONDS);
+        String second = StreamPublisher.collectText(client.stream("Explain Bloom filters"), null)
+            .get(10, TimeUnit.SECONDS);
+        String completed = client.complete("Explain Bloom filters", String.class)
+            .structuredOutput();
+
+        System.out.println("   model streams: " + model.streams.get() + ", " + client.getTotalStats() + "\n");
+        return model.streams.get() == 1 && first.equals(second) && first.equals(completed) && client.getTotalStats()
+            .getExactHitCount() == 2;
+    }
+
+    private static boolean testOpenAiStream() throws Exception {
+        System.out.println("5. OpenAiClient streams server-sent chunks from the chat completions endpoint");
+        List<String> chunks = List.of("Consistent ", "hashing ", "maps ", "keys ", "to ", "a ", "ring.");
+        AtomicReference<String> requestBody = new AtomicReference<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/chat/completions", exchange -> {
+            requestBody.set(new String(exchange.getRequestBody()
+                .readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders()
+                .add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (String chunk : chunks) {
+                    out.write(("data: {\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1,\"model\":\"gpt-4o-mini\"," +
+                        "\"choices\":[{\"index\":0,\"delta\":{\"content\":\"" + chunk + "\"},\"finish_reason\":null}]}\n\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    sleep(TOKEN_MILLIS);
+                }
+                out.write(("data: {\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1,\"model\":\"gpt-4o-mini\"," +
+                    "\"choices\":[{\"index\":0,\"delta\":{},\"finish_reason\":\"stop\"}]}\n\ndata: [DONE]\n\n").getBytes(StandardCharsets.UTF_8));
+            }
+        });
+        server.start();
+        try {
+            OpenAiClient client = OpenAiClient.builder()
+                .apiKey("test-key")
+                .baseUrl("http://127.0.0.1:" + server.getAddress()
+                    .getPort() + "/v1")
+                .modelName("gpt-4o-mini")
+                .timeout(Duration.ofSeconds(10))
+                .build();
+            List<String> tokens = Collections.synchronizedList(new ArrayList<>());
+            String text = StreamPublisher.collectText(client.stream("Explain consistent hashing"), tokens::add)
+                .get(15, TimeUnit.SECONDS);
+
+            boolean prompted = requestBody.get() != null && requestBody.get()
+                .contains(LLMExtractor.ANALYZE_INSTRUCTION + "Explain consistent hashing") && requestBody.get()
+                .replaceAll("\\s", "")
+                .contains("\"stream\":true");
+            System.out.println("   " + tokens.size() + " tokens: \"" + text + "\", streaming request with analyze prompt: " + prompted + "\n");
+            return tokens.equals(chunks) && prompted;
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static boolean testDeepResearchStream() throws Exception {
+        System.out.println("6. Deep research streams phases and narrative tokens before the result");
+        SlowStreamingClient model = new SlowStreamingClient();
+        CitationService citations = new CitationService(new CitationConfig(CitationSource.TAVILY, "unused"), new StaticFetcher(), null, null);
+        DeepResearchEngine engine = new DeepResearchEngine(model, citations);
+        try {
+            DeepResearchConfig config = DeepResearchConfig.builder()
+                .researchDepth(DeepResearchConfig.ResearchDepth.BASIC)
+                .maxRounds(1)
+                .maxQuestions(2)
+                .maxSources(10)
+                .build();
+
+            List<ResearchUpdate> updates = Collections.synchronizedList(new ArrayList<>());
+            AtomicLong firstTokenNanos = new AtomicLong();
+            AtomicLong completedNanos = new AtomicLong();
+            CompletableFuture<Void> done = StreamPublisher.forEach(engine.streamDeepResearch("How does consistent hashing work?", config), update -> {
+                updates.add(update);
+                if (update.getType() == ResearchUpdate.Type.SECTION_TOKEN) {
+                    firstTokenNanos.compareAndSet(0, System.nanoTime());
+                } else if (update.getType() == ResearchUpdate.Type.COMPLETED) {
+                    completedNanos.set(System.nanoTime());
+                }
+            });
+            done.get(120, TimeUnit.SECONDS);
+
+            List<ResearchUpdate.Type> types = new ArrayList<>();
+            int tokens = 0;
+            for (ResearchUpdate update : updates) {
+                if (update.getType() == ResearchUpdate.Type.SECTION_TOKEN) {
+                    tokens++;
+                } else {
+                    types.add(update.getType());
+                }
+            }
+            ResearchUpdate last = updates.get(updates.size() - 1);
+            long leadMillis = TimeUnit.NANOSECONDS.toMillis(completedNanos.get() - firstTokenNanos.get());
+            System.out.println("   updates: " + types + " plus " + tokens + " section tokens; first token " + leadMillis + " ms before the result\n");
+            return types.get(0) == ResearchUpdate.Type.PHASE && tokens > 0 && firstTokenNanos.get() > 0 && last.getType() == ResearchUpdate.Type.COMPLETED &&
+                last.getResult() != null && leadMillis > 0;
+        } finally {
+            engine.shutdown();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+    // A model that takes TOKEN_MILLIS per token, blocking or streamed.
+    private static final class SlowStreamingClient implements LLMClient {
+
+        final AtomicInteger streams = new AtomicInteger();
+        final AtomicInteger tokensEmitted = new AtomicInteger();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> LLMResponse<T> complete(String prompt, Class<T> type) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < TOKENS; i++) {
+                sleep(TOKEN_MILLIS);
+                text.append(token(prompt, i));
+            }
+            return new LLMResponse<>(text.toString(), (T) text.toString());
+        }
+
+        @Override
+        public Flow.Publisher<String> stream(String prompt) {
+            streams.incrementAndGet();
+            return StreamPublisher.create(emitter -> {
+                for (int i = 0; i < TOKENS && !emitter.isCancelled(); i++) {
+                    sleep(TOKEN_MILLIS);
+                    tokensEmitted.incrementAndGet();
+                    emitter.emit(token(prompt, i));
+                }
+                emitter.complete();
+            });
+        }
+
+        private static String token(String prompt, int i) {
+            return "w" + Math.floorMod(prompt.hashCode() + i, 97) + " ";
+        }
+    }
+
+    private static final class StaticFetcher implements CitationFetcher {
+
+        @Override
+        public List<CitationResult> fetch(String query) {
+            List<CitationResult> results = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                results.add(CitationResult.builder()
+                    .title("Source " + i + " on " + query)
+                    .snippet("Consistent hashing places nodes and keys on a ring, source " + i)
+                    .content("Consistent hashing places nodes and keys on a ring so that adding a node moves few keys. Source " + i + " for " + query)
+                    .url("https://example.com/" + Math.abs(query.hashCode()) + "/" + i)
+                    .relevanceScore(0.8)
+                    .build());
+            }
+            return results;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.vector.VectorStore;
+import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+import com.github.bhavuklabs.vector.VectorStoreConfig;
+import com.github.bhavuklabs.vector.storage.VectorArena;
+import com.github.bhavuklabs.vector.storage.VectorStorageType;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+
+public class VectorArenaAllocationTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final int TOP_K = 10;
+    private static final int QUERIES = 50;
+    private static final int[] STORE_SIZES = {10_000, 100_000};
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Off-Heap Vector Arena Allocation Test ===\n");
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Random random = new Random(7);
+        float[] query = randomVector(random);
+
+        long[] offHeapBytes = new long[STORE_SIZES.length];
+        for (int s = 0; s < STORE_SIZES.length; s++) {
+            int storeSize = STORE_SIZES[s];
+            for (VectorStorageType storageType : new VectorStorageType[] {VectorStorageType.HEAP, VectorStorageType.OFF_HEAP}) {
+                try (VectorStore store = new VectorStore(VectorStoreConfig.builder()
+                    .dimensions(DIMENSIONS)
+                    .storageType(storageType)
+                    .build())) {
+
+                    for (int i = 0; i < storeSize; i++) {
+                        store.store("doc-" + i, randomVector(random), "content " + i, Map.of());
+                    }
+                    for (int i = 0; i < 5; i++) {
+                        store.search(query, TOP_K);
+                    }
+
+                    long threadId = Thread.currentThread().threadId();
+                    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < QUERIES; i++) {
+                        store.search(query, TOP_K);
+                    }
+                    long elapsed = System.nanoTime() - start;
+                    long bytesPerQuery = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / QUERIES;
+
+                    if (storageType == VectorStorageType.OFF_HEAP) {
+                        offHeapBytes[s] = bytesPerQuery;
+                    }
+                    System.out.println(String.format("%-9s %,8d vectors: %,10d bytes/query, %.3f ms/query", storageType, storeSize, bytesPerQuery,
+                        elapsed / 1_000_000.0 / QUERIES));
+                }
+            }
+        }
+
+        long growth = offHeapBytes[1] - offHeapBytes[0];
+        boolean directoryReset = reusedDirectoryStartsEmpty();
+        boolean deletedVectorNull = deletedDocumentHasNoVector(random);
+        System.out.println("\nReused arena directory starts empty: " + directoryReset + ", deleted document vector is null: " + deletedVectorNull);
+
+        if (growth < 4096 && directoryReset && deletedVectorNull) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: off-heap allocation grew by " + growth + " bytes/query with store size, or arena reuse was wrong");
+            System.exit(1);
+        }
+    }
+
+    // A second arena on the same directory must not see the first one's vectors in its fresh slots.
+    private static boolean reusedDirectoryStartsEmpty() throws Exception {
+        Path directory = Files.createTempDirectory("research4j-arena-reuse");
+        try (VectorArena first = new VectorArena(4, 8, VectorStorageType.MEMORY_MAPPED, directory)) {
+            first.write(first.allocate(), new float[] {1, 2, 3, 4});
+        }
+        try (VectorArena second = new VectorArena(4, 8, VectorStorageType.MEMORY_MAPPED, directory)) {
+            float[] vector = second.read(second.allocate());
+            return vector[0] == 0 && vector[3] == 0;
+        }
+    }
+
+    // Arena-backed documents read the store on each call, so a deleted id reads back as null.
+    private static boolean deletedDocumentHasNoVector(Random random) {
+        try (VectorStore store = new VectorStore(VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .offHeap()
+            .build())) {
+            store.store("doc-0", randomVector(random), "content", Map.of());
+            VectorDocument document = store.retrieve("doc-0");
+            boolean presentBefore = document.getVector() != null;
+            store.delete("doc-0");
+            return presentBefore && document.getVector() == null;
+        }
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
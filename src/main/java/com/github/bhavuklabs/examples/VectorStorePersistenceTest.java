@@ -0,0 +1,118 @@
+package com.github.bhavuklabs.examples;
+
+import com.github.bhavuklabs.vector.VectorStore;
+import com.github.bhavuklabs.vector.VectorStore.SimilarityResult;
+import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+import com.github.bhavuklabs.vector.VectorStoreConfig;
+
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+public class VectorStorePersistenceTest {
+
+    private static final int DIMENSIONS = 384;
+    private static final int DOCUMENTS = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Persistent Vector Store Test ===\n");
+
+        Path root = args.length > 0 ? Path.of(args[0]) : Files.createTempDirectory("research4j-vectors");
+        boolean heapPassed = run("heap", root.resolve("heap"), VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .persistent(root.resolve("heap")));
+        boolean offHeapPassed = run("off-heap", root.resolve("off-heap"), VectorStoreConfig.builder()
+            .dimensions(DIMENSIONS)
+            .offHeap()
+            .persistent(root.resolve("off-heap")));
+
+        if (heapPassed && offHeapPassed) {
+            System.out.println("\n=== Test Passed Successfully! ===");
+        } else {
+            System.err.println("❌ Test Failed: recovered state does not match what was written");
+            System.exit(1);
+        }
+    }
+
+    private static boolean run(String label, Path directory, VectorStoreConfig.Builder builder) throws Exception {
+        VectorStoreConfig config = builder.build();
+        Random random = new Random(11);
+        float[] probe = null;
+
+        System.out.println("[" + label + "] 1. Writing " + DOCUMENTS + " documents to " + directory);
+        try (VectorStore store = new VectorStore(config)) {
+            for (int i = 0; i < DOCUMENTS; i++) {
+                float[] vector = randomVector(random);
+                if (i == 1234) {
+                    probe = vector;
+                }
+                store.store("session-1:chunk-" + i, vector, "content " + i, Map.of("session_id", "session-1", "topic", "topic-" + (i % 20)));
+            }
+            for (int i = 0; i < 1000; i++) {
+                store.delete("session-1:chunk-" + (DOCUMENTS - 1 - i));
+            }
+
+            System.out.println("[" + label + "] 2. Compacting into an immutable segment...");
+            store.compact();
+
+            for (int i = 0; i < 500; i++) {
+                store.store("session-2:chunk-" + i, randomVector(random), "late content " + i, Map.of("session_id", "session-2"));
+            }
+        }
+
+        Path wal = latestWal(directory);
+        Files.write(wal, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+        System.out.println("[" + label + "] 3. Appended a torn record to " + wal.getFileName() + " to simulate a crash mid-write");
+
+        long start = System.nanoTime();
+        try (VectorStore reopened = new VectorStore(config)) {
+            long reopenMillis = (System.nanoTime() - start) / 1_000_000;
+            int expected = DOCUMENTS - 1000 + 500;
+
+            VectorDocument document = reopened.retrieve("session-1:chunk-1234");
+            boolean vectorIntact = document != null && Arrays.equals(document.getVector(), probe);
+            boolean metadataIntact = document != null && "topic-14".equals(document.getMetadata()
+                .get("topic"));
+            boolean deletesApplied = reopened.retrieve("session-1:chunk-" + (DOCUMENTS - 1)) == null;
+            List<SimilarityResult> nearest = reopened.search(probe, 1);
+            boolean searchable = !nearest.isEmpty() && "session-1:chunk-1234".equals(nearest.get(0)
+                .getDocument()
+                .getId());
+
+            System.out.println("[" + label + "] Reopened in " + reopenMillis + " ms with " + reopened.size() + " documents (expected " + expected + ")");
+            System.out.println("[" + label + "] Vector intact: " + vectorIntact + ", metadata intact: " + metadataIntact + ", deletes applied: "
+                + deletesApplied + ", nearest is the probe: " + searchable + "\n");
+
+            return reopened.size() == expected && vectorIntact && metadataIntact && deletesApplied && searchable;
+        }
+    }
+
+    private static Path latestWal(Path directory) throws Exception {
+        Path latest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "wal-*.log")) {
+            for (Path file : files) {
+                if (latest == null || file.getFileName()
+                    .toString()
+                    .compareTo(latest.getFileName()
+                        .toString()) > 0) {
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
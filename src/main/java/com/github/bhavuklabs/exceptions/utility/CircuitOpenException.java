@@ -0,0 +1,25 @@
+package com.github.bhavuklabs.exceptions.utility;
+
+import com.github.bhavuklabs.exceptions.Research4jException;
+
+public class CircuitOpenException extends Research4jException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String provider;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String message, String provider, long retryAfterMillis) {
+        super("CIRCUIT_OPEN", message, String.format("provider=%s, retryAfterMs=%d", provider, retryAfterMillis));
+        this.provider = provider;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -1,17 +1,23 @@
 package com.github.bhavuklabs.model.client;
 
 import java.time.Duration;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
 import dev.langchain4j.service.AiServices;
 import com.github.bhavuklabs.config.Research4jConfig;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.model.config.ModelApiConfig;
 import com.github.bhavuklabs.model.parser.LLMExtractor;
@@ -22,6 +28,7 @@ public class GeminiAiClient implements LLMClient, AutoCloseable {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final ChatModel chatModel;
+    private final StreamingChatModel streamingChatModel;
     private final LLMExtractor extractor;
     private final String modelName;
     private final Duration timeout;
@@ -43,6 +50,12 @@ public class GeminiAiClient implements LLMClient, AutoCloseable {
                 .timeout(timeout)
                 .build();
 
+            this.streamingChatModel = GoogleAiGeminiStreamingChatModel.builder()
+                .modelName(config.getModelName())
+                .apiKey(config.getApiKey())
+                .timeout(timeout)
+                .build();
+
             this.extractor = AiServices.create(LLMExtractor.class, chatModel);
 
             logger.info("GeminiAiClient initialized with model: " + modelName);
@@ -92,6 +105,36 @@ public class GeminiAiClient implements LLMClient, AutoCloseable {
         }
     }
 
+    @Override
+    public Flow.Publisher<String> stream(String prompt) {
+        if (prompt == null || prompt.trim().isEmpty()) {
+            throw new IllegalArgumentException("Prompt cannot be null or empty");
+        }
+        String message = LLMExtractor.ANALYZE_INSTRUCTION + createSafePrompt(prompt, String.class);
+        return StreamPublisher.create(emitter -> {
+            logger.fine("Streaming prompt with Gemini model: " + modelName);
+            streamingChatModel.chat(message, new StreamingChatResponseHandler() {
+
+                @Override
+                public void onPartialResponse(String token) {
+                    emitter.emit(token);
+                }
+
+                @Override
+                public void onCompleteResponse(ChatResponse response) {
+                    emitter.complete();
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    String errorMsg = String.format("Failed to stream prompt with Gemini model %s: %s", modelName, error.getMessage());
+                    logger.severe(errorMsg);
+                    emitter.fail(new LLMClientException(errorMsg, error, "GEMINI", "streaming"));
+                }
+            });
+        });
+    }
+
     private String generateRobustResponse(String prompt, Class<?> type) throws LLMClientException {
         try {
             
@@ -1,16 +1,22 @@
 package com.github.bhavuklabs.model.client;
 
 import java.time.Duration;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 import dev.langchain4j.service.AiServices;
 import com.github.bhavuklabs.config.Research4jConfig;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.model.config.ModelApiConfig;
 import com.github.bhavuklabs.model.parser.LLMExtractor;
@@ -21,6 +27,7 @@ public class OpenAiClient implements LLMClient, AutoCloseable {
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     private final ChatModel chatModel;
+    private final StreamingChatModel streamingChatModel;
     private final LLMExtractor extractor;
     private final String modelName;
     private final Duration timeout;
@@ -43,13 +50,20 @@ public class OpenAiClient implements LLMClient, AutoCloseable {
                 .modelName(config.getModelName())
                 .timeout(timeout);
 
+            OpenAiStreamingChatModel.OpenAiStreamingChatModelBuilder streamingBuilder = OpenAiStreamingChatModel.builder()
+                .apiKey(config.getApiKey())
+                .modelName(config.getModelName())
+                .timeout(timeout);
+
             if (config.getBaseUrl() != null && !config.getBaseUrl()
                 .trim()
                 .isEmpty()) {
                 builder.baseUrl(config.getBaseUrl());
+                streamingBuilder.baseUrl(config.getBaseUrl());
             }
 
             this.chatModel = builder.build();
+            this.streamingChatModel = streamingBuilder.build();
             this.extractor = AiServices.create(LLMExtractor.class, chatModel);
 
             logger.info("OpenAiClient initialized with model: " + modelName);
@@ -60,7 +74,7 @@ public class OpenAiClient implements LLMClient, AutoCloseable {
     }
 
     public OpenAiClient(Research4jConfig config) throws LLMClientException {
-        this(new ModelApiConfig(config.getOpenAiApiKey(), null, config.getDefaultModel()), config.getRequestTimeout());
+        this(new ModelApiConfig(config.getOpenAiApiKey(), config.getOpenAiBaseUrl(), config.getDefaultModel()), config.getRequestTimeout());
     }
 
     private void validateConfig(ModelApiConfig config) {
@@ -104,6 +118,37 @@ public class OpenAiClient implements LLMClient, AutoCloseable {
         }
     }
 
+    @Override
+    public Flow.Publisher<String> stream(String prompt) {
+        if (prompt == null || prompt.trim()
+            .isEmpty()) {
+            throw new IllegalArgumentException("Prompt cannot be null or empty");
+        }
+        String message = LLMExtractor.ANALYZE_INSTRUCTION + prompt;
+        return StreamPublisher.create(emitter -> {
+            logger.fine("Streaming prompt with OpenAI model: " + modelName);
+            streamingChatModel.chat(message, new StreamingChatResponseHandler() {
+
+                @Override
+                public void onPartialResponse(String token) {
+                    emitter.emit(token);
+                }
+
+                @Override
+                public void onCompleteResponse(ChatResponse response) {
+                    emitter.complete();
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    String errorMsg = String.format("Failed to stream prompt with OpenAI model %s: %s", modelName, error.getMessage());
+                    logger.severe(errorMsg);
+                    emitter.fail(new LLMClientException(errorMsg, error, "OPENAI", "streaming"));
+                }
+            });
+        });
+    }
+
     private String generateResponse(String prompt, Class<?> type) throws LLMClientException {
         try {
             if (type == String.class) {
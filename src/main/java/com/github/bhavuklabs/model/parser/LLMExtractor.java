@@ -5,12 +5,15 @@ import dev.langchain4j.service.V;
 
 public interface LLMExtractor {
 
+    // Streaming requests bypass AiServices and build the analyze message themselves.
+    String ANALYZE_INSTRUCTION = "Analyze and respond to the following text: ";
+
     @UserMessage("Extract and convert the following text into a String: {{text}}")
     String extractString(@V("text") String text);
 
     @UserMessage("Extract and convert the following text into JSON format: {{text}}")
     String extractJson(@V("text") String text);
 
-    @UserMessage("Analyze and respond to the following text: {{text}}")
+    @UserMessage(ANALYZE_INSTRUCTION + "{{text}}")
     String analyze(@V("text") String text);
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.logging.Logger;
 import com.github.bhavuklabs.citation.service.CitationService;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.ResearchPromptConfig;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.pipeline.graph.GraphNode;
 import com.github.bhavuklabs.pipeline.nodes.CitationFetchNode;
 import com.github.bhavuklabs.pipeline.nodes.QueryAnalysisNode;
@@ -39,11 +40,11 @@ public class DynamicResearchAgent {
         this.reasoningEngine = reasoningEngine;
         this.llmClient = llmClient;
         this.router = new DynamicRouter();
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
 
-        this.queryAnalysisNode = new QueryAnalysisNode(llmClient);
+        this.queryAnalysisNode = new QueryAnalysisNode(llmClient, executor);
         this.citationFetchNode = new CitationFetchNode(citationService);
-        this.reasoningSelectionNode = new ReasoningSelectionNode(llmClient);
+        this.reasoningSelectionNode = new ReasoningSelectionNode(llmClient, executor);
         this.reasoningExecutionNode = new ReasoningExecutionNode(reasoningEngine);
 
         router.registerNode("query_analysis", queryAnalysisNode);
@@ -6,6 +6,8 @@ import static org.bsc.langgraph4j.StateGraph.START;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Logger;
 
 import org.bsc.langgraph4j.CompiledGraph;
@@ -19,6 +21,7 @@ import com.github.bhavuklabs.citation.service.CitationService;
 import com.github.bhavuklabs.config.Research4jConfig;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.ResearchPromptConfig;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.pipeline.executor.GraphExecutor;
 import com.github.bhavuklabs.pipeline.langgraph.LangGraphState;
 import com.github.bhavuklabs.pipeline.langgraph.nodes.LangGraphCitationFetchNode;
@@ -36,6 +39,7 @@ public class LangGraphExecutor implements GraphExecutor {
     private final CompiledGraph<LangGraphState> compiledGraph;
     private final MemorySaver checkpointSaver;
     private final Research4jConfig config;
+    private final ExecutorService executor;
 
     private final LangGraphQueryAnalysisNode queryAnalysisNode;
     private final LangGraphCitationFetchNode citationFetchNode;
@@ -46,6 +50,7 @@ public class LangGraphExecutor implements GraphExecutor {
 
         this.config = config;
         this.checkpointSaver = new MemorySaver();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
 
         this.queryAnalysisNode = new LangGraphQueryAnalysisNode(llmClient);
         this.citationFetchNode = new LangGraphCitationFetchNode(citationService);
@@ -125,7 +130,7 @@ public class LangGraphExecutor implements GraphExecutor {
                 logger.severe("Error in LangGraph4j executor: " + e.getMessage());
                 throw new RuntimeException("LangGraph4j execution failed", e);
             }
-        });
+        }, executor);
     }
 
     @Override
@@ -143,6 +148,7 @@ public class LangGraphExecutor implements GraphExecutor {
     @Override
     public void shutdown() {
         logger.info("Shutting down LangGraph4j executor");
+        executor.shutdown();
 
     }
 
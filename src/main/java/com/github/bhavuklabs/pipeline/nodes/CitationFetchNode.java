@@ -1,5 +1,6 @@
 package com.github.bhavuklabs.pipeline.nodes;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -16,6 +17,8 @@ import java.util.stream.Collectors;
 
 import com.github.bhavuklabs.citation.CitationResult;
 import com.github.bhavuklabs.citation.service.CitationService;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
+import com.github.bhavuklabs.core.resilience.Deadline;
 import com.github.bhavuklabs.pipeline.graph.GraphNode;
 import com.github.bhavuklabs.pipeline.models.QueryAnalysis;
 import com.github.bhavuklabs.pipeline.profile.UserProfile;
@@ -36,13 +39,14 @@ public class CitationFetchNode implements GraphNode<ResearchAgentState> {
     private static final int MAX_TOTAL_BATCHES = 5;
     private static final double QUALITY_THRESHOLD = 0.7;
     private static final double DIVERSITY_THRESHOLD = 0.6;
+    private static final Duration BATCH_SEARCH_TIMEOUT = Duration.ofSeconds(30);
 
     public CitationFetchNode(CitationService citationService) {
         if (citationService == null) {
             throw new IllegalArgumentException("Citation service cannot be null");
         }
         this.citationService = citationService;
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
         this.random = new Random();
     }
 
@@ -153,20 +157,18 @@ public class CitationFetchNode implements GraphNode<ResearchAgentState> {
 
             List<String> batchQueries = selectBatchQueries(queryVariations, batchCount, strategy);
 
+            Deadline batchDeadline = Deadline.after(BATCH_SEARCH_TIMEOUT);
             List<CompletableFuture<List<CitationResult>>> batchFutures = batchQueries.stream()
-                .map(query -> CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return citationService.search(query);
-                    } catch (Exception e) {
+                .map(query -> citationService.searchAsync(query, batchDeadline)
+                    .exceptionally(e -> {
                         logger.warning("Failed to fetch citations for query: " + query + " - " + e.getMessage());
                         return List.<CitationResult> of();
-                    }
-                }, executor))
+                    }))
                 .collect(Collectors.toList());
 
             for (CompletableFuture<List<CitationResult>> future : batchFutures) {
                 try {
-                    List<CitationResult> batchResults = future.get(30, TimeUnit.SECONDS);
+                    List<CitationResult> batchResults = future.get(batchDeadline.remainingNanos() + TimeUnit.SECONDS.toNanos(1), TimeUnit.NANOSECONDS);
 
                     for (CitationResult citation : batchResults) {
                         if (citation != null && citation.isValid() && !seenUrls.contains(citation.getUrl())) {
@@ -2,10 +2,13 @@ package com.github.bhavuklabs.pipeline.nodes;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.pipeline.graph.GraphNode;
 import com.github.bhavuklabs.pipeline.models.QueryAnalysis;
 import com.github.bhavuklabs.pipeline.state.ResearchAgentState;
@@ -15,12 +18,22 @@ public class QueryAnalysisNode implements GraphNode<ResearchAgentState> {
     private static final Logger logger = Logger.getLogger(QueryAnalysisNode.class.getName());
 
     private final LLMClient llmClient;
+    private final ExecutorService executor;
 
     public QueryAnalysisNode(LLMClient llmClient) {
+        this(llmClient, CallContext.propagating(ForkJoinPool.commonPool()));
+    }
+
+    // The executor should propagate the caller's CallContext so the analysis call is limited under its session.
+    public QueryAnalysisNode(LLMClient llmClient, ExecutorService executor) {
         if (llmClient == null) {
             throw new IllegalArgumentException("LLM client cannot be null");
         }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
         this.llmClient = llmClient;
+        this.executor = executor;
     }
 
     @Override
@@ -50,7 +63,7 @@ public class QueryAnalysisNode implements GraphNode<ResearchAgentState> {
                 QueryAnalysis fallbackAnalysis = createEnhancedFallbackAnalysis(state);
                 return state.withQueryAnalysis(fallbackAnalysis);
             }
-        });
+        }, executor);
     }
 
     private String buildComprehensiveAnalysisPrompt(ResearchAgentState state) {
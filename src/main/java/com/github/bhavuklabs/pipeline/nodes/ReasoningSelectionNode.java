@@ -3,10 +3,13 @@ package com.github.bhavuklabs.pipeline.nodes;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.enums.OutputFormat;
 import com.github.bhavuklabs.core.enums.ReasoningMethod;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.pipeline.graph.GraphNode;
 import com.github.bhavuklabs.pipeline.models.QueryAnalysis;
 import com.github.bhavuklabs.pipeline.profile.UserProfile;
@@ -15,9 +18,15 @@ import com.github.bhavuklabs.pipeline.state.ResearchAgentState;
 public class ReasoningSelectionNode implements GraphNode<ResearchAgentState> {
 
     private final LLMClient llmClient;
+    private final ExecutorService executor;
 
     public ReasoningSelectionNode(LLMClient llmClient) {
+        this(llmClient, CallContext.propagating(ForkJoinPool.commonPool()));
+    }
+
+    public ReasoningSelectionNode(LLMClient llmClient, ExecutorService executor) {
         this.llmClient = llmClient;
+        this.executor = executor;
     }
 
     @Override
@@ -29,7 +38,7 @@ public class ReasoningSelectionNode implements GraphNode<ResearchAgentState> {
             } catch (Exception e) {
                 return state.withReasoning(ReasoningMethod.CHAIN_OF_THOUGHT);
             }
-        });
+        }, executor);
     }
 
     private ReasoningMethod selectOptimalReasoning(ResearchAgentState state) {
@@ -66,10 +66,11 @@ public class ResearchAgentState {
     public ResearchAgentState withQueryAnalysis(QueryAnalysis analysis) {
         ResearchAgentState newState = this.copy();
         if (analysis != null) {
+            // Processing steps share the metadata map, so the step goes first and the analysis keeps its key.
+            newState.addProcessingStep("query_analysis", analysis.intent);
             newState.metadata.put("query_analysis", analysis);
             newState.metadata.put("complexity_score", analysis.complexityScore);
             newState.metadata.put("detected_intent", analysis.intent);
-            newState.addProcessingStep("query_analysis", analysis.intent);
         }
         return newState;
     }
@@ -1,8 +1,10 @@
 package com.github.bhavuklabs.reasoning;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.stream.StreamPublisher;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.reasoning.context.ResearchContext;
 
@@ -11,4 +13,12 @@ public interface ReasoningStrategy {
     <T> CompletableFuture<LLMResponse<T>> reasonAsync(ResearchContext context, Class<T> outputType);
     String getMethodName();
     boolean supportsConcurrency();
+
+    // The text answer as it is generated; strategies that cannot stream publish it whole once reasoning completes.
+    default Flow.Publisher<String> reasonStream(ResearchContext context) {
+        return StreamPublisher.create(emitter -> {
+            emitter.emit(reason(context, String.class).structuredOutput());
+            emitter.complete();
+        });
+    }
 }
@@ -7,10 +7,12 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.enums.ReasoningMethod;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.reasoning.ReasoningStrategy;
 import com.github.bhavuklabs.reasoning.context.ResearchContext;
@@ -26,7 +28,7 @@ public class ReasoningEngine {
 
     public ReasoningEngine(LLMClient llmClient) {
         this.llmClient = llmClient;
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
         this.strategies = initializeStrategies();
     }
 
@@ -54,6 +56,14 @@ public class ReasoningEngine {
         return strategy.reasonAsync(context, outputType);
     }
 
+    public Flow.Publisher<String> reasonStream(ReasoningMethod method, ResearchContext context) {
+        ReasoningStrategy strategy = strategies.get(method);
+        if (strategy == null) {
+            throw new IllegalArgumentException("No strategy found for " + method);
+        }
+        return strategy.reasonStream(context);
+    }
+
     public <T> CompletableFuture<LLMResponse<T>> reasonWithMultipleStrategies(List<ReasoningMethod> methods, ResearchContext context, Class<T> outputType) {
         List<CompletableFuture<LLMResponse<T>>> futures = methods.stream()
             .map(method -> reasonAsync(method, context, outputType))
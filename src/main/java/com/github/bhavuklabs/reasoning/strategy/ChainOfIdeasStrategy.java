@@ -8,6 +8,7 @@ import java.util.concurrent.Executors;
 
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.reasoning.ReasoningStrategy;
 import com.github.bhavuklabs.reasoning.context.ResearchContext;
@@ -19,7 +20,7 @@ public class ChainOfIdeasStrategy implements ReasoningStrategy {
 
     public ChainOfIdeasStrategy(LLMClient llmClient) {
         this.llmClient = llmClient;
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
     }
 
     @Override
@@ -7,6 +7,7 @@ import java.util.concurrent.Executors;
 import com.github.bhavuklabs.citation.CitationResult;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.reasoning.ReasoningStrategy;
 import com.github.bhavuklabs.reasoning.context.ResearchContext;
@@ -18,7 +19,7 @@ public class ChainOfTableStrategy implements ReasoningStrategy {
 
     public ChainOfTableStrategy(LLMClient llmClient) {
         this.llmClient = llmClient;
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
     }
 
     @Override
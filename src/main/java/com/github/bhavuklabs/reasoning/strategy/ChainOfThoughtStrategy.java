@@ -3,11 +3,13 @@ package com.github.bhavuklabs.reasoning.strategy;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
 import java.util.logging.Logger;
 
 import com.github.bhavuklabs.citation.CitationResult;
 import com.github.bhavuklabs.core.contracts.LLMClient;
 import com.github.bhavuklabs.core.payloads.LLMResponse;
+import com.github.bhavuklabs.core.ratelimit.CallContext;
 import com.github.bhavuklabs.exceptions.client.LLMClientException;
 import com.github.bhavuklabs.reasoning.ReasoningStrategy;
 import com.github.bhavuklabs.reasoning.context.ResearchContext;
@@ -24,7 +26,7 @@ public class ChainOfThoughtStrategy implements ReasoningStrategy {
             throw new IllegalArgumentException("LLM client cannot be null");
         }
         this.llmClient = llmClient;
-        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.executor = CallContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
     }
 
     @Override
@@ -60,6 +62,21 @@ public class ChainOfThoughtStrategy implements ReasoningStrategy {
         }, executor);
     }
 
+    @Override
+    public Flow.Publisher<String> reasonStream(ResearchContext context) {
+        if (context == null) {
+            throw new IllegalArgumentException("Research context cannot be null");
+        }
+
+        logger.info("Starting streamed Chain of Thought reasoning for query: " + truncateString(context.getConfig()
+            .userPrompt(), 100));
+
+        String chainOfThoughtPrompt = buildSimplifiedChainOfThoughtPrompt(context);
+        context.setFinalPrompt(chainOfThoughtPrompt);
+
+        return llmClient.stream(chainOfThoughtPrompt);
+    }
+
     private String buildSimplifiedChainOfThoughtPrompt(ResearchContext context) {
         StringBuilder prompt = new StringBuilder();
 
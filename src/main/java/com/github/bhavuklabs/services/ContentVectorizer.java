@@ -3,6 +3,7 @@ package com.github.bhavuklabs.services;
 import com.github.bhavuklabs.vector.VectorStore;
 import com.github.bhavuklabs.vector.VectorStore.SimilarityResult;
 import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+import com.github.bhavuklabs.vector.filter.MetadataFilter;
 
 import java.util.*;
 import java.util.logging.Logger;
@@ -29,18 +30,12 @@ public class ContentVectorizer {
 
             float[] embeddings = embeddingService.generateEmbeddings(content);
 
-            Map<String, Object> enhancedMetadata = new HashMap<>(metadata);
-            enhancedMetadata.put("session_id", sessionId);
-            enhancedMetadata.put("content_id", contentId);
-            enhancedMetadata.put("timestamp", System.currentTimeMillis());
-            enhancedMetadata.put("content_length", content.length());
-
             String vectorId = generateVectorId(sessionId, contentId);
-            vectorStore.store(vectorId, embeddings, content, enhancedMetadata);
+            vectorStore.store(vectorId, embeddings, content, enhanceMetadata(sessionId, contentId, content, metadata));
             
             logger.info("Stored content in vector database: " + vectorId);
 
-            updateContentConnections(vectorId, content);
+            updateContentConnections(vectorId, embeddings);
             
         } catch (Exception e) {
             logger.severe("Failed to store content in vector database: " + e.getMessage());
@@ -49,13 +44,64 @@ public class ContentVectorizer {
     }
     
     
+    // Chunks without an id or content are skipped before embedding, and a chunk that fails to store does not stop the
+    // rest; connections are resolved for every chunk that was stored.
+    public void storeContentBatch(String sessionId, List<ContentChunk> chunks) {
+        List<ContentChunk> valid = new ArrayList<>(chunks.size());
+        for (ContentChunk chunk : chunks) {
+            if (chunk == null || chunk.getContentId() == null || chunk.getContent() == null || chunk.getContent().isBlank()) {
+                logger.warning("Skipping content chunk without id or content: " + (chunk != null ? chunk.getContentId() : null));
+                continue;
+            }
+            valid.add(chunk);
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        float[][] embeddings;
+        try {
+            String[] texts = new String[valid.size()];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = valid.get(i).getContent();
+            }
+            embeddings = embeddingService.generateBatchEmbeddings(texts);
+        } catch (Exception e) {
+            logger.severe("Failed to embed content batch: " + e.getMessage());
+            throw new RuntimeException("Content vectorization failed", e);
+        }
+
+        List<String> storedIds = new ArrayList<>(valid.size());
+        List<float[]> storedEmbeddings = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            ContentChunk chunk = valid.get(i);
+            String vectorId = generateVectorId(sessionId, chunk.getContentId());
+            try {
+                vectorStore.store(vectorId, embeddings[i], chunk.getContent(),
+                        enhanceMetadata(sessionId, chunk.getContentId(), chunk.getContent(), chunk.getMetadata()));
+                storedIds.add(vectorId);
+                storedEmbeddings.add(embeddings[i]);
+            } catch (Exception e) {
+                logger.warning("Failed to store content chunk " + vectorId + ": " + e.getMessage());
+            }
+        }
+
+        // Connections are resolved once the whole batch is indexed, so chunks in the same batch can link to each other.
+        for (int i = 0; i < storedIds.size(); i++) {
+            updateContentConnections(storedIds.get(i), storedEmbeddings.get(i));
+        }
+
+        logger.info("Stored " + storedIds.size() + " of " + chunks.size() + " content chunks in vector database for session " + sessionId);
+    }
+    
+    
     public List<RelatedContent> findRelatedContent(String content, int topK, String currentSessionId) {
         try {
             float[] queryVector = embeddingService.generateEmbeddings(content);
-            List<SimilarityResult> results = vectorStore.search(queryVector, topK + 10); // Get extra to filter
+            List<SimilarityResult> results = vectorStore.search(queryVector, topK,
+                    MetadataFilter.excluding("session_id", currentSessionId)); // Exclude current session
             
             return results.stream()
-                    .filter(result -> !isSameSession(result.getDocument(), currentSessionId)) // Exclude current session
                     .filter(result -> result.getSimilarity() > 0.1f) // Much lower threshold for better connections
                     .limit(topK)
                     .map(this::convertToRelatedContent)
@@ -70,11 +116,20 @@ public class ContentVectorizer {
     
     public List<RelatedContent> findAllRelatedContent(String content, int topK, String excludeContentId) {
         try {
-            float[] queryVector = embeddingService.generateEmbeddings(content);
-            List<SimilarityResult> results = vectorStore.search(queryVector, topK + 10);
+            return findAllRelatedContent(embeddingService.generateEmbeddings(content), topK, excludeContentId);
+        } catch (Exception e) {
+            logger.warning("Failed to find all related content: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    
+    private List<RelatedContent> findAllRelatedContent(float[] queryVector, int topK, String excludeContentId) {
+        try {
+            List<SimilarityResult> results = vectorStore.search(queryVector, topK,
+                    MetadataFilter.excluding("content_id", excludeContentId));
             
             return results.stream()
-                    .filter(result -> !isCurrentContent(result.getDocument(), excludeContentId))
                     .filter(result -> result.getSimilarity() > 0.05f) // Very low threshold for maximum connections
                     .limit(topK)
                     .map(this::convertToRelatedContent)
@@ -87,18 +142,38 @@ public class ContentVectorizer {
     }
     
     
+    // Connections are keyed by vector id, which is not the content_id metadata, so the document is excluded by id; one
+    // extra hit covers it, since a stored document is its own nearest neighbour.
+    private List<RelatedContent> findRelatedToDocument(float[] queryVector, int topK, String vectorId) {
+        try {
+            List<SimilarityResult> results = vectorStore.search(queryVector, topK + 1);
+
+            return results.stream()
+                    .filter(result -> !result.getDocument().getId().equals(vectorId))
+                    .filter(result -> result.getSimilarity() > 0.05f)
+                    .limit(topK)
+                    .map(this::convertToRelatedContent)
+                    .collect(Collectors.toList());
+
+        } catch (Exception e) {
+            logger.warning("Failed to find related content: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+    
+    
     public List<RelatedContent> findSessionContent(String sessionId, String currentContentId, int topK) {
         List<RelatedContent> sessionContent = new ArrayList<>();
         
         try {
 
-            List<SimilarityResult> allResults = vectorStore.search(new float[384], Integer.MAX_VALUE);
+            MetadataFilter filter = MetadataFilter.builder()
+                    .sessionId(sessionId)
+                    .notEqualTo("content_id", currentContentId)
+                    .build();
             
-            sessionContent = allResults.stream()
-                    .filter(result -> isFromSession(result.getDocument(), sessionId))
-                    .filter(result -> !isCurrentContent(result.getDocument(), currentContentId))
-                    .limit(topK)
-                    .map(this::convertToRelatedContent)
+            sessionContent = vectorStore.findByMetadata(filter, topK).stream()
+                    .map(doc -> convertToRelatedContent(doc, 0.0f))
                     .collect(Collectors.toList());
                     
         } catch (Exception e) {
@@ -110,8 +185,13 @@ public class ContentVectorizer {
     
     
     public void updateContentConnections(String contentId, String content) {
+        updateContentConnections(contentId, embeddingService.generateEmbeddings(content));
+    }
+    
+    
+    private void updateContentConnections(String contentId, float[] embeddings) {
 
-        List<RelatedContent> relatedContent = findAllRelatedContent(content, 5, contentId);
+        List<RelatedContent> relatedContent = findRelatedToDocument(embeddings, 5, contentId);
         
         Set<String> connections = contentConnections.computeIfAbsent(contentId, k -> new HashSet<>());
         
@@ -167,6 +247,15 @@ public class ContentVectorizer {
     }
 
     
+    private Map<String, Object> enhanceMetadata(String sessionId, String contentId, String content, Map<String, Object> metadata) {
+        Map<String, Object> enhancedMetadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+        enhancedMetadata.put("session_id", sessionId);
+        enhancedMetadata.put("content_id", contentId);
+        enhancedMetadata.put("timestamp", System.currentTimeMillis());
+        enhancedMetadata.put("content_length", content.length());
+        return enhancedMetadata;
+    }
+    
     private String generateVectorId(String sessionId, String contentId) {
         return sessionId + ":" + contentId;
     }
@@ -175,23 +264,11 @@ public class ContentVectorizer {
         return vectorId.substring(0, vectorId.indexOf(':'));
     }
     
-    private boolean isSameSession(VectorDocument doc, String sessionId) {
-        Object docSessionId = doc.getMetadata().get("session_id");
-        return sessionId.equals(docSessionId);
-    }
-    
-    private boolean isFromSession(VectorDocument doc, String sessionId) {
-        Object docSessionId = doc.getMetadata().get("session_id");
-        return sessionId.equals(docSessionId);
-    }
-    
-    private boolean isCurrentContent(VectorDocument doc, String contentId) {
-        Object docContentId = doc.getMetadata().get("content_id");
-        return contentId.equals(docContentId);
+    private RelatedContent convertToRelatedContent(SimilarityResult result) {
+        return convertToRelatedContent(result.getDocument(), result.getSimilarity());
     }
     
-    private RelatedContent convertToRelatedContent(SimilarityResult result) {
-        VectorDocument doc = result.getDocument();
+    private RelatedContent convertToRelatedContent(VectorDocument doc, float similarity) {
         Map<String, Object> metadata = doc.getMetadata();
 
         String topic = (String) metadata.getOrDefault("topic", "unknown_topic");
@@ -209,7 +286,7 @@ public class ContentVectorizer {
             doc.getId(),
             contentId,
             doc.getContent(),
-            result.getSimilarity(),
+            similarity,
             topic,
             subtopic,
             sectionType,
@@ -218,6 +295,22 @@ public class ContentVectorizer {
     }
 
     
+    public static class ContentChunk {
+        private final String contentId;
+        private final String content;
+        private final Map<String, Object> metadata;
+        
+        public ContentChunk(String contentId, String content, Map<String, Object> metadata) {
+            this.contentId = contentId;
+            this.content = content;
+            this.metadata = metadata;
+        }
+
+        public String getContentId() { return contentId; }
+        public String getContent() { return content; }
+        public Map<String, Object> getMetadata() { return metadata; }
+    }
+    
     public static class RelatedContent {
         private final String vectorId;
         private final String contentId;
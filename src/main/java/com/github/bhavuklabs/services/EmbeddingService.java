@@ -10,6 +10,15 @@ public interface EmbeddingService {
     int getDimensions();
     
     
+    default void generateEmbeddings(String text, float[] destination) {
+        if (destination.length < getDimensions()) {
+            throw new IllegalArgumentException("Destination holds " + destination.length + " floats, expected at least " + getDimensions());
+        }
+        float[] embedding = generateEmbeddings(text);
+        System.arraycopy(embedding, 0, destination, 0, embedding.length);
+    }
+    
+    
     default float[][] generateBatchEmbeddings(String[] texts) {
         float[][] embeddings = new float[texts.length][];
         for (int i = 0; i < texts.length; i++) {
@@ -0,0 +1,113 @@
+package com.github.bhavuklabs.services.impl;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+// Dense ASCII Aho-Corasick DFA: every state has a precomputed transition for every ASCII character, so matching is
+// one array lookup per input character. Non-ASCII input resets to the root because no pattern contains it.
+final class AhoCorasickAutomaton {
+
+    private static final int ALPHABET = 128;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final int[] patternLengths;
+
+    AhoCorasickAutomaton(String[] patterns) {
+        int maxStates = 1;
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                throw new IllegalArgumentException("Patterns must not be empty");
+            }
+            maxStates += pattern.length();
+        }
+
+        int[] trie = new int[maxStates * ALPHABET];
+        Arrays.fill(trie, -1);
+        int[][] own = new int[maxStates][];
+        int states = 1;
+        this.patternLengths = new int[patterns.length];
+
+        for (int id = 0; id < patterns.length; id++) {
+            String pattern = patterns[id];
+            patternLengths[id] = pattern.length();
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Patterns must be ASCII: " + pattern);
+                }
+                int next = trie[state * ALPHABET + c];
+                if (next < 0) {
+                    next = states++;
+                    trie[state * ALPHABET + c] = next;
+                }
+                state = next;
+            }
+            own[state] = append(own[state], id);
+        }
+
+        this.transitions = Arrays.copyOf(trie, states * ALPHABET);
+        this.outputs = new int[states][];
+        int[] failure = new int[states];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        outputs[0] = own[0] != null ? own[0] : NO_OUTPUTS;
+        for (int c = 0; c < ALPHABET; c++) {
+            int child = transitions[c];
+            if (child < 0) {
+                transitions[c] = 0;
+            } else {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+
+        // Breadth-first order guarantees a state's failure target is complete before the state itself is filled in.
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int fail = failure[state];
+            int[] inherited = outputs[fail];
+            outputs[state] = own[state] == null ? inherited : concat(own[state], inherited);
+            for (int c = 0; c < ALPHABET; c++) {
+                int index = state * ALPHABET + c;
+                int child = transitions[index];
+                if (child < 0) {
+                    transitions[index] = transitions[fail * ALPHABET + c];
+                } else {
+                    failure[child] = transitions[fail * ALPHABET + c];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    int next(int state, char c) {
+        return c < ALPHABET ? transitions[state * ALPHABET + c] : 0;
+    }
+
+    int[] outputs(int state) {
+        return outputs[state];
+    }
+
+    int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    private static int[] append(int[] values, int value) {
+        if (values == null) {
+            return new int[] {value};
+        }
+        int[] grown = Arrays.copyOf(values, values.length + 1);
+        grown[values.length] = value;
+        return grown;
+    }
+
+    private static int[] concat(int[] first, int[] second) {
+        int[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
@@ -0,0 +1,279 @@
+package com.github.bhavuklabs.services.impl;
+
+import com.github.bhavuklabs.services.EmbeddingService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Batching front for an EmbeddingService. Batches are split across a work-stealing pool for CPU-bound delegates, and
+// with micro-batching enabled, concurrent single requests are coalesced into delegate batches for remote delegates.
+public class BatchingEmbeddingService implements EmbeddingService, AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(BatchingEmbeddingService.class.getName());
+    // Leaves per worker; enough slack for stealing to even out texts of very different lengths.
+    private static final int TASKS_PER_WORKER = 8;
+
+    private final EmbeddingService delegate;
+    private final int parallelism;
+    private final ForkJoinPool pool;
+
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final LinkedBlockingQueue<PendingEmbedding> pending;
+    private final ExecutorService batchExecutor;
+    private final Thread dispatcher;
+    private volatile boolean closed;
+
+    private BatchingEmbeddingService(Builder builder) {
+        this.delegate = builder.delegate;
+        this.parallelism = builder.parallelism;
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchDelayNanos = builder.maxBatchDelay != null ? builder.maxBatchDelay.toNanos() : 0;
+        this.pending = new LinkedBlockingQueue<>();
+
+        if (maxBatchSize > 1) {
+            this.batchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            this.dispatcher = new Thread(this::dispatchLoop, "research4j-embedding-batcher");
+            this.dispatcher.setDaemon(true);
+            this.dispatcher.start();
+        } else {
+            this.batchExecutor = null;
+            this.dispatcher = null;
+        }
+        logger.info("BatchingEmbeddingService initialized with parallelism " + parallelism + (dispatcher != null
+            ? ", micro-batches of up to " + maxBatchSize + " within " + TimeUnit.NANOSECONDS.toMillis(maxBatchDelayNanos) + " ms" : ""));
+    }
+
+    public static Builder builder(EmbeddingService delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public float[] generateEmbeddings(String text) {
+        ensureOpen();
+        if (dispatcher == null) {
+            return delegate.generateEmbeddings(text);
+        }
+
+        PendingEmbedding request = new PendingEmbedding(text, System.nanoTime());
+        pending.add(request);
+        if (closed && pending.remove(request)) {
+            throw new IllegalStateException("BatchingEmbeddingService is closed");
+        }
+        try {
+            return request.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public float[][] generateBatchEmbeddings(String[] texts) {
+        ensureOpen();
+        if (pool == null || texts.length < 2) {
+            return delegate.generateBatchEmbeddings(texts);
+        }
+
+        float[][] embeddings = new float[texts.length][];
+        int leafSize = Math.max(1, texts.length / (parallelism * TASKS_PER_WORKER));
+        pool.invoke(new EmbedTask(texts, embeddings, 0, texts.length, leafSize));
+        return embeddings;
+    }
+
+    @Override
+    public int getDimensions() {
+        return delegate.getDimensions();
+    }
+
+    public EmbeddingService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            try {
+                dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+            List<PendingEmbedding> abandoned = new ArrayList<>();
+            pending.drainTo(abandoned);
+            for (PendingEmbedding request : abandoned) {
+                request.result.completeExceptionally(new IllegalStateException("BatchingEmbeddingService is closed"));
+            }
+            batchExecutor.shutdown();
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("BatchingEmbeddingService is closed");
+        }
+    }
+
+    private void dispatchLoop() {
+        List<PendingEmbedding> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                PendingEmbedding first = pending.take();
+                batch.add(first);
+                // The latency bound runs from the oldest request's arrival, not from when the dispatcher woke up.
+                long deadline = first.enqueuedNanos + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (pending.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    PendingEmbedding next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                for (PendingEmbedding request : batch) {
+                    request.result.completeExceptionally(new IllegalStateException("BatchingEmbeddingService is closed"));
+                }
+                return;
+            }
+
+            List<PendingEmbedding> dispatched = new ArrayList<>(batch);
+            batch.clear();
+            batchExecutor.execute(() -> runBatch(dispatched));
+        }
+    }
+
+    private void runBatch(List<PendingEmbedding> batch) {
+        String[] texts = new String[batch.size()];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = batch.get(i).text;
+        }
+        try {
+            float[][] embeddings = generateBatchEmbeddings(texts);
+            for (int i = 0; i < texts.length; i++) {
+                batch.get(i).result.complete(embeddings[i]);
+            }
+        } catch (RuntimeException e) {
+            logger.warning("Embedding micro-batch of " + texts.length + " failed: " + e.getMessage());
+            for (PendingEmbedding request : batch) {
+                request.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class PendingEmbedding {
+
+        final String text;
+        final long enqueuedNanos;
+        final CompletableFuture<float[]> result;
+
+        PendingEmbedding(String text, long enqueuedNanos) {
+            this.text = text;
+            this.enqueuedNanos = enqueuedNanos;
+            this.result = new CompletableFuture<>();
+        }
+    }
+
+    private final class EmbedTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String[] texts;
+        private final float[][] embeddings;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        EmbedTask(String[] texts, float[][] embeddings, int from, int to, int leafSize) {
+            this.texts = texts;
+            this.embeddings = embeddings;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                if (to - from == 1) {
+                    embeddings[from] = delegate.generateEmbeddings(texts[from]);
+                } else {
+                    float[][] leaf = delegate.generateBatchEmbeddings(Arrays.copyOfRange(texts, from, to));
+                    System.arraycopy(leaf, 0, embeddings, from, leaf.length);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EmbedTask(texts, embeddings, from, middle, leafSize), new EmbedTask(texts, embeddings, middle, to, leafSize));
+        }
+    }
+
+    public static class Builder {
+
+        private final EmbeddingService delegate;
+        private int parallelism = Runtime.getRuntime()
+            .availableProcessors();
+        private int maxBatchSize;
+        private Duration maxBatchDelay;
+
+        private Builder(EmbeddingService delegate) {
+            if (delegate == null) {
+                throw new IllegalArgumentException("Delegate embedding service must not be null");
+            }
+            this.delegate = delegate;
+        }
+
+        // Workers used to split generateBatchEmbeddings; 1 forwards whole batches to the delegate unchanged.
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("Parallelism must be positive");
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder microBatching(int maxBatchSize, Duration maxBatchDelay) {
+            if (maxBatchSize < 2) {
+                throw new IllegalArgumentException("Micro-batches must allow at least two requests");
+            }
+            if (maxBatchDelay == null || maxBatchDelay.isNegative()) {
+                throw new IllegalArgumentException("Maximum batch delay must not be negative");
+            }
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        public BatchingEmbeddingService build() {
+            return new BatchingEmbeddingService(this);
+        }
+    }
+}
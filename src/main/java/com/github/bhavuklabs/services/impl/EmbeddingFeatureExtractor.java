@@ -0,0 +1,600 @@
+package com.github.bhavuklabs.services.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.regex.Pattern;
+
+// Feature extraction for ProductionEmbeddingService. Every vocabulary, concept and keyword list is compiled into one
+// Aho-Corasick automaton run once over the normalised text, and the structural counts are gathered in one pass over the
+// original text. Each feature reproduces the regex semantics of the original per-feature extractors exactly.
+final class EmbeddingFeatureExtractor {
+
+    static final int DIMENSIONS = 384;
+
+    private static final int VOCABULARY_FEATURES = 50;
+    private static final int CONCEPT_FEATURES = 50;
+    private static final Pattern SENTENCE_SPLIT = Pattern.compile("[.!?]+");
+
+    private static final String[][] SENTIMENT_GROUPS = {
+        {"good", "great", "excellent", "effective", "efficient", "optimal", "better", "best", "improved"},
+        {"bad", "poor", "inefficient", "slow", "problem", "issue", "error", "fail", "worst"},
+        {"proven", "reliable", "stable", "robust", "tested", "validated", "established"},
+        {"might", "could", "possibly", "perhaps", "maybe", "uncertain", "unclear"}
+    };
+    private static final String[] TONE_INDICATORS = {"formal", "informal", "technical", "academic", "practical", "theoretical"};
+    private static final String[][] DOMAIN_GROUPS = {
+        {"class", "function", "method", "variable", "object", "interface", "inheritance"},
+        {"array", "list", "map", "set", "tree", "graph", "stack", "queue"},
+        {"algorithm", "sort", "search", "optimize", "complexity", "performance", "efficiency"},
+        {"database", "table", "query", "sql", "nosql", "index", "transaction"},
+        {"architecture", "system", "design", "pattern", "microservice", "api", "service"}
+    };
+    private static final String[] TRANSITION_WORDS = {"however", "therefore", "moreover", "furthermore", "additionally", "consequently"};
+    private static final String[] EXAMPLE_PHRASES = {"for example", "such as", "namely", "specifically"};
+    private static final String[] COMPARISON_PHRASES = {"compared to", "versus", "rather than", "instead of"};
+
+    private final DoubleSupplier noiseSource;
+
+    private final float[] vocabularyWeights;
+    private final int[] vocabularyPatterns;
+    private final float[] conceptWeights;
+    private final int[] conceptPatterns;
+    private final int[][] sentimentPatterns;
+    private final int[] tonePatterns;
+    private final int[][] domainPatterns;
+    private final AhoCorasickAutomaton textAutomaton;
+    private final int textPatternCount;
+
+    private final AhoCorasickAutomaton transitionAutomaton;
+    private final AhoCorasickAutomaton phraseAutomaton;
+
+    EmbeddingFeatureExtractor(Map<String, Float> technicalVocabulary, Map<String, Float> conceptWeights, DoubleSupplier noiseSource) {
+        this.noiseSource = noiseSource;
+
+        Map<String, Integer> patternIds = new LinkedHashMap<>();
+        List<Float> weights = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (Map.Entry<String, Float> entry : technicalVocabulary.entrySet()) {
+            if (ids.size() >= VOCABULARY_FEATURES) {
+                break;
+            }
+            ids.add(patternId(patternIds, entry.getKey()
+                .toLowerCase()));
+            weights.add(entry.getValue());
+        }
+        this.vocabularyPatterns = toIntArray(ids);
+        this.vocabularyWeights = toFloatArray(weights);
+
+        weights.clear();
+        ids.clear();
+        for (Map.Entry<String, Float> entry : conceptWeights.entrySet()) {
+            if (ids.size() >= CONCEPT_FEATURES) {
+                break;
+            }
+            ids.add(patternId(patternIds, entry.getKey()
+                .toLowerCase()));
+            weights.add(entry.getValue());
+        }
+        this.conceptPatterns = toIntArray(ids);
+        this.conceptWeights = toFloatArray(weights);
+
+        this.sentimentPatterns = patternIds(patternIds, SENTIMENT_GROUPS);
+        this.tonePatterns = patternIds(patternIds, new String[][] {TONE_INDICATORS})[0];
+        this.domainPatterns = patternIds(patternIds, DOMAIN_GROUPS);
+
+        this.textAutomaton = new AhoCorasickAutomaton(patternIds.keySet()
+            .toArray(new String[0]));
+        this.textPatternCount = patternIds.size();
+        this.transitionAutomaton = new AhoCorasickAutomaton(TRANSITION_WORDS);
+        String[] phrases = Arrays.copyOf(EXAMPLE_PHRASES, EXAMPLE_PHRASES.length + COMPARISON_PHRASES.length);
+        System.arraycopy(COMPARISON_PHRASES, 0, phrases, EXAMPLE_PHRASES.length, COMPARISON_PHRASES.length);
+        this.phraseAutomaton = new AhoCorasickAutomaton(phrases);
+    }
+
+    float[] extract(String text) {
+        String normalized = normalize(text);
+        String[] words = tokenize(normalized);
+        String[] sentences = SENTENCE_SPLIT.split(text);
+
+        float[] embedding = new float[DIMENSIONS];
+        extractNormalizedTextFeatures(embedding, normalized, words);
+        extractStructuralFeatures(embedding, text, sentences, 150, 200);
+        extractNGramFeatures(embedding, words, 200, 250);
+        extractContextualFeatures(embedding, sentences, 350, 384);
+        normalizeVector(embedding);
+        return embedding;
+    }
+
+    // Equivalent to toLowerCase, collapsing whitespace runs, replacing each code point outside [a-zA-Z0-9\s\-_.] with a
+    // space, then trimming; the result is always ASCII.
+    static String normalize(String text) {
+        String lower = text.toLowerCase();
+        char[] out = new char[lower.length()];
+        int length = 0;
+        boolean inWhitespace = false;
+        for (int i = 0; i < lower.length(); ) {
+            int codePoint = lower.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isRegexSpace(codePoint)) {
+                if (!inWhitespace) {
+                    out[length++] = ' ';
+                }
+                inWhitespace = true;
+                continue;
+            }
+            inWhitespace = false;
+            out[length++] = isNormalizedChar(codePoint) ? (char) codePoint : ' ';
+        }
+
+        int start = 0;
+        while (start < length && out[start] <= ' ') {
+            start++;
+        }
+        while (length > start && out[length - 1] <= ' ') {
+            length--;
+        }
+        return new String(out, start, length - start);
+    }
+
+    // Matches String.split("\\s+") on normalised text, which has no leading or trailing spaces.
+    static String[] tokenize(String normalized) {
+        if (normalized.isEmpty()) {
+            return new String[] {""};
+        }
+        List<String> words = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i == normalized.length() || normalized.charAt(i) == ' ') {
+                if (i > start) {
+                    words.add(normalized.substring(start, i));
+                }
+                start = i + 1;
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private void extractNormalizedTextFeatures(float[] embedding, String text, String[] words) {
+        int length = text.length();
+        int wordCount = words.length;
+
+        int uppercase = 0;
+        int digits = 0;
+        int punctuation = 0;
+        int brackets = 0;
+        int operators = 0;
+        int functionLines = 0;
+
+        boolean[] found = new boolean[textPatternCount];
+        boolean[] boundedMatch = new boolean[textPatternCount];
+        int[] lastWord = new int[textPatternCount];
+        long[] wordMatches = new long[textPatternCount];
+        Arrays.fill(lastWord, -1);
+
+        int state = 0;
+        int wordIndex = 0;
+        boolean lineHasCall = false;
+        boolean lineHasCallClose = false;
+        for (int i = 0; i < length; ) {
+            int codePoint = text.codePointAt(i);
+            int width = Character.charCount(codePoint);
+
+            if (codePoint >= 'A' && codePoint <= 'Z') {
+                uppercase++;
+            } else if (codePoint >= '0' && codePoint <= '9') {
+                digits++;
+            }
+            if (!isRegexWord(codePoint) && !isRegexSpace(codePoint)) {
+                punctuation++;
+            }
+            if (codePoint == '{' || codePoint == '}' || codePoint == '[' || codePoint == ']' || codePoint == '(' || codePoint == ')') {
+                brackets++;
+            }
+            // Every match of "=|==|!=|<=|>=" contains exactly one '=', and "=" wins over "==" as the first alternative.
+            if (codePoint == '=') {
+                operators++;
+            }
+
+            // "\w+\(.*\)" matches at most once per line: the greedy ".*" runs to the last ')' on that line.
+            if (isLineTerminator(codePoint)) {
+                if (lineHasCallClose) {
+                    functionLines++;
+                }
+                lineHasCall = false;
+                lineHasCallClose = false;
+            } else if (codePoint == '(' && i > 0 && isRegexWord(text.codePointBefore(i))) {
+                lineHasCall = true;
+            } else if (codePoint == ')' && lineHasCall) {
+                lineHasCallClose = true;
+            }
+
+            if (codePoint == ' ' && i > 0 && text.charAt(i - 1) != ' ') {
+                wordIndex++;
+            }
+
+            state = textAutomaton.next(state, (char) (codePoint < 0x80 ? codePoint : 0x80));
+            for (int patternId : textAutomaton.outputs(state)) {
+                found[patternId] = true;
+                if (lastWord[patternId] != wordIndex) {
+                    lastWord[patternId] = wordIndex;
+                    wordMatches[patternId]++;
+                }
+                int matchEnd = i + width;
+                int matchStart = matchEnd - textAutomaton.patternLength(patternId);
+                if (!boundedMatch[patternId] && isWordBoundary(text, matchStart) && isWordBoundary(text, matchEnd)) {
+                    boundedMatch[patternId] = true;
+                }
+            }
+            i += width;
+        }
+        if (lineHasCallClose) {
+            functionLines++;
+        }
+
+        embedding[0] = Math.min(length / 1000.0f, 1.0f);
+        embedding[1] = Math.min(wordCount / 100.0f, 1.0f);
+        embedding[2] = wordCount > 0 ? (float) length / wordCount : 0;
+        embedding[3] = uppercase / (float) length;
+        embedding[4] = digits / (float) length;
+        embedding[5] = punctuation / (float) length;
+        long uniqueWords = new HashSet<>(Arrays.asList(words)).size();
+        embedding[6] = wordCount > 0 ? (float) uniqueWords / wordCount : 0;
+        embedding[7] = brackets / (float) length;
+        embedding[8] = operators / (float) length;
+        embedding[9] = functionLines / (float) wordCount;
+
+        // The ConcurrentHashMap is kept so that iteration order, and therefore feature placement, is unchanged.
+        Map<String, Integer> wordFrequencies = new ConcurrentHashMap<>();
+        for (String word : words) {
+            if (word.length() > 3) {
+                wordFrequencies.merge(word, 1, Integer::sum);
+            }
+        }
+        int featureIndex = 10;
+        for (Map.Entry<String, Integer> entry : wordFrequencies.entrySet()) {
+            if (featureIndex >= 50) {
+                break;
+            }
+            embedding[featureIndex++] = Math.min(entry.getValue() / (float) wordCount, 0.1f);
+        }
+
+        // Terms never contain spaces, so substring matches in the text are exactly the per-word "contains" matches.
+        for (int v = 0; v < vocabularyPatterns.length; v++) {
+            long count = wordMatches[vocabularyPatterns[v]];
+            embedding[50 + v] = Math.min((count * vocabularyWeights[v]) / words.length, 1.0f);
+        }
+        for (int c = 0; c < conceptPatterns.length; c++) {
+            embedding[100 + c] = boundedMatch[conceptPatterns[c]] ? conceptWeights[c] : 0.0f;
+        }
+
+        for (int g = 0; g < sentimentPatterns.length; g++) {
+            embedding[250 + g] = presence(found, sentimentPatterns[g]);
+        }
+        for (int t = 0; t < 46; t++) {
+            embedding[254 + t] = t < tonePatterns.length && found[tonePatterns[t]] ? 0.5f : 0.0f;
+        }
+        for (int g = 0; g < domainPatterns.length; g++) {
+            embedding[300 + g] = presence(found, domainPatterns[g]);
+        }
+        int textHash = text.hashCode();
+        for (int d = 0; d < 45; d++) {
+            embedding[305 + d] = Math.abs(textHash + d) % 100 / 1000.0f;
+        }
+    }
+
+    private void extractStructuralFeatures(float[] embedding, String text, String[] sentences, int start, int end) {
+        int length = text.length();
+        int headings = 0;
+        int listItems = 0;
+        int codeFences = 0;
+        int boldSpans = 0;
+        int questions = 0;
+        int exclamations = 0;
+
+        int backtickRun = 0;
+        int segmentStart = 0;
+        int lastDoubleStar = -1;
+        int lastDoubleUnderscore = -1;
+
+        int paragraphPieces = 0;
+        int lastNonEmptyPiece = -1;
+        int pieceStart = 0;
+        int nextParagraphBreak = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (isLineStart(text, i)) {
+                if (matchesHeading(text, i)) {
+                    headings++;
+                }
+                if (matchesListItem(text, i)) {
+                    listItems++;
+                }
+            }
+
+            if (c == '`') {
+                backtickRun++;
+            } else {
+                codeFences += backtickRun / 3;
+                backtickRun = 0;
+            }
+
+            if (c == '?') {
+                questions++;
+            } else if (c == '!') {
+                exclamations++;
+            }
+
+            // "\*\*.*\*\*|__.*__" cannot cross a line terminator, so bold spans are resolved per line segment.
+            if (isLineTerminator(c)) {
+                boldSpans += countBoldSpans(text, segmentStart, i, lastDoubleStar, lastDoubleUnderscore);
+                segmentStart = i + 1;
+                lastDoubleStar = -1;
+                lastDoubleUnderscore = -1;
+            } else if (i + 1 < length && !isLineTerminator(text.charAt(i + 1))) {
+                if (c == '*' && text.charAt(i + 1) == '*') {
+                    lastDoubleStar = i;
+                } else if (c == '_' && text.charAt(i + 1) == '_') {
+                    lastDoubleUnderscore = i;
+                }
+            }
+
+            // Mirrors String.split("\n\n"): non-overlapping breaks, trailing empty pieces dropped.
+            if (c == '\n' && i >= nextParagraphBreak && i + 1 < length && text.charAt(i + 1) == '\n') {
+                if (i > pieceStart) {
+                    lastNonEmptyPiece = paragraphPieces;
+                }
+                paragraphPieces++;
+                pieceStart = i + 2;
+                nextParagraphBreak = i + 2;
+            }
+        }
+        codeFences += backtickRun / 3;
+        boldSpans += countBoldSpans(text, segmentStart, length, lastDoubleStar, lastDoubleUnderscore);
+        if (length > pieceStart) {
+            lastNonEmptyPiece = paragraphPieces;
+        }
+        int paragraphs = paragraphPieces == 0 ? 1 : lastNonEmptyPiece + 1;
+
+        embedding[start] = headings / (float) sentences.length;
+        embedding[start + 1] = listItems / (float) sentences.length;
+        embedding[start + 2] = codeFences / 2.0f / sentences.length;
+        embedding[start + 3] = boldSpans / (float) sentences.length;
+
+        long sentenceCharacters = 0;
+        for (String sentence : sentences) {
+            sentenceCharacters += sentence.length();
+        }
+        float avgSentenceLength = sentences.length > 0 ? (float) ((double) sentenceCharacters / sentences.length) : 0;
+        embedding[start + 4] = Math.min(avgSentenceLength / 100.0f, 1.0f);
+
+        embedding[start + 5] = questions / (float) sentences.length;
+        embedding[start + 6] = exclamations / (float) sentences.length;
+        embedding[start + 7] = Math.min(paragraphs / 10.0f, 1.0f);
+
+        for (int i = start + 8; i < end; i++) {
+            embedding[i] = (float) noiseSource.getAsDouble() * 0.1f;
+        }
+    }
+
+    private void extractNGramFeatures(float[] embedding, String[] words, int start, int end) {
+        int featureIndex = start;
+
+        // Hashes are composed from the word hashes, matching String.hashCode of the space-joined n-gram.
+        for (int i = 0; i < words.length - 1 && featureIndex < end - 25; i++) {
+            int bigram = joinHash(words[i].hashCode(), words[i + 1]);
+            float hash = Math.abs(bigram) % 1000 / 1000.0f;
+            embedding[featureIndex++] = hash * 0.1f;
+        }
+
+        for (int i = 0; i < words.length - 2 && featureIndex < end; i++) {
+            int trigram = joinHash(joinHash(words[i].hashCode(), words[i + 1]), words[i + 2]);
+            float hash = Math.abs(trigram) % 1000 / 1000.0f;
+            embedding[featureIndex++] = hash * 0.05f;
+        }
+    }
+
+    private void extractContextualFeatures(float[] embedding, String[] sentences, int start, int end) {
+        float transitionScore = 0;
+        boolean[] seen = new boolean[TRANSITION_WORDS.length];
+        for (String sentence : sentences) {
+            Arrays.fill(seen, false);
+            String lower = sentence.toLowerCase();
+            int state = 0;
+            for (int i = 0; i < lower.length(); i++) {
+                state = transitionAutomaton.next(state, lower.charAt(i));
+                for (int patternId : transitionAutomaton.outputs(state)) {
+                    if (!seen[patternId]) {
+                        seen[patternId] = true;
+                        transitionScore += 1.0f;
+                    }
+                }
+            }
+        }
+        embedding[start] = Math.min(transitionScore / sentences.length, 1.0f);
+
+        int[] phraseCounts = countPhrases(String.join(" ", sentences));
+        embedding[start + 1] = phraseCounts[0] / (float) sentences.length;
+        embedding[start + 2] = phraseCounts[1] / (float) sentences.length;
+
+        for (int i = start + 3; i < end; i++) {
+            int featureIndex = i - start - 3;
+            embedding[i] = sentences.length > featureIndex ? Math.abs(sentences[featureIndex].hashCode()) % 100 / 1000.0f : 0.0f;
+        }
+    }
+
+    // Reproduces Matcher.find over "a|b|c|d" for each phrase group: leftmost match wins, earlier alternatives win ties,
+    // and matching resumes after the end of the previous match.
+    private int[] countPhrases(String joined) {
+        List<int[]> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < joined.length(); i++) {
+            state = phraseAutomaton.next(state, joined.charAt(i));
+            for (int patternId : phraseAutomaton.outputs(state)) {
+                matches.add(new int[] {i + 1 - phraseAutomaton.patternLength(patternId), patternId});
+            }
+        }
+        int[] counts = new int[2];
+        if (matches.isEmpty()) {
+            return counts;
+        }
+        matches.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+
+        int[] resumeAt = new int[2];
+        for (int[] match : matches) {
+            int group = match[1] < EXAMPLE_PHRASES.length ? 0 : 1;
+            if (match[0] >= resumeAt[group]) {
+                counts[group]++;
+                resumeAt[group] = match[0] + phraseAutomaton.patternLength(match[1]);
+            }
+        }
+        return counts;
+    }
+
+    private static int countBoldSpans(String text, int from, int to, int lastDoubleStar, int lastDoubleUnderscore) {
+        int count = 0;
+        int p = from;
+        while (p + 1 < to) {
+            char c = text.charAt(p);
+            if (c == '*' && text.charAt(p + 1) == '*' && lastDoubleStar >= p + 2) {
+                count++;
+                p = lastDoubleStar + 2;
+            } else if (c == '_' && text.charAt(p + 1) == '_' && lastDoubleUnderscore >= p + 2) {
+                count++;
+                p = lastDoubleUnderscore + 2;
+            } else {
+                p++;
+            }
+        }
+        return count;
+    }
+
+    // MULTILINE '^': start of input or after a line terminator, never between \r and \n, and never at the very end.
+    private static boolean isLineStart(String text, int i) {
+        if (i >= text.length()) {
+            return false;
+        }
+        if (i == 0) {
+            return true;
+        }
+        char previous = text.charAt(i - 1);
+        if (!isLineTerminator(previous)) {
+            return false;
+        }
+        return !(previous == '\r' && text.charAt(i) == '\n');
+    }
+
+    private static boolean matchesHeading(String text, int i) {
+        int j = i;
+        while (j < text.length() && text.charAt(j) == '#') {
+            j++;
+        }
+        return j > i && j < text.length() && isRegexSpace(text.charAt(j));
+    }
+
+    private static boolean matchesListItem(String text, int i) {
+        int length = text.length();
+        char c = text.charAt(i);
+        if (c == '-' || c == '*') {
+            return i + 1 < length && isRegexSpace(text.charAt(i + 1));
+        }
+        int j = i;
+        while (j < length && text.charAt(j) >= '0' && text.charAt(j) <= '9') {
+            j++;
+        }
+        return j > i && j + 1 < length && text.charAt(j) == '.' && isRegexSpace(text.charAt(j + 1));
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        boolean left = index > 0 && isRegexWord(text.codePointBefore(index));
+        boolean right = index < text.length() && isRegexWord(text.codePointAt(index));
+        return left != right;
+    }
+
+    private static float presence(boolean[] found, int[] patterns) {
+        int count = 0;
+        for (int patternId : patterns) {
+            if (found[patternId]) {
+                count++;
+            }
+        }
+        return Math.min(count / (float) patterns.length, 1.0f);
+    }
+
+    private static int joinHash(int prefixHash, String next) {
+        int multiplier = 1;
+        for (int i = 0; i < next.length(); i++) {
+            multiplier *= 31;
+        }
+        return (prefixHash * 31 + ' ') * multiplier + next.hashCode();
+    }
+
+    private static void normalizeVector(float[] vector) {
+        float magnitude = 0.0f;
+        for (float value : vector) {
+            magnitude += value * value;
+        }
+        magnitude = (float) Math.sqrt(magnitude);
+
+        if (magnitude > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= magnitude;
+            }
+        }
+    }
+
+    private static boolean isRegexSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isRegexWord(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+
+    private static boolean isNormalizedChar(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '_' || c == '.';
+    }
+
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+    }
+
+    private static int patternId(Map<String, Integer> patternIds, String pattern) {
+        return patternIds.computeIfAbsent(pattern, key -> patternIds.size());
+    }
+
+    private static int[][] patternIds(Map<String, Integer> patternIds, String[][] groups) {
+        int[][] ids = new int[groups.length][];
+        for (int g = 0; g < groups.length; g++) {
+            ids[g] = new int[groups[g].length];
+            for (int w = 0; w < groups[g].length; w++) {
+                ids[g][w] = patternId(patternIds, groups[g][w]);
+            }
+        }
+        return ids;
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    private static float[] toFloatArray(List<Float> values) {
+        float[] array = new float[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -1,9 +1,13 @@
 package com.github.bhavuklabs.services.impl;
 
+import com.github.bhavuklabs.core.cache.BoundedCache;
+import com.github.bhavuklabs.core.cache.CacheStats;
+import com.github.bhavuklabs.core.cache.TextFingerprint;
 import com.github.bhavuklabs.services.EmbeddingService;
 
+import java.time.Duration;
+import java.util.function.DoubleSupplier;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 
@@ -11,17 +15,32 @@ import java.util.Map;
 public class ProductionEmbeddingService implements EmbeddingService {
     
     private static final Logger logger = Logger.getLogger(ProductionEmbeddingService.class.getName());
-    private static final int EMBEDDING_DIMENSIONS = 384;
+    private static final int EMBEDDING_DIMENSIONS = EmbeddingFeatureExtractor.DIMENSIONS;
+    private static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+    // Array header plus fingerprint key and cache node bookkeeping.
+    private static final long CACHE_ENTRY_OVERHEAD_BYTES = 16 + 32 + 64;
 
-    private final Map<String, float[]> embeddingCache = new ConcurrentHashMap<>();
-
-    private final Map<String, Float> technicalVocabulary;
-    private final Map<String, Float> conceptWeights;
+    private final BoundedCache<TextFingerprint, float[]> embeddingCache;
+    private final EmbeddingFeatureExtractor featureExtractor;
     
     public ProductionEmbeddingService() {
-        this.technicalVocabulary = initializeTechnicalVocabulary();
-        this.conceptWeights = initializeConceptWeights();
-        logger.info("ProductionEmbeddingService initialized with " + EMBEDDING_DIMENSIONS + " dimensions");
+        this(DEFAULT_CACHE_BYTES, null);
+    }
+    
+    public ProductionEmbeddingService(long maxCacheBytes, Duration cacheExpiry) {
+        this(maxCacheBytes, cacheExpiry, Math::random);
+    }
+    
+    public ProductionEmbeddingService(long maxCacheBytes, Duration cacheExpiry, DoubleSupplier noiseSource) {
+        long entryBytes = CACHE_ENTRY_OVERHEAD_BYTES + (long) EMBEDDING_DIMENSIONS * Float.BYTES;
+        this.embeddingCache = BoundedCache.<TextFingerprint, float[]>builder()
+            .maximumWeight(maxCacheBytes, (key, embedding) -> CACHE_ENTRY_OVERHEAD_BYTES + (long) embedding.length * Float.BYTES)
+            .expectedEntries(Math.max(1, maxCacheBytes / entryBytes))
+            .expireAfterWrite(cacheExpiry)
+            .build();
+        this.featureExtractor = new EmbeddingFeatureExtractor(initializeTechnicalVocabulary(), initializeConceptWeights(), noiseSource);
+        logger.info("ProductionEmbeddingService initialized with " + EMBEDDING_DIMENSIONS + " dimensions and a " + (maxCacheBytes / (1024 * 1024))
+            + " MB embedding cache");
     }
     
     @Override
@@ -30,9 +49,11 @@ public class ProductionEmbeddingService implements EmbeddingService {
             return new float[EMBEDDING_DIMENSIONS];
         }
 
-        String cacheKey = text.toLowerCase().trim();
-        if (embeddingCache.containsKey(cacheKey)) {
-            return embeddingCache.get(cacheKey).clone();
+        TextFingerprint cacheKey = TextFingerprint.of(text);
+        float[] cached = embeddingCache.get(cacheKey);
+        if (cached != null) {
+            // Callers own the returned array, so hits hand out a copy rather than the cached instance.
+            return cached.clone();
         }
 
         float[] embedding = computeEmbedding(text);
@@ -49,270 +70,7 @@ public class ProductionEmbeddingService implements EmbeddingService {
     
     
     private float[] computeEmbedding(String text) {
-        String normalizedText = normalizeText(text);
-        String[] words = tokenizeText(normalizedText);
-        String[] sentences = splitIntoSentences(text);
-        
-        float[] embedding = new float[EMBEDDING_DIMENSIONS];
-
-        extractBasicTextFeatures(embedding, normalizedText, words, 0, 50);
-        extractTechnicalVocabularyFeatures(embedding, words, 50, 100);
-        extractSemanticConceptFeatures(embedding, normalizedText, 100, 150);
-        extractStructuralFeatures(embedding, text, sentences, 150, 200);
-        extractNGramFeatures(embedding, words, 200, 250);
-        extractSentimentAndToneFeatures(embedding, normalizedText, 250, 300);
-        extractDomainSpecificFeatures(embedding, normalizedText, 300, 350);
-        extractContextualFeatures(embedding, sentences, 350, 384);
-
-        normalizeVector(embedding);
-        
-        return embedding;
-    }
-    
-    
-    private void extractBasicTextFeatures(float[] embedding, String text, String[] words, int start, int end) {
-        int length = text.length();
-        int wordCount = words.length;
-
-        embedding[start] = Math.min(length / 1000.0f, 1.0f);
-        embedding[start + 1] = Math.min(wordCount / 100.0f, 1.0f);
-        embedding[start + 2] = wordCount > 0 ? (float) length / wordCount : 0; // Average word length
-
-        embedding[start + 3] = countPattern(text, "[A-Z]") / (float) length; // Uppercase ratio
-        embedding[start + 4] = countPattern(text, "\\d") / (float) length; // Digit ratio
-        embedding[start + 5] = countPattern(text, "[^\\w\\s]") / (float) length; // Punctuation ratio
-
-        long uniqueWords = java.util.Arrays.stream(words).distinct().count();
-        embedding[start + 6] = wordCount > 0 ? (float) uniqueWords / wordCount : 0; // Vocabulary diversity
-
-        embedding[start + 7] = countPattern(text, "\\{|\\}|\\[|\\]|\\(|\\)") / (float) length; // Bracket ratio
-        embedding[start + 8] = countPattern(text, "=|==|!=|<=|>=") / (float) length; // Operator ratio
-        embedding[start + 9] = countPattern(text, "\\w+\\(.*\\)") / (float) wordCount; // Function-like patterns
-
-        Map<String, Integer> wordFreq = getWordFrequencies(words);
-        int i = start + 10;
-        for (Map.Entry<String, Integer> entry : wordFreq.entrySet()) {
-            if (i >= end) break;
-            embedding[i++] = Math.min(entry.getValue() / (float) wordCount, 0.1f);
-        }
-    }
-    
-    
-    private void extractTechnicalVocabularyFeatures(float[] embedding, String[] words, int start, int end) {
-        int featureIndex = start;
-        
-        for (Map.Entry<String, Float> entry : technicalVocabulary.entrySet()) {
-            if (featureIndex >= end) break;
-            
-            String term = entry.getKey();
-            float weight = entry.getValue();
-
-            long count = java.util.Arrays.stream(words)
-                    .filter(word -> word.toLowerCase().contains(term.toLowerCase()))
-                    .count();
-            
-            embedding[featureIndex++] = Math.min((count * weight) / words.length, 1.0f);
-        }
-    }
-    
-    
-    private void extractSemanticConceptFeatures(float[] embedding, String text, int start, int end) {
-        int featureIndex = start;
-        
-        for (Map.Entry<String, Float> entry : conceptWeights.entrySet()) {
-            if (featureIndex >= end) break;
-            
-            String concept = entry.getKey();
-            float weight = entry.getValue();
-
-            boolean hasMatch = Pattern.compile("\\b" + Pattern.quote(concept) + "\\b", 
-                                             Pattern.CASE_INSENSITIVE).matcher(text).find();
-            
-            embedding[featureIndex++] = hasMatch ? weight : 0.0f;
-        }
-    }
-    
-    
-    private void extractStructuralFeatures(float[] embedding, String text, String[] sentences, int start, int end) {
-
-        embedding[start] = countPattern(text, "^#+\\s") / (float) sentences.length; // Heading ratio
-        embedding[start + 1] = countPattern(text, "^-\\s|^\\*\\s|^\\d+\\.\\s") / (float) sentences.length; // List ratio
-        embedding[start + 2] = countPattern(text, "```") / 2.0f / sentences.length; // Code block ratio
-        embedding[start + 3] = countPattern(text, "\\*\\*.*\\*\\*|__.*__") / (float) sentences.length; // Bold text ratio
-
-        float avgSentenceLength = sentences.length > 0 ? 
-            (float) java.util.Arrays.stream(sentences).mapToInt(String::length).average().orElse(0) : 0;
-        embedding[start + 4] = Math.min(avgSentenceLength / 100.0f, 1.0f);
-
-        embedding[start + 5] = countPattern(text, "\\?") / (float) sentences.length; // Question ratio
-        embedding[start + 6] = countPattern(text, "!") / (float) sentences.length; // Exclamation ratio
-
-        String[] paragraphs = text.split("\n\n");
-        embedding[start + 7] = Math.min(paragraphs.length / 10.0f, 1.0f); // Paragraph count
-
-        for (int i = start + 8; i < end; i++) {
-            embedding[i] = (float) Math.random() * 0.1f; // Small random values for unused dimensions
-        }
-    }
-    
-    
-    private void extractNGramFeatures(float[] embedding, String[] words, int start, int end) {
-        int featureIndex = start;
-
-        for (int i = 0; i < words.length - 1 && featureIndex < end - 25; i++) {
-            String bigram = words[i] + " " + words[i + 1];
-            float hash = Math.abs(bigram.hashCode()) % 1000 / 1000.0f;
-            embedding[featureIndex++] = hash * 0.1f;
-        }
-
-        for (int i = 0; i < words.length - 2 && featureIndex < end; i++) {
-            String trigram = words[i] + " " + words[i + 1] + " " + words[i + 2];
-            float hash = Math.abs(trigram.hashCode()) % 1000 / 1000.0f;
-            embedding[featureIndex++] = hash * 0.05f;
-        }
-    }
-    
-    
-    private void extractSentimentAndToneFeatures(float[] embedding, String text, int start, int end) {
-
-        String[] positiveWords = {"good", "great", "excellent", "effective", "efficient", "optimal", "better", "best", "improved"};
-        embedding[start] = countWordsPresence(text, positiveWords);
-
-        String[] negativeWords = {"bad", "poor", "inefficient", "slow", "problem", "issue", "error", "fail", "worst"};
-        embedding[start + 1] = countWordsPresence(text, negativeWords);
-
-        String[] confidenceWords = {"proven", "reliable", "stable", "robust", "tested", "validated", "established"};
-        embedding[start + 2] = countWordsPresence(text, confidenceWords);
-
-        String[] uncertaintyWords = {"might", "could", "possibly", "perhaps", "maybe", "uncertain", "unclear"};
-        embedding[start + 3] = countWordsPresence(text, uncertaintyWords);
-
-        for (int i = start + 4; i < end; i++) {
-            embedding[i] = analyzeToneFeature(text, i - start - 4);
-        }
-    }
-    
-    
-    private void extractDomainSpecificFeatures(float[] embedding, String text, int start, int end) {
-
-        String[] programmingTerms = {"class", "function", "method", "variable", "object", "interface", "inheritance"};
-        embedding[start] = countWordsPresence(text, programmingTerms);
-
-        String[] dataStructureTerms = {"array", "list", "map", "set", "tree", "graph", "stack", "queue"};
-        embedding[start + 1] = countWordsPresence(text, dataStructureTerms);
-
-        String[] algorithmTerms = {"algorithm", "sort", "search", "optimize", "complexity", "performance", "efficiency"};
-        embedding[start + 2] = countWordsPresence(text, algorithmTerms);
-
-        String[] databaseTerms = {"database", "table", "query", "sql", "nosql", "index", "transaction"};
-        embedding[start + 3] = countWordsPresence(text, databaseTerms);
-
-        String[] architectureTerms = {"architecture", "system", "design", "pattern", "microservice", "api", "service"};
-        embedding[start + 4] = countWordsPresence(text, architectureTerms);
-
-        for (int i = start + 5; i < end; i++) {
-            embedding[i] = analyzeDomainFeature(text, i - start - 5);
-        }
-    }
-    
-    
-    private void extractContextualFeatures(float[] embedding, String[] sentences, int start, int end) {
-
-        String[] transitionWords = {"however", "therefore", "moreover", "furthermore", "additionally", "consequently"};
-        float transitionScore = 0;
-        for (String sentence : sentences) {
-            for (String transition : transitionWords) {
-                if (sentence.toLowerCase().contains(transition)) {
-                    transitionScore += 1.0f;
-                }
-            }
-        }
-        embedding[start] = Math.min(transitionScore / sentences.length, 1.0f);
-
-        embedding[start + 1] = countPattern(String.join(" ", sentences), "for example|such as|namely|specifically") / (float) sentences.length;
-
-        embedding[start + 2] = countPattern(String.join(" ", sentences), "compared to|versus|rather than|instead of") / (float) sentences.length;
-
-        for (int i = start + 3; i < end; i++) {
-            embedding[i] = analyzeContextualFeature(sentences, i - start - 3);
-        }
-    }
-
-    
-    private String normalizeText(String text) {
-        return text.toLowerCase()
-                   .replaceAll("\\s+", " ")
-                   .replaceAll("[^a-zA-Z0-9\\s\\-_.]", " ")
-                   .trim();
-    }
-    
-    private String[] tokenizeText(String text) {
-        return text.split("\\s+");
-    }
-    
-    private String[] splitIntoSentences(String text) {
-        return text.split("[.!?]+");
-    }
-    
-    private int countPattern(String text, String pattern) {
-        return (int) Pattern.compile(pattern, Pattern.MULTILINE).matcher(text).results().count();
-    }
-    
-    private float countWordsPresence(String text, String[] words) {
-        String lowerText = text.toLowerCase();
-        int count = 0;
-        for (String word : words) {
-            if (lowerText.contains(word.toLowerCase())) {
-                count++;
-            }
-        }
-        return Math.min(count / (float) words.length, 1.0f);
-    }
-    
-    private Map<String, Integer> getWordFrequencies(String[] words) {
-        Map<String, Integer> frequencies = new ConcurrentHashMap<>();
-        for (String word : words) {
-            if (word.length() > 3) { // Only count meaningful words
-                frequencies.merge(word.toLowerCase(), 1, Integer::sum);
-            }
-        }
-        return frequencies;
-    }
-    
-    private float analyzeToneFeature(String text, int featureIndex) {
-
-        String[] toneIndicators = {"formal", "informal", "technical", "academic", "practical", "theoretical"};
-        if (featureIndex < toneIndicators.length) {
-            return text.toLowerCase().contains(toneIndicators[featureIndex]) ? 0.5f : 0.0f;
-        }
-        return 0.0f;
-    }
-    
-    private float analyzeDomainFeature(String text, int featureIndex) {
-
-        return Math.abs(text.hashCode() + featureIndex) % 100 / 1000.0f;
-    }
-    
-    private float analyzeContextualFeature(String[] sentences, int featureIndex) {
-
-        if (sentences.length > featureIndex) {
-            return Math.abs(sentences[featureIndex].hashCode()) % 100 / 1000.0f;
-        }
-        return 0.0f;
-    }
-    
-    private void normalizeVector(float[] vector) {
-        float magnitude = 0.0f;
-        for (float value : vector) {
-            magnitude += value * value;
-        }
-        magnitude = (float) Math.sqrt(magnitude);
-        
-        if (magnitude > 0) {
-            for (int i = 0; i < vector.length; i++) {
-                vector[i] /= magnitude;
-            }
-        }
+        return featureExtractor.extract(text);
     }
     
     
@@ -444,11 +202,15 @@ public class ProductionEmbeddingService implements EmbeddingService {
     }
     
     public void clearCache() {
-        embeddingCache.clear();
+        embeddingCache.invalidateAll();
         logger.info("Embedding cache cleared");
     }
     
     public int getCacheSize() {
-        return embeddingCache.size();
+        return (int) embeddingCache.size();
+    }
+    
+    public CacheStats getCacheStats() {
+        return embeddingCache.stats();
     }
 }
@@ -2,182 +2,253 @@ package com.github.bhavuklabs.services.impl;
 
 import com.github.bhavuklabs.services.EmbeddingService;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
 
 public class SimpleEmbeddingService implements EmbeddingService {
-    
+
     private static final Logger logger = Logger.getLogger(SimpleEmbeddingService.class.getName());
     private static final int EMBEDDING_DIMENSIONS = 384;
-    
+
+    private static final String[] TECH_KEYWORDS = {
+        "algorithm", "data", "structure", "function", "class", "object", "method",
+        "variable", "loop", "condition", "array", "list", "map", "set", "tree",
+        "graph", "network", "database", "query", "api", "service", "framework",
+        "library", "module", "component", "interface", "abstract", "inheritance",
+        "optimization", "performance", "cache", "memory", "storage", "retrieval",
+        "search", "sort", "index", "scale", "distributed", "microservice", "pattern",
+        "design", "architecture", "system", "client", "server", "web", "application"
+    };
+    private static final String[][] DOMAIN_KEYWORDS = {
+        {"data", "structure", "array", "list"},
+        {"algorithm", "sort", "search", "optimization"},
+        {"database", "sql", "query", "storage"},
+        {"system", "architecture", "microservice", "scale"},
+        {"performance", "cache", "optimization", "memory"}
+    };
+
+    // Every keyword list is matched by one automaton, and the keywords seen are tracked as bits of a single long.
+    private static final AhoCorasickAutomaton KEYWORDS;
+    private static final long[] TECH_KEYWORD_BITS;
+    private static final long[] DOMAIN_KEYWORD_MASKS;
+
+    static {
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        TECH_KEYWORD_BITS = new long[TECH_KEYWORDS.length];
+        for (int i = 0; i < TECH_KEYWORDS.length; i++) {
+            TECH_KEYWORD_BITS[i] = 1L << keywordId(ids, TECH_KEYWORDS[i]);
+        }
+        DOMAIN_KEYWORD_MASKS = new long[DOMAIN_KEYWORDS.length];
+        for (int g = 0; g < DOMAIN_KEYWORDS.length; g++) {
+            for (String keyword : DOMAIN_KEYWORDS[g]) {
+                DOMAIN_KEYWORD_MASKS[g] |= 1L << keywordId(ids, keyword);
+            }
+        }
+        KEYWORDS = new AhoCorasickAutomaton(ids.keySet()
+            .toArray(new String[0]));
+    }
+
     public SimpleEmbeddingService() {
         logger.info("SimpleEmbeddingService initialized with " + EMBEDDING_DIMENSIONS + " dimensions");
     }
-    
+
     @Override
     public float[] generateEmbeddings(String text) {
-        if (text == null || text.trim().isEmpty()) {
-            return new float[EMBEDDING_DIMENSIONS];
-        }
-
-        String normalizedText = text.toLowerCase().trim();
-
         float[] embedding = new float[EMBEDDING_DIMENSIONS];
+        generateEmbeddings(text, embedding);
+        return embedding;
+    }
 
-        Random textRandom = new Random(normalizedText.hashCode());
+    // Allocation-free: text is lower-cased and hashed character by character, and n-gram hashes are composed
+    // arithmetically instead of building substrings.
+    @Override
+    public void generateEmbeddings(String text, float[] destination) {
+        if (destination.length < EMBEDDING_DIMENSIONS) {
+            throw new IllegalArgumentException("Destination holds " + destination.length + " floats, expected at least " + EMBEDDING_DIMENSIONS);
+        }
+        Arrays.fill(destination, 0, EMBEDDING_DIMENSIONS, 0.0f);
+        if (text == null) {
+            return;
+        }
 
-        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
-            embedding[i] = (float) textRandom.nextGaussian() * 0.1f;
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
         }
+        if (start == end) {
+            return;
+        }
+
+        int textHash = 0;
+        for (int i = start; i < end; i++) {
+            textHash = 31 * textHash + Character.toLowerCase(text.charAt(i));
+        }
+        addHashedBaseline(destination, textHash);
 
-        addTextFeatures(embedding, normalizedText);
+        addTextFeatures(destination, text, start, end);
 
-        normalizeVector(embedding);
-        
-        return embedding;
+        normalizeVector(destination);
     }
-    
+
     @Override
     public int getDimensions() {
         return EMBEDDING_DIMENSIONS;
     }
-    
-    
-    private void addTextFeatures(float[] embedding, String text) {
-        int length = text.length();
-        String[] words = text.split("\\s+");
-        int wordCount = words.length;
-
-        if (length > 0) {
-            embedding[0] += Math.min(length / 1000.0f, 1.0f); // Text length feature
-            embedding[1] += Math.min(wordCount / 100.0f, 1.0f); // Word count feature
-            embedding[2] += countUpperCase(text) / (float) length; // Uppercase ratio
-            embedding[3] += countDigits(text) / (float) length; // Digit ratio
-            embedding[4] += countPunctuation(text) / (float) length; // Punctuation ratio
-        }
 
-        for (int i = 0; i < Math.min(words.length, 20); i++) {
-            String word = words[i];
-            int wordHash = Math.abs(word.hashCode()) % 100;
-            embedding[5 + i] += wordHash / 100.0f;
+
+    // Deterministic per-text background in place of a freshly seeded Random: SplitMix64 drives an Irwin-Hall
+    // approximation of the standard normal, scaled as before.
+    private void addHashedBaseline(float[] embedding, int textHash) {
+        long state = textHash;
+        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            z ^= z >>> 31;
+            long sum = (z & 0xFFFF) + ((z >>> 16) & 0xFFFF) + ((z >>> 32) & 0xFFFF) + (z >>> 48);
+            float gaussian = (float) ((sum / 65536.0 - 2.0) * 1.7320508075688772);
+            embedding[i] = gaussian * 0.1f;
         }
+    }
 
-        addKeywordFeatures(embedding, text);
 
-        addNGramFeatures(embedding, text);
-    }
-    
-    
-    private void addKeywordFeatures(float[] embedding, String text) {
-        String[] techKeywords = {
-            "algorithm", "data", "structure", "function", "class", "object", "method",
-            "variable", "loop", "condition", "array", "list", "map", "set", "tree",
-            "graph", "network", "database", "query", "api", "service", "framework",
-            "library", "module", "component", "interface", "abstract", "inheritance",
-            "optimization", "performance", "cache", "memory", "storage", "retrieval",
-            "search", "sort", "index", "scale", "distributed", "microservice", "pattern",
-            "design", "architecture", "system", "client", "server", "web", "application"
-        };
-        
-        for (int i = 0; i < techKeywords.length && i < 50; i++) {
-            if (text.toLowerCase().contains(techKeywords[i])) {
+    private void addTextFeatures(float[] embedding, String text, int start, int end) {
+        int length = end - start;
+        int upperCase = 0;
+        int digits = 0;
+        int punctuation = 0;
 
-                embedding[25 + (i % 25)] += 1.0f;
+        int wordCount = 0;
+        int wordHash = 0;
+        int wordPower = 1;
+        int previousWordHash = 0;
+        boolean inWord = false;
 
-                embedding[50 + (i % 25)] += 0.8f;
-                embedding[75 + (i % 25)] += 0.6f;
-            }
-        }
+        int state = 0;
+        long keywordsSeen = 0;
 
-        addDomainFeatures(embedding, text);
-    }
-    
-    
-    private void addDomainFeatures(float[] embedding, String text) {
-        String lowerText = text.toLowerCase();
-
-        if (lowerText.contains("data") || lowerText.contains("structure") || 
-            lowerText.contains("array") || lowerText.contains("list")) {
-            for (int i = 100; i < 110; i++) {
-                embedding[i] += 0.5f;
-            }
-        }
+        char c1 = 0;
+        char c2 = 0;
+        for (int i = start; i <= end; i++) {
+            char c = i < end ? Character.toLowerCase(text.charAt(i)) : ' ';
+
+            if (i < end) {
+                if (Character.isUpperCase(c)) {
+                    upperCase++;
+                } else if (Character.isDigit(c)) {
+                    digits++;
+                }
+                if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+                    punctuation++;
+                }
 
-        if (lowerText.contains("algorithm") || lowerText.contains("sort") || 
-            lowerText.contains("search") || lowerText.contains("optimization")) {
-            for (int i = 110; i < 120; i++) {
-                embedding[i] += 0.5f;
+                state = KEYWORDS.next(state, c);
+                for (int keyword : KEYWORDS.outputs(state)) {
+                    keywordsSeen |= 1L << keyword;
+                }
+
+                // Character trigrams over the first 27 characters, hashed like String.hashCode of the substring.
+                int position = i - start;
+                if (position >= 2 && position - 2 < 25) {
+                    int trigramHash = (c2 * 31 + c1) * 31 + c;
+                    embedding[76 + (position - 2) % 25] += Math.abs(trigramHash) % 100 / 1000.0f;
+                }
+                c2 = c1;
+                c1 = c;
             }
-        }
 
-        if (lowerText.contains("database") || lowerText.contains("sql") || 
-            lowerText.contains("query") || lowerText.contains("storage")) {
-            for (int i = 120; i < 130; i++) {
-                embedding[i] += 0.5f;
+            // Words are split on the same whitespace set as "\\s+".
+            if (isRegexSpace(c)) {
+                if (inWord) {
+                    if (wordCount < 20) {
+                        embedding[5 + wordCount] += Math.abs(wordHash) % 100 / 100.0f;
+                    }
+                    if (wordCount >= 1 && wordCount - 1 < 25) {
+                        int bigramHash = (previousWordHash * 31 + ' ') * wordPower + wordHash;
+                        embedding[51 + wordCount - 1] += Math.abs(bigramHash) % 100 / 100.0f;
+                    }
+                    previousWordHash = wordHash;
+                    wordCount++;
+                    inWord = false;
+                }
+            } else {
+                if (!inWord) {
+                    wordHash = 0;
+                    wordPower = 1;
+                    inWord = true;
+                }
+                wordHash = 31 * wordHash + c;
+                wordPower *= 31;
             }
         }
 
-        if (lowerText.contains("system") || lowerText.contains("architecture") || 
-            lowerText.contains("microservice") || lowerText.contains("scale")) {
-            for (int i = 130; i < 140; i++) {
-                embedding[i] += 0.5f;
+        embedding[0] += Math.min(length / 1000.0f, 1.0f); // Text length feature
+        embedding[1] += Math.min(wordCount / 100.0f, 1.0f); // Word count feature
+        embedding[2] += upperCase / (float) length; // Uppercase ratio
+        embedding[3] += digits / (float) length; // Digit ratio
+        embedding[4] += punctuation / (float) length; // Punctuation ratio
+
+        addKeywordFeatures(embedding, keywordsSeen);
+    }
+
+
+    private void addKeywordFeatures(float[] embedding, long keywordsSeen) {
+        for (int i = 0; i < TECH_KEYWORDS.length && i < 50; i++) {
+            if ((keywordsSeen & TECH_KEYWORD_BITS[i]) != 0) {
+
+                embedding[25 + (i % 25)] += 1.0f;
+
+                embedding[50 + (i % 25)] += 0.8f;
+                embedding[75 + (i % 25)] += 0.6f;
             }
         }
 
-        if (lowerText.contains("performance") || lowerText.contains("cache") || 
-            lowerText.contains("optimization") || lowerText.contains("memory")) {
-            for (int i = 140; i < 150; i++) {
-                embedding[i] += 0.5f;
+        for (int g = 0; g < DOMAIN_KEYWORD_MASKS.length; g++) {
+            if ((keywordsSeen & DOMAIN_KEYWORD_MASKS[g]) != 0) {
+                int from = 100 + g * 10;
+                for (int i = from; i < from + 10; i++) {
+                    embedding[i] += 0.5f;
+                }
             }
         }
     }
-    
-    
-    private void addNGramFeatures(float[] embedding, String text) {
-
-        String[] words = text.split("\\s+");
-        for (int i = 0; i < words.length - 1 && i < 25; i++) {
-            String bigram = words[i] + " " + words[i + 1];
-            int bigramHash = Math.abs(bigram.hashCode()) % 100;
-            embedding[51 + i] += bigramHash / 100.0f;
-        }
 
-        for (int i = 0; i < text.length() - 2 && i < 25; i++) {
-            String trigram = text.substring(i, i + 3);
-            int trigramHash = Math.abs(trigram.hashCode()) % 100;
-            embedding[76 + (i % 25)] += trigramHash / 1000.0f;
-        }
-    }
-    
-    
+
     private void normalizeVector(float[] vector) {
         float magnitude = 0.0f;
-        for (float value : vector) {
-            magnitude += value * value;
+        for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
+            magnitude += vector[i] * vector[i];
         }
         magnitude = (float) Math.sqrt(magnitude);
-        
+
         if (magnitude > 0) {
-            for (int i = 0; i < vector.length; i++) {
+            for (int i = 0; i < EMBEDDING_DIMENSIONS; i++) {
                 vector[i] /= magnitude;
             }
         }
     }
 
-    
-    private int countUpperCase(String text) {
-        return (int) text.chars().filter(Character::isUpperCase).count();
-    }
-    
-    private int countDigits(String text) {
-        return (int) text.chars().filter(Character::isDigit).count();
+
+    private static boolean isRegexSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
     }
-    
-    private int countPunctuation(String text) {
-        return (int) text.chars().filter(ch -> !Character.isLetterOrDigit(ch) && !Character.isWhitespace(ch)).count();
+
+    private static int keywordId(Map<String, Integer> ids, String keyword) {
+        int id = ids.computeIfAbsent(keyword, key -> ids.size());
+        if (id >= Long.SIZE) {
+            throw new IllegalStateException("Keyword bitmask overflow at " + keyword);
+        }
+        return id;
     }
-    
+
     @Override
     public String toString() {
         return "SimpleEmbeddingService{dimensions=" + EMBEDDING_DIMENSIONS + "}";
@@ -1,25 +1,75 @@
 package com.github.bhavuklabs.vector;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
-public class VectorStore {
+import com.github.bhavuklabs.vector.filter.MetadataFilter;
+import com.github.bhavuklabs.vector.filter.MetadataIndex;
+import com.github.bhavuklabs.vector.index.ArenaVectorIndex;
+import com.github.bhavuklabs.vector.index.FlatVectorIndex;
+import com.github.bhavuklabs.vector.index.HnswVectorIndex;
+import com.github.bhavuklabs.vector.index.IndexHit;
+import com.github.bhavuklabs.vector.index.QuantizedVectorIndex;
+import com.github.bhavuklabs.vector.index.VectorIndex;
+import com.github.bhavuklabs.vector.persistence.SegmentRecords;
+import com.github.bhavuklabs.vector.persistence.VectorStorePersistence;
+import com.github.bhavuklabs.vector.quantization.ProductQuantizer;
+import com.github.bhavuklabs.vector.quantization.ScalarQuantizer;
+import com.github.bhavuklabs.vector.similarity.SimilarityKernels;
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+import com.github.bhavuklabs.vector.storage.VectorArena;
+import com.github.bhavuklabs.vector.storage.VectorStorageType;
+
+public class VectorStore implements AutoCloseable {
     
     private static final Logger logger = Logger.getLogger(VectorStore.class.getName());
+    private static final int ID_LOCK_STRIPES = 64;
     
     private final Map<String, VectorDocument> documents;
     private final int dimensions;
+    private final VectorStoreConfig config;
+    private final VectorIndex index;
+    private final MetadataIndex metadataIndex;
+    private final VectorStorePersistence persistence;
+    // A store or delete updates the index, the document map and the metadata postings in separate steps; two writes to
+    // one id must not interleave them, or postings and index can disagree with the live document.
+    private final ReentrantLock[] idLocks;
     
     public VectorStore() {
         this(384);
     }
     
     public VectorStore(int dimensions) {
+        this(VectorStoreConfig.defaultConfig(dimensions));
+    }
+    
+    public VectorStore(VectorStoreConfig config) {
         this.documents = new ConcurrentHashMap<>();
-        this.dimensions = dimensions;
-        logger.info("VectorStore initialized with " + dimensions + " dimensions");
+        this.dimensions = config.getDimensions();
+        this.config = config;
+        this.index = createIndex(config);
+        this.metadataIndex = new MetadataIndex(config.getIndexedMetadataFields());
+        this.idLocks = new ReentrantLock[ID_LOCK_STRIPES];
+        for (int i = 0; i < ID_LOCK_STRIPES; i++) {
+            idLocks[i] = new ReentrantLock();
+        }
+        this.persistence = config.getPersistenceDirectory() != null ? openPersistence(config) : null;
+        logger.info("VectorStore initialized with " + dimensions + " dimensions, " + index.getType() + " index and "
+            + config.getStorageType() + " storage" + (persistence != null ? ", persisted at " + config.getPersistenceDirectory() : ""));
+    }
+    
+    public static VectorStore open(Path directory, int dimensions) {
+        return new VectorStore(VectorStoreConfig.builder()
+            .dimensions(dimensions)
+            .persistent(directory)
+            .build());
     }
     
     public void store(String id, float[] vector, String content, Map<String, Object> metadata) {
@@ -27,11 +77,65 @@ public class VectorStore {
             throw new IllegalArgumentException("Vector dimension mismatch. Expected: " + dimensions + ", got: " + vector.length);
         }
         
-        VectorDocument doc = new VectorDocument(id, vector, content, metadata);
-        documents.put(id, doc);
+        if (persistence != null) {
+            persistence.logPut(id, vector, content, metadata, () -> applyStore(id, vector, content, metadata));
+        } else {
+            applyStore(id, vector, content, metadata);
+        }
+    }
+    
+    private void applyStore(String id, float[] vector, String content, Map<String, Object> metadata) {
+        VectorDocument doc = index instanceof ArenaVectorIndex ?
+            new VectorDocument(id, content, metadata, ((ArenaVectorIndex) index)::getVector) :
+            new VectorDocument(id, vector, content, metadata);
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            index.add(id, vector);
+            VectorDocument previous = documents.put(id, doc);
+            if (previous != null) {
+                metadataIndex.remove(id, previous::getMetadataValue);
+            }
+            metadataIndex.add(id, doc::getMetadataValue);
+        } finally {
+            lock.unlock();
+        }
         logger.fine("Stored document: " + id);
     }
     
+    // Arena stores take the segment's slots with one bulk copy; heap indexes still insert each vector, since the HNSW
+    // graph is not persisted, but do so in parallel.
+    private void applySegment(SegmentRecords segment) {
+        int count = segment.size();
+        VectorDocument[] docs = new VectorDocument[count];
+        if (index instanceof ArenaVectorIndex) {
+            ArenaVectorIndex arenaIndex = (ArenaVectorIndex) index;
+            String[] ids = new String[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = segment.getId(i);
+                docs[i] = new VectorDocument(ids[i], segment.getContent(i), segment.getMetadata(i), arenaIndex::getVector);
+            }
+            arenaIndex.addAll(ids, segment.getSlots());
+        } else {
+            IntStream.range(0, count)
+                .parallel()
+                .forEach(i -> {
+                    float[] vector = segment.readVector(i);
+                    docs[i] = new VectorDocument(segment.getId(i), vector, segment.getContent(i), segment.getMetadata(i));
+                    index.add(segment.getId(i), vector);
+                });
+        }
+
+        for (VectorDocument doc : docs) {
+            VectorDocument previous = documents.put(doc.getId(), doc);
+            if (previous != null) {
+                metadataIndex.remove(doc.getId(), previous::getMetadataValue);
+            }
+            metadataIndex.add(doc.getId(), doc::getMetadataValue);
+        }
+        logger.fine("Loaded " + count + " documents from segment");
+    }
+    
     public VectorDocument retrieve(String id) {
         return documents.get(id);
     }
@@ -41,15 +145,86 @@ public class VectorStore {
             throw new IllegalArgumentException("Query vector dimension mismatch. Expected: " + dimensions + ", got: " + queryVector.length);
         }
         
-        return documents.values().stream()
-                .map(doc -> new SimilarityResult(doc, cosineSimilarity(queryVector, doc.getVector())))
-                .sorted((a, b) -> Float.compare(b.getSimilarity(), a.getSimilarity()))
-                .limit(topK)
-                .collect(Collectors.toList());
+        return toResults(index.search(queryVector, topK));
+    }
+    
+    public List<SimilarityResult> search(float[] queryVector, int topK, MetadataFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return search(queryVector, topK);
+        }
+        if (queryVector.length != dimensions) {
+            throw new IllegalArgumentException("Query vector dimension mismatch. Expected: " + dimensions + ", got: " + queryVector.length);
+        }
+        
+        Set<String> candidates = metadataIndex.candidates(filter);
+        if (candidates == null) {
+            return toResults(index.search(queryVector, topK, id -> matches(id, filter)));
+        }
+        
+        List<String> matching = new ArrayList<>(candidates.size());
+        for (String id : candidates) {
+            if (matches(id, filter)) {
+                matching.add(id);
+            }
+        }
+        return toResults(index.searchCandidates(queryVector, matching, topK));
+    }
+    
+    public List<VectorDocument> findByMetadata(MetadataFilter filter, int limit) {
+        Set<String> candidates = metadataIndex.candidates(filter);
+        Collection<String> ids = candidates != null ? candidates : documents.keySet();
+        
+        List<VectorDocument> found = new ArrayList<>();
+        for (String id : ids) {
+            if (found.size() >= limit) {
+                break;
+            }
+            VectorDocument doc = documents.get(id);
+            if (doc != null && filter.matches(doc::getMetadataValue)) {
+                found.add(doc);
+            }
+        }
+        return found;
+    }
+    
+    private boolean matches(String id, MetadataFilter filter) {
+        VectorDocument doc = documents.get(id);
+        return doc != null && filter.matches(doc::getMetadataValue);
+    }
+    
+    private List<SimilarityResult> toResults(List<IndexHit> hits) {
+        List<SimilarityResult> results = new ArrayList<>(hits.size());
+        for (IndexHit hit : hits) {
+            VectorDocument doc = documents.get(hit.getId());
+            if (doc != null) {
+                results.add(new SimilarityResult(doc, hit.getSimilarity()));
+            }
+        }
+        return results;
     }
     
     public boolean delete(String id) {
-        return documents.remove(id) != null;
+        return persistence != null ? persistence.logDelete(id, () -> applyDelete(id)) : applyDelete(id);
+    }
+    
+    private boolean applyDelete(String id) {
+        ReentrantLock lock = lockFor(id);
+        lock.lock();
+        try {
+            index.remove(id);
+            VectorDocument removed = documents.remove(id);
+            if (removed == null) {
+                return false;
+            }
+            metadataIndex.remove(id, removed::getMetadataValue);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private ReentrantLock lockFor(String id) {
+        return idLocks[(id.hashCode() & 0x7fffffff) % ID_LOCK_STRIPES];
     }
     
     public int size() {
@@ -57,26 +232,109 @@ public class VectorStore {
     }
     
     public void clear() {
-        documents.clear();
+        if (persistence != null) {
+            persistence.logClear(this::applyClear);
+        } else {
+            applyClear();
+        }
         logger.info("VectorStore cleared");
     }
     
-    private float cosineSimilarity(float[] vec1, float[] vec2) {
-        float dotProduct = 0.0f;
-        float norm1 = 0.0f;
-        float norm2 = 0.0f;
-        
-        for (int i = 0; i < vec1.length; i++) {
-            dotProduct += vec1[i] * vec2[i];
-            norm1 += vec1[i] * vec1[i];
-            norm2 += vec2[i] * vec2[i];
+    private void applyClear() {
+        documents.clear();
+        index.clear();
+        metadataIndex.clear();
+    }
+    
+    public void compact() throws IOException {
+        if (persistence != null) {
+            persistence.compact();
         }
-        
-        if (norm1 == 0.0f || norm2 == 0.0f) {
-            return 0.0f;
+    }
+    
+    public boolean isPersistent() {
+        return persistence != null;
+    }
+    
+    public VectorStoreConfig getConfig() {
+        return config;
+    }
+    
+    public VectorIndex getIndex() {
+        return index;
+    }
+    
+    @Override
+    public void close() {
+        if (persistence != null) {
+            persistence.close();
+        }
+        if (index instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) index).close();
+            } catch (Exception e) {
+                logger.warning("Failed to close vector index: " + e.getMessage());
+            }
+        }
+    }
+    
+    private VectorStorePersistence openPersistence(VectorStoreConfig config) {
+        VectorStorePersistence opened = new VectorStorePersistence(config.getPersistenceDirectory(), dimensions, config.isSyncEveryWrite(),
+            config.getCompactionThresholdBytes());
+        try {
+            opened.recover(new VectorStorePersistence.RecoveryHandler() {
+                @Override
+                public void onPut(String id, float[] vector, String content, Map<String, Object> metadata) {
+                    applyStore(id, vector, content, metadata);
+                }
+
+                @Override
+                public void onSegment(SegmentRecords segment) {
+                    applySegment(segment);
+                }
+
+                @Override
+                public void onDelete(String id) {
+                    applyDelete(id);
+                }
+
+                @Override
+                public void onClear() {
+                    applyClear();
+                }
+            });
+        } catch (IOException e) {
+            opened.close();
+            throw new UncheckedIOException("Failed to recover vector store from " + config.getPersistenceDirectory(), e);
+        }
+        opened.startMaintenance(documents::values);
+        return opened;
+    }
+    
+    private static VectorIndex createIndex(VectorStoreConfig config) {
+        VectorScorer scorer = new VectorScorer(config.getSimilarityMetric(), SimilarityKernels.preferred());
+        if (config.getStorageType() != VectorStorageType.HEAP) {
+            VectorArena arena = new VectorArena(config.getDimensions(), config.getArenaSlotsPerChunk(), config.getStorageType(),
+                config.getStorageDirectory());
+            switch (config.getQuantization()) {
+                case INT8:
+                    return new QuantizedVectorIndex(arena, scorer, new ScalarQuantizer(config.getDimensions()), config.getRerankCandidates());
+                case PRODUCT:
+                    return new QuantizedVectorIndex(arena, scorer,
+                        new ProductQuantizer(config.getDimensions(), config.getPqSubspaces(), config.getQuantizationTrainingSize()),
+                        config.getRerankCandidates());
+                case NONE:
+                default:
+                    return new ArenaVectorIndex(arena, scorer);
+            }
+        }
+        switch (config.getIndexType()) {
+            case HNSW:
+                return new HnswVectorIndex(config.getDimensions(), scorer, config.getHnswM(), config.getHnswEfConstruction(), config.getHnswEfSearch());
+            case FLAT:
+            default:
+                return new FlatVectorIndex(config.getDimensions(), scorer);
         }
-        
-        return dotProduct / (float)(Math.sqrt(norm1) * Math.sqrt(norm2));
     }
     
     public static class VectorDocument {
@@ -84,18 +342,32 @@ public class VectorStore {
         private final float[] vector;
         private final String content;
         private final Map<String, Object> metadata;
+        private final Function<String, float[]> vectorSource;
         
         public VectorDocument(String id, float[] vector, String content, Map<String, Object> metadata) {
             this.id = id;
             this.vector = vector.clone();
             this.content = content;
             this.metadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            this.vectorSource = null;
+        }
+        
+        // Used when the vector lives outside the heap and is only materialised on request.
+        VectorDocument(String id, String content, Map<String, Object> metadata, Function<String, float[]> vectorSource) {
+            this.id = id;
+            this.vector = null;
+            this.content = content;
+            this.metadata = metadata != null ? new HashMap<>(metadata) : new HashMap<>();
+            this.vectorSource = vectorSource;
         }
         
         public String getId() { return id; }
-        public float[] getVector() { return vector.clone(); }
+        // A copy of the vector. For arena-backed stores it is read from the store on each call, so it reflects the
+        // latest vector stored under this id and is null once the id has been deleted or the store cleared.
+        public float[] getVector() { return vector != null ? vector.clone() : vectorSource.apply(id); }
         public String getContent() { return content; }
         public Map<String, Object> getMetadata() { return new HashMap<>(metadata); }
+        public Object getMetadataValue(String key) { return metadata.get(key); }
     }
     
     public static class SimilarityResult {
@@ -0,0 +1,318 @@
+package com.github.bhavuklabs.vector;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import com.github.bhavuklabs.vector.filter.MetadataIndex;
+import com.github.bhavuklabs.vector.index.VectorIndexType;
+import com.github.bhavuklabs.vector.quantization.ProductQuantizer;
+import com.github.bhavuklabs.vector.quantization.QuantizationType;
+import com.github.bhavuklabs.vector.similarity.SimilarityMetric;
+import com.github.bhavuklabs.vector.storage.VectorStorageType;
+
+public class VectorStoreConfig {
+
+    private final int dimensions;
+    private final VectorIndexType indexType;
+    private final SimilarityMetric similarityMetric;
+    private final int hnswM;
+    private final int hnswEfConstruction;
+    private final int hnswEfSearch;
+    private final VectorStorageType storageType;
+    private final Path storageDirectory;
+    private final int arenaSlotsPerChunk;
+    private final QuantizationType quantization;
+    private final int pqSubspaces;
+    private final int quantizationTrainingSize;
+    private final int rerankCandidates;
+    private final Path persistenceDirectory;
+    private final boolean syncEveryWrite;
+    private final long compactionThresholdBytes;
+    private final Set<String> indexedMetadataFields;
+
+    private VectorStoreConfig(Builder builder) {
+        this.dimensions = builder.dimensions;
+        this.indexType = builder.indexType;
+        this.similarityMetric = builder.similarityMetric;
+        this.hnswM = builder.hnswM;
+        this.hnswEfConstruction = builder.hnswEfConstruction;
+        this.hnswEfSearch = builder.hnswEfSearch;
+        this.storageType = builder.storageType;
+        this.storageDirectory = builder.storageDirectory;
+        this.arenaSlotsPerChunk = builder.arenaSlotsPerChunk;
+        this.quantization = builder.quantization;
+        this.pqSubspaces = builder.pqSubspaces > 0 ? builder.pqSubspaces : ProductQuantizer.defaultSubspaces(builder.dimensions);
+        this.quantizationTrainingSize = builder.quantizationTrainingSize;
+        this.rerankCandidates = builder.rerankCandidates;
+        this.persistenceDirectory = builder.persistenceDirectory;
+        this.syncEveryWrite = builder.syncEveryWrite;
+        this.compactionThresholdBytes = builder.compactionThresholdBytes;
+        this.indexedMetadataFields = Set.copyOf(builder.indexedMetadataFields);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static VectorStoreConfig defaultConfig(int dimensions) {
+        return builder().dimensions(dimensions)
+            .build();
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public VectorIndexType getIndexType() {
+        return indexType;
+    }
+
+    public SimilarityMetric getSimilarityMetric() {
+        return similarityMetric;
+    }
+
+    public int getHnswM() {
+        return hnswM;
+    }
+
+    public int getHnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    public int getHnswEfSearch() {
+        return hnswEfSearch;
+    }
+
+    public VectorStorageType getStorageType() {
+        return storageType;
+    }
+
+    public Path getStorageDirectory() {
+        return storageDirectory;
+    }
+
+    public int getArenaSlotsPerChunk() {
+        return arenaSlotsPerChunk;
+    }
+
+    public QuantizationType getQuantization() {
+        return quantization;
+    }
+
+    public int getPqSubspaces() {
+        return pqSubspaces;
+    }
+
+    public int getQuantizationTrainingSize() {
+        return quantizationTrainingSize;
+    }
+
+    public int getRerankCandidates() {
+        return rerankCandidates;
+    }
+
+    public Path getPersistenceDirectory() {
+        return persistenceDirectory;
+    }
+
+    public boolean isSyncEveryWrite() {
+        return syncEveryWrite;
+    }
+
+    public long getCompactionThresholdBytes() {
+        return compactionThresholdBytes;
+    }
+
+    public Set<String> getIndexedMetadataFields() {
+        return indexedMetadataFields;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("VectorStoreConfig{dimensions=%d, index=%s, metric=%s, M=%d, efConstruction=%d, efSearch=%d, storage=%s, quantization=%s, persistence=%s}",
+            dimensions, indexType, similarityMetric, hnswM, hnswEfConstruction, hnswEfSearch, storageType, quantization, persistenceDirectory);
+    }
+
+    public static class Builder {
+
+        private int dimensions = 384;
+        private VectorIndexType indexType = VectorIndexType.FLAT;
+        private SimilarityMetric similarityMetric = SimilarityMetric.COSINE;
+        private int hnswM = 16;
+        private int hnswEfConstruction = 200;
+        private int hnswEfSearch = 64;
+        private VectorStorageType storageType = VectorStorageType.HEAP;
+        private Path storageDirectory;
+        private int arenaSlotsPerChunk = 4096;
+        private QuantizationType quantization = QuantizationType.NONE;
+        private int pqSubspaces = 0;
+        private int quantizationTrainingSize = 4096;
+        private int rerankCandidates = 100;
+        private Path persistenceDirectory;
+        private boolean syncEveryWrite = false;
+        private long compactionThresholdBytes = 64L * 1024 * 1024;
+        private Set<String> indexedMetadataFields = MetadataIndex.DEFAULT_FIELDS;
+
+        public Builder dimensions(int dimensions) {
+            if (dimensions <= 0) {
+                throw new IllegalArgumentException("Dimensions must be positive");
+            }
+            this.dimensions = dimensions;
+            return this;
+        }
+
+        public Builder indexType(VectorIndexType indexType) {
+            this.indexType = indexType;
+            return this;
+        }
+
+        public Builder enableHnsw() {
+            return indexType(VectorIndexType.HNSW);
+        }
+
+        public Builder similarityMetric(SimilarityMetric similarityMetric) {
+            this.similarityMetric = similarityMetric;
+            return this;
+        }
+
+        public Builder hnswM(int m) {
+            if (m < 2 || m > 128) {
+                throw new IllegalArgumentException("HNSW M must be between 2 and 128");
+            }
+            this.hnswM = m;
+            return this;
+        }
+
+        public Builder hnswEfConstruction(int efConstruction) {
+            if (efConstruction <= 0) {
+                throw new IllegalArgumentException("HNSW efConstruction must be positive");
+            }
+            this.hnswEfConstruction = efConstruction;
+            return this;
+        }
+
+        public Builder hnswEfSearch(int efSearch) {
+            if (efSearch <= 0) {
+                throw new IllegalArgumentException("HNSW efSearch must be positive");
+            }
+            this.hnswEfSearch = efSearch;
+            return this;
+        }
+
+        public Builder storageType(VectorStorageType storageType) {
+            this.storageType = storageType;
+            return this;
+        }
+
+        public Builder offHeap() {
+            return storageType(VectorStorageType.OFF_HEAP);
+        }
+
+        public Builder memoryMapped(Path directory) {
+            this.storageDirectory = directory;
+            return storageType(VectorStorageType.MEMORY_MAPPED);
+        }
+
+        public Builder storageDirectory(Path storageDirectory) {
+            this.storageDirectory = storageDirectory;
+            return this;
+        }
+
+        public Builder arenaSlotsPerChunk(int arenaSlotsPerChunk) {
+            if (arenaSlotsPerChunk <= 0) {
+                throw new IllegalArgumentException("Arena slots per chunk must be positive");
+            }
+            this.arenaSlotsPerChunk = arenaSlotsPerChunk;
+            return this;
+        }
+
+        public Builder quantization(QuantizationType quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
+        public Builder int8Quantization() {
+            return quantization(QuantizationType.INT8);
+        }
+
+        public Builder productQuantization(int subspaces) {
+            if (subspaces <= 0) {
+                throw new IllegalArgumentException("Product quantization subspaces must be positive");
+            }
+            this.pqSubspaces = subspaces;
+            return quantization(QuantizationType.PRODUCT);
+        }
+
+        public Builder quantizationTrainingSize(int quantizationTrainingSize) {
+            if (quantizationTrainingSize <= 0) {
+                throw new IllegalArgumentException("Quantization training size must be positive");
+            }
+            this.quantizationTrainingSize = quantizationTrainingSize;
+            return this;
+        }
+
+        public Builder rerankCandidates(int rerankCandidates) {
+            if (rerankCandidates < 0) {
+                throw new IllegalArgumentException("Re-rank candidates must not be negative");
+            }
+            this.rerankCandidates = rerankCandidates;
+            return this;
+        }
+
+        public Builder persistent(Path directory) {
+            this.persistenceDirectory = directory;
+            return this;
+        }
+
+        public Builder syncEveryWrite(boolean syncEveryWrite) {
+            this.syncEveryWrite = syncEveryWrite;
+            return this;
+        }
+
+        public Builder compactionThresholdBytes(long compactionThresholdBytes) {
+            if (compactionThresholdBytes <= 0) {
+                throw new IllegalArgumentException("Compaction threshold must be positive");
+            }
+            this.compactionThresholdBytes = compactionThresholdBytes;
+            return this;
+        }
+
+        public Builder indexedMetadataFields(Set<String> fields) {
+            if (fields == null) {
+                throw new IllegalArgumentException("Indexed metadata fields must not be null");
+            }
+            this.indexedMetadataFields = fields;
+            return this;
+        }
+
+        public VectorStoreConfig build() {
+            if (indexType == null) {
+                throw new IllegalArgumentException("Index type must not be null");
+            }
+            if (similarityMetric == null) {
+                throw new IllegalArgumentException("Similarity metric must not be null");
+            }
+            if (indexType == VectorIndexType.HNSW && hnswEfConstruction < hnswM) {
+                throw new IllegalArgumentException("HNSW efConstruction must be at least M");
+            }
+            if (storageType == null) {
+                throw new IllegalArgumentException("Storage type must not be null");
+            }
+            if (storageType != VectorStorageType.HEAP && indexType != VectorIndexType.FLAT) {
+                throw new IllegalArgumentException("Off-heap and memory-mapped storage are only supported with the FLAT index");
+            }
+            if (quantization == null) {
+                throw new IllegalArgumentException("Quantization must not be null");
+            }
+            // Codes replace the floats only on the heap: the full-precision copy stays for re-ranking and retrieval, and in an
+            // OFF_HEAP arena it would add to resident memory rather than shrink it. A mapped file can be paged out.
+            if (quantization != QuantizationType.NONE && storageType != VectorStorageType.MEMORY_MAPPED) {
+                throw new IllegalArgumentException("Quantization keeps full-precision vectors in a mapped arena; use MEMORY_MAPPED storage");
+            }
+            if (quantization == QuantizationType.PRODUCT && pqSubspaces > 0 && dimensions % pqSubspaces != 0) {
+                throw new IllegalArgumentException("Product quantization subspaces must divide the dimensions");
+            }
+            return new VectorStoreConfig(this);
+        }
+    }
+}
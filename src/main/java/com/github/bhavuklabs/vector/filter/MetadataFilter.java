@@ -0,0 +1,95 @@
+package com.github.bhavuklabs.vector.filter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class MetadataFilter {
+
+    private final Map<String, Object> requiredValues;
+    private final Map<String, Object> excludedValues;
+
+    private MetadataFilter(Builder builder) {
+        this.requiredValues = Collections.unmodifiableMap(new LinkedHashMap<>(builder.requiredValues));
+        this.excludedValues = Collections.unmodifiableMap(new LinkedHashMap<>(builder.excludedValues));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static MetadataFilter where(String key, Object value) {
+        return builder().equalTo(key, value)
+            .build();
+    }
+
+    public static MetadataFilter excluding(String key, Object value) {
+        return builder().notEqualTo(key, value)
+            .build();
+    }
+
+    public boolean matches(Function<String, Object> metadataLookup) {
+        for (Map.Entry<String, Object> required : requiredValues.entrySet()) {
+            if (!Objects.equals(required.getValue(), metadataLookup.apply(required.getKey()))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, Object> excluded : excludedValues.entrySet()) {
+            if (Objects.equals(excluded.getValue(), metadataLookup.apply(excluded.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public Map<String, Object> getRequiredValues() {
+        return requiredValues;
+    }
+
+    public Map<String, Object> getExcludedValues() {
+        return excludedValues;
+    }
+
+    public boolean isEmpty() {
+        return requiredValues.isEmpty() && excludedValues.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MetadataFilter{required=%s, excluded=%s}", requiredValues, excludedValues);
+    }
+
+    public static class Builder {
+
+        private final Map<String, Object> requiredValues = new LinkedHashMap<>();
+        private final Map<String, Object> excludedValues = new LinkedHashMap<>();
+
+        public Builder equalTo(String key, Object value) {
+            this.requiredValues.put(key, value);
+            return this;
+        }
+
+        public Builder notEqualTo(String key, Object value) {
+            this.excludedValues.put(key, value);
+            return this;
+        }
+
+        public Builder sessionId(String sessionId) {
+            return equalTo(MetadataIndex.SESSION_ID, sessionId);
+        }
+
+        public Builder topic(String topic) {
+            return equalTo(MetadataIndex.TOPIC, topic);
+        }
+
+        public Builder sectionType(String sectionType) {
+            return equalTo(MetadataIndex.SECTION_TYPE, sectionType);
+        }
+
+        public MetadataFilter build() {
+            return new MetadataFilter(this);
+        }
+    }
+}
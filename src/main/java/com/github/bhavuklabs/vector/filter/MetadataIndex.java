@@ -0,0 +1,111 @@
+package com.github.bhavuklabs.vector.filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class MetadataIndex {
+
+    public static final String SESSION_ID = "session_id";
+    public static final String CONTENT_ID = "content_id";
+    public static final String TOPIC = "topic";
+    public static final String SECTION_TYPE = "section_type";
+
+    public static final Set<String> DEFAULT_FIELDS = Set.of(SESSION_ID, CONTENT_ID, TOPIC, SECTION_TYPE);
+
+    private final Set<String> indexedFields;
+    private final Map<String, Map<Object, Set<String>>> postings;
+
+    public MetadataIndex(Set<String> indexedFields) {
+        this.indexedFields = Set.copyOf(indexedFields);
+        this.postings = new ConcurrentHashMap<>();
+        for (String field : this.indexedFields) {
+            postings.put(field, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void add(String id, Function<String, Object> metadataLookup) {
+        for (String field : indexedFields) {
+            Object value = metadataLookup.apply(field);
+            if (value != null) {
+                postings.get(field)
+                    .computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet())
+                    .add(id);
+            }
+        }
+    }
+
+    public void remove(String id, Function<String, Object> metadataLookup) {
+        for (String field : indexedFields) {
+            Object value = metadataLookup.apply(field);
+            if (value == null) {
+                continue;
+            }
+            postings.get(field)
+                .computeIfPresent(value, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+        }
+    }
+
+    public void clear() {
+        for (Map<Object, Set<String>> values : postings.values()) {
+            values.clear();
+        }
+    }
+
+    public boolean isIndexed(String field) {
+        return indexedFields.contains(field);
+    }
+
+    public Set<String> getIndexedFields() {
+        return indexedFields;
+    }
+
+    // Returns null when the filter has no equality constraint on an indexed field, i.e. the index cannot narrow the search.
+    public Set<String> candidates(MetadataFilter filter) {
+        List<Set<String>> lists = new ArrayList<>();
+        for (Map.Entry<String, Object> required : filter.getRequiredValues()
+            .entrySet()) {
+            if (!isIndexed(required.getKey())) {
+                continue;
+            }
+            Set<String> ids = postings.get(required.getKey())
+                .get(required.getValue());
+            if (ids == null || ids.isEmpty()) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+
+        if (lists.isEmpty()) {
+            return null;
+        }
+
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<String> smallest = lists.get(0);
+        if (lists.size() == 1) {
+            return Collections.unmodifiableSet(smallest);
+        }
+
+        Set<String> intersection = new HashSet<>();
+        for (String id : smallest) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i)
+                    .contains(id);
+            }
+            if (inAll) {
+                intersection.add(id);
+            }
+        }
+        return intersection;
+    }
+}
@@ -0,0 +1,234 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+import com.github.bhavuklabs.vector.storage.TopKHeap;
+import com.github.bhavuklabs.vector.storage.VectorArena;
+
+public class ArenaVectorIndex implements VectorIndex, AutoCloseable {
+
+    final VectorArena arena;
+    final VectorScorer scorer;
+    final Map<String, Integer> slotsById;
+    final ReentrantReadWriteLock lock;
+    String[] idsBySlot;
+
+    public ArenaVectorIndex(VectorArena arena) {
+        this(arena, VectorScorer.cosine());
+    }
+
+    public ArenaVectorIndex(VectorArena arena, VectorScorer scorer) {
+        this.arena = arena;
+        this.scorer = scorer;
+        this.slotsById = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+        this.idsBySlot = new String[1024];
+    }
+
+    @Override
+    public void add(String id, float[] vector) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            if (slot == null) {
+                slot = arena.allocate();
+                if (slot >= idsBySlot.length) {
+                    idsBySlot = Arrays.copyOf(idsBySlot, Math.max(idsBySlot.length * 2, slot + 1));
+                }
+                slotsById.put(id, slot);
+                idsBySlot[slot] = id;
+            }
+            arena.write(slot, vector);
+            onWrite(slot, vector);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Loads vectors already laid out as arena slots, such as a persisted segment, with one bulk copy per chunk instead of
+    // a write per vector.
+    public void addAll(String[] ids, FloatBuffer slots) {
+        lock.writeLock().lock();
+        try {
+            int first = arena.appendSlots(slots, ids.length);
+            int end = first + ids.length;
+            if (end > idsBySlot.length) {
+                idsBySlot = Arrays.copyOf(idsBySlot, Math.max(idsBySlot.length * 2, end));
+            }
+            float[] scratch = new float[arena.getDimensions()];
+            for (int i = 0; i < ids.length; i++) {
+                int slot = first + i;
+                Integer previous = slotsById.put(ids[i], slot);
+                if (previous != null) {
+                    idsBySlot[previous] = null;
+                    arena.release(previous);
+                    onRelease(previous);
+                }
+                idsBySlot[slot] = ids[i];
+                arena.read(slot, scratch);
+                onWrite(slot, scratch);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return false;
+            }
+            idsBySlot[slot] = null;
+            arena.release(slot);
+            onRelease(slot);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<IndexHit> search(float[] queryVector, int topK, Predicate<String> filter) {
+        if (queryVector.length != arena.getDimensions()) {
+            throw new IllegalArgumentException("Query vector dimension mismatch. Expected: " + arena.getDimensions() + ", got: " + queryVector.length);
+        }
+
+        lock.readLock().lock();
+        try {
+            int capacity = Math.max(0, Math.min(topK, slotsById.size()));
+            if (capacity == 0) {
+                return new ArrayList<>();
+            }
+
+            TopKHeap heap = new TopKHeap(capacity);
+
+            float queryNorm = scorer.norm(queryVector);
+            float[] scratch = new float[arena.getDimensions()];
+            int highWater = arena.getHighWater();
+            for (int slot = 0; slot < highWater; slot++) {
+                String id = idsBySlot[slot];
+                if (id != null && (filter == null || filter.test(id))) {
+                    heap.offer(slot, score(slot, queryVector, queryNorm, scratch));
+                }
+            }
+            return toHits(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<IndexHit> searchCandidates(float[] queryVector, Collection<String> candidateIds, int topK) {
+        lock.readLock().lock();
+        try {
+            int capacity = Math.max(0, Math.min(topK, candidateIds.size()));
+            if (capacity == 0) {
+                return new ArrayList<>();
+            }
+
+            TopKHeap heap = new TopKHeap(capacity);
+            float queryNorm = scorer.norm(queryVector);
+            float[] scratch = new float[arena.getDimensions()];
+            for (String id : candidateIds) {
+                Integer slot = slotsById.get(id);
+                if (slot != null) {
+                    heap.offer(slot, score(slot, queryVector, queryNorm, scratch));
+                }
+            }
+            return toHits(heap);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Subclasses keep derived per-slot state in step with the arena; all three run under the write lock.
+    void onWrite(int slot, float[] vector) {
+    }
+
+    void onRelease(int slot) {
+    }
+
+    void onClear() {
+    }
+
+    // Bulk-copies the slot into a per-query scratch array so the SIMD kernel can run over plain float[] data.
+    float score(int slot, float[] queryVector, float queryNorm, float[] scratch) {
+        arena.read(slot, scratch);
+        float dot = scorer.getKernel()
+            .dot(queryVector, scratch);
+        return scorer.scoreFromDot(dot, queryNorm, arena.norm(slot));
+    }
+
+    List<IndexHit> toHits(TopKHeap heap) {
+        heap.sortDescending();
+        List<IndexHit> hits = new ArrayList<>(heap.size());
+        for (int i = 0; i < heap.size(); i++) {
+            hits.add(new IndexHit(idsBySlot[heap.slotAt(i)], heap.scoreAt(i)));
+        }
+        return hits;
+    }
+
+    public float[] getVector(String id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            return slot != null ? arena.read(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            slotsById.clear();
+            Arrays.fill(idsBySlot, null);
+            arena.reset();
+            onClear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public VectorIndexType getType() {
+        return VectorIndexType.FLAT;
+    }
+
+    public VectorArena getArena() {
+        return arena;
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            arena.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+final class BoundedHitCollector {
+
+    private final int capacity;
+    private final PriorityQueue<IndexHit> heap;
+
+    BoundedHitCollector(int capacity) {
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(Math.max(1, capacity + 1), Comparator.comparing(IndexHit::getSimilarity));
+    }
+
+    void offer(String id, float similarity) {
+        if (capacity <= 0) {
+            return;
+        }
+        if (heap.size() < capacity) {
+            heap.add(new IndexHit(id, similarity));
+        } else if (similarity > heap.peek()
+            .getSimilarity()) {
+            heap.poll();
+            heap.add(new IndexHit(id, similarity));
+        }
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    List<IndexHit> toSortedList() {
+        List<IndexHit> hits = new ArrayList<>(heap);
+        hits.sort((a, b) -> Float.compare(b.getSimilarity(), a.getSimilarity()));
+        return hits;
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+
+public class FlatVectorIndex implements VectorIndex {
+
+    private final Map<String, float[]> vectors;
+    private final int dimensions;
+    private final VectorScorer scorer;
+
+    public FlatVectorIndex(int dimensions) {
+        this(dimensions, VectorScorer.cosine());
+    }
+
+    public FlatVectorIndex(int dimensions, VectorScorer scorer) {
+        this.vectors = new ConcurrentHashMap<>();
+        this.dimensions = dimensions;
+        this.scorer = scorer;
+    }
+
+    @Override
+    public void add(String id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Vector dimension mismatch. Expected: " + dimensions + ", got: " + vector.length);
+        }
+        vectors.put(id, scorer.prepare(vector));
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return vectors.remove(id) != null;
+    }
+
+    @Override
+    public List<IndexHit> search(float[] queryVector, int topK, Predicate<String> filter) {
+        int capacity = Math.max(0, Math.min(topK, vectors.size()));
+        if (capacity == 0) {
+            return new ArrayList<>();
+        }
+
+        float[] query = scorer.prepare(queryVector);
+        BoundedHitCollector collector = new BoundedHitCollector(capacity);
+        for (Map.Entry<String, float[]> entry : vectors.entrySet()) {
+            if (filter == null || filter.test(entry.getKey())) {
+                collector.offer(entry.getKey(), scorer.score(query, entry.getValue()));
+            }
+        }
+        return collector.toSortedList();
+    }
+
+    @Override
+    public List<IndexHit> searchCandidates(float[] queryVector, Collection<String> candidateIds, int topK) {
+        float[] query = scorer.prepare(queryVector);
+        BoundedHitCollector collector = new BoundedHitCollector(Math.max(0, Math.min(topK, candidateIds.size())));
+        for (String id : candidateIds) {
+            float[] vector = vectors.get(id);
+            if (vector != null) {
+                collector.offer(id, scorer.score(query, vector));
+            }
+        }
+        return collector.toSortedList();
+    }
+
+    @Override
+    public int size() {
+        return vectors.size();
+    }
+
+    @Override
+    public void clear() {
+        vectors.clear();
+    }
+
+    @Override
+    public VectorIndexType getType() {
+        return VectorIndexType.FLAT;
+    }
+}
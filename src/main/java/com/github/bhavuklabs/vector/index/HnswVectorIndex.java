@@ -0,0 +1,586 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+
+public class HnswVectorIndex implements VectorIndex {
+
+    private static final Logger logger = Logger.getLogger(HnswVectorIndex.class.getName());
+
+    private static final int MAX_LEVEL = 16;
+    // The graph is rebuilt from its live nodes once tombstones exceed this share of them (and the minimum below), so
+    // deleted and replaced vectors do not keep costing memory and search hops forever.
+    private static final double MAX_TOMBSTONE_RATIO = 0.25;
+    private static final int MIN_TOMBSTONES_FOR_REBUILD = 64;
+    private static final Node[] NO_NEIGHBOURS = new Node[0];
+    // Rebuilds run here, never on the thread whose store or delete crossed the tombstone limit.
+    private static final ExecutorService REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "research4j-hnsw-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Comparator<Candidate> CLOSEST_FIRST = (a, b) -> Float.compare(b.similarity, a.similarity);
+    private static final Comparator<Candidate> FURTHEST_FIRST = (a, b) -> Float.compare(a.similarity, b.similarity);
+
+    private final int dimensions;
+    private final VectorScorer scorer;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private volatile int efSearch;
+
+    private volatile Graph graph;
+    // Inserts, removals and searches share the read side and run concurrently; the write side is only held briefly, to
+    // start a rebuild and to swap the rebuilt graph in.
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile CompletableFuture<Void> rebuildTask = CompletableFuture.completedFuture(null);
+    // Ids stored or removed while a rebuild runs, replayed onto the rebuilt graph before the swap; null otherwise.
+    private volatile Queue<String> changedDuringRebuild;
+
+    public HnswVectorIndex(int dimensions, int m, int efConstruction, int efSearch) {
+        this(dimensions, VectorScorer.cosine(), m, efConstruction, efSearch);
+    }
+
+    public HnswVectorIndex(int dimensions, VectorScorer scorer, int m, int efConstruction, int efSearch) {
+        if (m < 2) {
+            throw new IllegalArgumentException("HNSW M must be at least 2");
+        }
+        if (efConstruction < m) {
+            throw new IllegalArgumentException("HNSW efConstruction must be at least M");
+        }
+        if (efSearch <= 0) {
+            throw new IllegalArgumentException("HNSW efSearch must be positive");
+        }
+        this.dimensions = dimensions;
+        this.scorer = scorer;
+        this.m = m;
+        this.maxM0 = m * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(m);
+        this.graph = new Graph();
+
+        logger.info(String.format("HNSW index initialized (M=%d, efConstruction=%d, efSearch=%d)", m, efConstruction, efSearch));
+    }
+
+    @Override
+    public void add(String id, float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Vector dimension mismatch. Expected: " + dimensions + ", got: " + vector.length);
+        }
+
+        Node node = new Node(id, scorer.prepare(vector), randomLevel());
+        rebuildLock.readLock().lock();
+        try {
+            graph.put(node);
+            recordChange(id);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        scheduleRebuildIfTombstoned();
+    }
+
+    @Override
+    public boolean remove(String id) {
+        rebuildLock.readLock().lock();
+        try {
+            if (!graph.remove(id)) {
+                return false;
+            }
+            recordChange(id);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        scheduleRebuildIfTombstoned();
+        return true;
+    }
+
+    @Override
+    public List<IndexHit> search(float[] queryVector, int topK, Predicate<String> filter) {
+        if (queryVector.length != dimensions) {
+            throw new IllegalArgumentException("Query vector dimension mismatch. Expected: " + dimensions + ", got: " + queryVector.length);
+        }
+
+        rebuildLock.readLock().lock();
+        try {
+            Graph snapshot = graph;
+            Node entry = snapshot.entryPoint;
+            if (topK <= 0 || entry == null) {
+                return new ArrayList<>();
+            }
+
+            float[] query = scorer.prepare(queryVector);
+            if (topK >= snapshot.nodes.size()) {
+                return exhaustiveSearch(snapshot, query, topK, filter);
+            }
+
+            Node current = greedySearch(query, entry, entry.level, 0);
+            PriorityQueue<Candidate> found = searchLayer(query, List.of(current), Math.max(efSearch, topK), 0);
+
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(CLOSEST_FIRST);
+
+            List<IndexHit> hits = new ArrayList<>(Math.min(topK, ordered.size()));
+            for (Candidate candidate : ordered) {
+                if (hits.size() >= topK) {
+                    break;
+                }
+                if (!candidate.node.deleted && (filter == null || filter.test(candidate.node.id))) {
+                    hits.add(new IndexHit(candidate.node.id, candidate.similarity));
+                }
+            }
+
+            // A selective filter or a run of tombstones can use up most of the beam; fall back to an exact scan rather
+            // than return short.
+            if (hits.size() < topK) {
+                return exhaustiveSearch(snapshot, query, topK, filter);
+            }
+            return hits;
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<IndexHit> searchCandidates(float[] queryVector, Collection<String> candidateIds, int topK) {
+        float[] query = scorer.prepare(queryVector);
+        BoundedHitCollector collector = new BoundedHitCollector(Math.max(0, Math.min(topK, candidateIds.size())));
+        rebuildLock.readLock().lock();
+        try {
+            Map<String, Node> nodes = graph.nodes;
+            for (String id : candidateIds) {
+                Node node = nodes.get(id);
+                if (node != null) {
+                    collector.offer(id, scorer.score(query, node.vector));
+                }
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        return collector.toSortedList();
+    }
+
+    @Override
+    public int size() {
+        return graph.nodes.size();
+    }
+
+    // A rebuild in progress notices the new graph and discards its result.
+    @Override
+    public void clear() {
+        rebuildLock.writeLock().lock();
+        try {
+            graph = new Graph();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public VectorIndexType getType() {
+        return VectorIndexType.HNSW;
+    }
+
+    public int getM() {
+        return m;
+    }
+
+    public int getEfConstruction() {
+        return efConstruction;
+    }
+
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    public void setEfSearch(int efSearch) {
+        if (efSearch <= 0) {
+            throw new IllegalArgumentException("HNSW efSearch must be positive");
+        }
+        this.efSearch = efSearch;
+    }
+
+    // Deleted or replaced nodes still linked into the graph.
+    public int getTombstoneCount() {
+        return graph.tombstones.get();
+    }
+
+    // Blocks until no rebuild is running or queued, for tests and callers that want a purged graph before measuring.
+    public void awaitRebuild() {
+        CompletableFuture<Void> task;
+        while (!(task = rebuildTask).isDone()) {
+            task.join();
+        }
+    }
+
+    private void recordChange(String id) {
+        Queue<String> changes = changedDuringRebuild;
+        if (changes != null) {
+            changes.add(id);
+        }
+    }
+
+    private void scheduleRebuildIfTombstoned() {
+        if (graph.overTombstoneLimit() && rebuilding.compareAndSet(false, true)) {
+            rebuildTask = CompletableFuture.runAsync(this::rebuild, REBUILD_EXECUTOR);
+        }
+    }
+
+    // Re-inserts a snapshot of the live nodes into a fresh graph while the current one keeps serving reads and writes,
+    // then replays the ids changed in the meantime and swaps the new graph in. Vectors are already prepared and levels
+    // are kept, so the cost is one insert per live node, off the callers' threads; the write lock only covers the last
+    // replay and the swap.
+    private void rebuild() {
+        long start = System.nanoTime();
+        Queue<String> changes = new ConcurrentLinkedQueue<>();
+        Graph source;
+        rebuildLock.writeLock().lock();
+        try {
+            source = graph;
+            changedDuringRebuild = changes;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        try {
+            int purged = source.tombstones.get();
+            Graph rebuilt = new Graph();
+            for (Node live : source.nodes.values()) {
+                rebuilt.put(new Node(live.id, live.vector, live.level));
+            }
+            int replayed = replay(changes, source, rebuilt);
+
+            long pauseStart = System.nanoTime();
+            boolean swapped;
+            rebuildLock.writeLock().lock();
+            try {
+                replayed += replay(changes, source, rebuilt);
+                swapped = graph == source;
+                if (swapped) {
+                    graph = rebuilt;
+                }
+                changedDuringRebuild = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+
+            if (swapped) {
+                logger.info(String.format("Rebuilt HNSW graph: %d live nodes, %d tombstones purged, %d changes replayed in %d ms (%d ms paused)",
+                    rebuilt.nodes.size(), purged, replayed, (System.nanoTime() - start) / 1_000_000, (System.nanoTime() - pauseStart) / 1_000_000));
+            }
+        } catch (RuntimeException e) {
+            rebuildLock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+            logger.warning("HNSW rebuild failed, keeping the current graph: " + e.getMessage());
+        } finally {
+            rebuilding.set(false);
+        }
+        // Deletes replayed onto the new graph are tombstones there too, so heavy churn can call for another round.
+        scheduleRebuildIfTombstoned();
+    }
+
+    // Brings each changed id in the rebuilt graph up to date with the source; a node is current when it shares the
+    // source node's vector.
+    private int replay(Queue<String> changes, Graph source, Graph rebuilt) {
+        int replayed = 0;
+        String id;
+        while ((id = changes.poll()) != null) {
+            Node live = source.nodes.get(id);
+            Node copy = rebuilt.nodes.get(id);
+            if (live == null) {
+                if (copy != null) {
+                    rebuilt.remove(id);
+                }
+            } else if (copy == null || copy.vector != live.vector) {
+                rebuilt.put(new Node(live.id, live.vector, live.level));
+            }
+            replayed++;
+        }
+        return replayed;
+    }
+
+    private void connect(Node neighbour, Node node, int level) {
+        int maxConnections = level == 0 ? maxM0 : m;
+
+        synchronized (neighbour) {
+            Node[] existing = neighbour.links.get(level);
+            for (Node link : existing) {
+                if (link == node) {
+                    return;
+                }
+            }
+
+            if (existing.length < maxConnections) {
+                Node[] extended = new Node[existing.length + 1];
+                System.arraycopy(existing, 0, extended, 0, existing.length);
+                extended[existing.length] = node;
+                neighbour.links.set(level, extended);
+                return;
+            }
+
+            List<Candidate> candidates = new ArrayList<>(existing.length + 1);
+            for (Node link : existing) {
+                candidates.add(new Candidate(link, scorer.score(neighbour.vector, link.vector)));
+            }
+            candidates.add(new Candidate(node, scorer.score(neighbour.vector, node.vector)));
+            candidates.sort(CLOSEST_FIRST);
+
+            neighbour.links.set(level, selectNeighbours(candidates, maxConnections).toArray(NO_NEIGHBOURS));
+        }
+    }
+
+    private List<Node> selectNeighbours(List<Candidate> candidatesClosestFirst, int maxConnections) {
+        List<Node> selected = new ArrayList<>(maxConnections);
+        List<Node> pruned = new ArrayList<>();
+
+        for (Candidate candidate : candidatesClosestFirst) {
+            if (selected.size() >= maxConnections) {
+                break;
+            }
+            boolean diverse = true;
+            for (Node chosen : selected) {
+                if (scorer.score(candidate.node.vector, chosen.vector) > candidate.similarity) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate.node);
+            } else {
+                pruned.add(candidate.node);
+            }
+        }
+
+        // Back-fill with the closest pruned candidates so sparse regions keep full connectivity.
+        for (Node node : pruned) {
+            if (selected.size() >= maxConnections) {
+                break;
+            }
+            selected.add(node);
+        }
+        return selected;
+    }
+
+    private Node greedySearch(float[] query, Node entry, int fromLevel, int toLevel) {
+        Node current = entry;
+        float currentSimilarity = scorer.score(query, current.vector);
+
+        for (int level = fromLevel; level > toLevel; level--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (Node neighbour : current.neighbours(level)) {
+                    float similarity = scorer.score(query, neighbour.vector);
+                    if (similarity > currentSimilarity) {
+                        currentSimilarity = similarity;
+                        current = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    private PriorityQueue<Candidate> searchLayer(float[] query, List<Node> entryPoints, int ef, int level) {
+        Set<Node> visited = new HashSet<>();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(CLOSEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+
+        for (Node entry : entryPoints) {
+            if (visited.add(entry)) {
+                Candidate candidate = new Candidate(entry, scorer.score(query, entry.vector));
+                candidates.add(candidate);
+                results.add(candidate);
+                if (results.size() > ef) {
+                    results.poll();
+                }
+            }
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.similarity < results.peek().similarity) {
+                break;
+            }
+
+            for (Node neighbour : closest.node.neighbours(level)) {
+                if (!visited.add(neighbour)) {
+                    continue;
+                }
+                float similarity = scorer.score(query, neighbour.vector);
+                if (results.size() < ef || similarity > results.peek().similarity) {
+                    Candidate candidate = new Candidate(neighbour, similarity);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<IndexHit> exhaustiveSearch(Graph snapshot, float[] query, int topK, Predicate<String> filter) {
+        BoundedHitCollector collector = new BoundedHitCollector(Math.min(topK, snapshot.nodes.size()));
+        for (Node node : snapshot.nodes.values()) {
+            if (filter == null || filter.test(node.id)) {
+                collector.offer(node.id, scorer.score(query, node.vector));
+            }
+        }
+        return collector.toSortedList();
+    }
+
+    private int randomLevel() {
+        double uniform = 1.0 - ThreadLocalRandom.current().nextDouble();
+        int level = (int) (-Math.log(uniform) * levelMultiplier);
+        return Math.min(level, MAX_LEVEL);
+    }
+
+    // The nodes, entry point and tombstone count of one graph generation; a rebuild builds a new one and swaps it in.
+    private final class Graph {
+        private final Map<String, Node> nodes = new ConcurrentHashMap<>();
+        private final Object entryLock = new Object();
+        private volatile Node entryPoint;
+        private final AtomicInteger tombstones = new AtomicInteger();
+
+        private void put(Node node) {
+            Node previous = nodes.put(node.id, node);
+            if (previous != null) {
+                previous.deleted = true;
+                tombstones.incrementAndGet();
+            }
+            insert(node);
+        }
+
+        // Removed nodes stay in the graph as tombstones so that their neighbours remain reachable until the next rebuild.
+        private boolean remove(String id) {
+            Node node = nodes.remove(id);
+            if (node == null) {
+                return false;
+            }
+            node.deleted = true;
+            tombstones.incrementAndGet();
+            return true;
+        }
+
+        private boolean overTombstoneLimit() {
+            int count = tombstones.get();
+            return count >= MIN_TOMBSTONES_FOR_REBUILD && count > nodes.size() * MAX_TOMBSTONE_RATIO;
+        }
+
+        private void insert(Node node) {
+            Node entry = entryPoint;
+            if (entry == null) {
+                synchronized (entryLock) {
+                    if (entryPoint == null) {
+                        entryPoint = node;
+                        return;
+                    }
+                    entry = entryPoint;
+                }
+            }
+
+            Node current = greedySearch(node.vector, entry, entry.level, node.level);
+            List<Node> entryPoints = List.of(current);
+
+            for (int level = Math.min(node.level, entry.level); level >= 0; level--) {
+                PriorityQueue<Candidate> found = searchLayer(node.vector, entryPoints, efConstruction, level);
+
+                List<Candidate> candidates = new ArrayList<>(found.size());
+                for (Candidate candidate : found) {
+                    if (candidate.node != node) {
+                        candidates.add(candidate);
+                    }
+                }
+                candidates.sort(CLOSEST_FIRST);
+
+                List<Node> neighbours = selectNeighbours(candidates, m);
+                synchronized (node) {
+                    node.links.set(level, neighbours.toArray(NO_NEIGHBOURS));
+                }
+                for (Node neighbour : neighbours) {
+                    connect(neighbour, node, level);
+                }
+
+                if (!candidates.isEmpty()) {
+                    entryPoints = candidates.stream()
+                        .map(candidate -> candidate.node)
+                        .collect(Collectors.toList());
+                }
+            }
+
+            if (node.level > entry.level) {
+                synchronized (entryLock) {
+                    Node currentEntry = entryPoint;
+                    if (currentEntry == null || node.level > currentEntry.level) {
+                        entryPoint = node;
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Node {
+        private final String id;
+        private final float[] vector;
+        private final int level;
+        private final AtomicReferenceArray<Node[]> links;
+        private volatile boolean deleted;
+
+        private Node(String id, float[] vector, int level) {
+            this.id = id;
+            this.vector = vector;
+            this.level = level;
+            this.links = new AtomicReferenceArray<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                links.set(i, NO_NEIGHBOURS);
+            }
+        }
+
+        private Node[] neighbours(int level) {
+            return level < links.length() ? links.get(level) : NO_NEIGHBOURS;
+        }
+    }
+
+    private static final class Candidate {
+        private final Node node;
+        private final float similarity;
+
+        private Candidate(Node node, float similarity) {
+            this.node = node;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.bhavuklabs.vector.index;
+
+public class IndexHit {
+
+    private final String id;
+    private final float similarity;
+
+    public IndexHit(String id, float similarity) {
+        this.id = id;
+        this.similarity = similarity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public float getSimilarity() {
+        return similarity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndexHit{id='%s', similarity=%.4f}", id, similarity);
+    }
+}
@@ -0,0 +1,182 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import com.github.bhavuklabs.vector.quantization.VectorQuantizer;
+import com.github.bhavuklabs.vector.similarity.VectorScorer;
+import com.github.bhavuklabs.vector.storage.TopKHeap;
+import com.github.bhavuklabs.vector.storage.VectorArena;
+import com.github.bhavuklabs.vector.storage.VectorStorageType;
+
+public class QuantizedVectorIndex extends ArenaVectorIndex {
+
+    private static final Logger logger = Logger.getLogger(QuantizedVectorIndex.class.getName());
+
+    private final VectorQuantizer quantizer;
+    private final int codeSize;
+    private final int rerankCandidates;
+
+    // Only codes and norms live on the heap; full-precision vectors stay in the mapped arena for re-ranking and retrieval,
+    // where only the pages that are read need to be resident.
+    private byte[] codes;
+    private float[] norms;
+
+    public QuantizedVectorIndex(VectorArena arena, VectorScorer scorer, VectorQuantizer quantizer, int rerankCandidates) {
+        super(arena, scorer);
+        if (arena.getStorageType() != VectorStorageType.MEMORY_MAPPED) {
+            throw new IllegalArgumentException("Quantized index requires a MEMORY_MAPPED arena, got: " + arena.getStorageType());
+        }
+        if (quantizer.getDimensions() != arena.getDimensions()) {
+            throw new IllegalArgumentException("Quantizer dimension mismatch. Expected: " + arena.getDimensions() + ", got: " + quantizer.getDimensions());
+        }
+        if (rerankCandidates < 0) {
+            throw new IllegalArgumentException("Re-rank candidates must not be negative");
+        }
+        this.quantizer = quantizer;
+        this.codeSize = quantizer.getCodeSize();
+        this.rerankCandidates = rerankCandidates;
+        this.codes = new byte[0];
+        this.norms = new float[0];
+    }
+
+    @Override
+    void onWrite(int slot, float[] vector) {
+        if (slot >= norms.length) {
+            int capacity = Math.max(Math.max(16, norms.length * 2), slot + 1);
+            codes = Arrays.copyOf(codes, capacity * codeSize);
+            norms = Arrays.copyOf(norms, capacity);
+        }
+        norms[slot] = arena.norm(slot);
+
+        if (quantizer.isTrained()) {
+            quantizer.encode(vector, codes, slot * codeSize);
+        } else if (slotsById.size() >= quantizer.getTrainingSize()) {
+            train();
+        }
+    }
+
+    @Override
+    void onRelease(int slot) {
+        norms[slot] = 0.0f;
+    }
+
+    @Override
+    void onClear() {
+        quantizer.reset();
+    }
+
+    @Override
+    public List<IndexHit> search(float[] queryVector, int topK, Predicate<String> filter) {
+        if (queryVector.length != arena.getDimensions()) {
+            throw new IllegalArgumentException("Query vector dimension mismatch. Expected: " + arena.getDimensions() + ", got: " + queryVector.length);
+        }
+
+        lock.readLock().lock();
+        try {
+            if (!quantizer.isTrained()) {
+                return super.search(queryVector, topK, filter);
+            }
+            int capacity = Math.max(0, Math.min(topK, slotsById.size()));
+            if (capacity == 0) {
+                return new ArrayList<>();
+            }
+
+            TopKHeap candidates = new TopKHeap(Math.max(capacity, Math.min(rerankCandidates, slotsById.size())));
+            VectorQuantizer.QueryScorer approximate = quantizer.prepare(queryVector);
+            float queryNorm = scorer.norm(queryVector);
+            int highWater = arena.getHighWater();
+            for (int slot = 0; slot < highWater; slot++) {
+                String id = idsBySlot[slot];
+                if (id != null && (filter == null || filter.test(id))) {
+                    candidates.offer(slot, approximateScore(approximate, slot, queryNorm));
+                }
+            }
+            return rerank(candidates, queryVector, queryNorm, capacity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<IndexHit> searchCandidates(float[] queryVector, Collection<String> candidateIds, int topK) {
+        lock.readLock().lock();
+        try {
+            if (!quantizer.isTrained()) {
+                return super.searchCandidates(queryVector, candidateIds, topK);
+            }
+            int capacity = Math.max(0, Math.min(topK, candidateIds.size()));
+            if (capacity == 0) {
+                return new ArrayList<>();
+            }
+
+            TopKHeap candidates = new TopKHeap(Math.max(capacity, Math.min(rerankCandidates, candidateIds.size())));
+            VectorQuantizer.QueryScorer approximate = quantizer.prepare(queryVector);
+            float queryNorm = scorer.norm(queryVector);
+            for (String id : candidateIds) {
+                Integer slot = slotsById.get(id);
+                if (slot != null) {
+                    candidates.offer(slot, approximateScore(approximate, slot, queryNorm));
+                }
+            }
+            return rerank(candidates, queryVector, queryNorm, capacity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public VectorQuantizer getQuantizer() {
+        return quantizer;
+    }
+
+    public int getRerankCandidates() {
+        return rerankCandidates;
+    }
+
+    public boolean isTrained() {
+        return quantizer.isTrained();
+    }
+
+    // Heap bytes only: codes plus one norm per vector. The arena's mapped bytes are on getArena().getCapacityBytes().
+    public long getCodeBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slotsById.size() * (codeSize + Float.BYTES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private float approximateScore(VectorQuantizer.QueryScorer approximate, int slot, float queryNorm) {
+        return scorer.scoreFromDot(approximate.dot(codes, slot * codeSize), queryNorm, norms[slot]);
+    }
+
+    private List<IndexHit> rerank(TopKHeap candidates, float[] queryVector, float queryNorm, int topK) {
+        if (rerankCandidates == 0) {
+            return toHits(candidates);
+        }
+        TopKHeap exact = new TopKHeap(Math.min(topK, candidates.size()));
+        float[] scratch = new float[arena.getDimensions()];
+        for (int i = 0; i < candidates.size(); i++) {
+            int slot = candidates.slotAt(i);
+            exact.offer(slot, score(slot, queryVector, queryNorm, scratch));
+        }
+        return toHits(exact);
+    }
+
+    private void train() {
+        List<float[]> sample = new ArrayList<>(slotsById.size());
+        for (int slot : slotsById.values()) {
+            sample.add(arena.read(slot));
+        }
+        quantizer.train(sample);
+        for (int slot : slotsById.values()) {
+            quantizer.encode(arena.read(slot), codes, slot * codeSize);
+        }
+        logger.info("Encoded " + slotsById.size() + " vectors with " + quantizer.getType() + " quantization");
+    }
+}
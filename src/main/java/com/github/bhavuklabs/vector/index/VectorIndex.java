@@ -0,0 +1,26 @@
+package com.github.bhavuklabs.vector.index;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+public interface VectorIndex {
+
+    void add(String id, float[] vector);
+
+    boolean remove(String id);
+
+    default List<IndexHit> search(float[] queryVector, int topK) {
+        return search(queryVector, topK, null);
+    }
+
+    List<IndexHit> search(float[] queryVector, int topK, Predicate<String> filter);
+
+    List<IndexHit> searchCandidates(float[] queryVector, Collection<String> candidateIds, int topK);
+
+    int size();
+
+    void clear();
+
+    VectorIndexType getType();
+}
@@ -0,0 +1,8 @@
+package com.github.bhavuklabs.vector.index;
+
+public enum VectorIndexType {
+
+    FLAT,
+
+    HNSW
+}
@@ -0,0 +1,54 @@
+package com.github.bhavuklabs.vector.persistence;
+
+import java.nio.FloatBuffer;
+import java.util.List;
+import java.util.Map;
+
+// The records of one compacted segment, handed over in a single call so a store can load them in bulk. The slots are a
+// read-only view of the mapped vector file in VectorArena's slot layout, [norm, v0..vn-1], valid only during the call.
+public final class SegmentRecords {
+
+    private final int dimensions;
+    private final String[] ids;
+    private final String[] contents;
+    private final List<Map<String, Object>> metadata;
+    private final FloatBuffer slots;
+
+    SegmentRecords(int dimensions, String[] ids, String[] contents, List<Map<String, Object>> metadata, FloatBuffer slots) {
+        this.dimensions = dimensions;
+        this.ids = ids;
+        this.contents = contents;
+        this.metadata = metadata;
+        this.slots = slots;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public String getId(int record) {
+        return ids[record];
+    }
+
+    public String getContent(int record) {
+        return contents[record];
+    }
+
+    public Map<String, Object> getMetadata(int record) {
+        return metadata.get(record);
+    }
+
+    public float[] readVector(int record) {
+        float[] vector = new float[dimensions];
+        slots.get(record * (dimensions + 1) + 1, vector);
+        return vector;
+    }
+
+    public FloatBuffer getSlots() {
+        return slots.duplicate();
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.bhavuklabs.vector.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+
+final class VectorSegment {
+
+    private static final int VECTOR_MAGIC = 0x52344A56;
+    private static final int METADATA_MAGIC = 0x52344A4D;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private VectorSegment() {
+    }
+
+    static Path vectorFile(Path directory, long segmentId) {
+        return directory.resolve(String.format("segment-%06d.vec", segmentId));
+    }
+
+    static Path metadataFile(Path directory, long segmentId) {
+        return directory.resolve(String.format("segment-%06d.meta", segmentId));
+    }
+
+    // Vector file: [magic, version, dimensions, count] followed by count slots of [norm, v0..vn-1], little-endian.
+    static int write(Path directory, long segmentId, int dimensions, Iterable<VectorDocument> documents) throws IOException {
+        Path vectorTmp = tempFile(vectorFile(directory, segmentId));
+        Path metadataTmp = tempFile(metadataFile(directory, segmentId));
+        int count = 0;
+
+        try (FileChannel vectorChannel = FileChannel.open(vectorTmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+            FileChannel metadataChannel = FileChannel.open(metadataTmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+
+            DataOutputStream metadataOut = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(metadataChannel), 1 << 16));
+            metadataOut.writeInt(METADATA_MAGIC);
+            metadataOut.writeInt(FORMAT_VERSION);
+            metadataOut.writeInt(0);
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(VECTOR_MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(dimensions)
+                .putInt(0);
+            int slotBytes = (dimensions + 1) * Float.BYTES;
+
+            for (VectorDocument document : documents) {
+                float[] vector = document.getVector();
+                if (vector == null || vector.length != dimensions) {
+                    continue;
+                }
+                if (buffer.remaining() < slotBytes) {
+                    flush(vectorChannel, buffer);
+                }
+
+                float sumOfSquares = 0.0f;
+                for (float value : vector) {
+                    sumOfSquares += value * value;
+                }
+                buffer.putFloat((float) Math.sqrt(sumOfSquares));
+                for (float value : vector) {
+                    buffer.putFloat(value);
+                }
+
+                RecordCodec.writeString(metadataOut, document.getId());
+                RecordCodec.writeString(metadataOut, document.getContent());
+                RecordCodec.writeMetadata(metadataOut, document.getMetadata());
+                count++;
+            }
+            flush(vectorChannel, buffer);
+            metadataOut.flush();
+
+            ByteBuffer vectorCount = ByteBuffer.allocate(Integer.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(0, count);
+            vectorChannel.write(vectorCount, 12);
+            metadataChannel.write(ByteBuffer.allocate(Integer.BYTES)
+                .putInt(0, count), 8);
+
+            vectorChannel.force(true);
+            metadataChannel.force(true);
+        }
+
+        Files.move(vectorTmp, vectorFile(directory, segmentId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(metadataTmp, metadataFile(directory, segmentId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    static int load(Path directory, long segmentId, int dimensions, VectorStorePersistence.RecoveryHandler handler) throws IOException {
+        Path vectorPath = vectorFile(directory, segmentId);
+        Path metadataPath = metadataFile(directory, segmentId);
+
+        try (FileChannel vectorChannel = FileChannel.open(vectorPath, StandardOpenOption.READ);
+            DataInputStream metadataIn = new DataInputStream(new BufferedInputStream(Files.newInputStream(metadataPath), 1 << 16))) {
+
+            MappedByteBuffer mapped = vectorChannel.map(FileChannel.MapMode.READ_ONLY, 0, vectorChannel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != VECTOR_MAGIC || mapped.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unrecognised vector segment format: " + vectorPath);
+            }
+            if (mapped.getInt(8) != dimensions) {
+                throw new IOException("Vector segment " + vectorPath + " has " + mapped.getInt(8) + " dimensions, expected " + dimensions);
+            }
+            int count = mapped.getInt(12);
+
+            if (metadataIn.readInt() != METADATA_MAGIC || metadataIn.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unrecognised metadata segment format: " + metadataPath);
+            }
+            if (metadataIn.readInt() != count) {
+                throw new IOException("Segment " + segmentId + " vector and metadata counts disagree");
+            }
+
+            FloatBuffer slots = mapped.position(HEADER_BYTES)
+                .slice()
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer();
+
+            String[] ids = new String[count];
+            String[] contents = new String[count];
+            List<Map<String, Object>> metadata = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ids[i] = RecordCodec.readString(metadataIn);
+                contents[i] = RecordCodec.readString(metadataIn);
+                metadata.add(RecordCodec.readMetadata(metadataIn));
+            }
+            handler.onSegment(new SegmentRecords(dimensions, ids, contents, metadata, slots));
+            return count;
+        }
+    }
+
+    private static Path tempFile(Path target) {
+        return target.resolveSibling(target.getFileName() + ".tmp");
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
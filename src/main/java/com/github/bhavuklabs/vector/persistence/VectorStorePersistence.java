@@ -0,0 +1,348 @@
+package com.github.bhavuklabs.vector.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.github.bhavuklabs.vector.VectorStore.VectorDocument;
+
+public class VectorStorePersistence implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(VectorStorePersistence.class.getName());
+
+    private static final String MANIFEST = "MANIFEST";
+    private static final int MANIFEST_FORMAT = 1;
+    private static final Pattern WAL_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d+)\\.(vec|meta)");
+    private static final long SYNC_INTERVAL_MILLIS = 1000;
+
+    public interface RecoveryHandler {
+
+        void onPut(String id, float[] vector, String content, Map<String, Object> metadata);
+
+        void onDelete(String id);
+
+        void onClear();
+
+        // A compacted segment is handed over whole, before any log record, so a store can load it in bulk.
+        default void onSegment(SegmentRecords segment) {
+            for (int i = 0; i < segment.size(); i++) {
+                onPut(segment.getId(i), segment.readVector(i), segment.getContent(i), segment.getMetadata(i));
+            }
+        }
+    }
+
+    private final Path directory;
+    private final int dimensions;
+    private final boolean syncEveryWrite;
+    private final long compactionThresholdBytes;
+    private final ReentrantLock writeLock;
+    private final Object compactionLock;
+    private final AtomicBoolean compactionScheduled;
+    private final ScheduledExecutorService maintenance;
+
+    private volatile WriteAheadLog wal;
+    private volatile Supplier<? extends Iterable<VectorDocument>> snapshotSource;
+    private long activeSegment;
+    private long nextSegmentId;
+    private volatile boolean closed;
+
+    public VectorStorePersistence(Path directory, int dimensions, boolean syncEveryWrite, long compactionThresholdBytes) {
+        this.directory = directory;
+        this.dimensions = dimensions;
+        this.syncEveryWrite = syncEveryWrite;
+        this.compactionThresholdBytes = compactionThresholdBytes;
+        this.writeLock = new ReentrantLock();
+        this.compactionLock = new Object();
+        this.compactionScheduled = new AtomicBoolean(false);
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "research4j-vector-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void recover(RecoveryHandler handler) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+
+        Properties manifest = readManifest();
+        long segment = 0;
+        long firstWal = 1;
+        if (manifest != null) {
+            int manifestDimensions = Integer.parseInt(manifest.getProperty("dimensions"));
+            if (manifestDimensions != dimensions) {
+                throw new IOException("Vector store at " + directory + " has " + manifestDimensions + " dimensions, expected " + dimensions);
+            }
+            segment = Long.parseLong(manifest.getProperty("segment", "0"));
+            firstWal = Long.parseLong(manifest.getProperty("wal", "1"));
+        }
+
+        int segmentRecords = segment > 0 ? VectorSegment.load(directory, segment, dimensions, handler) : 0;
+
+        List<Long> walGenerations = listGenerations(WAL_FILE);
+        int walRecords = 0;
+        long activeWal = firstWal;
+        for (long generation : walGenerations) {
+            if (generation >= firstWal) {
+                walRecords += WriteAheadLog.replay(walFile(generation), handler);
+                activeWal = Math.max(activeWal, generation);
+            }
+        }
+
+        this.activeSegment = segment;
+        List<Long> segmentIds = listGenerations(SEGMENT_FILE);
+        this.nextSegmentId = Math.max(segment, segmentIds.isEmpty() ? 0 : segmentIds.get(segmentIds.size() - 1)) + 1;
+        this.wal = WriteAheadLog.open(walFile(activeWal), activeWal, syncEveryWrite);
+
+        removeObsoleteFiles(segment, firstWal);
+
+        logger.info(String.format("Recovered vector store from %s in %d ms (%d segment records, %d log records)", directory,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), segmentRecords, walRecords));
+    }
+
+    public void startMaintenance(Supplier<? extends Iterable<VectorDocument>> snapshotSource) {
+        this.snapshotSource = snapshotSource;
+        if (!syncEveryWrite) {
+            maintenance.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MILLIS, SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void logPut(String id, float[] vector, String content, Map<String, Object> metadata, Runnable apply) {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            wal.appendPut(id, vector, content, metadata);
+            apply.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to vector write-ahead log", e);
+        } finally {
+            writeLock.unlock();
+        }
+        scheduleCompactionIfNeeded();
+    }
+
+    public boolean logDelete(String id, BooleanSupplier apply) {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            wal.appendDelete(id);
+            return apply.getAsBoolean();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to vector write-ahead log", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void logClear(Runnable apply) {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            wal.appendClear();
+            apply.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to vector write-ahead log", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            if (snapshotSource == null || closed) {
+                return;
+            }
+            long start = System.nanoTime();
+
+            List<VectorDocument> snapshot = new ArrayList<>();
+            long walGeneration;
+            writeLock.lock();
+            try {
+                // Rotating under the write lock pins the snapshot to exactly the records in the retired log.
+                snapshotSource.get()
+                    .forEach(snapshot::add);
+                WriteAheadLog retired = wal;
+                walGeneration = retired.getGeneration() + 1;
+                wal = WriteAheadLog.open(walFile(walGeneration), walGeneration, syncEveryWrite);
+                retired.close();
+            } finally {
+                writeLock.unlock();
+            }
+
+            long segment = nextSegmentId++;
+            int count = VectorSegment.write(directory, segment, dimensions, snapshot);
+            writeManifest(segment, walGeneration);
+
+            long previousSegment = activeSegment;
+            activeSegment = segment;
+            removeObsoleteFiles(segment, walGeneration);
+
+            logger.info(String.format("Compacted vector store into segment %d (%d documents, previous segment %d) in %d ms", segment, count,
+                previousSegment, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        maintenance.shutdown();
+        try {
+            if (!maintenance.awaitTermination(30, TimeUnit.SECONDS)) {
+                maintenance.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            maintenance.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        writeLock.lock();
+        try {
+            closed = true;
+            if (wal != null) {
+                wal.close();
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to close vector write-ahead log: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        try {
+            if (snapshotSource == null || wal.size() < compactionThresholdBytes || !compactionScheduled.compareAndSet(false, true)) {
+                return;
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to read write-ahead log size: " + e.getMessage());
+            return;
+        }
+
+        maintenance.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                logger.severe("Vector store compaction failed: " + e.getMessage());
+            } finally {
+                compactionScheduled.set(false);
+            }
+        });
+    }
+
+    private void syncQuietly() {
+        try {
+            WriteAheadLog current = wal;
+            if (current != null) {
+                current.sync();
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to sync vector write-ahead log: " + e.getMessage());
+        }
+    }
+
+    private Properties readManifest() throws IOException {
+        Path path = directory.resolve(MANIFEST);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            manifest.load(in);
+        }
+        if (Integer.parseInt(manifest.getProperty("format", "0")) != MANIFEST_FORMAT) {
+            throw new IOException("Unsupported vector store manifest format in " + directory);
+        }
+        return manifest;
+    }
+
+    private void writeManifest(long segment, long walGeneration) throws IOException {
+        Properties manifest = new Properties();
+        manifest.setProperty("format", String.valueOf(MANIFEST_FORMAT));
+        manifest.setProperty("dimensions", String.valueOf(dimensions));
+        manifest.setProperty("segment", String.valueOf(segment));
+        manifest.setProperty("wal", String.valueOf(walGeneration));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        manifest.store(bytes, "research4j vector store");
+
+        Path tmp = directory.resolve(MANIFEST + ".tmp");
+        Files.write(tmp, bytes.toByteArray(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE,
+            StandardOpenOption.DSYNC);
+        Files.move(tmp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void removeObsoleteFiles(long liveSegment, long firstLiveWal) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName()
+                    .toString();
+                Matcher wal = WAL_FILE.matcher(name);
+                Matcher segment = SEGMENT_FILE.matcher(name);
+
+                if (name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (wal.matches() && Long.parseLong(wal.group(1)) < firstLiveWal) {
+                    Files.deleteIfExists(file);
+                } else if (segment.matches() && Long.parseLong(segment.group(1)) != liveSegment) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private List<Long> listGenerations(Pattern pattern) throws IOException {
+        List<Long> generations = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = pattern.matcher(file.getFileName()
+                    .toString());
+                if (matcher.matches()) {
+                    long generation = Long.parseLong(matcher.group(1));
+                    if (!generations.contains(generation)) {
+                        generations.add(generation);
+                    }
+                }
+            }
+        }
+        Collections.sort(generations);
+        return generations;
+    }
+
+    private Path walFile(long generation) {
+        return directory.resolve(String.format("wal-%06d.log", generation));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Vector store persistence is closed");
+        }
+    }
+}
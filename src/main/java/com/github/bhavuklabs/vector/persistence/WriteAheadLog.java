@@ -0,0 +1,196 @@
+package com.github.bhavuklabs.vector.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+final class WriteAheadLog implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(WriteAheadLog.class.getName());
+
+    static final byte RECORD_PUT = 1;
+    static final byte RECORD_DELETE = 2;
+    static final byte RECORD_CLEAR = 3;
+
+    // length (int) + crc32 (int)
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_RECORD_BYTES = 256 * 1024 * 1024;
+
+    private final Path path;
+    private final long generation;
+    private final FileChannel channel;
+    private final boolean syncEveryWrite;
+    private volatile boolean dirty;
+
+    private WriteAheadLog(Path path, long generation, FileChannel channel, boolean syncEveryWrite) {
+        this.path = path;
+        this.generation = generation;
+        this.channel = channel;
+        this.syncEveryWrite = syncEveryWrite;
+    }
+
+    static WriteAheadLog open(Path path, long generation, boolean syncEveryWrite) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return new WriteAheadLog(path, generation, channel, syncEveryWrite);
+    }
+
+    static int replay(Path path, VectorStorePersistence.RecoveryHandler handler) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        int records = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            long position = 0;
+
+            while (position + HEADER_BYTES <= size) {
+                header.clear();
+                readFully(channel, header, position);
+                header.flip();
+                int length = header.getInt();
+                int checksum = header.getInt();
+
+                if (length <= 0 || length > MAX_RECORD_BYTES || position + HEADER_BYTES + length > size) {
+                    break;
+                }
+
+                ByteBuffer payload = ByteBuffer.allocate(length);
+                readFully(channel, payload, position + HEADER_BYTES);
+                byte[] bytes = payload.array();
+                if (checksum(bytes) != checksum) {
+                    break;
+                }
+
+                apply(bytes, handler);
+                records++;
+                position += HEADER_BYTES + length;
+            }
+
+            if (position < size) {
+                // A torn or corrupt tail is what an interrupted append leaves behind; drop it so new writes start clean.
+                logger.warning(String.format("Truncating write-ahead log %s at byte %d of %d", path.getFileName(), position, size));
+                channel.truncate(position);
+                channel.force(true);
+            }
+        }
+        return records;
+    }
+
+    synchronized void appendPut(String id, float[] vector, String content, Map<String, Object> metadata) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(vector.length * Float.BYTES + 256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_PUT);
+        RecordCodec.writeString(out, id);
+        RecordCodec.writeVector(out, vector);
+        RecordCodec.writeString(out, content);
+        RecordCodec.writeMetadata(out, metadata);
+        out.flush();
+        append(bytes.toByteArray());
+    }
+
+    synchronized void appendDelete(String id) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_DELETE);
+        RecordCodec.writeString(out, id);
+        out.flush();
+        append(bytes.toByteArray());
+    }
+
+    synchronized void appendClear() throws IOException {
+        append(new byte[] {RECORD_CLEAR});
+    }
+
+    synchronized void sync() throws IOException {
+        if (dirty && channel.isOpen()) {
+            channel.force(false);
+            dirty = false;
+        }
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    long getGeneration() {
+        return generation;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel.isOpen()) {
+            sync();
+            channel.close();
+        }
+    }
+
+    private void append(byte[] payload) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        record.putInt(payload.length);
+        record.putInt(checksum(payload));
+        record.put(payload);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        dirty = true;
+        if (syncEveryWrite) {
+            sync();
+        }
+    }
+
+    private static void apply(byte[] bytes, VectorStorePersistence.RecoveryHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte type = in.readByte();
+        switch (type) {
+            case RECORD_PUT: {
+                String id = RecordCodec.readString(in);
+                float[] vector = RecordCodec.readVector(in);
+                String content = RecordCodec.readString(in);
+                Map<String, Object> metadata = RecordCodec.readMetadata(in);
+                handler.onPut(id, vector, content, metadata);
+                break;
+            }
+            case RECORD_DELETE:
+                handler.onDelete(RecordCodec.readString(in));
+                break;
+            case RECORD_CLEAR:
+                handler.onClear();
+                break;
+            default:
+                throw new IOException("Unknown write-ahead log record type: " + type);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of write-ahead log");
+            }
+        }
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+}
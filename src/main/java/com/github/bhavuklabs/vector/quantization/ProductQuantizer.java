@@ -0,0 +1,236 @@
+package com.github.bhavuklabs.vector.quantization;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+
+public class ProductQuantizer implements VectorQuantizer {
+
+    private static final Logger logger = Logger.getLogger(ProductQuantizer.class.getName());
+
+    private static final int CENTROIDS = 256;
+    private static final int KMEANS_ITERATIONS = 10;
+    private static final long SEED = 42L;
+
+    private final int dimensions;
+    private final int subspaces;
+    private final int subspaceWidth;
+    private final int trainingSize;
+
+    private volatile float[][] codebooks;
+
+    public ProductQuantizer(int dimensions, int subspaces, int trainingSize) {
+        if (subspaces <= 0 || dimensions % subspaces != 0) {
+            throw new IllegalArgumentException("Product quantization subspaces must divide the dimensions (" + dimensions + ")");
+        }
+        if (trainingSize <= 0) {
+            throw new IllegalArgumentException("Product quantization training size must be positive");
+        }
+        this.dimensions = dimensions;
+        this.subspaces = subspaces;
+        this.subspaceWidth = dimensions / subspaces;
+        this.trainingSize = trainingSize;
+    }
+
+    // Four dimensions per one-byte code gives a 16x reduction over float vectors.
+    public static int defaultSubspaces(int dimensions) {
+        for (int width = 4; width > 1; width--) {
+            if (dimensions % width == 0) {
+                return dimensions / width;
+            }
+        }
+        return dimensions;
+    }
+
+    @Override
+    public QuantizationType getType() {
+        return QuantizationType.PRODUCT;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int getSubspaces() {
+        return subspaces;
+    }
+
+    @Override
+    public int getCodeSize() {
+        return subspaces;
+    }
+
+    @Override
+    public int getTrainingSize() {
+        return trainingSize;
+    }
+
+    @Override
+    public boolean isTrained() {
+        return codebooks != null;
+    }
+
+    @Override
+    public void train(List<float[]> sample) {
+        if (sample.isEmpty()) {
+            throw new IllegalArgumentException("Cannot train product quantizer on an empty sample");
+        }
+        long start = System.nanoTime();
+        Random random = new Random(SEED);
+        float[][] trained = new float[subspaces][];
+        for (int m = 0; m < subspaces; m++) {
+            trained[m] = kmeans(sample, m * subspaceWidth, random);
+        }
+        this.codebooks = trained;
+        logger.info(String.format("Trained product quantizer (%d subspaces x %d centroids) on %d vectors in %d ms", subspaces, CENTROIDS,
+            sample.size(), (System.nanoTime() - start) / 1_000_000));
+    }
+
+    @Override
+    public void reset() {
+        this.codebooks = null;
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        float[][] books = requireTrained();
+        for (int m = 0; m < subspaces; m++) {
+            codes[offset + m] = (byte) nearestCentroid(books[m], vector, m * subspaceWidth);
+        }
+    }
+
+    @Override
+    public float[] decode(byte[] codes, int offset) {
+        float[][] books = requireTrained();
+        float[] vector = new float[dimensions];
+        for (int m = 0; m < subspaces; m++) {
+            System.arraycopy(books[m], (codes[offset + m] & 0xFF) * subspaceWidth, vector, m * subspaceWidth, subspaceWidth);
+        }
+        return vector;
+    }
+
+    @Override
+    public QueryScorer prepare(float[] query) {
+        float[][] books = requireTrained();
+        // One lookup table row per subspace holding the query's dot product with every centroid.
+        float[] table = new float[subspaces * CENTROIDS];
+        for (int m = 0; m < subspaces; m++) {
+            float[] book = books[m];
+            int start = m * subspaceWidth;
+            for (int c = 0; c < CENTROIDS; c++) {
+                float dot = 0.0f;
+                int base = c * subspaceWidth;
+                for (int d = 0; d < subspaceWidth; d++) {
+                    dot += query[start + d] * book[base + d];
+                }
+                table[m * CENTROIDS + c] = dot;
+            }
+        }
+        return (codes, offset) -> {
+            float dot = 0.0f;
+            for (int m = 0; m < subspaces; m++) {
+                dot += table[m * CENTROIDS + (codes[offset + m] & 0xFF)];
+            }
+            return dot;
+        };
+    }
+
+    private float[] kmeans(List<float[]> sample, int start, Random random) {
+        int n = sample.size();
+        int k = Math.min(CENTROIDS, n);
+        float[] centroids = new float[CENTROIDS * subspaceWidth];
+        int[] order = shuffledIndices(n, random);
+        for (int c = 0; c < k; c++) {
+            System.arraycopy(sample.get(order[c]), start, centroids, c * subspaceWidth, subspaceWidth);
+        }
+        // Unused centroids repeat the first so that every code decodes to something sensible.
+        for (int c = k; c < CENTROIDS; c++) {
+            System.arraycopy(centroids, 0, centroids, c * subspaceWidth, subspaceWidth);
+        }
+
+        int[] assignment = new int[n];
+        float[] sums = new float[k * subspaceWidth];
+        int[] counts = new int[k];
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            boolean changed = false;
+            for (int i = 0; i < n; i++) {
+                int nearest = nearestCentroid(centroids, k, sample.get(i), start);
+                if (iteration == 0 || nearest != assignment[i]) {
+                    assignment[i] = nearest;
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+
+            Arrays.fill(sums, 0.0f);
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                float[] vector = sample.get(i);
+                int base = assignment[i] * subspaceWidth;
+                for (int d = 0; d < subspaceWidth; d++) {
+                    sums[base + d] += vector[start + d];
+                }
+                counts[assignment[i]]++;
+            }
+            for (int c = 0; c < k; c++) {
+                int base = c * subspaceWidth;
+                if (counts[c] == 0) {
+                    System.arraycopy(sample.get(random.nextInt(n)), start, centroids, base, subspaceWidth);
+                    continue;
+                }
+                for (int d = 0; d < subspaceWidth; d++) {
+                    centroids[base + d] = sums[base + d] / counts[c];
+                }
+            }
+        }
+        return centroids;
+    }
+
+    private int nearestCentroid(float[] book, float[] vector, int start) {
+        return nearestCentroid(book, CENTROIDS, vector, start);
+    }
+
+    private int nearestCentroid(float[] book, int centroidCount, float[] vector, int start) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        for (int c = 0; c < centroidCount; c++) {
+            int base = c * subspaceWidth;
+            float distance = 0.0f;
+            for (int d = 0; d < subspaceWidth; d++) {
+                float diff = vector[start + d] - book[base + d];
+                distance += diff * diff;
+            }
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private int[] shuffledIndices(int n, Random random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private float[][] requireTrained() {
+        float[][] books = codebooks;
+        if (books == null) {
+            throw new IllegalStateException("Product quantizer has not been trained");
+        }
+        return books;
+    }
+}
@@ -0,0 +1,7 @@
+package com.github.bhavuklabs.vector.quantization;
+
+public enum QuantizationType {
+    NONE,
+    INT8,
+    PRODUCT
+}
@@ -0,0 +1,111 @@
+package com.github.bhavuklabs.vector.quantization;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.List;
+
+import com.github.bhavuklabs.vector.similarity.SimilarityKernel;
+import com.github.bhavuklabs.vector.similarity.SimilarityKernels;
+
+public class ScalarQuantizer implements VectorQuantizer {
+
+    private static final VarHandle FLOATS = MethodHandles.byteArrayViewVarHandle(float[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final int LEVELS = 255;
+    private static final int ZERO_POINT = 128;
+
+    private final int dimensions;
+    private final SimilarityKernel kernel;
+
+    public ScalarQuantizer(int dimensions) {
+        this(dimensions, SimilarityKernels.preferred());
+    }
+
+    public ScalarQuantizer(int dimensions, SimilarityKernel kernel) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("Dimensions must be positive");
+        }
+        this.dimensions = dimensions;
+        this.kernel = kernel;
+    }
+
+    @Override
+    public QuantizationType getType() {
+        return QuantizationType.INT8;
+    }
+
+    @Override
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    // One signed byte per dimension followed by the vector's float minimum and step size.
+    @Override
+    public int getCodeSize() {
+        return dimensions + 2 * Float.BYTES;
+    }
+
+    @Override
+    public int getTrainingSize() {
+        return 0;
+    }
+
+    @Override
+    public boolean isTrained() {
+        return true;
+    }
+
+    @Override
+    public void train(List<float[]> sample) {
+    }
+
+    @Override
+    public void reset() {
+    }
+
+    @Override
+    public void encode(float[] vector, byte[] codes, int offset) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+        for (float value : vector) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        float step = max > min ? (max - min) / LEVELS : 1.0f;
+        float inverse = 1.0f / step;
+        for (int i = 0; i < dimensions; i++) {
+            int level = Math.round((vector[i] - min) * inverse);
+            codes[offset + i] = (byte) (Math.min(LEVELS, Math.max(0, level)) - ZERO_POINT);
+        }
+        FLOATS.set(codes, offset + dimensions, min);
+        FLOATS.set(codes, offset + dimensions + Float.BYTES, step);
+    }
+
+    @Override
+    public float[] decode(byte[] codes, int offset) {
+        float min = (float) FLOATS.get(codes, offset + dimensions);
+        float step = (float) FLOATS.get(codes, offset + dimensions + Float.BYTES);
+        float[] vector = new float[dimensions];
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = min + step * (codes[offset + i] + ZERO_POINT);
+        }
+        return vector;
+    }
+
+    @Override
+    public QueryScorer prepare(float[] query) {
+        float[] q = query.clone();
+        float sum = 0.0f;
+        for (float value : q) {
+            sum += value;
+        }
+        float querySum = sum;
+        // q . (min + step * (c + 128)) = (min + 128 * step) * sum(q) + step * (q . c)
+        return (codes, offset) -> {
+            float dot = kernel.dot(q, codes, offset, dimensions);
+            float min = (float) FLOATS.get(codes, offset + dimensions);
+            float step = (float) FLOATS.get(codes, offset + dimensions + Float.BYTES);
+            return (min + ZERO_POINT * step) * querySum + step * dot;
+        };
+    }
+}
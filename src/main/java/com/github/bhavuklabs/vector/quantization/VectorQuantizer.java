@@ -0,0 +1,33 @@
+package com.github.bhavuklabs.vector.quantization;
+
+import java.util.List;
+
+public interface VectorQuantizer {
+
+    QuantizationType getType();
+
+    int getDimensions();
+
+    int getCodeSize();
+
+    // Number of vectors to collect before train() is called; 0 when the encoding needs no training.
+    int getTrainingSize();
+
+    boolean isTrained();
+
+    void train(List<float[]> sample);
+
+    void reset();
+
+    void encode(float[] vector, byte[] codes, int offset);
+
+    float[] decode(byte[] codes, int offset);
+
+    // Asymmetric distance computation: the query stays in full precision and is scored directly against codes.
+    QueryScorer prepare(float[] query);
+
+    interface QueryScorer {
+
+        float dot(byte[] codes, int offset);
+    }
+}
@@ -0,0 +1,72 @@
+package com.github.bhavuklabs.vector.similarity;
+
+final class ScalarSimilarityKernel implements SimilarityKernel {
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum0 = 0.0f;
+        float sum1 = 0.0f;
+        float sum2 = 0.0f;
+        float sum3 = 0.0f;
+        int i = 0;
+        int bound = length & ~3;
+
+        // Four independent accumulators break the add dependency chain so the JIT can pipeline the loop.
+        for (; i < bound; i += 4) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+            sum1 += a[aOffset + i + 1] * b[bOffset + i + 1];
+            sum2 += a[aOffset + i + 2] * b[bOffset + i + 2];
+            sum3 += a[aOffset + i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            sum0 += a[aOffset + i] * b[bOffset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    @Override
+    public float dot(float[] a, byte[] b, int bOffset, int length) {
+        float sum0 = 0.0f;
+        float sum1 = 0.0f;
+        float sum2 = 0.0f;
+        float sum3 = 0.0f;
+        int i = 0;
+        int bound = length & ~3;
+
+        for (; i < bound; i += 4) {
+            sum0 += a[i] * b[bOffset + i];
+            sum1 += a[i + 1] * b[bOffset + i + 1];
+            sum2 += a[i + 2] * b[bOffset + i + 2];
+            sum3 += a[i + 3] * b[bOffset + i + 3];
+        }
+        for (; i < length; i++) {
+            sum0 += a[i] * b[bOffset + i];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    @Override
+    public float squaredL2(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum0 = 0.0f;
+        float sum1 = 0.0f;
+        int i = 0;
+        int bound = length & ~1;
+
+        for (; i < bound; i += 2) {
+            float diff0 = a[aOffset + i] - b[bOffset + i];
+            float diff1 = a[aOffset + i + 1] - b[bOffset + i + 1];
+            sum0 += diff0 * diff0;
+            sum1 += diff1 * diff1;
+        }
+        for (; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum0 += diff * diff;
+        }
+        return sum0 + sum1;
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.bhavuklabs.vector.similarity;
+
+public interface SimilarityKernel {
+
+    default float dot(float[] a, float[] b) {
+        return dot(a, 0, b, 0, a.length);
+    }
+
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    default float squaredL2(float[] a, float[] b) {
+        return squaredL2(a, 0, b, 0, a.length);
+    }
+
+    float squaredL2(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    // Dot product of a float query with signed int8 codes, used for asymmetric scoring of quantized vectors.
+    float dot(float[] a, byte[] b, int bOffset, int length);
+
+    default float norm(float[] vector) {
+        return (float) Math.sqrt(dot(vector, vector));
+    }
+
+    String getName();
+}
@@ -0,0 +1,56 @@
+package com.github.bhavuklabs.vector.similarity;
+
+import java.util.logging.Logger;
+
+public final class SimilarityKernels {
+
+    private static final Logger logger = Logger.getLogger(SimilarityKernels.class.getName());
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL_CLASS = "com.github.bhavuklabs.vector.similarity.VectorApiSimilarityKernel";
+
+    private static final SimilarityKernel SCALAR = new ScalarSimilarityKernel();
+    private static final SimilarityKernel VECTORIZED = loadVectorKernel();
+
+    private SimilarityKernels() {
+    }
+
+    public static SimilarityKernel preferred() {
+        return VECTORIZED != null ? VECTORIZED : SCALAR;
+    }
+
+    public static SimilarityKernel scalar() {
+        return SCALAR;
+    }
+
+    public static SimilarityKernel vectorized() {
+        return VECTORIZED;
+    }
+
+    public static boolean isVectorApiAvailable() {
+        return VECTORIZED != null;
+    }
+
+    private static SimilarityKernel loadVectorKernel() {
+        if (Boolean.getBoolean("research4j.vector.disableSimd")) {
+            logger.info("SIMD similarity kernels disabled by research4j.vector.disableSimd");
+            return null;
+        }
+        if (ModuleLayer.boot()
+            .findModule(VECTOR_MODULE)
+            .isEmpty()) {
+            logger.info("Module " + VECTOR_MODULE + " not present (run with --add-modules " + VECTOR_MODULE + "); using scalar similarity kernels");
+            return null;
+        }
+        try {
+            SimilarityKernel kernel = (SimilarityKernel) Class.forName(VECTOR_KERNEL_CLASS)
+                .getDeclaredConstructor()
+                .newInstance();
+            logger.info("Using " + kernel.getName() + " similarity kernels");
+            return kernel;
+        } catch (Throwable e) {
+            logger.warning("Failed to initialise Vector API similarity kernels, using scalar fallback: " + e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.github.bhavuklabs.vector.similarity;
+
+public enum SimilarityMetric {
+
+    COSINE,
+
+    DOT_PRODUCT,
+
+    EUCLIDEAN
+}
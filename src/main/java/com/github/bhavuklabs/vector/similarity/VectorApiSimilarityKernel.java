@@ -0,0 +1,85 @@
+package com.github.bhavuklabs.vector.similarity;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+// Only loaded reflectively by SimilarityKernels once jdk.incubator.vector is known to be resolvable.
+final class VectorApiSimilarityKernel implements SimilarityKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    // Byte lanes matching the float lane count so one load widens into exactly one float vector; null below 64-bit shapes.
+    private static final VectorSpecies<Byte> BYTE_SPECIES = SPECIES.length() >= 8 ?
+        VectorSpecies.of(byte.class, VectorShape.forBitSize(SPECIES.length() * Byte.SIZE)) :
+        null;
+    private static final SimilarityKernel SCALAR = new ScalarSimilarityKernel();
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(SPECIES, b, bOffset + i);
+            accumulator = accumulator.add(va.mul(vb));
+        }
+
+        float sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float squaredL2(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector diff = FloatVector.fromArray(SPECIES, a, aOffset + i)
+                .sub(FloatVector.fromArray(SPECIES, b, bOffset + i));
+            accumulator = accumulator.add(diff.mul(diff));
+        }
+
+        float sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] a, byte[] b, int bOffset, int length) {
+        if (BYTE_SPECIES == null) {
+            return SCALAR.dot(a, b, bOffset, length);
+        }
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+
+        for (; i < bound; i += SPECIES.length()) {
+            FloatVector va = FloatVector.fromArray(SPECIES, a, i);
+            FloatVector vb = (FloatVector) ByteVector.fromArray(BYTE_SPECIES, b, bOffset + i)
+                .convertShape(VectorOperators.B2F, SPECIES, 0);
+            accumulator = accumulator.add(va.mul(vb));
+        }
+
+        float sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public String getName() {
+        return "vector-api(" + SPECIES.vectorBitSize() + "-bit)";
+    }
+}
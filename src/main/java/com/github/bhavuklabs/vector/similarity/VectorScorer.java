@@ -0,0 +1,69 @@
+package com.github.bhavuklabs.vector.similarity;
+
+public final class VectorScorer {
+
+    private final SimilarityMetric metric;
+    private final SimilarityKernel kernel;
+
+    public VectorScorer(SimilarityMetric metric, SimilarityKernel kernel) {
+        this.metric = metric;
+        this.kernel = kernel;
+    }
+
+    public static VectorScorer cosine() {
+        return new VectorScorer(SimilarityMetric.COSINE, SimilarityKernels.preferred());
+    }
+
+    // Cosine vectors are normalised once here so every later comparison is a plain dot product.
+    public float[] prepare(float[] vector) {
+        if (metric != SimilarityMetric.COSINE) {
+            return vector.clone();
+        }
+        float[] normalized = new float[vector.length];
+        float norm = kernel.norm(vector);
+        if (norm == 0.0f) {
+            return normalized;
+        }
+        float inverse = 1.0f / norm;
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverse;
+        }
+        return normalized;
+    }
+
+    public float score(float[] preparedQuery, float[] preparedVector) {
+        if (metric == SimilarityMetric.EUCLIDEAN) {
+            return euclideanSimilarity(kernel.squaredL2(preparedQuery, preparedVector));
+        }
+        return kernel.dot(preparedQuery, preparedVector);
+    }
+
+    public float scoreFromDot(float dot, float queryNorm, float vectorNorm) {
+        switch (metric) {
+            case COSINE:
+                return queryNorm == 0.0f || vectorNorm == 0.0f ? 0.0f : dot / (queryNorm * vectorNorm);
+            case EUCLIDEAN:
+                return euclideanSimilarity(queryNorm * queryNorm + vectorNorm * vectorNorm - 2.0f * dot);
+            case DOT_PRODUCT:
+            default:
+                return dot;
+        }
+    }
+
+    public float norm(float[] vector) {
+        return kernel.norm(vector);
+    }
+
+    public SimilarityMetric getMetric() {
+        return metric;
+    }
+
+    public SimilarityKernel getKernel() {
+        return kernel;
+    }
+
+    // Maps a squared distance onto (0, 1] so that larger is always better, like the other metrics.
+    public static float euclideanSimilarity(float squaredDistance) {
+        return 1.0f / (1.0f + (float) Math.sqrt(Math.max(0.0f, squaredDistance)));
+    }
+}
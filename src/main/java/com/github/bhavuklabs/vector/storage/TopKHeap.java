@@ -0,0 +1,100 @@
+package com.github.bhavuklabs.vector.storage;
+
+public final class TopKHeap {
+
+    private final int[] slots;
+    private final float[] scores;
+    private int size;
+    private boolean sorted;
+
+    public TopKHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+        this.slots = new int[capacity];
+        this.scores = new float[capacity];
+    }
+
+    public void offer(int slot, float score) {
+        if (sorted) {
+            throw new IllegalStateException("Heap has already been sorted");
+        }
+        if (size < slots.length) {
+            slots[size] = slot;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (size > 0 && score > scores[0]) {
+            slots[0] = slot;
+            scores[0] = score;
+            siftDown(0, size);
+        }
+    }
+
+    public float minScore() {
+        return size == 0 ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public boolean isFull() {
+        return size == slots.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // In-place heap sort; afterwards slotAt/scoreAt walk the entries best-first.
+    public void sortDescending() {
+        if (sorted) {
+            return;
+        }
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        sorted = true;
+    }
+
+    public int slotAt(int position) {
+        return slots[position];
+    }
+
+    public float scoreAt(int position) {
+        return scores[position];
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (scores[position] >= scores[parent]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position, int limit) {
+        while (true) {
+            int left = 2 * position + 1;
+            if (left >= limit) {
+                return;
+            }
+            int right = left + 1;
+            int smallest = right < limit && scores[right] < scores[left] ? right : left;
+            if (scores[position] <= scores[smallest]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int slot = slots[a];
+        slots[a] = slots[b];
+        slots[b] = slot;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
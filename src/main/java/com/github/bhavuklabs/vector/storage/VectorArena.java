@@ -0,0 +1,250 @@
+package com.github.bhavuklabs.vector.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Logger;
+
+public class VectorArena implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(VectorArena.class.getName());
+
+    private static final int NORM_OFFSET = 0;
+    private static final int VECTOR_OFFSET = 1;
+
+    private final int dimensions;
+    private final int slotFloats;
+    private final int slotsPerChunk;
+    private final VectorStorageType storageType;
+    private final Path directory;
+    private final boolean temporaryDirectory;
+    private final List<FileChannel> channels;
+
+    private FloatBuffer[] chunks;
+    private int highWater;
+    private int[] freeSlots;
+    private int freeCount;
+    private boolean closed;
+
+    public VectorArena(int dimensions, int slotsPerChunk, VectorStorageType storageType, Path directory) {
+        if (storageType == VectorStorageType.HEAP) {
+            throw new IllegalArgumentException("VectorArena requires OFF_HEAP or MEMORY_MAPPED storage");
+        }
+        if (slotsPerChunk <= 0) {
+            throw new IllegalArgumentException("Slots per chunk must be positive");
+        }
+        long chunkBytes = (long) slotsPerChunk * (dimensions + 1) * Float.BYTES;
+        if (chunkBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Arena chunk exceeds 2GB; reduce slots per chunk");
+        }
+
+        this.dimensions = dimensions;
+        this.slotFloats = dimensions + 1;
+        this.slotsPerChunk = slotsPerChunk;
+        this.storageType = storageType;
+        this.channels = new ArrayList<>();
+        this.chunks = new FloatBuffer[0];
+        this.freeSlots = new int[16];
+
+        if (storageType == VectorStorageType.MEMORY_MAPPED) {
+            try {
+                this.temporaryDirectory = directory == null;
+                this.directory = directory != null ? Files.createDirectories(directory) : Files.createTempDirectory("research4j-arena");
+                removeStaleSegments(this.directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to prepare vector arena directory", e);
+            }
+        } else {
+            this.temporaryDirectory = false;
+            this.directory = null;
+        }
+
+        logger.info(String.format("VectorArena initialized (%s, %d dimensions, %d slots per chunk)", storageType, dimensions, slotsPerChunk));
+    }
+
+    public int allocate() {
+        ensureOpen();
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == chunks.length * slotsPerChunk) {
+            addChunk();
+        }
+        return highWater++;
+    }
+
+    public void release(int slot) {
+        ensureOpen();
+        FloatBuffer chunk = chunkFor(slot);
+        int base = baseOffset(slot);
+        for (int i = 0; i < slotFloats; i++) {
+            chunk.put(base + i, 0.0f);
+        }
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    public void write(int slot, float[] vector) {
+        ensureOpen();
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Vector dimension mismatch. Expected: " + dimensions + ", got: " + vector.length);
+        }
+        FloatBuffer chunk = chunkFor(slot);
+        int base = baseOffset(slot);
+        float sumOfSquares = 0.0f;
+        for (int i = 0; i < dimensions; i++) {
+            chunk.put(base + VECTOR_OFFSET + i, vector[i]);
+            sumOfSquares += vector[i] * vector[i];
+        }
+        chunk.put(base + NORM_OFFSET, (float) Math.sqrt(sumOfSquares));
+    }
+
+    // Copies count slots laid out as [norm, v0..vn-1] into fresh slots past the high-water mark, one bulk copy per chunk,
+    // and returns the first. Freed slots are not reused, so a bulk load into an empty arena stays contiguous.
+    public int appendSlots(FloatBuffer source, int count) {
+        ensureOpen();
+        if (source.remaining() < (long) count * slotFloats) {
+            throw new IllegalArgumentException("Source holds fewer than " + count + " slots");
+        }
+        int first = highWater;
+        int copied = 0;
+        while (copied < count) {
+            if (highWater == chunks.length * slotsPerChunk) {
+                addChunk();
+            }
+            int inChunk = Math.min(count - copied, chunks.length * slotsPerChunk - highWater);
+            chunkFor(highWater).put(baseOffset(highWater), source, source.position() + copied * slotFloats, inChunk * slotFloats);
+            highWater += inChunk;
+            copied += inChunk;
+        }
+        return first;
+    }
+
+    public float[] read(int slot) {
+        float[] vector = new float[dimensions];
+        read(slot, vector);
+        return vector;
+    }
+
+    public void read(int slot, float[] destination) {
+        chunkFor(slot).get(baseOffset(slot) + VECTOR_OFFSET, destination, 0, dimensions);
+    }
+
+    public float norm(int slot) {
+        return chunkFor(slot).get(baseOffset(slot) + NORM_OFFSET);
+    }
+
+    public int getHighWater() {
+        return highWater;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public VectorStorageType getStorageType() {
+        return storageType;
+    }
+
+    public long getCapacityBytes() {
+        return (long) chunks.length * slotsPerChunk * slotFloats * Float.BYTES;
+    }
+
+    public void reset() {
+        ensureOpen();
+        for (FloatBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i++) {
+                chunk.put(i, 0.0f);
+            }
+        }
+        highWater = 0;
+        freeCount = 0;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        chunks = new FloatBuffer[0];
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warning("Failed to close arena segment: " + e.getMessage());
+            }
+        }
+        channels.clear();
+
+        if (temporaryDirectory && directory != null) {
+            try (var files = Files.list(directory)) {
+                files.forEach(file -> file.toFile().deleteOnExit());
+            } catch (IOException e) {
+                logger.warning("Failed to schedule arena cleanup: " + e.getMessage());
+            }
+            directory.toFile().deleteOnExit();
+        }
+    }
+
+    // The arena is scratch space rebuilt by its owner, so segments left in a reused directory by an earlier arena are
+    // removed rather than mapped as if they were empty.
+    private static void removeStaleSegments(Path directory) throws IOException {
+        try (var segments = Files.newDirectoryStream(directory, "arena-*.vec")) {
+            for (Path segment : segments) {
+                Files.delete(segment);
+                logger.info("Removed stale arena segment " + segment);
+            }
+        }
+    }
+
+    private void addChunk() {
+        int bytes = slotsPerChunk * slotFloats * Float.BYTES;
+        ByteBuffer buffer;
+
+        if (storageType == VectorStorageType.MEMORY_MAPPED) {
+            Path segment = directory.resolve(String.format("arena-%05d.vec", chunks.length));
+            try {
+                FileChannel channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+                channels.add(channel);
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map arena segment " + segment, e);
+            }
+        } else {
+            buffer = ByteBuffer.allocateDirect(bytes);
+        }
+
+        FloatBuffer[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[chunks.length] = buffer.order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+        chunks = grown;
+        logger.fine("VectorArena grew to " + chunks.length + " chunks");
+    }
+
+    private FloatBuffer chunkFor(int slot) {
+        return chunks[slot / slotsPerChunk];
+    }
+
+    private int baseOffset(int slot) {
+        return (slot % slotsPerChunk) * slotFloats;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("VectorArena is closed");
+        }
+    }
+}
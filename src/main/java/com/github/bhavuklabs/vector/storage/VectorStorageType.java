@@ -0,0 +1,10 @@
+package com.github.bhavuklabs.vector.storage;
+
+public enum VectorStorageType {
+
+    HEAP,
+
+    OFF_HEAP,
+
+    MEMORY_MAPPED
+}